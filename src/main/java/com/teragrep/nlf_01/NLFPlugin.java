@@ -48,150 +48,637 @@ package com.teragrep.nlf_01;
 import com.teragrep.akv_01.event.ParsedEvent;
 import com.teragrep.akv_01.plugin.Plugin;
 import com.teragrep.akv_01.plugin.PluginException;
-import com.teragrep.nlf_01.types.*;
+import com.teragrep.nlf_01.aggregation.Aggregation;
+import com.teragrep.nlf_01.aggregation.NoAggregation;
+import com.teragrep.nlf_01.aggregation.RepeatFlush;
+import com.teragrep.nlf_01.deadletter.DeadLetters;
+import com.teragrep.nlf_01.deadletter.NoDeadLetters;
+import com.teragrep.nlf_01.dedup.Deduplication;
+import com.teragrep.nlf_01.dedup.NoDeduplication;
+import com.teragrep.nlf_01.definitions.EventTypeDefinition;
+import com.teragrep.nlf_01.records.EnvelopeRecord;
+import com.teragrep.nlf_01.records.EnvelopeRecordSpliterator;
+import com.teragrep.nlf_01.records.EnvelopeRecords;
+import com.teragrep.nlf_01.records.RecordFailure;
+import com.teragrep.nlf_01.records.RecordFailures;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.records.UncheckedPluginException;
+import com.teragrep.nlf_01.registry.EventTypeProvider;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.rfc5424.ByteSink;
+import com.teragrep.nlf_01.rfc5424.OctetCountedRFC5424Bytes;
+import com.teragrep.nlf_01.rfc5424.RFC5424Bytes;
+import com.teragrep.nlf_01.rfc5424.ScratchByteSink;
+import com.teragrep.nlf_01.schema.NoSchemaSampler;
+import com.teragrep.nlf_01.schema.SchemaSampler;
+import com.teragrep.nlf_01.stringpool.NoStringPool;
+import com.teragrep.nlf_01.stringpool.StringPool;
+import com.teragrep.nlf_01.throttle.NoThrottle;
+import com.teragrep.nlf_01.throttle.Throttle;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.types.EventTypeSyslogMessage;
+import com.teragrep.nlf_01.types.MemoizedNamesEventType;
+import com.teragrep.nlf_01.types.ResolvedEventType;
 import com.teragrep.nlf_01.util.EnvironmentSource;
+import com.teragrep.nlf_01.util.Hostname;
+import com.teragrep.nlf_01.util.MemoizedHostname;
 import com.teragrep.nlf_01.util.RealHostname;
 import com.teragrep.nlf_01.util.Sourceable;
 import com.teragrep.rlo_14.SyslogMessage;
+import jakarta.json.JsonArray;
 import jakarta.json.JsonException;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * Converts Neon log format events into syslog messages. Safe for concurrent use, a single instance can be shared by all
+ * the consumer threads as long as its collaborators are thread-safe, which all the ones of this plugin are.
+ */
 public final class NLFPlugin implements Plugin {
 
+    /**
+     * Configuration of the built-in event types, required for all events so that it is noticed missing on the first
+     * event of any type.
+     */
+    private static final List<String> REQUIRED_CONFIGURATION = Arrays
+            .asList("containerlog.appname.annotation", "containerlog.hostname.annotation", "syslogtype.processname");
+
     private final Sourceable source;
+    private final RecordFailures recordFailures;
+    private final EventTypeRegistry registry;
+    private final List<EventTypeDefinition> definitions;
+    private final Deduplication deduplication;
+    private final Throttle throttle;
+    private final Aggregation aggregation;
+    private final DeadLetters deadLetters;
+    private final SchemaSampler schemaSampler;
+    private final Hostname hostname;
+    private final StringPool stringPool;
 
     public NLFPlugin() {
         this(new EnvironmentSource());
     }
 
     public NLFPlugin(final Sourceable source) {
+        this(source, new RethrowingRecordFailures());
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     */
+    public NLFPlugin(final Sourceable source, final RecordFailures recordFailures) {
+        this(source, recordFailures, Collections.emptyList());
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final List<EventTypeDefinition> definitions
+    ) {
+        this(source, recordFailures, new EventTypeRegistry(), definitions);
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions
+    ) {
+        this(source, recordFailures, registry, definitions, new NoDeduplication());
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     * @param deduplication  events it reports as duplicates are not converted
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication
+    ) {
+        this(source, recordFailures, registry, definitions, deduplication, new NoThrottle());
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     * @param deduplication  events it reports as duplicates are not converted
+     * @param throttle       events and records it does not admit are not converted
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication,
+            final Throttle throttle
+    ) {
+        this(source, recordFailures, registry, definitions, deduplication, throttle, new NoAggregation());
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     * @param deduplication  events it reports as duplicates are not converted
+     * @param throttle       events and records it does not admit are not converted
+     * @param aggregation    lines it counts as repeats are flushed when their window ends
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication,
+            final Throttle throttle,
+            final Aggregation aggregation
+    ) {
+        this(
+                source,
+                recordFailures,
+                registry,
+                definitions,
+                deduplication,
+                throttle,
+                aggregation,
+                new NoDeadLetters()
+        );
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     * @param deduplication  events it reports as duplicates are not converted
+     * @param throttle       events and records it does not admit are not converted
+     * @param aggregation    lines it counts as repeats are flushed when their window ends
+     * @param deadLetters    receives the events and records that could not be converted, before they are rethrown or
+     *                       reported to the {@link RecordFailures}
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication,
+            final Throttle throttle,
+            final Aggregation aggregation,
+            final DeadLetters deadLetters
+    ) {
+        this(
+                source,
+                recordFailures,
+                registry,
+                definitions,
+                deduplication,
+                throttle,
+                aggregation,
+                deadLetters,
+                new NoSchemaSampler()
+        );
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     * @param deduplication  events it reports as duplicates are not converted
+     * @param throttle       events and records it does not admit are not converted
+     * @param aggregation    lines it counts as repeats are flushed when their window ends
+     * @param deadLetters    receives the events and records that could not be converted, before they are rethrown or
+     *                       reported to the {@link RecordFailures}
+     * @param schemaSampler  receives the events and records with their detected type, before they are converted
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication,
+            final Throttle throttle,
+            final Aggregation aggregation,
+            final DeadLetters deadLetters,
+            final SchemaSampler schemaSampler
+    ) {
+        this(
+                source,
+                recordFailures,
+                registry,
+                definitions,
+                deduplication,
+                throttle,
+                aggregation,
+                deadLetters,
+                schemaSampler,
+                new MemoizedHostname(new RealHostname("localhost"))
+        );
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     * @param deduplication  events it reports as duplicates are not converted
+     * @param throttle       events and records it does not admit are not converted
+     * @param aggregation    lines it counts as repeats are flushed when their window ends
+     * @param deadLetters    receives the events and records that could not be converted, before they are rethrown or
+     *                       reported to the {@link RecordFailures}
+     * @param schemaSampler  receives the events and records with their detected type, before they are converted
+     * @param hostname       hostname of the host, asked for every event
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication,
+            final Throttle throttle,
+            final Aggregation aggregation,
+            final DeadLetters deadLetters,
+            final SchemaSampler schemaSampler,
+            final Hostname hostname
+    ) {
+        this(
+                source,
+                recordFailures,
+                registry,
+                definitions,
+                deduplication,
+                throttle,
+                aggregation,
+                deadLetters,
+                schemaSampler,
+                hostname,
+                new NoStringPool()
+        );
+    }
+
+    /**
+     * @param source         configuration source
+     * @param recordFailures receives the records of multi-record events that could not be converted
+     * @param registry       event types of the plugin and the registered {@link EventTypeProvider EventTypeProviders}
+     * @param definitions    event types for events that no registered type matches, the first matching one is used
+     * @param deduplication  events it reports as duplicates are not converted
+     * @param throttle       events and records it does not admit are not converted
+     * @param aggregation    lines it counts as repeats are flushed when their window ends
+     * @param deadLetters    receives the events and records that could not be converted, before they are rethrown or
+     *                       reported to the {@link RecordFailures}
+     * @param schemaSampler  receives the events and records with their detected type, before they are converted
+     * @param hostname       hostname of the host, asked for every event
+     * @param stringPool     shares the low-cardinality strings of the converted messages
+     */
+    public NLFPlugin(
+            final Sourceable source,
+            final RecordFailures recordFailures,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication,
+            final Throttle throttle,
+            final Aggregation aggregation,
+            final DeadLetters deadLetters,
+            final SchemaSampler schemaSampler,
+            final Hostname hostname,
+            final StringPool stringPool
+    ) {
         this.source = source;
+        this.recordFailures = recordFailures;
+        this.registry = registry;
+        this.definitions = definitions;
+        this.deduplication = deduplication;
+        this.throttle = throttle;
+        this.aggregation = aggregation;
+        this.deadLetters = deadLetters;
+        this.schemaSampler = schemaSampler;
+        this.hostname = hostname;
+        this.stringPool = stringPool;
     }
 
+    /**
+     * Converts the event into syslog messages. A JSON array or a {@code {"records":[...]}} envelope is converted into
+     * one message per record, records that fail are reported to the {@link RecordFailures}. An event reported as a
+     * duplicate by the {@link Deduplication} is converted into no messages, as are the records the {@link Throttle}
+     * does not admit. The event is recorded for the deduplication only once it is converted. Lines counted as repeats
+     * by the {@link Aggregation} are not converted, the repeats whose window has ended are flushed by a
+     * {@link RepeatFlush} or {@link #expiredMessages()}.
+     */
     @Override
     public List<SyslogMessage> syslogMessage(final ParsedEvent parsedEvent) throws PluginException {
-        final List<EventType> eventTypes = new ArrayList<>();
-        final List<SyslogMessage> syslogMessages = new ArrayList<>();
-        final String containerLogAppNameKey = source.source("containerlog.appname.annotation");
-        final String containerLogHostnameKey = source.source("containerlog.hostname.annotation");
-        final String syslogExpectedProcessName = source.source("syslogtype.processname");
-        final String realHostname = new RealHostname("localhost").hostname();
-        final String componentNameForPartitions = source.source("component.name");
-
-        if (!parsedEvent.isJsonStructure()) {
-            // non-applicable
-            throw new PluginException(new JsonException("Event was not a JSON structure"));
+        final List<SyslogMessage> syslogMessages;
+        if (deduplication.isDuplicate(parsedEvent)) {
+            syslogMessages = Collections.emptyList();
         }
-
-        final JsonStructure json = parsedEvent.asJsonStructure();
-        // Check if main structure is JsonObject
-        if (!json.getValueType().equals(JsonValue.ValueType.OBJECT)) {
-            throw new PluginException(new JsonException("Event was not a JSON object"));
+        else {
+            syslogMessages = convertedMessages(parsedEvent);
+            deduplication.converted(parsedEvent);
         }
+        return syslogMessages;
+    }
 
-        final JsonObject jsonObject = parsedEvent.asJsonStructure().asJsonObject();
-        if (
-            jsonObject.containsKey("Type") && jsonObject.get("Type").getValueType().equals(JsonValue.ValueType.STRING)
-        ) {
-            if (jsonObject.getString("Type").equals("ADFActivityRun")) {
-                eventTypes.add(new ADFActivityRunType(parsedEvent, realHostname, componentNameForPartitions));
-            }
-            else if (jsonObject.getString("Type").equals("ADFPipelineRun")) {
-                eventTypes.add(new ADFPipelineRunType(parsedEvent, realHostname, componentNameForPartitions));
-            }
-            else if (jsonObject.getString("Type").equals("AppEvents")) {
-                eventTypes.add(new AppEventsType(parsedEvent, realHostname, componentNameForPartitions));
-            }
-            else if (jsonObject.getString("Type").equals("AppServiceConsoleLogs")) {
-                eventTypes.add(new AppServiceConsoleLogsType(parsedEvent, realHostname, componentNameForPartitions));
-            }
-            else if (jsonObject.getString("Type").equals("AppTraces")) {
-                eventTypes.add(new AppInsightType(parsedEvent, realHostname, componentNameForPartitions));
+    /**
+     * Lazily converts the event into syslog messages. The records of a multi-record event are taken from the JSON
+     * already parsed for the envelope and converted only as the stream is consumed, so the converted messages of the
+     * whole event are never held at once. The stream can be made parallel.
+     * <p>
+     * Failing records are reported to the {@link RecordFailures} while the stream is consumed, an exception thrown by
+     * it is rethrown as {@link UncheckedPluginException}. A multi-record event is recorded for the
+     * {@link Deduplication} only when the stream is consumed to the end. A single-record event is converted eagerly.
+     */
+    public Stream<SyslogMessage> syslogMessageStream(final ParsedEvent parsedEvent) throws PluginException {
+        final Stream<SyslogMessage> stream;
+        if (deduplication.isDuplicate(parsedEvent)) {
+            stream = Stream.empty();
+        }
+        else if (parsedEvent.isJsonStructure() && new EnvelopeRecords(parsedEvent.asJsonStructure()).isEnvelope()) {
+            final JsonArray records = new EnvelopeRecords(parsedEvent.asJsonStructure()).records();
+            if (records.isEmpty()) {
+                throw new PluginException(new IllegalArgumentException("Event did not contain any records"));
             }
-            else if (jsonObject.getString("Type").equals("ContainerAppConsoleLogs")) {
-                eventTypes.add(new ContainerAppConsoleLogsType(parsedEvent, realHostname, componentNameForPartitions));
+            stream = Stream
+                    .concat(
+                            StreamSupport
+                                    .stream(new EnvelopeRecordSpliterator(parsedEvent, records), false)
+                                    .flatMap(this::recordSyslogMessages),
+                            // evaluated after the records
+                            Stream.of(parsedEvent).flatMap(this::recorded)
+                    );
+        }
+        else {
+            stream = convertedMessages(parsedEvent).stream();
+            deduplication.converted(parsedEvent);
+        }
+        return stream;
+    }
+
+    /**
+     * Writes the RFC 5424 serialization of the event straight to the sink, byte-identical to
+     * {@link SyslogMessage#toRfc5424SyslogMessage()} of the messages returned by {@link #syslogMessage(ParsedEvent)}.
+     * The values of all the records are read before the first one is written, so an event that fails leaves nothing of
+     * it in the sink.
+     *
+     * @param parsedEvent event to convert
+     * @param sink        destination of the serialized records
+     * @return amount of records written, zero if the event is a duplicate
+     */
+    public int rfc5424(final ParsedEvent parsedEvent, final ByteSink sink) throws PluginException {
+        return convertUnlessDuplicate(parsedEvent, (eventType, record) -> new RFC5424Bytes(eventType).writeTo(sink));
+    }
+
+    /**
+     * Same as {@link #rfc5424(ParsedEvent, ByteSink)} but each record is prefixed with its length in bytes and a space
+     * as in RFC 6587 octet counting, so that the records written to one sink can be told apart.
+     *
+     * @param parsedEvent event to convert
+     * @param scratch     holds one record at a time to learn its length
+     * @param sink        destination of the framed records
+     * @return amount of records written, zero if the event is a duplicate
+     */
+    public int octetCountedRfc5424(final ParsedEvent parsedEvent, final ScratchByteSink scratch, final ByteSink sink)
+            throws PluginException {
+        return convertUnlessDuplicate(parsedEvent, (eventType, record) -> {
+            new OctetCountedRFC5424Bytes(new RFC5424Bytes(eventType), scratch).writeTo(sink);
+        });
+    }
+
+    /**
+     * Same as {@link #rfc5424(ParsedEvent, ByteSink)} but the MSG part of each record is copied from the original
+     * payload bytes instead of re-encoding {@link ParsedEvent#asString()}. The records of a multi-record event are
+     * encoded as the payload does not contain them separately.
+     *
+     * @param parsedEvent event to convert
+     * @param payload     UTF-8 bytes that {@link ParsedEvent#asString()} was decoded from, not modified
+     * @param sink        destination of the serialized records
+     * @return amount of records written, zero if the event is a duplicate
+     */
+    public int rfc5424(final ParsedEvent parsedEvent, final ByteBuffer payload, final ByteSink sink)
+            throws PluginException {
+        return convertUnlessDuplicate(parsedEvent, (eventType, record) -> {
+            if (record) {
+                new RFC5424Bytes(eventType).writeTo(sink);
             }
-            else if (jsonObject.getString("Type").equals("DataverseActivity")) {
-                eventTypes.add(new DataverseActivityType(parsedEvent, realHostname, componentNameForPartitions));
+            else {
+                new RFC5424Bytes(eventType, payload.asReadOnlyBuffer()).writeTo(sink);
             }
-            else if (jsonObject.getString("Type").equals("Event")) {
-                eventTypes.add(new WindowsEventType(parsedEvent, realHostname, componentNameForPartitions));
+        });
+    }
+
+    /**
+     * Converts the repeats whose aggregation window has ended. They are not part of the messages of any event, this is
+     * for hosts that flush them themselves instead of scheduling a {@link RepeatFlush}.
+     */
+    public List<SyslogMessage> expiredMessages() throws PluginException {
+        final List<SyslogMessage> syslogMessages = new ArrayList<>();
+        for (final EventType repeated : aggregation.expired()) {
+            syslogMessages.add(new EventTypeSyslogMessage(repeated).syslogMessage());
+        }
+        return syslogMessages;
+    }
+
+    private Stream<SyslogMessage> recorded(final ParsedEvent convertedEvent) {
+        deduplication.converted(convertedEvent);
+        return Stream.empty();
+    }
+
+    private int convertUnlessDuplicate(final ParsedEvent parsedEvent, final EventTypeConsumer consumer)
+            throws PluginException {
+        int converted = 0;
+        if (!deduplication.isDuplicate(parsedEvent)) {
+            converted = convert(parsedEvent, consumer);
+            deduplication.converted(parsedEvent);
+        }
+        return converted;
+    }
+
+    private List<SyslogMessage> convertedMessages(final ParsedEvent parsedEvent) throws PluginException {
+        final List<SyslogMessage> syslogMessages = new ArrayList<>();
+        convert(
+                parsedEvent,
+                (eventType, record) -> syslogMessages.add(new EventTypeSyslogMessage(eventType).syslogMessage())
+        );
+
+        return syslogMessages;
+    }
+
+    private Stream<SyslogMessage> recordSyslogMessages(final EnvelopeRecord envelopeRecord) {
+        final List<SyslogMessage> syslogMessages = new ArrayList<>();
+        try {
+            for (final EventType eventType : resolvedEventTypes(envelopeRecord.parsedEvent())) {
+                syslogMessages.add(new EventTypeSyslogMessage(eventType).syslogMessage());
             }
-            else if (jsonObject.getString("Type").equals("FunctionAppLogs")) {
-                eventTypes.add(new FunctionAppLogsType(parsedEvent, realHostname, componentNameForPartitions));
+        }
+        catch (final PluginException pluginException) {
+            deadLetters.failed(envelopeRecord.parsedEvent(), pluginException);
+            reportFailure(envelopeRecord.failure(pluginException));
+        }
+        return syslogMessages.stream();
+    }
+
+    private void reportFailure(final RecordFailure recordFailure) {
+        try {
+            recordFailures.failed(recordFailure);
+        }
+        catch (final PluginException pluginException) {
+            throw new UncheckedPluginException(pluginException);
+        }
+    }
+
+    /**
+     * Reads the values of all the messages of the event before passing any of them to the consumer, so that a record
+     * failing the event leaves nothing of it written.
+     */
+    private int convert(final ParsedEvent parsedEvent, final EventTypeConsumer consumer) throws PluginException {
+        final boolean envelope = parsedEvent.isJsonStructure()
+                && new EnvelopeRecords(parsedEvent.asJsonStructure()).isEnvelope();
+        final List<EventType> eventTypes = new ArrayList<>();
+        if (envelope) {
+            final JsonArray records = new EnvelopeRecords(parsedEvent.asJsonStructure()).records();
+            if (records.isEmpty()) {
+                throw new PluginException(new IllegalArgumentException("Event did not contain any records"));
             }
-            else if (jsonObject.getString("Type").equals("LogicAppWorkflowRuntime")) {
-                eventTypes.add(new LogicAppWorkflowRuntimeType(parsedEvent, realHostname, componentNameForPartitions));
+            for (int index = 0; index < records.size(); index++) {
+                final EnvelopeRecord envelopeRecord = new EnvelopeRecord(parsedEvent, index, records.get(index));
+                try {
+                    eventTypes.addAll(resolvedEventTypes(envelopeRecord.parsedEvent()));
+                }
+                catch (final PluginException pluginException) {
+                    deadLetters.failed(envelopeRecord.parsedEvent(), pluginException);
+                    recordFailures.failed(envelopeRecord.failure(pluginException));
+                }
             }
-            else if (jsonObject.getString("Type").equals("PGSQLServerLogs")) {
-                eventTypes.add(new PGSQLServerLogsType(parsedEvent, realHostname, componentNameForPartitions));
+        }
+        else {
+            try {
+                eventTypes.addAll(resolvedEventTypes(parsedEvent));
             }
-            else if (jsonObject.getString("Type").equals("PowerAutomateActivity")) {
-                eventTypes.add(new PowerAutomateActivityType(parsedEvent, realHostname, componentNameForPartitions));
+            catch (final PluginException pluginException) {
+                deadLetters.failed(parsedEvent, pluginException);
+                throw pluginException;
             }
-            else if (jsonObject.getString("Type").equals("PowerPlatformAdminActivity")) {
-                eventTypes
-                        .add(new PowerPlatformAdminActivityType(parsedEvent, realHostname, componentNameForPartitions));
+        }
+        for (final EventType eventType : eventTypes) {
+            consumer.accept(eventType, envelope);
+        }
+        return eventTypes.size();
+    }
+
+    /**
+     * Reads the values of the event types, after which the types of the registry are released. The event types read
+     * the JSON without checking every value, so a missing or mistyped value throws an unchecked exception, such as the
+     * NullPointerException of {@link JsonObject#getString(String)}. It is rethrown as a {@link PluginException} to
+     * fail only the event or record instead of losing it unreported.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private List<EventType> resolvedEventTypes(final ParsedEvent parsedEvent) throws PluginException {
+        final List<EventType> resolved = new ArrayList<>();
+        try {
+            for (final EventType eventType : admittedEventTypes(parsedEvent)) {
+                resolved.add(resolved(eventType));
             }
-            else if (jsonObject.getString("Type").endsWith("fluent_audit_log_events_CL")) {
-                eventTypes.add(new CCType(parsedEvent, realHostname, componentNameForPartitions));
+        }
+        catch (final RuntimeException runtimeException) {
+            throw new PluginException(runtimeException);
+        }
+        finally {
+            registry.released();
+        }
+        return resolved;
+    }
+
+    private EventType resolved(final EventType eventType) throws PluginException {
+        return new ResolvedEventType(
+                eventType.severity(),
+                eventType.facility(),
+                eventType.hostname(),
+                eventType.appName(),
+                eventType.timestamp(),
+                eventType.sdElements(),
+                eventType.msgId(),
+                eventType.msg()
+        );
+    }
+
+    private List<EventType> admittedEventTypes(final ParsedEvent parsedEvent) throws PluginException {
+        final List<EventType> admitted = new ArrayList<>();
+        for (final EventType eventType : eventTypes(parsedEvent)) {
+            schemaSampler.sample(eventType.getClass(), parsedEvent);
+            final EventType pooled;
+            if (stringPool.isEnabled()) {
+                pooled = stringPool.pooled(eventType);
             }
-            else if (jsonObject.getString("Type").endsWith("_CL")) {
-                eventTypes.add(new CLType(parsedEvent, realHostname, componentNameForPartitions));
+            else {
+                pooled = eventType;
             }
-            else if (jsonObject.getString("Type").equals("ContainerLogV2")) {
-                if (
-                    jsonObject.containsKey("PodNamespace")
-                            && jsonObject.getString("PodNamespace").equals("aks-istio-ingress")
-                ) {
-                    eventTypes
-                            .add(new IstioIngressContainerType(parsedEvent, realHostname, componentNameForPartitions));
-                }
-                else {
-                    eventTypes
-                            .add(
-                                    new ContainerType(
-                                            parsedEvent,
-                                            containerLogHostnameKey,
-                                            containerLogAppNameKey,
-                                            realHostname,
-                                            componentNameForPartitions
-                                    )
-                            );
+            if (aggregation.isEnabled() || throttle.isEnabled()) {
+                // both read the names before the message is built
+                final EventType memoized = new MemoizedNamesEventType(pooled);
+                if (aggregation.isFirst(parsedEvent, eventType.getClass(), memoized) && throttle.admits(memoized)) {
+                    admitted.add(memoized);
                 }
             }
-            else if (jsonObject.getString("Type").equals("Syslog")) {
-                eventTypes
-                        .add(
-                                new SyslogType(
-                                        parsedEvent,
-                                        syslogExpectedProcessName,
-                                        realHostname,
-                                        componentNameForPartitions
-                                )
-                        );
+            else {
+                admitted.add(pooled);
             }
         }
-        else if (
-            jsonObject.containsKey("AppType")
-                    && jsonObject.get("AppType").getValueType().equals(JsonValue.ValueType.STRING)
-        ) {
-            if (jsonObject.getString("AppType").equals("PostgreSQL")) {
-                eventTypes.add(new PostgreSQLType(parsedEvent, realHostname, componentNameForPartitions));
-            }
+        return admitted;
+    }
+
+    private List<EventType> eventTypes(final ParsedEvent parsedEvent) throws PluginException {
+        for (final String key : REQUIRED_CONFIGURATION) {
+            source.source(key);
+        }
+        final String realHostname = hostname.hostname();
+        final String componentNameForPartitions = source.source("component.name");
+
+        if (!parsedEvent.isJsonStructure()) {
+            // non-applicable
+            throw new PluginException(new JsonException("Event was not a JSON structure"));
         }
-        else if (
-            jsonObject.containsKey("category")
-                    && jsonObject.get("category").getValueType().equals(JsonValue.ValueType.STRING)
-        ) {
-            final String category = jsonObject.getString("category");
-            if ("SQLSecurityAuditEvents".equals(category)) {
-                eventTypes.add(new SQLSecurityAuditEventsType(parsedEvent, realHostname, componentNameForPartitions));
+
+        final JsonStructure json = parsedEvent.asJsonStructure();
+        // Check if main structure is JsonObject
+        if (!json.getValueType().equals(JsonValue.ValueType.OBJECT)) {
+            throw new PluginException(new JsonException("Event was not a JSON object"));
+        }
+
+        final JsonObject jsonObject = parsedEvent.asJsonStructure().asJsonObject();
+        final List<EventType> eventTypes = new ArrayList<>(
+                registry.eventTypes(parsedEvent, jsonObject, source, realHostname, componentNameForPartitions)
+        );
+
+        for (final EventTypeDefinition definition : definitions) {
+            if (eventTypes.isEmpty() && definition.matches(jsonObject)) {
+                eventTypes.add(definition.eventType(parsedEvent, realHostname, componentNameForPartitions));
             }
         }
 
@@ -201,19 +688,16 @@ public final class NLFPlugin implements Plugin {
             );
         }
 
-        for (final EventType eventType : eventTypes) {
-            final SyslogMessage syslogMessage = new SyslogMessage()
-                    .withFacility(eventType.facility())
-                    .withSeverity(eventType.severity())
-                    .withTimestamp(eventType.timestamp())
-                    .withAppName(eventType.appName())
-                    .withHostname(eventType.hostname())
-                    .withMsgId(eventType.msgId())
-                    .withMsg(eventType.msg());
-            syslogMessage.setSDElements(eventType.sdElements());
-            syslogMessages.add(syslogMessage);
-        }
+        return eventTypes;
+    }
 
-        return syslogMessages;
+    @FunctionalInterface
+    private static interface EventTypeConsumer {
+
+        /**
+         * @param eventType type of the event or record
+         * @param record    true if the event type is of a single record in a multi-record event
+         */
+        public abstract void accept(EventType eventType, boolean record) throws PluginException;
     }
 }
@@ -47,11 +47,220 @@ package com.teragrep.nlf_01;
 
 import com.teragrep.akv_01.plugin.Plugin;
 import com.teragrep.akv_01.plugin.PluginFactory;
+import com.teragrep.nlf_01.aggregation.Aggregation;
+import com.teragrep.nlf_01.aggregation.ConfiguredAggregation;
+import com.teragrep.nlf_01.aggregation.RepeatFlush;
+import com.teragrep.nlf_01.aggregation.RepeatedMessages;
+import com.teragrep.nlf_01.deadletter.ConfiguredDeadLetters;
+import com.teragrep.nlf_01.deadletter.DeadLetters;
+import com.teragrep.nlf_01.dedup.ConfiguredDeduplication;
+import com.teragrep.nlf_01.dedup.Deduplication;
+import com.teragrep.nlf_01.definitions.ConfiguredDefinitions;
+import com.teragrep.nlf_01.definitions.EventTypeDefinition;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.registry.ConfiguredEventTypeFactories;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.registry.ServiceLoadedEventTypeFactories;
+import com.teragrep.nlf_01.schema.ConfiguredSchemaSampler;
+import com.teragrep.nlf_01.schema.SchemaSampler;
+import com.teragrep.nlf_01.stringpool.ConfiguredStringPool;
+import com.teragrep.nlf_01.stringpool.StringPool;
+import com.teragrep.nlf_01.throttle.ConfiguredThrottle;
+import com.teragrep.nlf_01.throttle.Throttle;
+import com.teragrep.nlf_01.util.EnvironmentSource;
+import com.teragrep.nlf_01.util.Hostname;
+import com.teragrep.nlf_01.util.MemoizedHostname;
+import com.teragrep.nlf_01.util.RealHostname;
+import com.teragrep.nlf_01.util.Sourceable;
+import com.teragrep.nlf_01.warmup.ConfiguredWarmUp;
+import com.teragrep.nlf_01.warmup.WarmUp;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class NLFPluginFactory implements PluginFactory {
 
+    private final Sourceable source;
+    private final EventTypeRegistry registry;
+    private final List<EventTypeDefinition> definitions;
+    private final Deduplication deduplication;
+    private final Throttle throttle;
+    private final Aggregation aggregation;
+    private final DeadLetters deadLetters;
+    private final SchemaSampler schemaSampler;
+    private final WarmUp warmUp;
+    private final Hostname hostname;
+    private final StringPool stringPool;
+    private final AtomicBoolean repeatFlushScheduled;
+
+    public NLFPluginFactory() {
+        this(new EnvironmentSource());
+    }
+
+    /**
+     * Event types are discovered from the {@link com.teragrep.nlf_01.registry.EventTypeProvider EventTypeProviders} on
+     * the classpath, and reused per thread if {@code eventtype.reuse} is set. The event type definitions configured
+     * with {@code definitions.location} are compiled here once for all the created plugins. Deduplication, throttling
+     * and aggregation are configured with {@code deduplication.window}, {@code throttle.mode} and
+     * {@code aggregation.window.seconds}, and shared by all the created plugins as are the dead letters configured with
+     * {@code deadletter.capacity} and the schema sampling configured with {@code schema.sample}. The warm-up configured
+     * with {@code warmup.iterations} and {@code warmup.seconds} is run in the first {@link #plugin(String)} call. The
+     * created plugins are thread-safe and share the looked up hostname and the string pool configured with
+     * {@code stringpool.capacity}.
+     */
+    public NLFPluginFactory(final Sourceable source) {
+        this(
+                source,
+                new EventTypeRegistry(
+                        new ConfiguredEventTypeFactories(source, new ServiceLoadedEventTypeFactories().factories())
+                                .factories()
+                )
+        );
+    }
+
+    public NLFPluginFactory(final Sourceable source, final EventTypeRegistry registry) {
+        this(source, registry, new ConfiguredDefinitions(source).definitions());
+    }
+
+    /**
+     * @param definitions event type definitions used for the events that none of the registered event types match
+     */
+    public NLFPluginFactory(
+            final Sourceable source,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions
+    ) {
+        this(
+                source,
+                registry,
+                definitions,
+                new ConfiguredDeduplication(source).deduplication(),
+                new ConfiguredThrottle(source).throttle(),
+                new ConfiguredAggregation(source).aggregation(),
+                new ConfiguredDeadLetters(source).deadLetters(),
+                new ConfiguredSchemaSampler(source).schemaSampler(),
+                new ConfiguredWarmUp(source, registry, definitions).warmUp(),
+                new MemoizedHostname(new RealHostname("localhost")),
+                new ConfiguredStringPool(source).stringPool()
+        );
+    }
+
+    public NLFPluginFactory(
+            final Sourceable source,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions,
+            final Deduplication deduplication,
+            final Throttle throttle,
+            final Aggregation aggregation,
+            final DeadLetters deadLetters,
+            final SchemaSampler schemaSampler,
+            final WarmUp warmUp,
+            final Hostname hostname,
+            final StringPool stringPool
+    ) {
+        this.source = source;
+        this.registry = registry;
+        this.definitions = definitions;
+        this.deduplication = deduplication;
+        this.throttle = throttle;
+        this.aggregation = aggregation;
+        this.deadLetters = deadLetters;
+        this.schemaSampler = schemaSampler;
+        this.warmUp = warmUp;
+        this.hostname = hostname;
+        this.stringPool = stringPool;
+        this.repeatFlushScheduled = new AtomicBoolean();
+    }
+
+    /**
+     * The first call runs the warm-up before returning, blocking the caller for up to {@code warmup.iterations} over
+     * the sample events or {@code warmup.seconds}, whichever comes first. Calls made while the warm-up runs do not wait
+     * for it. When aggregation is enabled, {@link #scheduleRepeatFlush} must be called first, as the repeats would
+     * otherwise never be delivered.
+     *
+     * @throws IllegalStateException if aggregation is enabled and its repeats are not flushed
+     */
     @Override
     public Plugin plugin(final String ignored) {
-        return new NLFPlugin();
+        if (aggregation.isEnabled() && !repeatFlushScheduled.get()) {
+            throw new IllegalStateException("Aggregation is enabled but scheduleRepeatFlush has not been called");
+        }
+        warmUp.warmUp();
+        return new NLFPlugin(
+                source,
+                new RethrowingRecordFailures(),
+                registry,
+                definitions,
+                deduplication,
+                throttle,
+                aggregation,
+                deadLetters,
+                schemaSampler,
+                hostname,
+                stringPool
+        );
+    }
+
+    /**
+     * @return deduplication shared by the created plugins, counting the events it suppressed
+     */
+    public Deduplication deduplication() {
+        return deduplication;
+    }
+
+    /**
+     * @return throttle shared by the created plugins, counting the events it admitted and dropped
+     */
+    public Throttle throttle() {
+        return throttle;
+    }
+
+    /**
+     * Flushes the repeats of the aggregation to the side channel every {@code aggregation.flush.millis}, as the
+     * messages of an event contain no repeats. The host owns the scheduler, the flush stops when the returned future
+     * is cancelled or the scheduler is shut down.
+     *
+     * @param scheduler        runs the flush
+     * @param repeatedMessages receives the repeats whose window has ended
+     * @return the scheduled flush
+     */
+    public ScheduledFuture<?> scheduleRepeatFlush(
+            final ScheduledExecutorService scheduler,
+            final RepeatedMessages repeatedMessages
+    ) {
+        final long flushMillis = new ConfiguredAggregation(source).flushMillis();
+        final ScheduledFuture<?> flush = scheduler
+                .scheduleAtFixedRate(
+                        new RepeatFlush(aggregation, repeatedMessages),
+                        flushMillis,
+                        flushMillis,
+                        TimeUnit.MILLISECONDS
+                );
+        repeatFlushScheduled.set(true);
+        return flush;
+    }
+
+    /**
+     * @return events and records that the created plugins could not convert
+     */
+    public DeadLetters deadLetters() {
+        return deadLetters;
+    }
+
+    /**
+     * @return schemas of the events sampled by the created plugins
+     */
+    public SchemaSampler schemaSampler() {
+        return schemaSampler;
+    }
+
+    /**
+     * @return pool of the strings shared by the messages of the created plugins
+     */
+    public StringPool stringPool() {
+        return stringPool;
     }
 }
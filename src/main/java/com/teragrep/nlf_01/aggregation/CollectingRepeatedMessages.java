@@ -0,0 +1,104 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.aggregation;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.rlo_14.SyslogMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps the flushed repeats until they are drained. Thread-safe.
+ */
+public final class CollectingRepeatedMessages implements RepeatedMessages {
+
+    private final ConcurrentLinkedQueue<SyslogMessage> syslogMessages;
+    private final ConcurrentLinkedQueue<PluginException> failures;
+
+    public CollectingRepeatedMessages() {
+        this(new ConcurrentLinkedQueue<>(), new ConcurrentLinkedQueue<>());
+    }
+
+    public CollectingRepeatedMessages(
+            final ConcurrentLinkedQueue<SyslogMessage> syslogMessages,
+            final ConcurrentLinkedQueue<PluginException> failures
+    ) {
+        this.syslogMessages = syslogMessages;
+        this.failures = failures;
+    }
+
+    @Override
+    public void repeated(final SyslogMessage syslogMessage) {
+        syslogMessages.add(syslogMessage);
+    }
+
+    @Override
+    public void failed(final PluginException exception) {
+        failures.add(exception);
+    }
+
+    /**
+     * @return failures collected so far, in the order they were reported
+     */
+    public List<PluginException> failures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Removes and returns the repeats collected so far.
+     */
+    public List<SyslogMessage> drain() {
+        final List<SyslogMessage> drained = new ArrayList<>();
+        SyslogMessage syslogMessage = syslogMessages.poll();
+        while (syslogMessage != null) {
+            drained.add(syslogMessage);
+            syslogMessage = syslogMessages.poll();
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.aggregation;
+
+import com.teragrep.nlf_01.types.AppServiceConsoleLogsType;
+import com.teragrep.nlf_01.types.ContainerAppConsoleLogsType;
+import com.teragrep.nlf_01.types.ContainerType;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.Sourceable;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link Aggregation} of the console log lines of {@link ContainerType}, {@link ContainerAppConsoleLogsType} and
+ * {@link AppServiceConsoleLogsType}, configured with {@code aggregation.window.seconds} and {@code aggregation.keys}.
+ * Aggregation is disabled when the window is zero, which is the default. The ended windows are flushed every
+ * {@code aggregation.flush.millis}.
+ */
+public final class ConfiguredAggregation {
+
+    private final Sourceable source;
+    private final LongSupplier clock;
+
+    public ConfiguredAggregation(final Sourceable source) {
+        this(source, System::nanoTime);
+    }
+
+    public ConfiguredAggregation(final Sourceable source, final LongSupplier clock) {
+        this.source = source;
+        this.clock = clock;
+    }
+
+    public Aggregation aggregation() {
+        final long windowSeconds = nonNegative("aggregation.window.seconds", "0");
+        final Aggregation aggregation;
+        if (windowSeconds == 0) {
+            aggregation = new NoAggregation();
+        }
+        else {
+            final Map<Class<? extends EventType>, String> lineKeys = Map
+                    .of(
+                            ContainerType.class, "LogMessage", ContainerAppConsoleLogsType.class, "Log",
+                            AppServiceConsoleLogsType.class, "ResultDescription"
+                    );
+            aggregation = new RepeatAggregation(
+                    lineKeys,
+                    TimeUnit.SECONDS.toNanos(windowSeconds),
+                    (int) nonNegative("aggregation.keys", "10000"),
+                    clock
+            );
+        }
+        return aggregation;
+    }
+
+    /**
+     * @return milliseconds between the flushes of a {@link RepeatFlush}
+     */
+    public long flushMillis() {
+        final long flushMillis = nonNegative("aggregation.flush.millis", "1000");
+        if (flushMillis == 0) {
+            throw new IllegalArgumentException("Invalid aggregation.flush.millis <[0]>");
+        }
+        return flushMillis;
+    }
+
+    private long nonNegative(final String name, final String defaultValue) {
+        final String value = source.source(name, defaultValue);
+        final long parsed;
+        try {
+            parsed = Long.parseLong(value);
+        }
+        catch (final NumberFormatException numberFormatException) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>", numberFormatException);
+        }
+        if (parsed < 0 || parsed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>");
+        }
+        return parsed;
+    }
+}
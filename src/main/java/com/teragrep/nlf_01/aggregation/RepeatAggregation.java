@@ -0,0 +1,195 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.aggregation;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Collapses the lines of the configured event types that repeat within a window. A line is identified by a
+ * {@link RepeatKey}. The first line of a window is converted as is, the repeats are counted and converted into a single
+ * {@link RepeatedEventType} when the window ends. The windows that have ended are closed on every call, their repeats
+ * are kept until {@link #expired()} returns them. At most {@code maxKeys} lines are tracked at once, including the
+ * ended windows whose repeats have not been returned yet, lines that do not fit are converted as is.
+ */
+public final class RepeatAggregation implements Aggregation {
+
+    private final Map<Class<? extends EventType>, String> lineKeys;
+    private final long windowNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<RepeatKey, Repeats> repeats;
+    private final Queue<Repeats> windows;
+    private final Queue<EventType> ended;
+    private final AtomicInteger endedCount;
+
+    /**
+     * @param lineKeys    key of the line in the main object of each aggregated event type
+     * @param windowNanos length of the window
+     * @param maxKeys     maximum amount of lines tracked and repeats kept at once
+     * @param clock       time in nanoseconds, drives the windows
+     */
+    public RepeatAggregation(
+            final Map<Class<? extends EventType>, String> lineKeys,
+            final long windowNanos,
+            final int maxKeys,
+            final LongSupplier clock
+    ) {
+        this.lineKeys = lineKeys;
+        this.windowNanos = windowNanos;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.repeats = new ConcurrentHashMap<>();
+        this.windows = new ConcurrentLinkedQueue<>();
+        this.ended = new ConcurrentLinkedQueue<>();
+        this.endedCount = new AtomicInteger();
+    }
+
+    @Override
+    public boolean isFirst(
+            final ParsedEvent parsedEvent,
+            final Class<? extends EventType> type,
+            final EventType eventType
+    ) throws PluginException {
+        final String lineKey = lineKeys.get(type);
+        boolean isFirst = true;
+        if (lineKey != null) {
+            final JsonStructure json = parsedEvent.asJsonStructure();
+            final JsonValue line = json.asJsonObject().get(lineKey);
+            if (line != null) {
+                final RepeatKey key = new RepeatKey(type, eventType.hostname(), eventType.appName(), hash(line));
+                isFirst = isFirst(key, eventType);
+            }
+        }
+        return isFirst;
+    }
+
+    private boolean isFirst(final RepeatKey key, final EventType eventType) throws PluginException {
+        final long now = clock.getAsLong();
+        end(now);
+        final Repeats current = repeats.get(key);
+        final boolean isFirst;
+        // a window that has ended or was closed concurrently is replaced by a new one
+        if (current != null && !current.hasEnded(now, windowNanos) && current.repeat(eventType.timestamp())) {
+            isFirst = false;
+        }
+        else {
+            if (repeats.size() + endedCount.get() < maxKeys || current != null) {
+                final Repeats window = new Repeats(key, eventType.severity(), eventType.facility(), now);
+                repeats.put(key, window);
+                windows.add(window);
+            }
+            isFirst = true;
+        }
+        return isFirst;
+    }
+
+    @Override
+    public List<EventType> expired() {
+        end(clock.getAsLong());
+        final List<EventType> expired = new ArrayList<>();
+        EventType repeated = ended.poll();
+        while (repeated != null) {
+            endedCount.decrementAndGet();
+            expired.add(repeated);
+            repeated = ended.poll();
+        }
+        return expired;
+    }
+
+    /**
+     * Closes the windows that have ended, keeping the repeats of those that had any.
+     */
+    private void end(final long now) {
+        // windows are of the same length, so they end in the order they were started
+        Repeats window = windows.peek();
+        while (window != null && window.hasEnded(now, windowNanos)) {
+            if (windows.remove(window)) {
+                repeats.remove(window.key(), window);
+                final EventType repeated = window.close();
+                if (repeated != null) {
+                    endedCount.incrementAndGet();
+                    ended.add(repeated);
+                }
+            }
+            window = windows.peek();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private long hash(final JsonValue line) {
+        final String string;
+        if (line.getValueType() == JsonValue.ValueType.STRING) {
+            string = ((JsonString) line).getString();
+        }
+        else {
+            string = line.toString();
+        }
+        // FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < string.length(); i++) {
+            hash = (hash ^ string.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
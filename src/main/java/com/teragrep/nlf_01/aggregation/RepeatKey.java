@@ -0,0 +1,105 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.aggregation;
+
+import com.teragrep.nlf_01.types.EventType;
+
+import java.util.Objects;
+
+/**
+ * Identifies a line of {@link RepeatAggregation} by the event type, the hostname, the appName and a 64-bit hash of the
+ * line, without keeping the line itself.
+ */
+public final class RepeatKey {
+
+    private final Class<? extends EventType> type;
+    private final String hostname;
+    private final String appName;
+    private final long lineHash;
+
+    public RepeatKey(
+            final Class<? extends EventType> type,
+            final String hostname,
+            final String appName,
+            final long lineHash
+    ) {
+        this.type = type;
+        this.hostname = hostname;
+        this.appName = appName;
+        this.lineHash = lineHash;
+    }
+
+    public Class<? extends EventType> type() {
+        return type;
+    }
+
+    public String hostname() {
+        return hostname;
+    }
+
+    public String appName() {
+        return appName;
+    }
+
+    public long lineHash() {
+        return lineHash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RepeatKey that = (RepeatKey) o;
+        return lineHash == that.lineHash && Objects.equals(type, that.type) && Objects.equals(hostname, that.hostname)
+                && Objects.equals(appName, that.appName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, hostname, appName, lineHash);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.aggregation;
+
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.rlo_14.Facility;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.Severity;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Repeats of a line, with the event type in the {@code nlf_01@48577} SDElement and the amount of repeats, the
+ * timestamps of the first and the last repeat and the hash of the line in the {@code repeated@48577} SDElement. The
+ * line itself is in the message converted at the start of the window, the repeats have an empty msg.
+ */
+public final class RepeatedEventType implements EventType {
+
+    private final RepeatKey key;
+    private final Severity severity;
+    private final Facility facility;
+    private final long count;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+
+    public RepeatedEventType(
+            final RepeatKey key,
+            final Severity severity,
+            final Facility facility,
+            final long count,
+            final long firstTimestamp,
+            final long lastTimestamp
+    ) {
+        this.key = key;
+        this.severity = severity;
+        this.facility = facility;
+        this.count = count;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    @Override
+    public Severity severity() {
+        return severity;
+    }
+
+    @Override
+    public Facility facility() {
+        return facility;
+    }
+
+    @Override
+    public String hostname() {
+        return key.hostname();
+    }
+
+    @Override
+    public String appName() {
+        return key.appName();
+    }
+
+    @Override
+    public long timestamp() {
+        return lastTimestamp;
+    }
+
+    @Override
+    public Set<SDElement> sdElements() {
+        final Set<SDElement> elems = new LinkedHashSet<>();
+        elems.add(new SDElement("nlf_01@48577").addSDParam("eventType", key.type().getSimpleName()));
+        elems
+                .add(
+                        new SDElement("repeated@48577")
+                                .addSDParam("count", Long.toString(count))
+                                .addSDParam("first", Instant.ofEpochMilli(firstTimestamp).toString())
+                                .addSDParam("last", Instant.ofEpochMilli(lastTimestamp).toString())
+                                .addSDParam("line", Long.toHexString(key.lineHash()))
+                );
+        return elems;
+    }
+
+    @Override
+    public String msgId() {
+        return "";
+    }
+
+    @Override
+    public String msg() {
+        return "";
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.aggregation;
+
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.rlo_14.Facility;
+import com.teragrep.rlo_14.Severity;
+
+/**
+ * Repeats of a line within a single window of {@link RepeatAggregation}. Only the count and the timestamps of the
+ * repeats are kept, not the repeated events.
+ */
+public final class Repeats {
+
+    private final RepeatKey key;
+    private final Severity severity;
+    private final Facility facility;
+    private final long windowStart;
+    private long count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private boolean closed;
+
+    /**
+     * @param severity severity of the first line, used for the repeats
+     * @param facility facility of the first line, used for the repeats
+     */
+    public Repeats(final RepeatKey key, final Severity severity, final Facility facility, final long windowStart) {
+        this.key = key;
+        this.severity = severity;
+        this.facility = facility;
+        this.windowStart = windowStart;
+        this.count = 0;
+        this.firstTimestamp = 0;
+        this.lastTimestamp = 0;
+        this.closed = false;
+    }
+
+    public RepeatKey key() {
+        return key;
+    }
+
+    public boolean hasEnded(final long now, final long windowNanos) {
+        return now - windowStart >= windowNanos;
+    }
+
+    /**
+     * @return false if the window has been closed and the repeat was not counted
+     */
+    public synchronized boolean repeat(final long timestamp) {
+        final boolean counted = !closed;
+        if (counted) {
+            if (count == 0) {
+                firstTimestamp = timestamp;
+            }
+            count++;
+            lastTimestamp = timestamp;
+        }
+        return counted;
+    }
+
+    /**
+     * Closes the window, later repeats are not counted.
+     *
+     * @return the repeats as an event type, or null if there were none
+     */
+    public synchronized EventType close() {
+        closed = true;
+        final EventType eventType;
+        if (count == 0) {
+            eventType = null;
+        }
+        else {
+            eventType = new RepeatedEventType(key, severity, facility, count, firstTimestamp, lastTimestamp);
+        }
+        return eventType;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.arena;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.flow.ConversionFailures;
+
+import java.util.List;
+
+/**
+ * Serializes batches of events into direct buffers of a {@link DirectBufferArena}, as octet-counted RFC 5424 records.
+ * Once the arena holds buffers for the batch sizes seen, writing a batch allocates no new buffers and the payloads
+ * copied into the MSG parts stay off the heap. Events that can not be converted are reported to the
+ * {@link ConversionFailures} and left out of the batch.
+ */
+public final class ArenaBatchWriter {
+
+    private final NLFPlugin plugin;
+    private final DirectBufferArena arena;
+    private final int initialCapacity;
+    private final ConversionFailures failures;
+
+    public ArenaBatchWriter(final NLFPlugin plugin, final DirectBufferArena arena, final ConversionFailures failures) {
+        this(plugin, arena, 64 * 1024, failures);
+    }
+
+    public ArenaBatchWriter(
+            final NLFPlugin plugin,
+            final DirectBufferArena arena,
+            final int initialCapacity,
+            final ConversionFailures failures
+    ) {
+        this.plugin = plugin;
+        this.arena = arena;
+        this.initialCapacity = initialCapacity;
+        this.failures = failures;
+    }
+
+    /**
+     * @param batch events to convert
+     * @return sink holding the records of the converted events, which the caller must close to release its buffer. All
+     *         buffers are released if writing the batch fails.
+     */
+    public ArenaByteSink write(final List<ParsedEvent> batch) {
+        final ArenaByteSink sink = new ArenaByteSink(arena, initialCapacity);
+        boolean written = false;
+        try {
+            try (final ArenaByteSink scratch = new ArenaByteSink(arena)) {
+                for (final ParsedEvent parsedEvent : batch) {
+                    write(parsedEvent, scratch, sink);
+                }
+            }
+            written = true;
+        }
+        finally {
+            if (!written) {
+                sink.close();
+            }
+        }
+        return sink;
+    }
+
+    private void write(final ParsedEvent parsedEvent, final ArenaByteSink scratch, final ArenaByteSink sink) {
+        final int size = sink.size();
+        try {
+            plugin.octetCountedRfc5424(parsedEvent, scratch, sink);
+        }
+        catch (final PluginException exception) {
+            // drops the records already written of a multi-record event
+            sink.truncate(size);
+            failures.failed(parsedEvent, exception);
+        }
+    }
+}
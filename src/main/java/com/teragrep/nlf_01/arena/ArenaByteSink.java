@@ -0,0 +1,154 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.arena;
+
+import com.teragrep.nlf_01.rfc5424.ByteSink;
+import com.teragrep.nlf_01.rfc5424.ScratchByteSink;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteSink} writing to direct buffers of a {@link DirectBufferArena}. When the buffer is full, the written bytes
+ * are moved to a buffer of the next size class and the previous one is released. Not thread-safe, {@link #close()}
+ * releases the buffer.
+ */
+public final class ArenaByteSink implements ScratchByteSink, AutoCloseable {
+
+    private final DirectBufferArena arena;
+    private BufferLease lease;
+
+    public ArenaByteSink(final DirectBufferArena arena) {
+        this(arena, 0);
+    }
+
+    public ArenaByteSink(final DirectBufferArena arena, final int initialCapacity) {
+        this.arena = arena;
+        this.lease = arena.acquire(initialCapacity);
+    }
+
+    @Override
+    public void write(final byte value) {
+        ensureRemaining(1).put(value);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        ensureRemaining(length).put(bytes, offset, length);
+    }
+
+    @Override
+    public void write(final ByteBuffer bytes) {
+        ensureRemaining(bytes.remaining()).put(bytes.duplicate());
+    }
+
+    @Override
+    public int size() {
+        return lease.buffer().position();
+    }
+
+    @Override
+    public void reset() {
+        lease.buffer().clear();
+    }
+
+    /**
+     * Discards the bytes written after the first {@code size} bytes.
+     *
+     * @throws IllegalArgumentException if more than {@link #size()} bytes would be kept
+     */
+    public void truncate(final int size) {
+        if (size < 0 || size > size()) {
+            throw new IllegalArgumentException("Invalid size <[" + size + "]>");
+        }
+        lease.buffer().position(size);
+    }
+
+    @Override
+    public void writeTo(final ByteSink sink) {
+        sink.write(written());
+    }
+
+    /**
+     * @return read-only view of the written bytes, valid until the sink is written to again or closed
+     */
+    public ByteBuffer written() {
+        final ByteBuffer written = lease.buffer().asReadOnlyBuffer();
+        written.flip();
+        return written;
+    }
+
+    /**
+     * Releases the buffer to the arena.
+     *
+     * @throws IllegalStateException if the sink is already closed
+     */
+    @Override
+    public void close() {
+        lease.release();
+    }
+
+    private ByteBuffer ensureRemaining(final int length) {
+        final ByteBuffer buffer = lease.buffer();
+        final ByteBuffer writable;
+        if (buffer.remaining() >= length) {
+            writable = buffer;
+        }
+        else {
+            final long required = (long) buffer.position() + length;
+            if (required > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Sink can not hold more than " + Integer.MAX_VALUE + " bytes");
+            }
+            final BufferLease grown = arena
+                    .acquire((int) Math.min(Integer.MAX_VALUE, Math.max(required, buffer.capacity() * 2L)));
+            buffer.flip();
+            grown.buffer().put(buffer);
+            lease.release();
+            lease = grown;
+            writable = grown.buffer();
+        }
+        return writable;
+    }
+}
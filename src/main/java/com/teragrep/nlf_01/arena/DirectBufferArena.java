@@ -0,0 +1,170 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.arena;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reusable direct buffers in power of two size classes from {@code minCapacity} to {@code maxCapacity}. Up to
+ * {@code buffersPerClass} released buffers of each class are kept for the next acquire, buffers larger than
+ * {@code maxCapacity} are allocated for a single use. Thread-safe, acquiring and releasing a pooled buffer does not
+ * lock or allocate memory for the buffer.
+ */
+public final class DirectBufferArena {
+
+    private final int minCapacity;
+    private final int classes;
+    private final int buffersPerClass;
+    private final AtomicReferenceArray<ByteBuffer> free;
+    private final LongAdder outstanding;
+    private final LongAdder allocated;
+
+    public DirectBufferArena() {
+        this(4 * 1024, 4 * 1024 * 1024, 8);
+    }
+
+    public DirectBufferArena(final int minCapacity, final int maxCapacity, final int buffersPerClass) {
+        this(minCapacity, maxCapacity, buffersPerClass, new LongAdder(), new LongAdder());
+    }
+
+    public DirectBufferArena(
+            final int minCapacity,
+            final int maxCapacity,
+            final int buffersPerClass,
+            final LongAdder outstanding,
+            final LongAdder allocated
+    ) {
+        if (minCapacity <= 0 || Integer.bitCount(minCapacity) != 1) {
+            throw new IllegalArgumentException("Invalid minCapacity <[" + minCapacity + "]>");
+        }
+        if (maxCapacity < minCapacity || Integer.bitCount(maxCapacity) != 1) {
+            throw new IllegalArgumentException("Invalid maxCapacity <[" + maxCapacity + "]>");
+        }
+        if (buffersPerClass < 0) {
+            throw new IllegalArgumentException("Invalid buffersPerClass <[" + buffersPerClass + "]>");
+        }
+        this.minCapacity = minCapacity;
+        this.classes = Integer.numberOfTrailingZeros(maxCapacity) - Integer.numberOfTrailingZeros(minCapacity) + 1;
+        this.buffersPerClass = buffersPerClass;
+        this.free = new AtomicReferenceArray<>(classes * buffersPerClass);
+        this.outstanding = outstanding;
+        this.allocated = allocated;
+    }
+
+    /**
+     * @param capacity least capacity of the buffer
+     * @return lease of a cleared buffer, which must be released once its content is no longer needed
+     */
+    public BufferLease acquire(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity <[" + capacity + "]>");
+        }
+        final int sizeClass = sizeClass(capacity);
+        ByteBuffer buffer = null;
+        if (sizeClass < classes) {
+            for (int i = sizeClass * buffersPerClass; buffer == null && i < (sizeClass + 1) * buffersPerClass; i++) {
+                if (free.get(i) != null) {
+                    buffer = free.getAndSet(i, null);
+                }
+            }
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(Math.max(capacity, classCapacity(sizeClass)));
+            allocated.increment();
+        }
+        else {
+            buffer.clear();
+        }
+        outstanding.increment();
+        return new BufferLease(this, buffer, sizeClass);
+    }
+
+    /**
+     * @return amount of acquired buffers that are not released, zero when nothing has leaked
+     */
+    public long outstanding() {
+        return outstanding.sum();
+    }
+
+    /**
+     * @return amount of direct buffers allocated, stops growing once the pool covers the steady state
+     */
+    public long allocated() {
+        return allocated.sum();
+    }
+
+    void release(final ByteBuffer buffer, final int sizeClass) {
+        outstanding.decrement();
+        if (sizeClass < classes) {
+            boolean kept = false;
+            for (int i = sizeClass * buffersPerClass; !kept && i < (sizeClass + 1) * buffersPerClass; i++) {
+                kept = free.get(i) == null && free.compareAndSet(i, null, buffer);
+            }
+        }
+    }
+
+    private int sizeClass(final int capacity) {
+        int sizeClass = 0;
+        while (sizeClass < classes && classCapacity(sizeClass) < capacity) {
+            sizeClass++;
+        }
+        return sizeClass;
+    }
+
+    private int classCapacity(final int sizeClass) {
+        final int capacity;
+        if (sizeClass < classes) {
+            capacity = minCapacity << sizeClass;
+        }
+        else {
+            // not pooled, allocated to the exact capacity
+            capacity = 0;
+        }
+        return capacity;
+    }
+}
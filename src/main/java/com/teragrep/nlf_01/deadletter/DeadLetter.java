@@ -0,0 +1,115 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.deadletter;
+
+import java.util.Objects;
+
+/**
+ * An event that could not be converted.
+ */
+public final class DeadLetter {
+
+    private final String type;
+    private final String key;
+    private final String payload;
+    private final String message;
+
+    public DeadLetter(final String type, final String key, final String payload, final String message) {
+        this.type = type;
+        this.key = key;
+        this.payload = payload;
+        this.message = message;
+    }
+
+    /**
+     * @return type key of the event, for example {@code Type=AppServiceConsoleLogs}
+     */
+    public String type() {
+        return type;
+    }
+
+    /**
+     * @return JSON key the conversion failed on, for example {@code _ResourceId}, or an empty string if not known
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return the event, truncated
+     */
+    public String payload() {
+        return payload;
+    }
+
+    /**
+     * @return message of the exception the conversion failed with
+     */
+    public String message() {
+        return message;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DeadLetter that = (DeadLetter) o;
+        return Objects.equals(type, that.type) && Objects.equals(key, that.key) && Objects.equals(payload, that.payload)
+                && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, key, payload, message);
+    }
+
+    @Override
+    public String toString() {
+        return "DeadLetter{type='" + type + "', key='" + key + "', message='" + message + "', payload='" + payload
+                + "'}";
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.deadletter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity ring of the most recent {@link DeadLetter DeadLetters}, the oldest is overwritten when full. Writers
+ * claim a sequence number and store into its slot without locking, readers skip the slots that are being written or
+ * were overwritten while reading.
+ */
+public final class DeadLetterRing {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong next;
+
+    public DeadLetterRing(final int capacity) {
+        this(new AtomicReferenceArray<>(capacity), new AtomicLong());
+    }
+
+    public DeadLetterRing(final AtomicReferenceArray<Slot> slots, final AtomicLong next) {
+        this.slots = slots;
+        this.next = next;
+    }
+
+    public void add(final DeadLetter deadLetter) {
+        final long sequence = next.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), new Slot(sequence, deadLetter));
+    }
+
+    /**
+     * @return dead letters currently in the ring, oldest first
+     */
+    public List<DeadLetter> snapshot() {
+        final long end = next.get();
+        final long start = Math.max(0, end - slots.length());
+        final List<DeadLetter> snapshot = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            final Slot slot = slots.get((int) (sequence % slots.length()));
+            if (slot != null && slot.sequence == sequence) {
+                snapshot.add(slot.deadLetter);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return amount of dead letters added, including the overwritten ones
+     */
+    public long added() {
+        return next.get();
+    }
+
+    public static final class Slot {
+
+        private final long sequence;
+        private final DeadLetter deadLetter;
+
+        public Slot(final long sequence, final DeadLetter deadLetter) {
+            this.sequence = sequence;
+            this.deadLetter = deadLetter;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.deadletter;
+
+import com.teragrep.akv_01.plugin.PluginException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JSON key a conversion failed on, read from the {@code Key <[name]> was not valid} message of the exception or of
+ * its causes.
+ */
+public final class FailedKey {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("Key <\\[(.*)\\]> was not valid");
+
+    private final PluginException exception;
+
+    public FailedKey(final PluginException exception) {
+        this.exception = exception;
+    }
+
+    /**
+     * @return the failing key, or an empty string if the exception does not name one
+     */
+    public String key() {
+        String key = "";
+        Throwable throwable = exception;
+        while (throwable != null && key.isEmpty()) {
+            if (throwable.getMessage() != null) {
+                final Matcher matcher = KEY_PATTERN.matcher(throwable.getMessage());
+                if (matcher.find()) {
+                    key = matcher.group(1);
+                }
+            }
+            if (throwable.getCause() == throwable) {
+                throwable = null;
+            }
+            else {
+                throwable = throwable.getCause();
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.deadletter;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.registry.MatchKind;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the most recent dead letters of each event type in a {@link DeadLetterRing}. The event type key is the first
+ * of {@code Type}, {@code AppType} and {@code category} the event has, or {@value #UNKNOWN_KEY}. Events of types that
+ * do not fit in the amount of kept types share the {@value #OVERFLOW_KEY} ring.
+ */
+public final class RingDeadLetters implements DeadLetters {
+
+    public static final String UNKNOWN_KEY = "unknown";
+    public static final String OVERFLOW_KEY = "*";
+    private static final MatchKind[] KEY_KINDS = {
+            MatchKind.TYPE, MatchKind.APP_TYPE, MatchKind.CATEGORY
+    };
+
+    private final int capacity;
+    private final int payloadLength;
+    private final int maxTypes;
+    private final Map<String, DeadLetterRing> rings;
+
+    /**
+     * @param capacity      amount of dead letters kept per event type
+     * @param payloadLength amount of characters of the event kept
+     * @param maxTypes      amount of event types kept separately
+     */
+    public RingDeadLetters(final int capacity, final int payloadLength, final int maxTypes) {
+        this(capacity, payloadLength, maxTypes, new ConcurrentHashMap<>());
+    }
+
+    public RingDeadLetters(
+            final int capacity,
+            final int payloadLength,
+            final int maxTypes,
+            final ConcurrentHashMap<String, DeadLetterRing> rings
+    ) {
+        this.capacity = capacity;
+        this.payloadLength = payloadLength;
+        this.maxTypes = maxTypes;
+        this.rings = rings;
+    }
+
+    @Override
+    public void failed(final ParsedEvent parsedEvent, final PluginException exception) {
+        final String key = key(parsedEvent);
+        DeadLetterRing ring = rings.get(key);
+        if (ring == null) {
+            if (rings.size() < maxTypes) {
+                ring = rings.computeIfAbsent(key, newKey -> new DeadLetterRing(capacity));
+            }
+            else {
+                ring = rings.computeIfAbsent(OVERFLOW_KEY, newKey -> new DeadLetterRing(capacity));
+            }
+        }
+        ring
+                .add(
+                        new DeadLetter(
+                                key,
+                                new FailedKey(exception).key(),
+                                truncated(parsedEvent.asString()),
+                                exception.getMessage()
+                        )
+                );
+    }
+
+    @Override
+    public Map<String, List<DeadLetter>> snapshot() {
+        final Map<String, List<DeadLetter>> snapshot = new TreeMap<>();
+        for (final Map.Entry<String, DeadLetterRing> entry : rings.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshot;
+    }
+
+    private String key(final ParsedEvent parsedEvent) {
+        String key = UNKNOWN_KEY;
+        if (parsedEvent.isJsonStructure()) {
+            final JsonStructure json = parsedEvent.asJsonStructure();
+            if (json.getValueType() == JsonValue.ValueType.OBJECT) {
+                final JsonObject jsonObject = json.asJsonObject();
+                for (final MatchKind kind : KEY_KINDS) {
+                    final JsonValue value = jsonObject.get(kind.jsonKey());
+                    if (
+                        UNKNOWN_KEY.equals(key) && value != null && value.getValueType() == JsonValue.ValueType.STRING
+                    ) {
+                        key = truncated(kind.jsonKey() + "=" + jsonObject.getString(kind.jsonKey()));
+                    }
+                }
+            }
+        }
+        return key;
+    }
+
+    private String truncated(final String string) {
+        final String truncated;
+        if (string.length() <= payloadLength) {
+            truncated = string;
+        }
+        else if (Character.isHighSurrogate(string.charAt(payloadLength - 1))) {
+            // not splitting a surrogate pair
+            truncated = string.substring(0, payloadLength - 1);
+        }
+        else {
+            truncated = string.substring(0, payloadLength);
+        }
+        return truncated;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.declaration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an event type on an interface extending {@code EventType}. The annotation processor of the build generates
+ * a final class named after the interface with a {@code Type} suffix, in the same package, that implements the
+ * interface by extracting the values from the keys of the event. The generated class has the constructor
+ * {@code (ParsedEvent parsedEvent, String realHostname, String componentNameForPartitions)}, builds the default
+ * SDElements followed by the declared ones, and uses the sequence number of the event as the msgId and the event as
+ * the msg.
+ * <p>
+ * The values are transformed in the same order as the values of the event type definitions read at runtime.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface EventTypeDeclaration {
+
+    /**
+     * @return name of a {@code com.teragrep.rlo_14.Severity}
+     */
+    public abstract String severity() default "NOTICE";
+
+    /**
+     * @return name of a {@code com.teragrep.rlo_14.Facility}
+     */
+    public abstract String facility() default "AUDIT";
+
+    /**
+     * @return value validated as the hostname, or the resource id the hostname is built from if
+     *         {@link ValueDeclaration#md5Resource()} is set
+     */
+    public abstract ValueDeclaration hostname();
+
+    /**
+     * @return value validated as the appName
+     */
+    public abstract ValueDeclaration appName();
+
+    /**
+     * @return value validated as the timestamp
+     */
+    public abstract ValueDeclaration timestamp();
+
+    /**
+     * @return SDElements added after the default SDElements
+     */
+    public abstract SDElementDeclaration[] sdElements() default {};
+}
@@ -0,0 +1,109 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.declaration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A string value of an {@link EventTypeDeclaration}, read from {@link #key()} and then transformed in the order of
+ * {@link #resource()}, {@link #pattern()}, {@link #prefix()}, {@link #ascii()} and {@link #hashable()}.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface ValueDeclaration {
+
+    /**
+     * @return key of the value, or the names of the nested keys leading to it
+     */
+    public abstract String[] key();
+
+    /**
+     * @return part of the Azure resource id to take, one of subscriptionId, resourceGroupName,
+     *         resourceProviderNamespace, resourceType and resourceName, or empty to take the whole value
+     */
+    public abstract String resource() default "";
+
+    /**
+     * @return pattern whose first match contains the value in the capture group {@link #group()}, or empty to take
+     *         the whole value
+     */
+    public abstract String pattern() default "";
+
+    /**
+     * @return name of the capture group of {@link #pattern()}
+     */
+    public abstract String group() default "value";
+
+    /**
+     * @return message of the failure when {@link #pattern()} does not match, empty for
+     *         {@code Could not parse <group> from <key>}
+     */
+    public abstract String error() default "";
+
+    /**
+     * @return prepended to the value
+     */
+    public abstract String prefix() default "";
+
+    /**
+     * @return true to remove the non-ASCII characters
+     */
+    public abstract boolean ascii() default false;
+
+    /**
+     * @return true to hash appNames that are too long
+     */
+    public abstract boolean hashable() default false;
+
+    /**
+     * @return true to build the hostname from the MD5 hash and the name of the resource id, only for the hostname
+     */
+    public abstract boolean md5Resource() default false;
+}
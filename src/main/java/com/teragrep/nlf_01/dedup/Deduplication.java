@@ -0,0 +1,78 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.dedup;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+
+/**
+ * Detects events that the plugin has already converted, before any conversion work is done. An event is recorded only
+ * after it was converted, so an event that failed is converted again when it is redelivered. Deliveries of the same
+ * event that are converted concurrently are all converted, as none of them is recorded before the others are checked.
+ */
+public interface Deduplication {
+
+    /**
+     * Checks the event without recording it.
+     *
+     * @return true if the event was converted before and should not be converted again
+     */
+    public abstract boolean isDuplicate(ParsedEvent parsedEvent);
+
+    /**
+     * Records the event as converted, so that its later deliveries are duplicates.
+     */
+    public abstract void converted(ParsedEvent parsedEvent);
+
+    /**
+     * @return amount of events suppressed since creation
+     */
+    public abstract long suppressed();
+
+    /**
+     * @return amount of events converted although they were too old to tell whether they were converted before
+     */
+    public abstract long expired();
+}
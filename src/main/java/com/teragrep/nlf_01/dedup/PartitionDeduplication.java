@@ -0,0 +1,156 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.dedup;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates events by the EventHub partition and the {@code SequenceNumber} of the event. Each partition has its
+ * own {@link SequenceWindow}, so events arriving out of order within the window are converted once. Events older
+ * than the window can not be told apart from redeliveries, so they are converted and counted as expired, and such an
+ * event may be converted twice. Events without a partition or a sequence number are always converted.
+ */
+public final class PartitionDeduplication implements Deduplication {
+
+    private final int windowSize;
+    private final Map<PartitionKey, SequenceWindow> windows;
+    private final LongAdder duplicates;
+    private final LongAdder expired;
+
+    /**
+     * @param windowSize amount of sequence numbers below the highest one that are tracked per partition
+     */
+    public PartitionDeduplication(final int windowSize) {
+        this(windowSize, new ConcurrentHashMap<>(), new LongAdder(), new LongAdder());
+    }
+
+    private PartitionDeduplication(
+            final int windowSize,
+            final Map<PartitionKey, SequenceWindow> windows,
+            final LongAdder duplicates,
+            final LongAdder expired
+    ) {
+        this.windowSize = windowSize;
+        this.windows = windows;
+        this.duplicates = duplicates;
+        this.expired = expired;
+    }
+
+    @Override
+    public boolean isDuplicate(final ParsedEvent parsedEvent) {
+        final SequenceWindow.Seen seen = seen(parsedEvent, false);
+        if (seen == SequenceWindow.Seen.DUPLICATE) {
+            duplicates.increment();
+        }
+        else if (seen == SequenceWindow.Seen.EXPIRED) {
+            expired.increment();
+        }
+        return seen == SequenceWindow.Seen.DUPLICATE;
+    }
+
+    @Override
+    public void converted(final ParsedEvent parsedEvent) {
+        seen(parsedEvent, true);
+    }
+
+    private SequenceWindow.Seen seen(final ParsedEvent parsedEvent, final boolean mark) {
+        SequenceWindow.Seen seen = SequenceWindow.Seen.NEW;
+        if (!parsedEvent.partitionCtx().isStub() && !parsedEvent.systemProperties().isStub()) {
+            final Map<String, Object> partitionContext = parsedEvent.partitionCtx().asMap();
+            final Object sequenceNumber = parsedEvent.systemProperties().asMap().get("SequenceNumber");
+            final Object partitionId = partitionContext.get("PartitionId");
+            if (partitionId != null && sequenceNumber != null) {
+                final PartitionKey partition = new PartitionKey(
+                        partitionContext.get("FullyQualifiedNamespace"),
+                        partitionContext.get("EventHubName"),
+                        partitionContext.get("ConsumerGroup"),
+                        partitionId
+                );
+                seen = seen(partition, sequenceNumber, mark);
+            }
+        }
+        return seen;
+    }
+
+    private SequenceWindow.Seen seen(final PartitionKey partition, final Object sequenceNumber, final boolean mark) {
+        SequenceWindow.Seen seen = SequenceWindow.Seen.NEW;
+        try {
+            final long parsed = Long.parseLong(String.valueOf(sequenceNumber));
+            final SequenceWindow window = windows.computeIfAbsent(partition, key -> new SequenceWindow(windowSize));
+            if (mark) {
+                seen = window.seen(parsed);
+            }
+            else {
+                seen = window.check(parsed);
+            }
+        }
+        catch (final NumberFormatException ignored) {
+            // not an EventHub sequence number, converted as is
+        }
+        return seen;
+    }
+
+    @Override
+    public long suppressed() {
+        return duplicates.sum();
+    }
+
+    @Override
+    public long expired() {
+        return expired.sum();
+    }
+
+    /**
+     * @return amount of partitions tracked
+     */
+    public int partitions() {
+        return windows.size();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Sequence numbers seen on a single partition. The highest sequence number is kept as a high-water mark and the
+ * sequence numbers below it are kept in a bitmap of {@code size} bits, so the memory used does not depend on the
+ * amount of events. Sequence numbers older than the window are reported as expired, as it is not known whether they
+ * were seen.
+ */
+public final class SequenceWindow {
+
+    private final long[] bitmap;
+    private long highWaterMark;
+    private boolean empty;
+
+    /**
+     * @param size amount of sequence numbers below the high-water mark that are tracked, rounded up to a multiple of 64
+     */
+    public SequenceWindow(final int size) {
+        this(new long[(size + Long.SIZE - 1) / Long.SIZE]);
+    }
+
+    private SequenceWindow(final long[] bitmap) {
+        this.bitmap = bitmap;
+        this.highWaterMark = 0;
+        this.empty = true;
+    }
+
+    /**
+     * @return whether the sequence number was seen, without marking it
+     */
+    public synchronized Seen check(final long sequenceNumber) {
+        final Seen seen;
+        if (empty || sequenceNumber > highWaterMark) {
+            seen = Seen.NEW;
+        }
+        else if (highWaterMark - sequenceNumber >= size()) {
+            seen = Seen.EXPIRED;
+        }
+        else if (isSet(sequenceNumber)) {
+            seen = Seen.DUPLICATE;
+        }
+        else {
+            seen = Seen.NEW;
+        }
+        return seen;
+    }
+
+    /**
+     * Marks the sequence number as seen.
+     *
+     * @return the result of the check before marking
+     */
+    public synchronized Seen seen(final long sequenceNumber) {
+        final Seen seen = check(sequenceNumber);
+        if (seen == Seen.NEW) {
+            if (empty || sequenceNumber > highWaterMark) {
+                if (empty || sequenceNumber - highWaterMark >= size()) {
+                    Arrays.fill(bitmap, 0L);
+                }
+                else {
+                    for (long cleared = highWaterMark + 1; cleared < sequenceNumber; cleared++) {
+                        clear(cleared);
+                    }
+                }
+                highWaterMark = sequenceNumber;
+                empty = false;
+            }
+            set(sequenceNumber);
+        }
+        return seen;
+    }
+
+    private long size() {
+        return (long) bitmap.length * Long.SIZE;
+    }
+
+    private boolean isSet(final long sequenceNumber) {
+        final long bit = bit(sequenceNumber);
+        return (bitmap[(int) (bit >>> 6)] & 1L << bit) != 0;
+    }
+
+    private void set(final long sequenceNumber) {
+        final long bit = bit(sequenceNumber);
+        bitmap[(int) (bit >>> 6)] |= 1L << bit;
+    }
+
+    private void clear(final long sequenceNumber) {
+        final long bit = bit(sequenceNumber);
+        bitmap[(int) (bit >>> 6)] &= ~(1L << bit);
+    }
+
+    private long bit(final long sequenceNumber) {
+        return Math.floorMod(sequenceNumber, size());
+    }
+
+    public enum Seen {
+        /**
+         * not seen before
+         */
+        NEW,
+        /**
+         * seen within the window
+         */
+        DUPLICATE,
+        /**
+         * older than the window, not known whether seen
+         */
+        EXPIRED
+    }
+}
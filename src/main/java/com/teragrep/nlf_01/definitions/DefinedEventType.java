@@ -43,29 +43,34 @@
  * Teragrep, the applicable Commercial License may apply to this file if you as
  * a licensee so wish it.
  */
-package com.teragrep.nlf_01.types;
+package com.teragrep.nlf_01.definitions;
 
 import com.teragrep.akv_01.event.ParsedEvent;
 import com.teragrep.akv_01.plugin.PluginException;
-import com.teragrep.nlf_01.util.*;
+import com.teragrep.nlf_01.types.EventType;
 import com.teragrep.rlo_14.Facility;
 import com.teragrep.rlo_14.SDElement;
 import com.teragrep.rlo_14.Severity;
-import jakarta.json.JsonObject;
 
 import java.util.Set;
 
-public final class AppInsightType implements EventType {
+/**
+ * {@link EventType} of an event matched by an {@link EventTypeDefinition}.
+ */
+public final class DefinedEventType implements EventType {
 
+    private final EventTypeDefinition definition;
     private final ParsedEvent parsedEvent;
     private final String realHostname;
     private final String componentNameForPartitions;
 
-    public AppInsightType(
+    public DefinedEventType(
+            final EventTypeDefinition definition,
             final ParsedEvent parsedEvent,
             final String realHostname,
             final String componentNameForPartitions
     ) {
+        this.definition = definition;
         this.parsedEvent = parsedEvent;
         this.realHostname = realHostname;
         this.componentNameForPartitions = componentNameForPartitions;
@@ -73,52 +78,32 @@ public final class AppInsightType implements EventType {
 
     @Override
     public Severity severity() {
-        return Severity.NOTICE;
+        return definition.severity();
     }
 
     @Override
     public Facility facility() {
-        return Facility.AUDIT;
+        return definition.facility();
     }
 
     @Override
     public String hostname() throws PluginException {
-        final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
-
-        final ValidKey<String> validKey = new ValidStringKey(record, "_ResourceId");
-
-        return new ValidRFC5424Hostname(
-                "md5-".concat(new MD5Hash(validKey.value()).md5().concat("-").concat(new ASCIIString(new ResourceId(validKey.value()).resourceName()).withNonAsciiCharsRemoved()))
-        ).hostnameWithInvalidCharsRemoved();
-
+        return definition.hostname(parsedEvent.asJsonStructure().asJsonObject());
     }
 
     @Override
     public String appName() throws PluginException {
-        final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
-
-        return new ValidRFC5424AppName(
-                new ASCIIString(new ValidStringKey(record, "AppRoleName").value()).withNonAsciiCharsRemoved()
-        ).appName();
+        return definition.appName(parsedEvent.asJsonStructure().asJsonObject());
     }
 
     @Override
     public long timestamp() throws PluginException {
-        final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
-
-        return new ValidRFC5424Timestamp(new ValidStringKey(record, "TimeGenerated").value()).validTimestamp();
+        return definition.timestamp(parsedEvent.asJsonStructure().asJsonObject());
     }
 
     @Override
-    public Set<SDElement> sdElements() {
-        final SDElements defaultSDElements = new DefaultSDElements(
-                parsedEvent,
-                realHostname,
-                this.getClass(),
-                componentNameForPartitions
-        );
-
-        return defaultSDElements.sdElements();
+    public Set<SDElement> sdElements() throws PluginException {
+        return definition.sdElements(parsedEvent, realHostname, componentNameForPartitions);
     }
 
     @Override
@@ -0,0 +1,188 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.definitions;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.ConstantSDElements;
+import com.teragrep.nlf_01.util.DefaultSDElements;
+import com.teragrep.nlf_01.util.ValidRFC5424Timestamp;
+import com.teragrep.nlf_01.util.ZonedDateTimeStrings;
+import com.teragrep.rlo_14.Facility;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.Severity;
+import jakarta.json.JsonObject;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiled event type definition, see {@link EventTypeDefinitions} for the definition format.
+ */
+public final class EventTypeDefinition {
+
+    private final String name;
+    private final Match match;
+    private final Severity severity;
+    private final Facility facility;
+    private final Extractor hostname;
+    private final Extractor appName;
+    private final Extractor timestamp;
+    private final List<SDElementDefinition> sdElements;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
+
+    public EventTypeDefinition(
+            final String name,
+            final Match match,
+            final Severity severity,
+            final Facility facility,
+            final Extractor hostname,
+            final Extractor appName,
+            final Extractor timestamp,
+            final List<SDElementDefinition> sdElements
+    ) {
+        this(
+                name,
+                match,
+                severity,
+                facility,
+                hostname,
+                appName,
+                timestamp,
+                sdElements,
+                new ConstantSDElements(),
+                new ZonedDateTimeStrings()
+        );
+    }
+
+    public EventTypeDefinition(
+            final String name,
+            final Match match,
+            final Severity severity,
+            final Facility facility,
+            final Extractor hostname,
+            final Extractor appName,
+            final Extractor timestamp,
+            final List<SDElementDefinition> sdElements,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this.name = name;
+        this.match = match;
+        this.severity = severity;
+        this.facility = facility;
+        this.hostname = hostname;
+        this.appName = appName;
+        this.timestamp = timestamp;
+        this.sdElements = sdElements;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
+    }
+
+    /**
+     * @return name of the event type, reported as the eventType of the nlf_01@48577 SD element
+     */
+    public String name() {
+        return name;
+    }
+
+    public boolean matches(final JsonObject record) {
+        return match.matches(record);
+    }
+
+    public EventType eventType(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String componentNameForPartitions
+    ) {
+        return new DefinedEventType(this, parsedEvent, realHostname, componentNameForPartitions);
+    }
+
+    Severity severity() {
+        return severity;
+    }
+
+    Facility facility() {
+        return facility;
+    }
+
+    String hostname(final JsonObject record) throws PluginException {
+        return hostname.value(record);
+    }
+
+    String appName(final JsonObject record) throws PluginException {
+        return appName.value(record);
+    }
+
+    long timestamp(final JsonObject record) throws PluginException {
+        return new ValidRFC5424Timestamp(timestamp.value(record)).validTimestamp();
+    }
+
+    Set<SDElement> sdElements(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String componentNameForPartitions
+    ) throws PluginException {
+        final Set<SDElement> elems = new DefaultSDElements(
+                parsedEvent,
+                realHostname,
+                name,
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
+        ).sdElements();
+
+        if (!sdElements.isEmpty()) {
+            final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
+            for (final SDElementDefinition sdElement : sdElements) {
+                elems.add(sdElement.sdElement(record));
+            }
+        }
+        return elems;
+    }
+}
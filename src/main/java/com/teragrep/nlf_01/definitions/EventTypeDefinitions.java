@@ -0,0 +1,336 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.definitions;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.util.BooleanKeyPath;
+import com.teragrep.nlf_01.util.ConstantSDElements;
+import com.teragrep.nlf_01.util.JsonObjectKeyPath;
+import com.teragrep.nlf_01.util.StringKeyPath;
+import com.teragrep.nlf_01.util.ZonedDateTimeStrings;
+import com.teragrep.rlo_14.Facility;
+import com.teragrep.rlo_14.Severity;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Reads event type definitions from a JSON file and compiles them into {@link EventTypeDefinition}s. The location is a
+ * file path, or a classpath resource when prefixed with {@code classpath:}.
+ *
+ * <pre>
+ * {"definitions": [{
+ *     "name": "ADFActivityRunType",
+ *     "match": {"key": "Type", "equals": "ADFActivityRun"},
+ *     "hostname": {"key": "_ResourceId", "md5Resource": true},
+ *     "appName": {"key": "PipelineName"},
+ *     "timestamp": {"key": "TimeGenerated"},
+ *     "sdElements": [{"id": "origin@48577", "params": [{"name": "_ResourceId", "key": "_ResourceId"}]}]
+ * }]}
+ * </pre>
+ *
+ * The match rule compares a string key of the record with {@code equals} or {@code endsWith}. Severity and facility
+ * default to NOTICE and AUDIT.
+ * <p>
+ * A value is read from {@code key}, a key name or an array of nested key names, and then transformed in the following
+ * order by the optional {@code resource} part of an Azure resource id, {@code pattern} with the named capture
+ * {@code group} (default {@code value}) and the {@code error} message used when it does not match, {@code prefix},
+ * removal of non-ASCII characters with {@code "ascii": true} and hashing of long appNames with
+ * {@code "hashable": true}. The hostname is either validated as is or, with {@code "md5Resource": true}, built from
+ * the MD5 hash and name of the resource id. The appName is always validated.
+ */
+public final class EventTypeDefinitions {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final StringKeyPath NAME = new StringKeyPath("name");
+    private static final StringKeyPath KEY = new StringKeyPath("key");
+    private static final JsonObjectKeyPath MATCH = new JsonObjectKeyPath("match");
+    private static final JsonObjectKeyPath HOSTNAME = new JsonObjectKeyPath("hostname");
+    private static final JsonObjectKeyPath APP_NAME = new JsonObjectKeyPath("appName");
+    private static final JsonObjectKeyPath TIMESTAMP = new JsonObjectKeyPath("timestamp");
+    private static final StringKeyPath SD_ID = new StringKeyPath("id");
+
+    private final String location;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
+
+    public EventTypeDefinitions(final String location) {
+        this(location, new ConstantSDElements(), new ZonedDateTimeStrings());
+    }
+
+    /**
+     * @param constantSDElements  shared by the compiled definitions
+     * @param enqueuedTimeStrings shared by the compiled definitions
+     */
+    public EventTypeDefinitions(
+            final String location,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this.location = location;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
+    }
+
+    public List<EventTypeDefinition> definitions() throws PluginException {
+        final JsonValue definitionsValue = json().get("definitions");
+        if (definitionsValue == null || definitionsValue.getValueType() != JsonValue.ValueType.ARRAY) {
+            throw new PluginException("Key <[definitions]> was not valid");
+        }
+
+        final List<EventTypeDefinition> definitions = new ArrayList<>();
+        final JsonArray definitionsArray = definitionsValue.asJsonArray();
+        for (int i = 0; i < definitionsArray.size(); i++) {
+            try {
+                definitions.add(definition(object(definitionsArray.get(i), "definitions")));
+            }
+            catch (final PluginException | IllegalArgumentException exception) {
+                throw new PluginException("Invalid event type definition at index " + i + " in " + location, exception);
+            }
+        }
+        return definitions;
+    }
+
+    private JsonObject json() throws PluginException {
+        final JsonObject json;
+        try (final InputStream inputStream = inputStream()) {
+            try (final JsonReader reader = Json.createReader(inputStream)) {
+                json = reader.readObject();
+            }
+        }
+        catch (final IOException | JsonException exception) {
+            throw new PluginException("Could not read event type definitions from " + location, exception);
+        }
+        return json;
+    }
+
+    private InputStream inputStream() throws IOException {
+        final InputStream inputStream;
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            final String resource = location.substring(CLASSPATH_PREFIX.length());
+            inputStream = EventTypeDefinitions.class.getClassLoader().getResourceAsStream(resource);
+            if (inputStream == null) {
+                throw new IOException("Classpath resource <[" + resource + "]> was not found");
+            }
+        }
+        else {
+            inputStream = Files.newInputStream(Paths.get(location));
+        }
+        return inputStream;
+    }
+
+    private EventTypeDefinition definition(final JsonObject definition) throws PluginException {
+        final List<SDElementDefinition> sdElements = new ArrayList<>();
+        if (definition.containsKey("sdElements")) {
+            for (final JsonValue sdElement : array(definition, "sdElements")) {
+                sdElements.add(sdElement(object(sdElement, "sdElements")));
+            }
+        }
+
+        final JsonObject hostname = HOSTNAME.value(definition);
+        final Extractor hostnameExtractor;
+        if (flag(hostname, "md5Resource")) {
+            hostnameExtractor = new MD5ResourceHostnameExtractor(extractor(hostname));
+        }
+        else {
+            hostnameExtractor = new HostnameExtractor(extractor(hostname));
+        }
+
+        return new EventTypeDefinition(
+                NAME.value(definition),
+                match(MATCH.value(definition)),
+                Severity.valueOf(optionalString(definition, "severity", Severity.NOTICE.name())),
+                Facility.valueOf(optionalString(definition, "facility", Facility.AUDIT.name())),
+                hostnameExtractor,
+                new AppNameExtractor(extractor(APP_NAME.value(definition))),
+                extractor(TIMESTAMP.value(definition)),
+                sdElements,
+                constantSDElements,
+                enqueuedTimeStrings
+        );
+    }
+
+    private Match match(final JsonObject match) throws PluginException {
+        final String key = KEY.value(match);
+        final Match rv;
+        if (match.containsKey("equals")) {
+            rv = new EqualsMatch(key, new StringKeyPath("equals").value(match));
+        }
+        else if (match.containsKey("endsWith")) {
+            rv = new SuffixMatch(key, new StringKeyPath("endsWith").value(match));
+        }
+        else {
+            throw new PluginException(new IllegalArgumentException("Match must have either equals or endsWith"));
+        }
+        return rv;
+    }
+
+    private SDElementDefinition sdElement(final JsonObject sdElement) throws PluginException {
+        final List<SDParamDefinition> sdParams = new ArrayList<>();
+        for (final JsonValue sdParam : array(sdElement, "params")) {
+            final JsonObject sdParamObject = object(sdParam, "params");
+            sdParams.add(new SDParamDefinition(NAME.value(sdParamObject), extractor(sdParamObject)));
+        }
+        return new SDElementDefinition(SD_ID.value(sdElement), sdParams);
+    }
+
+    private Extractor extractor(final JsonObject value) throws PluginException {
+        final String[] keys = keys(value);
+        Extractor extractor = new KeyExtractor(new StringKeyPath(keys));
+
+        if (value.containsKey("resource")) {
+            extractor = new ResourceIdExtractor(extractor, resourceIdPart(new StringKeyPath("resource").value(value)));
+        }
+        if (value.containsKey("pattern")) {
+            final String group = optionalString(value, "group", "value");
+            extractor = new PatternExtractor(
+                    extractor,
+                    pattern(new StringKeyPath("pattern").value(value)),
+                    group,
+                    optionalString(value, "error", "Could not parse " + group + " from " + String.join(".", keys))
+            );
+        }
+        if (value.containsKey("prefix")) {
+            extractor = new PrefixExtractor(extractor, new StringKeyPath("prefix").value(value));
+        }
+        if (flag(value, "ascii")) {
+            extractor = new ASCIIExtractor(extractor);
+        }
+        if (flag(value, "hashable")) {
+            extractor = new HashableAppNameExtractor(extractor);
+        }
+        return extractor;
+    }
+
+    private String[] keys(final JsonObject value) throws PluginException {
+        final JsonValue key = value.get("key");
+        final String[] keys;
+        if (key != null && key.getValueType() == JsonValue.ValueType.ARRAY && !key.asJsonArray().isEmpty()) {
+            final JsonArray keyArray = key.asJsonArray();
+            keys = new String[keyArray.size()];
+            for (int i = 0; i < keys.length; i++) {
+                if (keyArray.get(i).getValueType() != JsonValue.ValueType.STRING) {
+                    throw new PluginException("Key <[key]> was not valid");
+                }
+                keys[i] = ((JsonString) keyArray.get(i)).getString();
+            }
+        }
+        else {
+            keys = new String[] {
+                    KEY.value(value)
+            };
+        }
+        return keys;
+    }
+
+    private ResourceIdPart resourceIdPart(final String name) throws PluginException {
+        ResourceIdPart rv = null;
+        for (final ResourceIdPart part : ResourceIdPart.values()) {
+            if (part.definitionName().equals(name)) {
+                rv = part;
+            }
+        }
+        if (rv == null) {
+            throw new PluginException(new IllegalArgumentException("Unknown resource id part: " + name));
+        }
+        return rv;
+    }
+
+    private Pattern pattern(final String regex) throws PluginException {
+        final Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        }
+        catch (final PatternSyntaxException exception) {
+            throw new PluginException(exception);
+        }
+        return pattern;
+    }
+
+    private boolean flag(final JsonObject jsonObject, final String key) throws PluginException {
+        return jsonObject.containsKey(key) && new BooleanKeyPath(key).value(jsonObject);
+    }
+
+    private String optionalString(final JsonObject jsonObject, final String key, final String defaultValue)
+            throws PluginException {
+        final String rv;
+        if (jsonObject.containsKey(key)) {
+            rv = new StringKeyPath(key).value(jsonObject);
+        }
+        else {
+            rv = defaultValue;
+        }
+        return rv;
+    }
+
+    private JsonArray array(final JsonObject jsonObject, final String key) throws PluginException {
+        final JsonValue value = jsonObject.get(key);
+        if (value == null || value.getValueType() != JsonValue.ValueType.ARRAY) {
+            throw new PluginException("Key <[" + key + "]> was not valid");
+        }
+        return value.asJsonArray();
+    }
+
+    private JsonObject object(final JsonValue value, final String key) throws PluginException {
+        if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+            throw new PluginException("Key <[" + key + "]> was not valid");
+        }
+        return value.asJsonObject();
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.flow;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.rlo_14.SyslogMessage;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link Flow.Processor} converting events with {@link NLFPlugin#syslogMessage(ParsedEvent)}. Events are converted
+ * concurrently on the executor and their messages are signalled in the order the events arrived, as the subscriber
+ * requests them. At most {@code maxInFlight} events are requested from upstream before all messages of the earliest
+ * one are signalled, which bounds both the conversions running and the converted messages held.
+ * <p>
+ * An event that can not be converted is reported to the {@link ConversionFailures} and the stream continues. An error
+ * from upstream is signalled after the messages of the events before it. The processor has a single subscriber, a
+ * conversion rejected by the executor is run on the thread that signalled the event.
+ */
+public final class ConvertingProcessor implements Flow.Processor<ParsedEvent, SyslogMessage> {
+
+    private final NLFPlugin plugin;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final ConversionFailures failures;
+    private final AtomicReference<Flow.Subscription> upstream;
+    private final AtomicBoolean subscribed;
+    private final AtomicReference<Flow.Subscriber<? super SyslogMessage>> downstream;
+    private final ConcurrentLinkedQueue<Conversion> conversions;
+    private final AtomicLong requested;
+    private final AtomicInteger drains;
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    // accessed only while draining
+    private int outstanding;
+    private int emitted;
+    private boolean terminated;
+
+    public ConvertingProcessor(final NLFPlugin plugin, final ConversionFailures failures) {
+        this(plugin, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), failures);
+    }
+
+    public ConvertingProcessor(
+            final NLFPlugin plugin,
+            final Executor executor,
+            final int maxInFlight,
+            final ConversionFailures failures
+    ) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Invalid maxInFlight <[" + maxInFlight + "]>");
+        }
+        this.plugin = plugin;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.failures = failures;
+        this.upstream = new AtomicReference<>();
+        this.subscribed = new AtomicBoolean();
+        this.downstream = new AtomicReference<>();
+        this.conversions = new ConcurrentLinkedQueue<>();
+        this.requested = new AtomicLong();
+        this.drains = new AtomicInteger();
+        this.done = false;
+        this.error = null;
+        this.cancelled = false;
+        this.invalidRequest = null;
+        this.outstanding = 0;
+        this.emitted = 0;
+        this.terminated = false;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super SyslogMessage> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new DemandSubscription(this));
+            // set after onSubscribe, as draining may signal completion right away
+            downstream.set(subscriber);
+            drain();
+        }
+        else {
+            subscriber.onSubscribe(new CancelledSubscription());
+            subscriber.onError(new IllegalStateException("ConvertingProcessor allows only one subscriber"));
+        }
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        if (!upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+        }
+        else if (cancelled) {
+            subscription.cancel();
+        }
+        else {
+            drain();
+        }
+    }
+
+    /**
+     * Events signalled after the subscription was cancelled or the stream terminated are dropped without converting
+     * them.
+     */
+    @Override
+    public void onNext(final ParsedEvent parsedEvent) {
+        Objects.requireNonNull(parsedEvent, "parsedEvent");
+        // the stream terminates only once cancelled or done
+        if (!cancelled && !done) {
+            final Conversion conversion = new Conversion(plugin, parsedEvent, failures);
+            conversions.add(conversion);
+            final Runnable task = () -> {
+                try {
+                    conversion.run();
+                }
+                finally {
+                    drain();
+                }
+            };
+            try {
+                executor.execute(task);
+            }
+            catch (final RejectedExecutionException rejectedExecutionException) {
+                task.run();
+            }
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable");
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    void request(final long n) {
+        if (n <= 0) {
+            invalidRequest = new IllegalArgumentException("Invalid request <[" + n + "]>");
+            cancel();
+        }
+        else {
+            requested.getAndUpdate(current -> current + Math.min(n, Long.MAX_VALUE - current));
+            drain();
+        }
+    }
+
+    void cancel() {
+        cancelled = true;
+        final Flow.Subscription subscription = upstream.get();
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        drain();
+    }
+
+    /**
+     * Signals the subscriber from one thread at a time. A thread that finds another one draining leaves the work to
+     * it, which then drains again.
+     */
+    private void drain() {
+        if (drains.getAndIncrement() == 0) {
+            int missed = 1;
+            while (missed != 0) {
+                signal();
+                missed = drains.addAndGet(-missed);
+            }
+        }
+    }
+
+    private void signal() {
+        final Flow.Subscriber<? super SyslogMessage> subscriber = downstream.get();
+        if (subscriber != null && !terminated) {
+            if (cancelled) {
+                conversions.clear();
+                terminated = true;
+                if (invalidRequest != null) {
+                    subscriber.onError(invalidRequest);
+                }
+            }
+            else {
+                signalConverted(subscriber);
+                if (done && conversions.isEmpty()) {
+                    terminated = true;
+                    if (error == null) {
+                        subscriber.onComplete();
+                    }
+                    else {
+                        subscriber.onError(error);
+                    }
+                }
+                else {
+                    requestUpstream();
+                }
+            }
+        }
+        else if (terminated) {
+            // events that arrived while the stream was terminating
+            conversions.clear();
+        }
+    }
+
+    private void signalConverted(final Flow.Subscriber<? super SyslogMessage> subscriber) {
+        boolean signalling = true;
+        while (signalling) {
+            final Conversion conversion = conversions.peek();
+            if (conversion == null || !conversion.isDone()) {
+                signalling = false;
+            }
+            else if (emitted == conversion.messages().size()) {
+                conversions.poll();
+                emitted = 0;
+                outstanding--;
+            }
+            else if (cancelled || requested.get() == 0) {
+                signalling = false;
+            }
+            else {
+                final List<SyslogMessage> messages = conversion.messages();
+                requested.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                emitted++;
+                subscriber.onNext(messages.get(emitted - 1));
+            }
+        }
+    }
+
+    private void requestUpstream() {
+        final Flow.Subscription subscription = upstream.get();
+        if (subscription != null && !done && outstanding < maxInFlight) {
+            final int missing = maxInFlight - outstanding;
+            outstanding = maxInFlight;
+            subscription.request(missing);
+        }
+    }
+}
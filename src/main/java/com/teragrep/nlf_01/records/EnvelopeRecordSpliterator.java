@@ -0,0 +1,117 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.records;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import jakarta.json.JsonArray;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Walks the records of a multi-record event, already parsed as part of the envelope, so that each record is turned
+ * into an event only when it is advanced to. Splitting, as done by parallel streams, halves the remaining records.
+ */
+public final class EnvelopeRecordSpliterator implements Spliterator<EnvelopeRecord> {
+
+    private final ParsedEvent envelope;
+    private final JsonArray records;
+    private int index;
+    private final int fence;
+
+    /**
+     * @param envelope multi-record event
+     * @param records  records of the event as returned by {@link EnvelopeRecords#records()}
+     */
+    public EnvelopeRecordSpliterator(final ParsedEvent envelope, final JsonArray records) {
+        this(envelope, records, 0, records.size());
+    }
+
+    private EnvelopeRecordSpliterator(
+            final ParsedEvent envelope,
+            final JsonArray records,
+            final int index,
+            final int fence
+    ) {
+        this.envelope = envelope;
+        this.records = records;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super EnvelopeRecord> action) {
+        boolean advanced = false;
+        if (index < fence) {
+            action.accept(new EnvelopeRecord(envelope, index, records.get(index)));
+            index++;
+            advanced = true;
+        }
+        return advanced;
+    }
+
+    @Override
+    public Spliterator<EnvelopeRecord> trySplit() {
+        final int middle = (index + fence) >>> 1;
+        Spliterator<EnvelopeRecord> prefix = null;
+        if (middle > index) {
+            prefix = new EnvelopeRecordSpliterator(envelope, records, index, middle);
+            index = middle;
+        }
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.SIZED
+                | Spliterator.SUBSIZED;
+    }
+}
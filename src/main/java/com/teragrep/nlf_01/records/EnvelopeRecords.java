@@ -0,0 +1,100 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.records;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+
+/**
+ * Records of a multi-record event. Both a top-level JSON array and the Azure diagnostic settings envelope
+ * {@code {"records":[...]}} carry multiple records, any other structure is a single event.
+ */
+public final class EnvelopeRecords {
+
+    private static final String RECORDS_KEY = "records";
+
+    private final JsonStructure json;
+
+    public EnvelopeRecords(final JsonStructure json) {
+        this.json = json;
+    }
+
+    public boolean isEnvelope() {
+        final boolean isEnvelope;
+        if (json.getValueType().equals(JsonValue.ValueType.ARRAY)) {
+            isEnvelope = true;
+        }
+        else if (json.getValueType().equals(JsonValue.ValueType.OBJECT)) {
+            final JsonObject jsonObject = json.asJsonObject();
+            isEnvelope = jsonObject.size() == 1 && jsonObject.containsKey(RECORDS_KEY)
+                    && jsonObject.get(RECORDS_KEY).getValueType().equals(JsonValue.ValueType.ARRAY);
+        }
+        else {
+            isEnvelope = false;
+        }
+        return isEnvelope;
+    }
+
+    /**
+     * @return records of the envelope
+     * @throws IllegalStateException if the structure is not an envelope
+     */
+    public JsonArray records() {
+        if (!isEnvelope()) {
+            throw new IllegalStateException("Event was not a multi-record envelope");
+        }
+        final JsonArray records;
+        if (json.getValueType().equals(JsonValue.ValueType.ARRAY)) {
+            records = json.asJsonArray();
+        }
+        else {
+            records = json.asJsonObject().getJsonArray(RECORDS_KEY);
+        }
+        return records;
+    }
+}
@@ -43,17 +43,15 @@
  * Teragrep, the applicable Commercial License may apply to this file if you as
  * a licensee so wish it.
  */
-package com.teragrep.nlf_01.util;
+package com.teragrep.nlf_01.records;
 
 import com.teragrep.akv_01.plugin.PluginException;
 
 /**
- * Interface for objects that work with JsonStructures, and want to return a value that is predetermined by {@code <T>}
- * 
- * @param <T> This parameter should tell which Java value should be returned from the {@link #value()} method.
+ * Receives the records of a multi-record event that could not be converted. Implementations may throw to fail the
+ * whole event, or keep the failure and let the remaining records be converted.
  */
-public interface ValidKey<T> {
-
-    public abstract T value() throws PluginException;
+public interface RecordFailures {
 
+    public abstract void failed(RecordFailure failure) throws PluginException;
 }
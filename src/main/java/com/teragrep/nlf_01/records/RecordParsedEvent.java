@@ -0,0 +1,118 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.records;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.metadata.offset.EventOffset;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContext;
+import com.teragrep.akv_01.event.metadata.properties.EventProperties;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemProperties;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTime;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+
+/**
+ * {@link ParsedEvent} of a record already parsed as part of its envelope, so that the record is not serialized and
+ * parsed again. The metadata is that of the envelope. Not thread-safe.
+ */
+public final class RecordParsedEvent implements ParsedEvent {
+
+    private final ParsedEvent envelope;
+    private final JsonValue record;
+    private String payload;
+
+    public RecordParsedEvent(final ParsedEvent envelope, final JsonValue record) {
+        this.envelope = envelope;
+        this.record = record;
+        this.payload = null;
+    }
+
+    @Override
+    public boolean isJsonStructure() {
+        return record instanceof JsonStructure;
+    }
+
+    @Override
+    public JsonStructure asJsonStructure() {
+        if (!isJsonStructure()) {
+            throw new IllegalStateException("Record was not a JSON structure");
+        }
+        return (JsonStructure) record;
+    }
+
+    @Override
+    public String asString() {
+        if (payload == null) {
+            payload = record.toString();
+        }
+        return payload;
+    }
+
+    @Override
+    public EventPartitionContext partitionCtx() {
+        return envelope.partitionCtx();
+    }
+
+    @Override
+    public EventProperties properties() {
+        return envelope.properties();
+    }
+
+    @Override
+    public EventSystemProperties systemProperties() {
+        return envelope.systemProperties();
+    }
+
+    @Override
+    public EnqueuedTime enqueuedTimeUtc() {
+        return envelope.enqueuedTimeUtc();
+    }
+
+    @Override
+    public EventOffset offset() {
+        return envelope.offset();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.registry;
+
+import com.teragrep.nlf_01.util.Sourceable;
+
+import java.util.List;
+
+/**
+ * Factories reused per thread if {@code eventtype.reuse} is {@code true}, see {@link ReusedEventTypeFactory}. The
+ * default {@code false} creates a new type for every event. Reuse can not be combined with aggregation, which keeps
+ * the types of the repeated events.
+ */
+public final class ConfiguredEventTypeFactories {
+
+    private final Sourceable source;
+    private final List<EventTypeFactory> factories;
+
+    public ConfiguredEventTypeFactories(final Sourceable source, final List<EventTypeFactory> factories) {
+        this.source = source;
+        this.factories = factories;
+    }
+
+    public List<EventTypeFactory> factories() {
+        final String reuse = source.source("eventtype.reuse", "false");
+        final List<EventTypeFactory> configured;
+        if ("false".equals(reuse)) {
+            configured = factories;
+        }
+        else if ("true".equals(reuse)) {
+            if (!"0".equals(source.source("aggregation.window.seconds", "0"))) {
+                throw new IllegalArgumentException("eventtype.reuse can not be used with aggregation.window.seconds");
+            }
+            configured = new ReusedEventTypeFactories(factories).factories();
+        }
+        else {
+            throw new IllegalArgumentException("Invalid eventtype.reuse <[" + reuse + "]>");
+        }
+        return configured;
+    }
+}
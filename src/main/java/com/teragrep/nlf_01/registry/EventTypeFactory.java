@@ -0,0 +1,96 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.registry;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.Sourceable;
+import jakarta.json.JsonObject;
+
+/**
+ * Creates the {@link EventType} of events matching its {@link MatchKey}. Factories are provided by
+ * {@link EventTypeProvider EventTypeProviders} and indexed by {@link EventTypeRegistry}.
+ */
+public interface EventTypeFactory {
+
+    /**
+     * @return key the factory is indexed by
+     */
+    public abstract MatchKey matchKey();
+
+    /**
+     * @return precedence among the factories of the same key, higher is tried first
+     */
+    public abstract int priority();
+
+    /**
+     * Additional condition checked after the key has matched.
+     *
+     * @param jsonObject main object of the event
+     * @return true if the event is of this type
+     */
+    public abstract boolean matches(JsonObject jsonObject);
+
+    /**
+     * @param parsedEvent   event matching the key and {@link #matches(JsonObject)}
+     * @param source        configuration source
+     * @param realHostname  hostname of the machine the plugin runs on
+     * @param componentName name of the component for the partition SDElement
+     */
+    public abstract EventType eventType(
+            ParsedEvent parsedEvent,
+            Sourceable source,
+            String realHostname,
+            String componentName
+    ) throws PluginException;
+
+    /**
+     * Called by the thread that asked for event types once it no longer uses them. A factory that reuses its types
+     * releases the event they were bound to, a factory creating a new type per event has nothing to release.
+     */
+    public abstract void released();
+}
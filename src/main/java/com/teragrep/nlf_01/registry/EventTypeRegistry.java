@@ -0,0 +1,226 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.registry;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.Sourceable;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Indexes {@link EventTypeFactory EventTypeFactories} by their {@link MatchKey} so that the lookup cost does not depend
+ * on the amount of registered factories. Only the factories of the first {@link MatchKind} whose key the event has as a
+ * string are tried, an event with a {@code Type} that no factory matches is not matched by its {@code AppType} or
+ * {@code category}. The first factory that {@link EventTypeFactory#matches(JsonObject) matches} is used, factories are
+ * tried in the order of:
+ * <ol>
+ * <li>{@link MatchKind} in declaration order, suffixes from the longest to the shortest</li>
+ * <li>{@link EventTypeFactory#priority()} from the highest to the lowest</li>
+ * <li>registration order</li>
+ * </ol>
+ */
+public final class EventTypeRegistry {
+
+    private final Map<MatchKind, Map<String, List<EventTypeFactory>>> index;
+    private final int[] suffixLengths;
+    private final ThreadLocal<EventTypeFactory> producers;
+
+    public EventTypeRegistry() {
+        this(new ServiceLoadedEventTypeFactories().factories());
+    }
+
+    public EventTypeRegistry(final List<EventTypeFactory> factories) {
+        this(indexed(factories));
+    }
+
+    private EventTypeRegistry(final Map<MatchKind, Map<String, List<EventTypeFactory>>> index) {
+        this(index, suffixLengths(index.get(MatchKind.TYPE_SUFFIX)), new ThreadLocal<>());
+    }
+
+    private EventTypeRegistry(
+            final Map<MatchKind, Map<String, List<EventTypeFactory>>> index,
+            final int[] suffixLengths,
+            final ThreadLocal<EventTypeFactory> producers
+    ) {
+        this.index = index;
+        this.suffixLengths = suffixLengths;
+        this.producers = producers;
+    }
+
+    /**
+     * @param parsedEvent   event to create the type for
+     * @param jsonObject    main object of the event
+     * @param source        configuration source
+     * @param realHostname  hostname of the machine the plugin runs on
+     * @param componentName name of the component for the partition SDElement
+     * @return type of the first matching factory, or an empty list if none matched
+     */
+    public List<EventType> eventTypes(
+            final ParsedEvent parsedEvent,
+            final JsonObject jsonObject,
+            final Sourceable source,
+            final String realHostname,
+            final String componentName
+    ) throws PluginException {
+        final EventTypeFactory factory = factory(jsonObject);
+        final List<EventType> eventTypes;
+        if (factory == null) {
+            eventTypes = Collections.emptyList();
+        }
+        else {
+            // set before creating the type, so that a factory failing halfway is released as well
+            producers.set(factory);
+            eventTypes = Collections.singletonList(factory.eventType(parsedEvent, source, realHostname, componentName));
+        }
+        return eventTypes;
+    }
+
+    /**
+     * Lets the factory that produced the last types of the calling thread release their event, see
+     * {@link EventTypeFactory#released()}. The other factories returned nothing to the thread, so they are not called.
+     */
+    public void released() {
+        final EventTypeFactory producer = producers.get();
+        if (producer != null) {
+            producers.set(null);
+            producer.released();
+        }
+    }
+
+    private EventTypeFactory factory(final JsonObject jsonObject) {
+        EventTypeFactory factory = null;
+        final String type = string(jsonObject, MatchKind.TYPE.jsonKey());
+        final String appType = string(jsonObject, MatchKind.APP_TYPE.jsonKey());
+        if (type != null) {
+            factory = first(MatchKind.TYPE, type, jsonObject);
+            for (int i = 0; factory == null && i < suffixLengths.length; i++) {
+                if (suffixLengths[i] <= type.length()) {
+                    final String suffix = type.substring(type.length() - suffixLengths[i]);
+                    factory = first(MatchKind.TYPE_SUFFIX, suffix, jsonObject);
+                }
+            }
+        }
+        else if (appType != null) {
+            factory = first(MatchKind.APP_TYPE, appType, jsonObject);
+        }
+        else {
+            factory = first(MatchKind.CATEGORY, string(jsonObject, MatchKind.CATEGORY.jsonKey()), jsonObject);
+        }
+        return factory;
+    }
+
+    private EventTypeFactory first(final MatchKind kind, final String value, final JsonObject jsonObject) {
+        EventTypeFactory first = null;
+        if (value != null) {
+            final List<EventTypeFactory> factories = index.get(kind).getOrDefault(value, Collections.emptyList());
+            for (int i = 0; first == null && i < factories.size(); i++) {
+                if (factories.get(i).matches(jsonObject)) {
+                    first = factories.get(i);
+                }
+            }
+        }
+        return first;
+    }
+
+    private String string(final JsonObject jsonObject, final String key) {
+        final JsonValue value = jsonObject.get(key);
+        final String string;
+        if (value != null && value.getValueType() == JsonValue.ValueType.STRING) {
+            string = jsonObject.getString(key);
+        }
+        else {
+            string = null;
+        }
+        return string;
+    }
+
+    private static Map<MatchKind, Map<String, List<EventTypeFactory>>> indexed(
+            final List<EventTypeFactory> factories
+    ) {
+        final Map<MatchKind, Map<String, List<EventTypeFactory>>> index = new EnumMap<>(MatchKind.class);
+        for (final MatchKind kind : MatchKind.values()) {
+            index.put(kind, new HashMap<>());
+        }
+        for (final EventTypeFactory factory : factories) {
+            index
+                    .get(factory.matchKey().kind())
+                    .computeIfAbsent(factory.matchKey().value(), value -> new ArrayList<>())
+                    .add(factory);
+        }
+        for (final Map<String, List<EventTypeFactory>> factoriesByValue : index.values()) {
+            // List.sort is stable, so the registration order is kept within the same priority
+            factoriesByValue
+                    .values()
+                    .forEach(list -> list.sort(Comparator.comparingInt(EventTypeFactory::priority).reversed()));
+        }
+        return index;
+    }
+
+    private static int[] suffixLengths(final Map<String, List<EventTypeFactory>> suffixes) {
+        final Set<Integer> lengths = new TreeSet<>(Comparator.reverseOrder());
+        for (final String suffix : suffixes.keySet()) {
+            lengths.add(suffix.length());
+        }
+        return lengths.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public String toString() {
+        return "EventTypeRegistry{" + "index=" + index + '}';
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.registry;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.metadata.offset.EventOffset;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContext;
+import com.teragrep.akv_01.event.metadata.properties.EventProperties;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemProperties;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTime;
+import jakarta.json.JsonStructure;
+
+/**
+ * {@link ParsedEvent} delegating to the event it was last bound to, so that an event type created with it can be
+ * reused for the next event. Fails with {@link IllegalStateException} while unbound. Not thread-safe.
+ */
+public final class ReboundParsedEvent implements ParsedEvent {
+
+    private ParsedEvent parsedEvent;
+
+    public ReboundParsedEvent(final ParsedEvent parsedEvent) {
+        this.parsedEvent = parsedEvent;
+    }
+
+    public void rebind(final ParsedEvent parsedEvent) {
+        this.parsedEvent = parsedEvent;
+    }
+
+    /**
+     * Drops the reference to the bound event until the next {@link #rebind(ParsedEvent)}.
+     */
+    public void unbind() {
+        this.parsedEvent = null;
+    }
+
+    @Override
+    public boolean isJsonStructure() {
+        return bound().isJsonStructure();
+    }
+
+    @Override
+    public JsonStructure asJsonStructure() {
+        return bound().asJsonStructure();
+    }
+
+    @Override
+    public String asString() {
+        return bound().asString();
+    }
+
+    @Override
+    public EventPartitionContext partitionCtx() {
+        return bound().partitionCtx();
+    }
+
+    @Override
+    public EventProperties properties() {
+        return bound().properties();
+    }
+
+    @Override
+    public EventSystemProperties systemProperties() {
+        return bound().systemProperties();
+    }
+
+    @Override
+    public EnqueuedTime enqueuedTimeUtc() {
+        return bound().enqueuedTimeUtc();
+    }
+
+    @Override
+    public EventOffset offset() {
+        return bound().offset();
+    }
+
+    private ParsedEvent bound() {
+        if (parsedEvent == null) {
+            throw new IllegalStateException("Event type was used after its event was released");
+        }
+        return parsedEvent;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.registry;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.Sourceable;
+import jakarta.json.JsonObject;
+
+/**
+ * Returns the same {@link EventType} for every event converted by a thread, rebound to the event, instead of creating
+ * a new one per event. The type is created again only if the source, hostname or component name changes.
+ * <p>
+ * The returned type is valid only until the thread calls {@link #released()} or asks for the type of the next event, so
+ * it must not be kept after the event is converted. Releasing unbinds the type so that an idle thread does not keep
+ * its last event.
+ */
+public final class ReusedEventTypeFactory implements EventTypeFactory {
+
+    private final EventTypeFactory factory;
+    private final ThreadLocal<ThreadEventType> threadEventTypes;
+
+    public ReusedEventTypeFactory(final EventTypeFactory factory) {
+        this(factory, ThreadLocal.withInitial(ThreadEventType::new));
+    }
+
+    public ReusedEventTypeFactory(final EventTypeFactory factory, final ThreadLocal<ThreadEventType> threadEventTypes) {
+        this.factory = factory;
+        this.threadEventTypes = threadEventTypes;
+    }
+
+    @Override
+    public MatchKey matchKey() {
+        return factory.matchKey();
+    }
+
+    @Override
+    public int priority() {
+        return factory.priority();
+    }
+
+    @Override
+    public boolean matches(final JsonObject jsonObject) {
+        return factory.matches(jsonObject);
+    }
+
+    @Override
+    public EventType eventType(
+            final ParsedEvent parsedEvent,
+            final Sourceable source,
+            final String realHostname,
+            final String componentName
+    ) throws PluginException {
+        final ThreadEventType threadEventType = threadEventTypes.get();
+        threadEventType.parsedEvent.rebind(parsedEvent);
+        if (
+            threadEventType.eventType == null || threadEventType.source != source
+                    || !realHostname.equals(threadEventType.realHostname)
+                    || !componentName.equals(threadEventType.componentName)
+        ) {
+            threadEventType.eventType = factory
+                    .eventType(threadEventType.parsedEvent, source, realHostname, componentName);
+            threadEventType.source = source;
+            threadEventType.realHostname = realHostname;
+            threadEventType.componentName = componentName;
+        }
+        return threadEventType.eventType;
+    }
+
+    @Override
+    public void released() {
+        threadEventTypes.get().parsedEvent.unbind();
+    }
+
+    /**
+     * Type of a single thread and what it was created with.
+     */
+    public static final class ThreadEventType {
+
+        private final ReboundParsedEvent parsedEvent;
+        private EventType eventType;
+        private Sourceable source;
+        private String realHostname;
+        private String componentName;
+
+        public ThreadEventType() {
+            this(new ReboundParsedEvent(null));
+        }
+
+        public ThreadEventType(final ReboundParsedEvent parsedEvent) {
+            this.parsedEvent = parsedEvent;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.rfc5424;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable, reusable {@link ByteSink}. Not thread-safe, intended to be held per worker thread and {@link #reset()}
+ * between events so that the backing array is allocated only when a larger event is seen.
+ */
+public final class ArrayByteSink implements ScratchByteSink {
+
+    private byte[] bytes;
+    private int size;
+
+    public ArrayByteSink() {
+        this(1024);
+    }
+
+    public ArrayByteSink(final int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+        this.size = 0;
+    }
+
+    @Override
+    public void write(final byte value) {
+        ensureCapacity(size + 1);
+        bytes[size] = value;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] source, final int offset, final int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(source, offset, bytes, size, length);
+        size += length;
+    }
+
+    @Override
+    public void write(final ByteBuffer source) {
+        final int length = source.remaining();
+        ensureCapacity(size + length);
+        source.duplicate().get(bytes, size, length);
+        size += length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void reset() {
+        size = 0;
+    }
+
+    @Override
+    public void writeTo(final ByteSink sink) {
+        sink.write(bytes, 0, size);
+    }
+
+    /**
+     * Copies the written bytes to the buffer.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer does not have {@link #size()} bytes remaining
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        buffer.put(bytes, 0, size);
+    }
+
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        outputStream.write(bytes, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalStateException("Sink can not hold more than " + Integer.MAX_VALUE + " bytes");
+        }
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, bytes.length * 2L)));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.rfc5424;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Serializes an {@link EventType} directly into RFC 5424 bytes without building a
+ * {@link com.teragrep.rlo_14.SyslogMessage}. The output is byte-identical to the UTF-8 encoding of
+ * {@code SyslogMessage.toRfc5424SyslogMessage()} for a message built from the same values, including the NILVALUE
+ * for the unset PROCID and the escaping of {@code "}, {@code \} and {@code ]} in SD-PARAM values.
+ * <p>
+ * By default the MSG is encoded from {@link EventType#msg()}. When the UTF-8 bytes the event was decoded from are
+ * still available, they can be passed through instead so that the payload is copied once into the sink and never
+ * re-encoded.
+ */
+public final class RFC5424Bytes {
+
+    private static final byte NILVALUE = '-';
+    private static final byte SPACE = ' ';
+    private static final int CHUNK_SIZE = 512;
+
+    private final EventType eventType;
+    private final ByteBuffer msgBytes;
+
+    public RFC5424Bytes(final EventType eventType) {
+        this(eventType, null);
+    }
+
+    /**
+     * @param eventType event type providing the header and structured data
+     * @param msgBytes  UTF-8 bytes of {@link EventType#msg()}, written from the current position to the limit without
+     *                  modifying the buffer, or {@code null} to encode {@link EventType#msg()}
+     */
+    public RFC5424Bytes(final EventType eventType, final ByteBuffer msgBytes) {
+        this.eventType = eventType;
+        this.msgBytes = msgBytes;
+    }
+
+    /**
+     * Writes the record to the sink. Each method of the {@link EventType} is called at most once, and
+     * {@link EventType#msg()} is not called when the MSG bytes are passed through. All values are resolved before
+     * anything is written, so nothing is written to the sink if the event type throws.
+     */
+    public void writeTo(final ByteSink sink) throws PluginException {
+        final int pri = eventType.facility().numericalCode() + eventType.severity().numericalCode();
+        final String timestamp = Instant.ofEpochMilli(eventType.timestamp()).toString();
+        final String hostname = eventType.hostname();
+        final String appName = eventType.appName();
+        final String msgId = eventType.msgId();
+        final Set<SDElement> sdElements = eventType.sdElements();
+        final String msg;
+        if (msgBytes == null) {
+            msg = eventType.msg();
+        }
+        else {
+            msg = null;
+        }
+
+        final byte[] chunk = new byte[CHUNK_SIZE];
+        sink.write((byte) '<');
+        writeDecimal(sink, pri);
+        sink.write((byte) '>');
+        sink.write((byte) '1');
+        sink.write(SPACE);
+        writeUtf8(sink, chunk, timestamp, false);
+        sink.write(SPACE);
+        writeNillable(sink, chunk, hostname);
+        sink.write(SPACE);
+        writeNillable(sink, chunk, appName);
+        sink.write(SPACE);
+        sink.write(NILVALUE); // procId is not set
+        sink.write(SPACE);
+        writeNillable(sink, chunk, msgId);
+        sink.write(SPACE);
+        writeStructuredData(sink, chunk, sdElements);
+
+        if (msgBytes != null) {
+            sink.write(SPACE);
+            sink.write(msgBytes);
+        }
+        else if (msg != null) {
+            sink.write(SPACE);
+            writeUtf8(sink, chunk, msg, false);
+        }
+    }
+
+    private void writeStructuredData(final ByteSink sink, final byte[] chunk, final Set<SDElement> sdElements) {
+        if (sdElements == null || sdElements.isEmpty()) {
+            sink.write(NILVALUE);
+        }
+        else {
+            for (final SDElement sdElement : sdElements) {
+                sink.write((byte) '[');
+                writeUtf8(sink, chunk, sdElement.getSdID(), false);
+                for (final SDParam sdParam : sdElement.getSdParams()) {
+                    sink.write(SPACE);
+                    writeUtf8(sink, chunk, sdParam.getParamName(), false);
+                    sink.write((byte) '=');
+                    sink.write((byte) '"');
+                    writeUtf8(sink, chunk, sdParam.getParamValue(), true);
+                    sink.write((byte) '"');
+                }
+                sink.write((byte) ']');
+            }
+        }
+    }
+
+    private void writeNillable(final ByteSink sink, final byte[] chunk, final String value) {
+        if (value == null) {
+            sink.write(NILVALUE);
+        }
+        else {
+            writeUtf8(sink, chunk, value, false);
+        }
+    }
+
+    private void writeDecimal(final ByteSink sink, final int value) {
+        if (value >= 10) {
+            writeDecimal(sink, value / 10);
+        }
+        sink.write((byte) ('0' + value % 10));
+    }
+
+    /**
+     * Encodes the value as UTF-8 in the same way as {@link String#getBytes(java.nio.charset.Charset)}, replacing
+     * unpaired surrogates with {@code ?}.
+     */
+    private void writeUtf8(final ByteSink sink, final byte[] chunk, final String value, final boolean escape) {
+        int position = 0;
+        final int length = value.length();
+        int i = 0;
+        while (i < length) {
+            if (position > CHUNK_SIZE - 4) {
+                sink.write(chunk, 0, position);
+                position = 0;
+            }
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                if (escape && (c == '"' || c == '\\' || c == ']')) {
+                    chunk[position++] = '\\';
+                }
+                chunk[position++] = (byte) c;
+            }
+            else if (c < 0x800) {
+                chunk[position++] = (byte) (0xC0 | (c >> 6));
+                chunk[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+                i++; // low surrogate consumed
+                chunk[position++] = (byte) (0xF0 | (codePoint >> 18));
+                chunk[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                chunk[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                chunk[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+            else if (Character.isSurrogate(c)) {
+                chunk[position++] = '?';
+            }
+            else {
+                chunk[position++] = (byte) (0xE0 | (c >> 12));
+                chunk[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                chunk[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+            i++;
+        }
+        sink.write(chunk, 0, position);
+    }
+}
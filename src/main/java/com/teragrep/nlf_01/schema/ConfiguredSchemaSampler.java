@@ -0,0 +1,102 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.schema;
+
+import com.teragrep.nlf_01.util.Sourceable;
+
+/**
+ * {@link SchemaSampler} configured with {@code schema.sample}, one in that many events of each type is sampled. The
+ * default {@code 0} samples none. Up to {@code schema.keys} keys of {@code schema.types} types are tracked, the first
+ * {@code schema.baseline} samples of a type make up its expected schema.
+ */
+public final class ConfiguredSchemaSampler {
+
+    private final Sourceable source;
+
+    public ConfiguredSchemaSampler(final Sourceable source) {
+        this.source = source;
+    }
+
+    public SchemaSampler schemaSampler() {
+        final int n = nonNegativeInt("schema.sample", "0");
+        final SchemaSampler schemaSampler;
+        if (n == 0) {
+            schemaSampler = new NoSchemaSampler();
+        }
+        else {
+            schemaSampler = new SampledSchemas(
+                    n,
+                    positiveInt("schema.keys", "256"),
+                    positiveInt("schema.baseline", "100"),
+                    positiveInt("schema.types", "100")
+            );
+        }
+        return schemaSampler;
+    }
+
+    private int positiveInt(final String name, final String defaultValue) {
+        final int parsed = nonNegativeInt(name, defaultValue);
+        if (parsed == 0) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + source.source(name, defaultValue) + "]>");
+        }
+        return parsed;
+    }
+
+    private int nonNegativeInt(final String name, final String defaultValue) {
+        final String value = source.source(name, defaultValue);
+        final int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        }
+        catch (final NumberFormatException numberFormatException) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>", numberFormatException);
+        }
+        if (parsed < 0) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>");
+        }
+        return parsed;
+    }
+}
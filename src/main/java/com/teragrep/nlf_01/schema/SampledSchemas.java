@@ -0,0 +1,116 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.schema;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.nlf_01.types.EventType;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples one in {@code n} events of each type into a {@link SchemaTable}. The sampled events are picked at random so
+ * that threads do not share a counter. Types that do not fit in the amount of tracked types are not sampled.
+ */
+public final class SampledSchemas implements SchemaSampler {
+
+    private final int n;
+    private final int maxKeys;
+    private final long baseline;
+    private final int maxTypes;
+    private final Map<Class<? extends EventType>, SchemaTable> tables;
+
+    /**
+     * @param n        one in n events is sampled
+     * @param maxKeys  amount of keys tracked per type
+     * @param baseline amount of samples making up the expected schema of a type
+     * @param maxTypes amount of types tracked
+     */
+    public SampledSchemas(final int n, final int maxKeys, final long baseline, final int maxTypes) {
+        this(n, maxKeys, baseline, maxTypes, new ConcurrentHashMap<>());
+    }
+
+    public SampledSchemas(
+            final int n,
+            final int maxKeys,
+            final long baseline,
+            final int maxTypes,
+            final ConcurrentHashMap<Class<? extends EventType>, SchemaTable> tables
+    ) {
+        this.n = n;
+        this.maxKeys = maxKeys;
+        this.baseline = baseline;
+        this.maxTypes = maxTypes;
+        this.tables = tables;
+    }
+
+    @Override
+    public void sample(final Class<? extends EventType> type, final ParsedEvent parsedEvent) {
+        if (n == 1 || ThreadLocalRandom.current().nextInt(n) == 0) {
+            SchemaTable table = tables.get(type);
+            if (table == null && tables.size() < maxTypes) {
+                table = tables.computeIfAbsent(type, newType -> new SchemaTable(maxKeys, baseline));
+            }
+            final JsonStructure json = parsedEvent.asJsonStructure();
+            if (table != null && json.getValueType() == JsonValue.ValueType.OBJECT) {
+                table.sample(json.asJsonObject());
+            }
+        }
+    }
+
+    @Override
+    public Map<String, SchemaSnapshot> snapshot() {
+        final Map<String, SchemaSnapshot> snapshot = new TreeMap<>();
+        for (final Map.Entry<Class<? extends EventType>, SchemaTable> entry : tables.entrySet()) {
+            snapshot.put(entry.getKey().getSimpleName(), entry.getValue().snapshot());
+        }
+        return snapshot;
+    }
+}
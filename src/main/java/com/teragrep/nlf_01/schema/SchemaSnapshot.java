@@ -0,0 +1,134 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.schema;
+
+import jakarta.json.JsonValue;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Top-level members seen in the samples of an event type.
+ */
+public final class SchemaSnapshot {
+
+    private final long samples;
+    private final Map<String, Map<JsonValue.ValueType, Long>> valueTypes;
+    private final Set<String> appeared;
+    private final Set<String> disappeared;
+    private final long untracked;
+
+    public SchemaSnapshot(
+            final long samples,
+            final Map<String, Map<JsonValue.ValueType, Long>> valueTypes,
+            final Set<String> appeared,
+            final Set<String> disappeared,
+            final long untracked
+    ) {
+        this.samples = samples;
+        this.valueTypes = valueTypes;
+        this.appeared = appeared;
+        this.disappeared = disappeared;
+        this.untracked = untracked;
+    }
+
+    /**
+     * @return amount of sampled events
+     */
+    public long samples() {
+        return samples;
+    }
+
+    /**
+     * @return for each key, the amount of samples it was present in by the type of its value
+     */
+    public Map<String, Map<JsonValue.ValueType, Long>> valueTypes() {
+        return valueTypes;
+    }
+
+    /**
+     * @return keys that were not present in the expected schema
+     */
+    public Set<String> appeared() {
+        return appeared;
+    }
+
+    /**
+     * @return keys of the expected schema that are no longer present
+     */
+    public Set<String> disappeared() {
+        return disappeared;
+    }
+
+    /**
+     * @return amount of key occurrences that did not fit in the table
+     */
+    public long untracked() {
+        return untracked;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SchemaSnapshot that = (SchemaSnapshot) o;
+        return samples == that.samples && untracked == that.untracked && Objects.equals(valueTypes, that.valueTypes)
+                && Objects.equals(appeared, that.appeared) && Objects.equals(disappeared, that.disappeared);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(samples, valueTypes, appeared, disappeared, untracked);
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaSnapshot{samples=" + samples + ", appeared=" + appeared + ", disappeared=" + disappeared
+                + ", untracked=" + untracked + ", valueTypes=" + valueTypes + "}";
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.schema;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size table of the top-level members seen in the samples of one event type. Each key counts the value types it
+ * was seen with, and the first and the last sample it was present in. Keys that do not fit in the table are only
+ * counted as untracked.
+ * <p>
+ * The first {@code baseline} samples make up the expected schema. A key first seen after them has appeared, a key of
+ * the expected schema missing from the last {@code baseline} samples has disappeared.
+ */
+public final class SchemaTable {
+
+    private static final JsonValue.ValueType[] VALUE_TYPES = JsonValue.ValueType.values();
+
+    private final long baseline;
+    private final AtomicReferenceArray<String> keys;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray firstSeen;
+    private final AtomicLongArray lastSeen;
+    private final AtomicLong samples;
+    private final LongAdder untracked;
+
+    /**
+     * @param maxKeys  amount of keys tracked
+     * @param baseline amount of samples making up the expected schema
+     */
+    public SchemaTable(final int maxKeys, final long baseline) {
+        this(
+                baseline,
+                new AtomicReferenceArray<>(maxKeys),
+                new AtomicLongArray(maxKeys * VALUE_TYPES.length),
+                new AtomicLongArray(maxKeys),
+                new AtomicLongArray(maxKeys),
+                new AtomicLong(),
+                new LongAdder()
+        );
+    }
+
+    public SchemaTable(
+            final long baseline,
+            final AtomicReferenceArray<String> keys,
+            final AtomicLongArray counts,
+            final AtomicLongArray firstSeen,
+            final AtomicLongArray lastSeen,
+            final AtomicLong samples,
+            final LongAdder untracked
+    ) {
+        this.baseline = baseline;
+        this.keys = keys;
+        this.counts = counts;
+        this.firstSeen = firstSeen;
+        this.lastSeen = lastSeen;
+        this.samples = samples;
+        this.untracked = untracked;
+    }
+
+    public void sample(final JsonObject jsonObject) {
+        final long sample = samples.getAndIncrement();
+        for (final Map.Entry<String, JsonValue> member : jsonObject.entrySet()) {
+            final int slot = slot(member.getKey());
+            if (slot < 0) {
+                untracked.increment();
+            }
+            else {
+                counts.incrementAndGet(slot * VALUE_TYPES.length + member.getValue().getValueType().ordinal());
+                // stored one-based so that zero is not yet seen
+                firstSeen.accumulateAndGet(slot, sample + 1, SchemaTable::earliest);
+                lastSeen.accumulateAndGet(slot, sample + 1, Math::max);
+            }
+        }
+    }
+
+    public SchemaSnapshot snapshot() {
+        final long sampled = samples.get();
+        final Map<String, Map<JsonValue.ValueType, Long>> valueTypes = new TreeMap<>();
+        final Set<String> appeared = new TreeSet<>();
+        final Set<String> disappeared = new TreeSet<>();
+        for (int slot = 0; slot < keys.length(); slot++) {
+            final String key = keys.get(slot);
+            final long first = firstSeen.get(slot) - 1;
+            final long last = lastSeen.get(slot) - 1;
+            if (key != null && first >= 0) {
+                final Map<JsonValue.ValueType, Long> keyValueTypes = new EnumMap<>(JsonValue.ValueType.class);
+                for (final JsonValue.ValueType valueType : VALUE_TYPES) {
+                    final long count = counts.get(slot * VALUE_TYPES.length + valueType.ordinal());
+                    if (count > 0) {
+                        keyValueTypes.put(valueType, count);
+                    }
+                }
+                valueTypes.put(key, keyValueTypes);
+                if (first >= baseline) {
+                    appeared.add(key);
+                }
+                else if (sampled - 1 - last >= baseline) {
+                    disappeared.add(key);
+                }
+            }
+        }
+        return new SchemaSnapshot(sampled, valueTypes, appeared, disappeared, untracked.sum());
+    }
+
+    private static long earliest(final long current, final long seen) {
+        final long earliest;
+        if (current == 0) {
+            earliest = seen;
+        }
+        else {
+            earliest = Math.min(current, seen);
+        }
+        return earliest;
+    }
+
+    /**
+     * @return slot of the key, inserted if missing, or -1 if the table is full
+     */
+    private int slot(final String key) {
+        final int start = (key.hashCode() & Integer.MAX_VALUE) % keys.length();
+        int slot = -1;
+        for (int probe = 0; slot < 0 && probe < keys.length(); probe++) {
+            final int index = (start + probe) % keys.length();
+            final String current = keys.get(index);
+            if (key.equals(current) || current == null && keys.compareAndSet(index, null, key)) {
+                slot = index;
+            }
+            else if (current == null && key.equals(keys.get(index))) {
+                // inserted concurrently
+                slot = index;
+            }
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.spool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Position of the next record to replay, stored in a file that is written to the disk and then replaced atomically so
+ * that a crash leaves either the previous or the new position. The directory is written to the disk after the
+ * replacement, so that the new position also survives a crash of the host.
+ */
+public final class Checkpoint {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES;
+
+    private final Path file;
+    private final Path temporary;
+
+    public Checkpoint(final Path directory) {
+        this(directory.resolve("checkpoint"), directory.resolve("checkpoint.tmp"));
+    }
+
+    public Checkpoint(final Path file, final Path temporary) {
+        this.file = file;
+        this.temporary = temporary;
+    }
+
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * @return true if the file exists and holds a checkpoint
+     */
+    public boolean isValid() throws IOException {
+        return exists() && Files.size(file) == LENGTH;
+    }
+
+    /**
+     * @throws IOException if the file can not be read or is not a checkpoint
+     */
+    public SpoolPosition position() throws IOException {
+        final byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length != LENGTH) {
+            throw new IOException("Checkpoint <" + file + "> was not valid");
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new SpoolPosition(buffer.getLong(), buffer.getInt());
+    }
+
+    public void store(final SpoolPosition position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        buffer.putLong(position.sequence()).putInt(position.offset());
+        buffer.flip();
+        final Set<StandardOpenOption> options = EnumSet
+                .of(StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try (final FileChannel channel = FileChannel.open(temporary, options)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // the new name must not be visible before the content is on the disk
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // the rename is only durable once the directory entry is on the disk
+        final Path parent = file.toAbsolutePath().getParent();
+        try (final FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.spool;
+
+import com.teragrep.nlf_01.rfc5424.ByteSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Spool of octet-counted RFC 5424 records in memory-mapped segment files, so that converted messages waiting for a
+ * slow receiver are kept on local disk instead of the heap. Records are written as a {@link ByteSink}, for example by
+ * {@link com.teragrep.nlf_01.NLFPlugin#octetCountedRfc5424 NLFPlugin.octetCountedRfc5424()}, and replayed in order
+ * with {@link #poll()}. {@link #checkpoint()} stores the replay position, segments before it are recycled and replay
+ * continues from it when the spool is opened again.
+ * <p>
+ * A writer and a reader thread can use the spool concurrently. Records survive a crash of the process once written,
+ * {@link #force()} writes them to the disk to survive a crash of the host. {@link #close()} releases the segments.
+ */
+public final class MappedSpool implements ByteSink, AutoCloseable {
+
+    private static final int MAX_DIGITS = 10;
+
+    private final SpoolDirectory directory;
+    private final Checkpoint checkpoint;
+    private final List<Segment> segments;
+    private final List<Path> free;
+    private final byte[] octetCount;
+    private int octetCountLength;
+    private long recordLength;
+    private long remaining;
+    private int recordStart;
+    private int writePosition;
+    private int readSegment;
+    private int readPosition;
+    private long written;
+    private boolean closed;
+
+    public MappedSpool(
+            final SpoolDirectory directory,
+            final Checkpoint checkpoint,
+            final List<Segment> segments,
+            final List<Path> free,
+            final int writePosition,
+            final SpoolPosition readPosition
+    ) {
+        this.directory = directory;
+        this.checkpoint = checkpoint;
+        this.segments = segments;
+        this.free = free;
+        this.octetCount = new byte[MAX_DIGITS];
+        this.octetCountLength = 0;
+        this.recordLength = -1;
+        this.remaining = 0;
+        this.recordStart = writePosition;
+        this.writePosition = writePosition;
+        this.readSegment = segmentIndex(segments, readPosition.sequence());
+        this.readPosition = readPosition.offset();
+        this.written = 0;
+        this.closed = false;
+    }
+
+    @Override
+    public synchronized void write(final byte value) {
+        ensureOpen();
+        if (recordLength < 0) {
+            octetCount(value);
+        }
+        else {
+            writeSegment().put(bodyPosition(), value);
+            remaining--;
+            publishIfComplete();
+        }
+        written++;
+    }
+
+    @Override
+    public synchronized void write(final byte[] bytes, final int offset, final int length) {
+        ensureOpen();
+        int position = offset;
+        final int end = offset + length;
+        while (position < end) {
+            if (recordLength < 0) {
+                octetCount(bytes[position]);
+                position++;
+            }
+            else {
+                final int chunk = (int) Math.min(remaining, end - position);
+                writeSegment().put(bodyPosition(), bytes, position, chunk);
+                remaining = remaining - chunk;
+                position = position + chunk;
+                publishIfComplete();
+            }
+        }
+        written = written + length;
+    }
+
+    @Override
+    public synchronized void write(final ByteBuffer bytes) {
+        ensureOpen();
+        final ByteBuffer source = bytes.duplicate();
+        while (source.hasRemaining()) {
+            if (recordLength < 0) {
+                octetCount(source.get());
+            }
+            else {
+                final int chunk = (int) Math.min(remaining, source.remaining());
+                final ByteBuffer part = source.duplicate();
+                part.limit(part.position() + chunk);
+                writeSegment().put(bodyPosition(), part);
+                source.position(source.position() + chunk);
+                remaining = remaining - chunk;
+                publishIfComplete();
+            }
+        }
+        written = written + bytes.remaining();
+    }
+
+    /**
+     * @return amount of bytes written since the spool was opened, up to {@link Integer#MAX_VALUE}
+     */
+    @Override
+    public synchronized int size() {
+        return (int) Math.min(Integer.MAX_VALUE, written);
+    }
+
+    /**
+     * @return read-only view of the SYSLOG-MSG of the next record, valid until the next {@link #checkpoint()}, or
+     *         {@code null} if all written records have been replayed
+     */
+    public synchronized ByteBuffer poll() {
+        ensureOpen();
+        ByteBuffer record = null;
+        boolean end = false;
+        while (record == null && !end) {
+            final Segment segment = segments.get(readSegment);
+            final int recordEnd;
+            if (readSegment == segments.size() - 1 && readPosition >= writePosition) {
+                recordEnd = -1;
+            }
+            else {
+                recordEnd = segment.recordEnd(readPosition);
+            }
+            if (recordEnd != -1) {
+                record = segment.record(readPosition, recordEnd);
+                readPosition = recordEnd;
+            }
+            else if (readSegment < segments.size() - 1) {
+                // the rest of a segment that is no longer written to was lost in a crash
+                readSegment++;
+                readPosition = Segment.HEADER;
+            }
+            else {
+                end = true;
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Stores the position after the last polled record, and recycles the segments before it. The records returned by
+     * {@link #poll()} must not be used afterwards.
+     */
+    public synchronized void checkpoint() throws IOException {
+        ensureOpen();
+        final Segment segment = segments.get(readSegment);
+        checkpoint.store(new SpoolPosition(segment.sequence(), readPosition));
+        while (readSegment > 0) {
+            directory.recycle(free, segments.remove(0));
+            readSegment--;
+        }
+    }
+
+    /**
+     * @return position of the next record to poll
+     */
+    public synchronized SpoolPosition readPosition() {
+        ensureOpen();
+        return new SpoolPosition(segments.get(readSegment).sequence(), readPosition);
+    }
+
+    /**
+     * @return amount of segment files holding records that are not checkpointed
+     */
+    public synchronized int segments() {
+        return segments.size();
+    }
+
+    /**
+     * Writes the records of all segments to the disk.
+     */
+    public synchronized void force() {
+        ensureOpen();
+        for (final Segment segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Drops the segments, the files and the checkpoint are kept for opening the spool again. Records are not written to
+     * the disk, see {@link #force()}. The records returned by {@link #poll()} must not be used afterwards. Java 11 has
+     * no API to unmap a file, the mappings are released once the dropped buffers are garbage collected.
+     *
+     * @throws IllegalStateException if the spool is already closed
+     */
+    @Override
+    public synchronized void close() {
+        ensureOpen();
+        closed = true;
+        segments.clear();
+        free.clear();
+    }
+
+    /**
+     * @return position in the write segment for the next byte of the record being written
+     */
+    private int bodyPosition() {
+        return recordStart + octetCountLength + 1 + (int) (recordLength - remaining);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Spool is closed");
+        }
+    }
+
+    private static int segmentIndex(final List<Segment> segments, final long sequence) {
+        int index = 0;
+        while (index < segments.size() - 1 && segments.get(index).sequence() < sequence) {
+            index++;
+        }
+        return index;
+    }
+
+    private Segment writeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void octetCount(final byte value) {
+        if (value == ' ' && octetCountLength > 0) {
+            long length = 0;
+            for (int i = 0; i < octetCountLength; i++) {
+                length = length * 10 + (octetCount[i] - '0');
+            }
+            startRecord(length);
+        }
+        else if (value >= '0' && value <= '9' && octetCountLength < MAX_DIGITS) {
+            octetCount[octetCountLength] = value;
+            octetCountLength++;
+        }
+        else {
+            octetCountLength = 0;
+            throw new IllegalArgumentException("Record was not octet-counted");
+        }
+    }
+
+    private void startRecord(final long length) {
+        // the octet count, a space, the record and the zero byte marking the end
+        final long size = octetCountLength + 1 + length + 1;
+        if (Segment.HEADER + size > writeSegment().capacity()) {
+            octetCountLength = 0;
+            throw new IllegalArgumentException(
+                    "Record of " + length + " bytes does not fit in a segment of " + writeSegment().capacity()
+                            + " bytes"
+            );
+        }
+        if (writePosition + size > writeSegment().capacity()) {
+            try {
+                segments.add(directory.newSegment(free, writeSegment().sequence() + 1));
+            }
+            catch (final IOException ioException) {
+                octetCountLength = 0;
+                throw new UncheckedIOException(ioException);
+            }
+            writePosition = Segment.HEADER;
+        }
+        recordStart = writePosition;
+        recordLength = length;
+        remaining = length;
+        publishIfComplete();
+    }
+
+    private void publishIfComplete() {
+        if (remaining == 0) {
+            final Segment segment = writeSegment();
+            final int end = recordStart + octetCountLength + 1 + (int) recordLength;
+            segment.put(end, (byte) 0);
+            segment.put(recordStart + octetCountLength, (byte) ' ');
+            // the first byte is written last, until then the record reads as the end of the segment
+            for (int i = octetCountLength - 1; i >= 0; i--) {
+                segment.put(recordStart + i, octetCount[i]);
+            }
+            writePosition = end;
+            octetCountLength = 0;
+            recordLength = -1;
+        }
+    }
+}
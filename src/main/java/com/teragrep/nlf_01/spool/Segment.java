@@ -0,0 +1,183 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.spool;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Memory-mapped file holding octet-counted records after a header of a magic number and the sequence number of the
+ * segment. A record is {@code MSG-LEN SP SYSLOG-MSG} as in RFC 6587 and is followed by a zero byte, which the next
+ * record replaces. Records are published by writing their first byte last, so that a record that was not completely
+ * written before a crash reads as the end of the segment.
+ */
+public final class Segment {
+
+    public static final int HEADER = Integer.BYTES + Long.BYTES;
+    private static final int MAGIC = 0x4E4C4653;
+    private static final int MAX_DIGITS = 10;
+
+    private final Path path;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private final int limit;
+
+    public Segment(final Path path, final long sequence, final MappedByteBuffer buffer, final int limit) {
+        this.path = path;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.limit = limit;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return true if the header is of this segment
+     */
+    public boolean hasHeader() {
+        return limit >= HEADER && buffer.getInt(0) == MAGIC && buffer.getLong(Integer.BYTES) == sequence;
+    }
+
+    /**
+     * Writes the header and marks the segment empty.
+     */
+    public void initialize() {
+        buffer.put(HEADER, (byte) 0);
+        buffer.putLong(Integer.BYTES, sequence);
+        buffer.putInt(0, MAGIC);
+    }
+
+    /**
+     * @param offset start of a record
+     * @return end of the record, or -1 if there is no complete record at the offset
+     */
+    public int recordEnd(final int offset) {
+        int end = -1;
+        int i = offset;
+        long length = 0;
+        boolean valid = true;
+        while (valid && i < limit && buffer.get(i) != ' ') {
+            final byte b = buffer.get(i);
+            valid = b >= '0' && b <= '9' && i - offset < MAX_DIGITS;
+            length = length * 10 + (b - '0');
+            i++;
+        }
+        if (valid && i > offset && i < limit && i + 1 + length <= limit) {
+            end = (int) (i + 1 + length);
+        }
+        return end;
+    }
+
+    /**
+     * @param offset start of a complete record
+     * @param end    end of the record
+     * @return read-only view of the SYSLOG-MSG of the record
+     */
+    public ByteBuffer record(final int offset, final int end) {
+        int start = offset;
+        while (buffer.get(start) != ' ') {
+            start++;
+        }
+        final ByteBuffer record = buffer.asReadOnlyBuffer();
+        record.limit(end).position(start + 1);
+        return record.slice();
+    }
+
+    /**
+     * @return offset after the last complete record
+     */
+    public int writePosition() {
+        int position = HEADER;
+        int end = recordEnd(position);
+        while (end != -1) {
+            position = end;
+            end = recordEnd(position);
+        }
+        return position;
+    }
+
+    /**
+     * @return segment that accepts records up to its capacity, with the end marked at the position
+     */
+    public Segment writable(final int position) {
+        buffer.put(position, (byte) 0);
+        return new Segment(path, sequence, buffer, buffer.capacity());
+    }
+
+    public void put(final int offset, final byte value) {
+        buffer.put(offset, value);
+    }
+
+    public void put(final int offset, final byte[] bytes, final int from, final int length) {
+        final ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(bytes, from, length);
+    }
+
+    public void put(final int offset, final ByteBuffer bytes) {
+        final ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(bytes);
+    }
+
+    /**
+     * Writes the changes of the mapped buffer to the file.
+     */
+    public void force() {
+        buffer.force();
+    }
+}
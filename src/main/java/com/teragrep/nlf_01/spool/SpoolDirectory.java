@@ -0,0 +1,224 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.spool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Directory of the segment files and the checkpoint of a {@link MappedSpool}. Opening recovers the spool after a
+ * crash: segments before the checkpoint and segments without a valid header are recycled, records that were not
+ * completely written are dropped and replay continues from the checkpoint, or from the first segment if the checkpoint
+ * is not valid.
+ */
+public final class SpoolDirectory {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{19})\\.segment");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxFreeSegments;
+
+    /**
+     * @param directory   directory of the spool, created if missing
+     * @param segmentSize size in bytes of each segment file, a record must fit in one segment
+     */
+    public SpoolDirectory(final Path directory, final int segmentSize) {
+        this(directory, segmentSize, 2);
+    }
+
+    /**
+     * @param maxFreeSegments amount of consumed segment files kept for reuse, the rest are deleted
+     */
+    public SpoolDirectory(final Path directory, final int segmentSize, final int maxFreeSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxFreeSegments = maxFreeSegments;
+    }
+
+    public MappedSpool open() throws IOException {
+        if (segmentSize <= Segment.HEADER + 3) {
+            throw new IllegalArgumentException("Invalid segmentSize <[" + segmentSize + "]>");
+        }
+        Files.createDirectories(directory);
+        final Checkpoint checkpoint = new Checkpoint(directory);
+        final Map<Long, Path> files = segmentFiles();
+
+        // without a valid checkpoint, replay starts from the first segment
+        final boolean checkpointed = checkpoint.isValid();
+        long firstActive = Long.MIN_VALUE;
+        if (checkpointed) {
+            firstActive = checkpoint.position().sequence();
+        }
+        final List<Segment> active = new ArrayList<>();
+        final List<Path> free = new ArrayList<>();
+        long nextSequence = Math.max(0, firstActive);
+        for (final Map.Entry<Long, Path> file : files.entrySet()) {
+            final long sequence = file.getKey();
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            final Segment segment;
+            if (sequence < firstActive) {
+                segment = null;
+            }
+            else {
+                // bytes beyond the length of a truncated file are not part of any record
+                final long length = Files.size(file.getValue());
+                segment = new Segment(
+                        file.getValue(),
+                        sequence,
+                        map(file.getValue()),
+                        (int) Math.min(length, segmentSize)
+                );
+            }
+            if (segment != null && segment.hasHeader()) {
+                active.add(segment);
+            }
+            else {
+                free.add(file.getValue());
+            }
+        }
+
+        if (active.isEmpty()) {
+            active.add(newSegment(free, nextSequence));
+        }
+        final Segment last = active.get(active.size() - 1);
+        final int writePosition = last.writePosition();
+        active.set(active.size() - 1, last.writable(writePosition));
+
+        SpoolPosition readPosition = new SpoolPosition(active.get(0).sequence(), Segment.HEADER);
+        if (checkpointed) {
+            final SpoolPosition checkpointPosition = checkpoint.position();
+            if (checkpointPosition.sequence() == last.sequence() && checkpointPosition.offset() > writePosition) {
+                // the checkpointed records were lost with the end of the segment
+                readPosition = new SpoolPosition(last.sequence(), writePosition);
+            }
+            else if (checkpointPosition.sequence() == active.get(0).sequence()) {
+                readPosition = checkpointPosition;
+            }
+        }
+
+        while (free.size() > maxFreeSegments) {
+            Files.delete(free.remove(free.size() - 1));
+        }
+        return new MappedSpool(this, checkpoint, active, free, writePosition, readPosition);
+    }
+
+    /**
+     * Creates the next segment, reusing a consumed segment file if there is one. The header is written before the
+     * file gets its new name, so that a crash in between leaves a file that is recycled again.
+     */
+    Segment newSegment(final List<Path> free, final long sequence) throws IOException {
+        final Path path = directory.resolve(String.format("%019d.segment", sequence));
+        final Segment segment;
+        if (free.isEmpty()) {
+            segment = new Segment(path, sequence, map(path, StandardOpenOption.CREATE_NEW), segmentSize);
+            segment.initialize();
+            segment.force();
+        }
+        else {
+            final Path recycled = free.remove(free.size() - 1);
+            final MappedByteBuffer buffer = map(recycled);
+            final Segment initialized = new Segment(recycled, sequence, buffer, segmentSize);
+            initialized.initialize();
+            initialized.force();
+            Files.move(recycled, path, StandardCopyOption.ATOMIC_MOVE);
+            segment = new Segment(path, sequence, buffer, segmentSize);
+        }
+        return segment;
+    }
+
+    /**
+     * Keeps the segment file for reuse, or deletes it if enough are kept.
+     */
+    void recycle(final List<Path> free, final Segment segment) throws IOException {
+        if (free.size() < maxFreeSegments) {
+            free.add(segment.path());
+        }
+        else {
+            Files.delete(segment.path());
+        }
+    }
+
+    private Map<Long, Path> segmentFiles() throws IOException {
+        final Map<Long, Path> files = new TreeMap<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.segment")) {
+            for (final Path path : stream) {
+                final Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            }
+        }
+        return files;
+    }
+
+    private MappedByteBuffer map(final Path path, final OpenOption... options) throws IOException {
+        final List<OpenOption> openOptions = new ArrayList<>();
+        openOptions.add(StandardOpenOption.READ);
+        openOptions.add(StandardOpenOption.WRITE);
+        for (final OpenOption option : options) {
+            openOptions.add(option);
+        }
+        final MappedByteBuffer mapped;
+        try (final FileChannel channel = FileChannel.open(path, openOptions.toArray(new OpenOption[0]))) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        return mapped;
+    }
+}
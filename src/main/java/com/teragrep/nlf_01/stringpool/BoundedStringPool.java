@@ -0,0 +1,138 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.stringpool;
+
+import com.teragrep.nlf_01.types.EventType;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link StringPool} of at most {@code capacity} strings. Once full, strings that are not pooled yet are returned as
+ * is, so values of unexpectedly high cardinality can not grow the pool. Strings longer than {@code maxLength} are not
+ * pooled.
+ */
+public final class BoundedStringPool implements StringPool {
+
+    /**
+     * SDParams whose values repeat for every event of a partition, cluster or namespace.
+     */
+    private static final Set<String> LOW_CARDINALITY_PARAMS = new HashSet<>(
+            Arrays
+                    .asList(
+                            "fully_qualified_namespace", "eventhub_name", "partition_id", "consumer_group", "id_source",
+                            "hostname", "subscription", "clusterName", "namespace"
+                    )
+    );
+
+    private final int capacity;
+    private final int maxLength;
+    private final Set<String> paramNames;
+    private final Map<String, String> strings;
+    private final LongAdder lookups;
+    private final LongAdder hits;
+
+    public BoundedStringPool(final int capacity, final int maxLength) {
+        this(capacity, maxLength, LOW_CARDINALITY_PARAMS);
+    }
+
+    public BoundedStringPool(final int capacity, final int maxLength, final Set<String> paramNames) {
+        this(capacity, maxLength, paramNames, new ConcurrentHashMap<>(), new LongAdder(), new LongAdder());
+    }
+
+    public BoundedStringPool(
+            final int capacity,
+            final int maxLength,
+            final Set<String> paramNames,
+            final Map<String, String> strings,
+            final LongAdder lookups,
+            final LongAdder hits
+    ) {
+        this.capacity = capacity;
+        this.maxLength = maxLength;
+        this.paramNames = paramNames;
+        this.strings = strings;
+        this.lookups = lookups;
+        this.hits = hits;
+    }
+
+    @Override
+    public String canonical(final String value) {
+        String canonical = value;
+        if (value != null && value.length() <= maxLength) {
+            lookups.increment();
+            String pooled = strings.get(value);
+            if (pooled == null && strings.size() < capacity) {
+                // concurrent additions can exceed the capacity by the amount of threads, which is not worth a lock
+                pooled = strings.putIfAbsent(value, value);
+            }
+            if (pooled != null) {
+                hits.increment();
+                canonical = pooled;
+            }
+        }
+        return canonical;
+    }
+
+    @Override
+    public EventType pooled(final EventType eventType) {
+        return new PooledEventType(eventType, this, paramNames);
+    }
+
+    @Override
+    public StringPoolStats stats() {
+        return new StringPoolStats(lookups.sum(), hits.sum(), strings.size());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.stringpool;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.ReadOnlySDElement;
+import com.teragrep.rlo_14.Facility;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import com.teragrep.rlo_14.Severity;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Replaces the hostname, appName and the values of the given SDParams of the wrapped type with their pooled instances.
+ * Only the SDElements that have one of the given SDParams are copied, with their IDs pooled too. The other SDElements,
+ * including the shared read-only ones, are kept as they are.
+ */
+public final class PooledEventType implements EventType {
+
+    private final EventType eventType;
+    private final StringPool stringPool;
+    private final Set<String> paramNames;
+
+    public PooledEventType(final EventType eventType, final StringPool stringPool, final Set<String> paramNames) {
+        this.eventType = eventType;
+        this.stringPool = stringPool;
+        this.paramNames = paramNames;
+    }
+
+    @Override
+    public Severity severity() throws PluginException {
+        return eventType.severity();
+    }
+
+    @Override
+    public Facility facility() throws PluginException {
+        return eventType.facility();
+    }
+
+    @Override
+    public String hostname() throws PluginException {
+        return stringPool.canonical(eventType.hostname());
+    }
+
+    @Override
+    public String appName() throws PluginException {
+        return stringPool.canonical(eventType.appName());
+    }
+
+    @Override
+    public long timestamp() throws PluginException {
+        return eventType.timestamp();
+    }
+
+    @Override
+    public Set<SDElement> sdElements() throws PluginException {
+        final Set<SDElement> sdElements = eventType.sdElements();
+        final Set<SDElement> pooled = new HashSet<>();
+        for (final SDElement sdElement : sdElements) {
+            if (sdElement instanceof ReadOnlySDElement || !hasPooledParams(sdElement)) {
+                pooled.add(sdElement);
+            }
+            else {
+                final List<SDParam> sdParams = sdElement.getSdParams();
+                final SDParam[] pooledParams = new SDParam[sdParams.size()];
+                for (int i = 0; i < pooledParams.length; i++) {
+                    final SDParam sdParam = sdParams.get(i);
+                    if (paramNames.contains(sdParam.getParamName())) {
+                        pooledParams[i] = new SDParam(
+                                sdParam.getParamName(),
+                                stringPool.canonical(sdParam.getParamValue())
+                        );
+                    }
+                    else {
+                        pooledParams[i] = sdParam;
+                    }
+                }
+                pooled.add(new SDElement(stringPool.canonical(sdElement.getSdID()), pooledParams));
+            }
+        }
+        return pooled;
+    }
+
+    private boolean hasPooledParams(final SDElement sdElement) {
+        boolean hasPooledParams = false;
+        for (final SDParam sdParam : sdElement.getSdParams()) {
+            if (paramNames.contains(sdParam.getParamName())) {
+                hasPooledParams = true;
+                break;
+            }
+        }
+        return hasPooledParams;
+    }
+
+    @Override
+    public String msgId() throws PluginException {
+        return eventType.msgId();
+    }
+
+    @Override
+    public String msg() throws PluginException {
+        return eventType.msg();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.stringpool;
+
+import java.util.Objects;
+
+/**
+ * Lookups of a {@link StringPool} since it was created.
+ */
+public final class StringPoolStats {
+
+    private final long lookups;
+    private final long hits;
+    private final long pooled;
+
+    public StringPoolStats(final long lookups, final long hits, final long pooled) {
+        this.lookups = lookups;
+        this.hits = hits;
+        this.pooled = pooled;
+    }
+
+    /**
+     * @return amount of strings looked up
+     */
+    public long lookups() {
+        return lookups;
+    }
+
+    /**
+     * @return amount of lookups that found an equal string already pooled
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return amount of distinct strings in the pool
+     */
+    public long pooled() {
+        return pooled;
+    }
+
+    /**
+     * @return share of the lookups that found an equal string already pooled, 0.0 when nothing was looked up
+     */
+    public double dedupRatio() {
+        final double ratio;
+        if (lookups == 0) {
+            ratio = 0.0;
+        }
+        else {
+            ratio = (double) hits / lookups;
+        }
+        return ratio;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final StringPoolStats that = (StringPoolStats) o;
+        return lookups == that.lookups && hits == that.hits && pooled == that.pooled;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lookups, hits, pooled);
+    }
+
+    @Override
+    public String toString() {
+        return "StringPoolStats{lookups=" + lookups + ", hits=" + hits + ", pooled=" + pooled + ", dedupRatio="
+                + dedupRatio() + "}";
+    }
+}
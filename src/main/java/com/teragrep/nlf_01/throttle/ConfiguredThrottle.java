@@ -0,0 +1,130 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.throttle;
+
+import com.teragrep.nlf_01.util.Sourceable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Throttle} configured with {@code throttle.mode}:
+ * <ul>
+ * <li>{@code none}, the default, converts every event</li>
+ * <li>{@code tokenbucket} admits {@code throttle.rate} events per second per key with bursts of up to
+ * {@code throttle.burst} events</li>
+ * <li>{@code sample} admits one in {@code throttle.sample} events per key</li>
+ * </ul>
+ * State is kept for up to {@code throttle.keys} keys, keys idle for {@code throttle.idle.seconds} can be evicted.
+ */
+public final class ConfiguredThrottle {
+
+    private final Sourceable source;
+
+    public ConfiguredThrottle(final Sourceable source) {
+        this.source = source;
+    }
+
+    public Throttle throttle() {
+        final String mode = source.source("throttle.mode", "none");
+        final Throttle throttle;
+        if ("none".equals(mode)) {
+            throttle = new NoThrottle();
+        }
+        else if ("tokenbucket".equals(mode)) {
+            throttle = keyed(
+                    new TokenBucketAdmission(
+                            positiveDouble("throttle.rate", "100"),
+                            (int) positiveLong("throttle.burst", "100")
+                    )
+            );
+        }
+        else if ("sample".equals(mode)) {
+            throttle = keyed(new HashSampleAdmission((int) positiveLong("throttle.sample", "10")));
+        }
+        else {
+            throw new IllegalArgumentException("Invalid throttle.mode <[" + mode + "]>");
+        }
+        return throttle;
+    }
+
+    private Throttle keyed(final Admission admission) {
+        return new KeyedThrottle(
+                admission,
+                (int) positiveLong("throttle.keys", "10000"),
+                TimeUnit.SECONDS.toNanos(positiveLong("throttle.idle.seconds", "300"))
+        );
+    }
+
+    private long positiveLong(final String name, final String defaultValue) {
+        final String value = source.source(name, defaultValue);
+        final long parsed;
+        try {
+            parsed = Long.parseLong(value);
+        }
+        catch (final NumberFormatException numberFormatException) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>", numberFormatException);
+        }
+        if (parsed <= 0 || parsed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>");
+        }
+        return parsed;
+    }
+
+    private double positiveDouble(final String name, final String defaultValue) {
+        final String value = source.source(name, defaultValue);
+        final double parsed;
+        try {
+            parsed = Double.parseDouble(value);
+        }
+        catch (final NumberFormatException numberFormatException) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>", numberFormatException);
+        }
+        if (!(parsed > 0) || Double.isInfinite(parsed)) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>");
+        }
+        return parsed;
+    }
+}
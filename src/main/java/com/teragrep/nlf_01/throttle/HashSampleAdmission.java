@@ -0,0 +1,75 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.throttle;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+
+/**
+ * Admits one in {@code n} events of each key. The decision is a hash of the key, the sequence number and the timestamp
+ * of the event, so a redelivered event is sampled the same way and no state is needed. The payload is not read, the
+ * timestamp tells apart the records of a multi-record event and the events that have no sequence number.
+ */
+public final class HashSampleAdmission implements Admission {
+
+    private final int n;
+
+    public HashSampleAdmission(final int n) {
+        this.n = n;
+    }
+
+    @Override
+    public boolean admits(final KeyState state, final int keyHash, final long now, final EventType eventType)
+            throws PluginException {
+        final int identity = 31 * eventType.msgId().hashCode() + Long.hashCode(eventType.timestamp());
+        long hash = (long) keyHash << 32 ^ identity & 0xFFFFFFFFL;
+        // murmur3 finalizer, spreads consecutive sequence numbers and timestamps over all the buckets
+        hash = (hash ^ hash >>> 33) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ hash >>> 33) * 0xc4ceb9fe1a85ec53L;
+        hash = hash ^ hash >>> 33;
+        return Math.floorMod(hash, (long) n) == 0;
+    }
+}
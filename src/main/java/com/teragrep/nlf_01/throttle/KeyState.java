@@ -0,0 +1,117 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State of a single (hostname, appName) key of a {@link KeyedThrottle}. All the updates are lock-free.
+ */
+public final class KeyState {
+
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong lastSeen;
+    private final LongAdder dropped;
+
+    public KeyState(final long now) {
+        this(new AtomicLong(now), new AtomicLong(now), new LongAdder());
+    }
+
+    private KeyState(final AtomicLong theoreticalArrival, final AtomicLong lastSeen, final LongAdder dropped) {
+        this.theoreticalArrival = theoreticalArrival;
+        this.lastSeen = lastSeen;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Takes a token if one is available. The bucket is stored as the theoretical arrival time of the next event of the
+     * generic cell rate algorithm, which is equivalent to a token bucket but needs a single atomic value.
+     *
+     * @param now       current time in nanoseconds
+     * @param interval  nanoseconds between tokens
+     * @param tolerance nanoseconds the theoretical arrival time may be ahead of the current time
+     * @return true if a token was taken
+     */
+    public boolean take(final long now, final long interval, final long tolerance) {
+        boolean taken = false;
+        boolean done = false;
+        while (!done) {
+            final long arrival = theoreticalArrival.get();
+            final long start;
+            if (arrival - now > 0) {
+                start = arrival;
+            }
+            else {
+                start = now;
+            }
+            if (start - now > tolerance) {
+                done = true;
+            }
+            else if (theoreticalArrival.compareAndSet(arrival, start + interval)) {
+                taken = true;
+                done = true;
+            }
+        }
+        return taken;
+    }
+
+    public void seen(final long now) {
+        lastSeen.set(now);
+    }
+
+    public boolean isIdle(final long now, final long idleNanos) {
+        return now - lastSeen.get() > idleNanos;
+    }
+
+    public void drop() {
+        dropped.increment();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+}
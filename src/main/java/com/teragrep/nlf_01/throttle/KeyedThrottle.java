@@ -0,0 +1,190 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.throttle;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.types.EventType;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies an {@link Admission} per (hostname, appName) key. The state of at most {@code maxKeys} keys is kept, keys not
+ * seen for {@code idleNanos} are evicted when the table is full, and events of keys that do not fit share a single
+ * overflow state. Reads and updates of existing keys are lock-free.
+ */
+public final class KeyedThrottle implements Throttle {
+
+    /**
+     * Key of the shared state of keys that did not fit in the table, in {@link #droppedByKey()}
+     */
+    public static final String OVERFLOW_KEY = "*";
+
+    private final Admission admission;
+    private final int maxKeys;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final Map<ThrottleKey, KeyState> states;
+    private final KeyState overflow;
+    private final AtomicLong lastSweep;
+    private final LongAdder admitted;
+    private final LongAdder dropped;
+
+    public KeyedThrottle(final Admission admission, final int maxKeys, final long idleNanos) {
+        this(admission, maxKeys, idleNanos, System::nanoTime);
+    }
+
+    public KeyedThrottle(final Admission admission, final int maxKeys, final long idleNanos, final LongSupplier clock) {
+        this(admission, maxKeys, idleNanos, clock, clock.getAsLong());
+    }
+
+    private KeyedThrottle(
+            final Admission admission,
+            final int maxKeys,
+            final long idleNanos,
+            final LongSupplier clock,
+            final long now
+    ) {
+        this.admission = admission;
+        this.maxKeys = maxKeys;
+        this.idleNanos = idleNanos;
+        this.clock = clock;
+        this.states = new ConcurrentHashMap<>();
+        this.overflow = new KeyState(now);
+        this.lastSweep = new AtomicLong(now);
+        this.admitted = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    @Override
+    public boolean admits(final EventType eventType) throws PluginException {
+        // same order as the message is built in, so that the same error is reported
+        final ThrottleKey key = new ThrottleKey(eventType.appName(), eventType.hostname());
+        final long now = clock.getAsLong();
+        final KeyState state = state(key, now);
+        state.seen(now);
+
+        final boolean admits = admission.admits(state, key.hashCode(), now, eventType);
+        if (admits) {
+            admitted.increment();
+        }
+        else {
+            state.drop();
+            dropped.increment();
+        }
+        return admits;
+    }
+
+    private KeyState state(final ThrottleKey key, final long now) {
+        KeyState state = states.get(key);
+        if (state == null) {
+            if (states.size() >= maxKeys) {
+                evictIdle(now);
+            }
+            if (states.size() >= maxKeys) {
+                state = overflow;
+            }
+            else {
+                state = states.computeIfAbsent(key, newKey -> new KeyState(now));
+            }
+        }
+        return state;
+    }
+
+    private void evictIdle(final long now) {
+        final long previous = lastSweep.get();
+        // a full table of active keys is swept at most once per idle time
+        if (now - previous > idleNanos && lastSweep.compareAndSet(previous, now)) {
+            states.values().removeIf(state -> state.isIdle(now, idleNanos));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    /**
+     * @return amount of events dropped since creation, including the drops of evicted keys
+     */
+    @Override
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return drops of the keys currently in the table with at least one drop, keyed by {@code "appName hostname"}
+     */
+    @Override
+    public Map<String, Long> droppedByKey() {
+        final Map<String, Long> droppedByKey = new TreeMap<>();
+        states.forEach((key, state) -> {
+            if (state.dropped() > 0) {
+                droppedByKey.put(key.toString(), state.dropped());
+            }
+        });
+        if (overflow.dropped() > 0) {
+            droppedByKey.put(OVERFLOW_KEY, overflow.dropped());
+        }
+        return droppedByKey;
+    }
+
+    /**
+     * @return amount of keys in the table
+     */
+    public int keys() {
+        return states.size();
+    }
+}
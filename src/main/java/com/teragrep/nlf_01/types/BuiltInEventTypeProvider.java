@@ -0,0 +1,287 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.types;
+
+import com.teragrep.nlf_01.registry.EventTypeFactory;
+import com.teragrep.nlf_01.registry.EventTypeProvider;
+import com.teragrep.nlf_01.registry.KeyedEventTypeFactory;
+import com.teragrep.nlf_01.registry.MatchKey;
+import com.teragrep.nlf_01.registry.MatchKind;
+import com.teragrep.nlf_01.util.ConstantSDElements;
+import com.teragrep.nlf_01.util.ZonedDateTimeStrings;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registers the event types of this plugin.
+ */
+public final class BuiltInEventTypeProvider implements EventTypeProvider {
+
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
+
+    public BuiltInEventTypeProvider() {
+        this(new ConstantSDElements(), new ZonedDateTimeStrings());
+    }
+
+    /**
+     * @param constantSDElements  shared by the event types of the provider
+     * @param enqueuedTimeStrings shared by the event types of the provider
+     */
+    public BuiltInEventTypeProvider(
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
+    }
+
+    @Override
+    public List<EventTypeFactory> factories() {
+        return Arrays
+                .asList(
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "ADFActivityRun"),
+                                (event, source, host, component) -> new ADFActivityRunType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "ADFPipelineRun"),
+                                (event, source, host, component) -> new ADFPipelineRunType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "AppEvents"),
+                                (event, source, host, component) -> new AppEventsType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "AppServiceConsoleLogs"),
+                                (event, source, host, component) -> new AppServiceConsoleLogsType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "AppTraces"),
+                                (event, source, host, component) -> new AppInsightType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "ContainerAppConsoleLogs"),
+                                (event, source, host, component) -> new ContainerAppConsoleLogsType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "DataverseActivity"),
+                                (event, source, host, component) -> new DataverseActivityType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "Event"),
+                                (event, source, host, component) -> new WindowsEventType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "FunctionAppLogs"),
+                                (event, source, host, component) -> new FunctionAppLogsType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "LogicAppWorkflowRuntime"),
+                                (event, source, host, component) -> new LogicAppWorkflowRuntimeType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "PGSQLServerLogs"),
+                                (event, source, host, component) -> new PGSQLServerLogsType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "PowerAutomateActivity"),
+                                (event, source, host, component) -> new PowerAutomateActivityType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "PowerPlatformAdminActivity"),
+                                (event, source, host, component) -> new PowerPlatformAdminActivityType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE_SUFFIX, "fluent_audit_log_events_CL"),
+                                (event, source, host, component) -> new CCType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE_SUFFIX, "_CL"),
+                                (event, source, host, component) -> new CLType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "ContainerLogV2"),
+                                1,
+                                jsonObject -> jsonObject.containsKey("PodNamespace")
+                                        && jsonObject.getString("PodNamespace").equals("aks-istio-ingress"),
+                                (event, source, host, component) -> new IstioIngressContainerType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "ContainerLogV2"),
+                                new ContainerTypeCreation(constantSDElements, enqueuedTimeStrings)
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.TYPE, "Syslog"),
+                                (event, source, host, component) -> new SyslogType(
+                                        event,
+                                        source.source("syslogtype.processname"),
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.APP_TYPE, "PostgreSQL"),
+                                (event, source, host, component) -> new PostgreSQLType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        ),
+                        new KeyedEventTypeFactory(
+                                new MatchKey(MatchKind.CATEGORY, "SQLSecurityAuditEvents"),
+                                (event, source, host, component) -> new SQLSecurityAuditEventsType(
+                                        event,
+                                        host,
+                                        component,
+                                        constantSDElements,
+                                        enqueuedTimeStrings
+                                )
+                        )
+                );
+    }
+}
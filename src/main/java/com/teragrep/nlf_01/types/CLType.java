@@ -58,14 +58,45 @@ import java.util.Set;
 
 public final class CLType implements EventType {
 
+    private static final StringKeyPath INTERNAL_WORKSPACE_RESOURCE_ID = new StringKeyPath(
+            "_Internal_WorkspaceResourceId"
+    );
+    private static final StringKeyPath RESOURCE_ID = new StringKeyPath("_ResourceId");
+    private static final StringKeyPath FILE_PATH = new StringKeyPath("FilePath");
+    private static final StringKeyPath TIME_GENERATED = new StringKeyPath("TimeGenerated");
+
     private final ParsedEvent parsedEvent;
     private final String realHostname;
     private final String componentNameForPartitions;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
+
+    public CLType(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String componentNameForPartitions
+    ) {
+        this(
+                parsedEvent,
+                realHostname,
+                componentNameForPartitions,
+                DefaultSDElements.CONSTANT_SD_ELEMENTS,
+                DefaultSDElements.ENQUEUED_TIME_STRINGS
+        );
+    }
 
-    public CLType(final ParsedEvent parsedEvent, final String realHostname, final String componentNameForPartitions) {
+    public CLType(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
         this.parsedEvent = parsedEvent;
         this.realHostname = realHostname;
         this.componentNameForPartitions = componentNameForPartitions;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
     }
 
     @Override
@@ -81,20 +112,21 @@ public final class CLType implements EventType {
     @Override
     public String hostname() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
-        final ValidKey<String> validKey = new ValidStringKey(mainObject, "_Internal_WorkspaceResourceId");
 
         // hostname = internal workspace resource id MD5 + resourceName from resourceId, with non-ascii chars removed
-        return new ValidRFC5424Hostname(
-                "md5-".concat(new MD5Hash(validKey.value()).md5().concat("-").concat(new ASCIIString(new ResourceId(validKey.value()).resourceName()).withNonAsciiCharsRemoved()))
-        ).hostnameWithInvalidCharsRemoved();
+        final String resourceId = INTERNAL_WORKSPACE_RESOURCE_ID.value(mainObject);
+
+        return new MD5ResourceHostname(
+                new MD5Hash(resourceId).md5(),
+                new ResourceId(resourceId).resourceName()
+        ).hostname();
     }
 
     @Override
     public String appName() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> validKey = new ValidStringKey(mainObject, "FilePath");
-        final String filePath = validKey.value();
+        final String filePath = FILE_PATH.value(mainObject);
 
         final String truncatedMd5 = new MD5Hash(filePath).md5().substring(0, 8);
 
@@ -109,7 +141,7 @@ public final class CLType implements EventType {
     public long timestamp() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        return new ValidRFC5424Timestamp(new ValidStringKey(mainObject, "TimeGenerated").value()).validTimestamp();
+        return new ValidRFC5424Timestamp(TIME_GENERATED.value(mainObject)).validTimestamp();
     }
 
     @Override
@@ -118,14 +150,15 @@ public final class CLType implements EventType {
                 parsedEvent,
                 realHostname,
                 this.getClass(),
-                componentNameForPartitions
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
         );
         final Set<SDElement> elems = defaultSDElements.sdElements();
 
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> validKey = new ValidStringKey(mainObject, "_ResourceId");
-        final String resourceId = validKey.value();
+        final String resourceId = RESOURCE_ID.value(mainObject);
 
         // Append the origin of this event to the DefaultSDElements
         elems.add(new SDElement("origin@48577").addSDParam("_ResourceId", resourceId));
@@ -47,17 +47,17 @@ package com.teragrep.nlf_01.types;
 
 import com.teragrep.akv_01.event.ParsedEvent;
 import com.teragrep.akv_01.plugin.PluginException;
-import com.teragrep.nlf_01.util.ASCIIString;
+import com.teragrep.nlf_01.util.ConstantSDElements;
 import com.teragrep.nlf_01.util.DefaultSDElements;
 import com.teragrep.nlf_01.util.HashableRFC5424AppName;
 import com.teragrep.nlf_01.util.MD5Hash;
+import com.teragrep.nlf_01.util.MD5ResourceHostname;
 import com.teragrep.nlf_01.util.ResourceId;
 import com.teragrep.nlf_01.util.SDElements;
-import com.teragrep.nlf_01.util.ValidKey;
-import com.teragrep.nlf_01.util.ValidStringKey;
+import com.teragrep.nlf_01.util.StringKeyPath;
 import com.teragrep.nlf_01.util.ValidRFC5424AppName;
-import com.teragrep.nlf_01.util.ValidRFC5424Hostname;
 import com.teragrep.nlf_01.util.ValidRFC5424Timestamp;
+import com.teragrep.nlf_01.util.ZonedDateTimeStrings;
 import com.teragrep.rlo_14.Facility;
 import com.teragrep.rlo_14.SDElement;
 import com.teragrep.rlo_14.Severity;
@@ -66,18 +66,44 @@ import java.util.Set;
 
 public final class ContainerAppConsoleLogsType implements EventType {
 
+    private static final StringKeyPath CONTAINER_APP_NAME = new StringKeyPath("ContainerAppName");
+    private static final StringKeyPath JOB_NAME = new StringKeyPath("JobName");
+    private static final StringKeyPath ENVIRONMENT_NAME = new StringKeyPath("EnvironmentName");
+    private static final StringKeyPath RESOURCE_ID = new StringKeyPath("_ResourceId");
+    private static final StringKeyPath TIME_GENERATED = new StringKeyPath("TimeGenerated");
+
     private final ParsedEvent parsedEvent;
     private final String realHostname;
     private final String componentNameForPartitions;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
 
     public ContainerAppConsoleLogsType(
             final ParsedEvent parsedEvent,
             final String realHostname,
             final String componentNameForPartitions
+    ) {
+        this(
+                parsedEvent,
+                realHostname,
+                componentNameForPartitions,
+                DefaultSDElements.CONSTANT_SD_ELEMENTS,
+                DefaultSDElements.ENQUEUED_TIME_STRINGS
+        );
+    }
+
+    public ContainerAppConsoleLogsType(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
     ) {
         this.parsedEvent = parsedEvent;
         this.realHostname = realHostname;
         this.componentNameForPartitions = componentNameForPartitions;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
     }
 
     @Override
@@ -94,39 +120,40 @@ public final class ContainerAppConsoleLogsType implements EventType {
     public String hostname() throws PluginException {
         final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> validResourceID = new ValidStringKey(record, "_ResourceId");
-        final ValidKey<String> validEnvironmentName = new ValidStringKey(record, "EnvironmentName");
-
-        final String concatenatedHostName = validResourceID.value().concat("/").concat(validEnvironmentName.value());
+        final String concatenatedHostName = RESOURCE_ID
+                .value(record)
+                .concat("/")
+                .concat(ENVIRONMENT_NAME.value(record));
 
-        return new ValidRFC5424Hostname(
-                "md5-".concat(new MD5Hash(concatenatedHostName).md5().concat("-").concat(new ASCIIString(new ResourceId(validResourceID.value()).resourceName()).withNonAsciiCharsRemoved()))
-        ).hostnameWithInvalidCharsRemoved();
+        return new MD5ResourceHostname(
+                new MD5Hash(concatenatedHostName).md5(),
+                new ResourceId(RESOURCE_ID.value(record)).resourceName()
+        ).hostname();
     }
 
     @Override
     public String appName() throws PluginException {
         final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
-        final ValidKey<String> validKey;
+        final StringKeyPath keyPath;
 
         if (record.containsKey("ContainerAppName")) {
-            validKey = new ValidStringKey(record, "ContainerAppName");
+            keyPath = CONTAINER_APP_NAME;
         }
         else if (record.containsKey("JobName")) {
-            validKey = new ValidStringKey(record, "JobName");
+            keyPath = JOB_NAME;
         }
         else {
             throw new PluginException(new IllegalArgumentException("A valid key does not exist"));
         }
 
-        return new ValidRFC5424AppName(new HashableRFC5424AppName(validKey.value()).appName()).appName();
+        return new ValidRFC5424AppName(new HashableRFC5424AppName(keyPath.value(record)).appName()).appName();
     }
 
     @Override
     public long timestamp() throws PluginException {
         final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
 
-        return new ValidRFC5424Timestamp(new ValidStringKey(record, "TimeGenerated").value()).validTimestamp();
+        return new ValidRFC5424Timestamp(TIME_GENERATED.value(record)).validTimestamp();
     }
 
     @Override
@@ -135,7 +162,9 @@ public final class ContainerAppConsoleLogsType implements EventType {
                 parsedEvent,
                 realHostname,
                 this.getClass(),
-                componentNameForPartitions
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
         );
 
         return defaultSDElements.sdElements();
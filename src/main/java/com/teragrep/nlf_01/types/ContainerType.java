@@ -58,11 +58,24 @@ import java.util.Set;
 
 public final class ContainerType implements EventType {
 
+    private static final JsonObjectKeyPath POD_ANNOTATIONS = new JsonObjectKeyPath(
+            "KubernetesMetadata",
+            "podAnnotations"
+    );
+    private static final StringKeyPath LOG_SOURCE = new StringKeyPath("LogSource");
+    private static final StringKeyPath TIME_GENERATED = new StringKeyPath("TimeGenerated");
+    private static final StringKeyPath RESOURCE_ID = new StringKeyPath("_ResourceId");
+    private static final StringKeyPath POD_NAME = new StringKeyPath("PodName");
+    private static final StringKeyPath POD_NAMESPACE = new StringKeyPath("PodNamespace");
+    private static final StringKeyPath CONTAINER_ID = new StringKeyPath("ContainerId");
+
     private final ParsedEvent parsedEvent;
-    private final String containerLogHostnameKey;
-    private final String containerLogAppNameKey;
+    private final StringKeyPath hostnamePath;
+    private final StringKeyPath appNamePath;
     private final String realHostname;
     private final String componentNameForPartitions;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
 
     public ContainerType(
             final ParsedEvent parsedEvent,
@@ -70,12 +83,40 @@ public final class ContainerType implements EventType {
             final String containerLogAppNameKey,
             final String realHostname,
             final String componentNameForPartitions
+    ) {
+        this(
+                parsedEvent,
+                new StringKeyPath("KubernetesMetadata", "podAnnotations", containerLogHostnameKey),
+                new StringKeyPath(containerLogAppNameKey),
+                realHostname,
+                componentNameForPartitions,
+                DefaultSDElements.CONSTANT_SD_ELEMENTS,
+                DefaultSDElements.ENQUEUED_TIME_STRINGS
+        );
+    }
+
+    /**
+     * @param hostnamePath        path to the hostname annotation from the main object
+     * @param appNamePath         path to the appName annotation from the podAnnotations object
+     * @param constantSDElements  shared with the other ContainerTypes of the plugin
+     * @param enqueuedTimeStrings shared with the other ContainerTypes of the plugin
+     */
+    public ContainerType(
+            final ParsedEvent parsedEvent,
+            final StringKeyPath hostnamePath,
+            final StringKeyPath appNamePath,
+            final String realHostname,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
     ) {
         this.parsedEvent = parsedEvent;
-        this.containerLogHostnameKey = containerLogHostnameKey;
-        this.containerLogAppNameKey = containerLogAppNameKey;
+        this.hostnamePath = hostnamePath;
+        this.appNamePath = appNamePath;
         this.realHostname = realHostname;
         this.componentNameForPartitions = componentNameForPartitions;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
     }
 
     @Override
@@ -92,44 +133,16 @@ public final class ContainerType implements EventType {
     public String hostname() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<JsonObject> kubernetesMetadataValidKey = new ValidJsonObjectKey(
-                mainObject,
-                "KubernetesMetadata"
-        );
-        final JsonObject kubernetesMetadata = kubernetesMetadataValidKey.value();
-
-        final ValidKey<JsonObject> podAnnotationsValidKey = new ValidJsonObjectKey(
-                kubernetesMetadata,
-                "podAnnotations"
-        );
-        final JsonObject podAnnotations = podAnnotationsValidKey.value();
-
-        final ValidKey<String> containerLogHostnameKeyValidKey = new ValidStringKey(
-                podAnnotations,
-                containerLogHostnameKey
-        );
-
-        return new ValidRFC5424Hostname(containerLogHostnameKeyValidKey.value()).validHostname();
+        return new ValidRFC5424Hostname(hostnamePath.value(mainObject)).validHostname();
     }
 
     @Override
     public String appName() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<JsonObject> kubernetesMetadataValidKey = new ValidJsonObjectKey(
-                mainObject,
-                "KubernetesMetadata"
-        );
-        final JsonObject kubernetesMetadata = kubernetesMetadataValidKey.value();
-
-        final ValidKey<JsonObject> podAnnotationsValidKey = new ValidJsonObjectKey(
-                kubernetesMetadata,
-                "podAnnotations"
-        );
-        final JsonObject podAnnotations = podAnnotationsValidKey.value();
+        final JsonObject podAnnotations = POD_ANNOTATIONS.value(mainObject);
 
-        final ValidKey<String> logSourceValidKey = new ValidStringKey(mainObject, "LogSource");
-        final String logSource = logSourceValidKey.value();
+        final String logSource = LOG_SOURCE.value(mainObject);
         final String logSourceSuffix;
 
         if ("stdout".equals(logSource)) {
@@ -142,19 +155,14 @@ public final class ContainerType implements EventType {
             throw new PluginException(new JsonException("Unknown log source: " + logSource));
         }
 
-        final ValidKey<String> containerLogAppNameKeyValidKey = new ValidStringKey(
-                podAnnotations,
-                containerLogAppNameKey
-        );
-
-        return new ValidRFC5424AppName(containerLogAppNameKeyValidKey.value() + logSourceSuffix).appName();
+        return new ValidRFC5424AppName(appNamePath.value(podAnnotations) + logSourceSuffix).appName();
     }
 
     @Override
     public long timestamp() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        return new ValidRFC5424Timestamp(new ValidStringKey(mainObject, "TimeGenerated").value()).validTimestamp();
+        return new ValidRFC5424Timestamp(TIME_GENERATED.value(mainObject)).validTimestamp();
     }
 
     @Override
@@ -163,25 +171,23 @@ public final class ContainerType implements EventType {
                 parsedEvent,
                 realHostname,
                 this.getClass(),
-                componentNameForPartitions
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
         );
         final Set<SDElement> elems = defaultSDElements.sdElements();
 
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> resourceIdValidKey = new ValidStringKey(mainObject, "_ResourceId");
-        final ResourceId resourceId = new ResourceId(resourceIdValidKey.value());
+        final ResourceId resourceId = new ResourceId(RESOURCE_ID.value(mainObject));
         final String subscriptionId = resourceId.subscriptionId();
         final String clusterName = resourceId.resourceName();
 
-        final ValidKey<String> podNameValidKey = new ValidStringKey(mainObject, "PodName");
-        final String podName = podNameValidKey.value();
+        final String podName = POD_NAME.value(mainObject);
 
-        final ValidKey<String> podNamespaceValidKey = new ValidStringKey(mainObject, "PodNamespace");
-        final String podNamespace = podNamespaceValidKey.value();
+        final String podNamespace = POD_NAMESPACE.value(mainObject);
 
-        final ValidKey<String> containerIdValidKey = new ValidStringKey(mainObject, "ContainerId");
-        final String containerId = containerIdValidKey.value();
+        final String containerId = CONTAINER_ID.value(mainObject);
 
         elems
                 .add(new SDElement("origin@48577").addSDParam("subscription", subscriptionId).addSDParam("clusterName", clusterName).addSDParam("namespace", podNamespace).addSDParam("pod", podName).addSDParam("containerId", containerId));
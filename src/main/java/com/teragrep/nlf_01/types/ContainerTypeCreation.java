@@ -0,0 +1,119 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.types;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.registry.EventTypeCreation;
+import com.teragrep.nlf_01.util.ConstantSDElements;
+import com.teragrep.nlf_01.util.Sourceable;
+import com.teragrep.nlf_01.util.StringKeyPath;
+import com.teragrep.nlf_01.util.ZonedDateTimeStrings;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Creates {@link ContainerType}s with the annotation paths read from the source only when the source changes, as the
+ * configuration of a plugin does not. Thread-safe.
+ */
+public final class ContainerTypeCreation implements EventTypeCreation {
+
+    private final AtomicReference<ContainerAnnotationPaths> annotationPaths;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
+
+    public ContainerTypeCreation() {
+        this(new ConstantSDElements(), new ZonedDateTimeStrings());
+    }
+
+    public ContainerTypeCreation(
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this(
+                new AtomicReference<>(new ContainerAnnotationPaths(null, null, null)),
+                constantSDElements,
+                enqueuedTimeStrings
+        );
+    }
+
+    public ContainerTypeCreation(final AtomicReference<ContainerAnnotationPaths> annotationPaths) {
+        this(annotationPaths, new ConstantSDElements(), new ZonedDateTimeStrings());
+    }
+
+    public ContainerTypeCreation(
+            final AtomicReference<ContainerAnnotationPaths> annotationPaths,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this.annotationPaths = annotationPaths;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
+    }
+
+    @Override
+    public EventType eventType(
+            final ParsedEvent parsedEvent,
+            final Sourceable source,
+            final String realHostname,
+            final String componentName
+    ) throws PluginException {
+        ContainerAnnotationPaths paths = annotationPaths.get();
+        if (!paths.isOf(source)) {
+            paths = new ContainerAnnotationPaths(
+                    source,
+                    new StringKeyPath(
+                            "KubernetesMetadata",
+                            "podAnnotations",
+                            source.source("containerlog.hostname.annotation")
+                    ),
+                    new StringKeyPath(source.source("containerlog.appname.annotation"))
+            );
+            annotationPaths.set(paths);
+        }
+        return paths.eventType(parsedEvent, realHostname, componentName, constantSDElements, enqueuedTimeStrings);
+    }
+}
@@ -47,14 +47,15 @@ package com.teragrep.nlf_01.types;
 
 import com.teragrep.akv_01.event.ParsedEvent;
 import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.util.ConstantSDElements;
 import com.teragrep.nlf_01.util.DefaultSDElements;
 import com.teragrep.nlf_01.util.ResourceId;
 import com.teragrep.nlf_01.util.SDElements;
-import com.teragrep.nlf_01.util.ValidKey;
+import com.teragrep.nlf_01.util.StringKeyPath;
 import com.teragrep.nlf_01.util.ValidRFC5424AppName;
 import com.teragrep.nlf_01.util.ValidRFC5424Hostname;
 import com.teragrep.nlf_01.util.ValidRFC5424Timestamp;
-import com.teragrep.nlf_01.util.ValidStringKey;
+import com.teragrep.nlf_01.util.ZonedDateTimeStrings;
 import com.teragrep.rlo_14.Facility;
 import com.teragrep.rlo_14.SDElement;
 import com.teragrep.rlo_14.Severity;
@@ -63,29 +64,64 @@ import java.util.Set;
 
 public final class IstioIngressContainerType implements EventType {
 
+    private static final StringKeyPath POD_NAMESPACE = new StringKeyPath("PodNamespace");
+    private static final StringKeyPath TIME_GENERATED = new StringKeyPath("TimeGenerated");
+    private static final StringKeyPath RESOURCE_ID = new StringKeyPath("_ResourceId");
+    private static final StringKeyPath POD_NAME = new StringKeyPath("PodName");
+    private static final StringKeyPath CONTAINER_ID = new StringKeyPath("ContainerId");
+
     private final String staticAppname;
     private final ParsedEvent parsedEvent;
     private final String realHostname;
     private final String componentNameForPartitions;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
 
     public IstioIngressContainerType(
             final ParsedEvent parsedEvent,
             final String realHostname,
             final String componentNameForPartitions
     ) {
-        this("istio-ingress", parsedEvent, realHostname, componentNameForPartitions);
+        this(
+                parsedEvent,
+                realHostname,
+                componentNameForPartitions,
+                DefaultSDElements.CONSTANT_SD_ELEMENTS,
+                DefaultSDElements.ENQUEUED_TIME_STRINGS
+        );
+    }
+
+    public IstioIngressContainerType(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this(
+                "istio-ingress",
+                parsedEvent,
+                realHostname,
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
+        );
     }
 
     private IstioIngressContainerType(
             final String staticAppname,
             final ParsedEvent parsedEvent,
             final String realHostname,
-            final String componentNameForPartitions
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
     ) {
         this.staticAppname = staticAppname;
         this.parsedEvent = parsedEvent;
         this.realHostname = realHostname;
         this.componentNameForPartitions = componentNameForPartitions;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
     }
 
     @Override
@@ -102,9 +138,7 @@ public final class IstioIngressContainerType implements EventType {
     public String hostname() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> containerLogHostnameKeyValidKey = new ValidStringKey(mainObject, "PodNamespace");
-
-        return new ValidRFC5424Hostname(containerLogHostnameKeyValidKey.value()).validHostname();
+        return new ValidRFC5424Hostname(POD_NAMESPACE.value(mainObject)).validHostname();
     }
 
     @Override
@@ -116,7 +150,7 @@ public final class IstioIngressContainerType implements EventType {
     public long timestamp() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        return new ValidRFC5424Timestamp(new ValidStringKey(mainObject, "TimeGenerated").value()).validTimestamp();
+        return new ValidRFC5424Timestamp(TIME_GENERATED.value(mainObject)).validTimestamp();
     }
 
     @Override
@@ -125,31 +159,27 @@ public final class IstioIngressContainerType implements EventType {
                 parsedEvent,
                 realHostname,
                 this.getClass(),
-                componentNameForPartitions
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
         );
         final Set<SDElement> elems = defaultSDElements.sdElements();
 
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> resourceIdValidKey = new ValidStringKey(mainObject, "_ResourceId");
-        final ResourceId resourceId = new ResourceId(resourceIdValidKey.value());
+        final ResourceId resourceId = new ResourceId(RESOURCE_ID.value(mainObject));
         final String subscriptionId = resourceId.subscriptionId();
         final String clusterName = resourceId.resourceName();
 
-        final ValidKey<String> podNameValidKey = new ValidStringKey(mainObject, "PodName");
-        final String podName = podNameValidKey.value();
+        final String podName = POD_NAME.value(mainObject);
 
-        final ValidKey<String> podNamespaceValidKey = new ValidStringKey(mainObject, "PodNamespace");
-        final String podNamespace = podNamespaceValidKey.value();
+        final String podNamespace = POD_NAMESPACE.value(mainObject);
 
-        final ValidKey<String> containerIdValidKey = new ValidStringKey(mainObject, "ContainerId");
-        final String containerId = containerIdValidKey.value();
+        final String containerId = CONTAINER_ID.value(mainObject);
 
         elems
                 .add(new SDElement("origin@48577").addSDParam("subscription", subscriptionId).addSDParam("clusterName", clusterName).addSDParam("namespace", podNamespace).addSDParam("pod", podName).addSDParam("containerId", containerId));
 
-        elems.add(new SDElement("nlf_01@48577").addSDParam("eventType", this.getClass().getSimpleName()));
-
         return elems;
     }
 
@@ -0,0 +1,128 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.types;
+
+import com.teragrep.rlo_14.Facility;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.Severity;
+
+import java.util.Set;
+
+/**
+ * Values read from an event type, so that they can be written later without the reads failing part way through the
+ * records of an event.
+ */
+public final class ResolvedEventType implements EventType {
+
+    private final Severity severity;
+    private final Facility facility;
+    private final String hostname;
+    private final String appName;
+    private final long timestamp;
+    private final Set<SDElement> sdElements;
+    private final String msgId;
+    private final String msg;
+
+    public ResolvedEventType(
+            final Severity severity,
+            final Facility facility,
+            final String hostname,
+            final String appName,
+            final long timestamp,
+            final Set<SDElement> sdElements,
+            final String msgId,
+            final String msg
+    ) {
+        this.severity = severity;
+        this.facility = facility;
+        this.hostname = hostname;
+        this.appName = appName;
+        this.timestamp = timestamp;
+        this.sdElements = sdElements;
+        this.msgId = msgId;
+        this.msg = msg;
+    }
+
+    @Override
+    public Severity severity() {
+        return severity;
+    }
+
+    @Override
+    public Facility facility() {
+        return facility;
+    }
+
+    @Override
+    public String hostname() {
+        return hostname;
+    }
+
+    @Override
+    public String appName() {
+        return appName;
+    }
+
+    @Override
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public Set<SDElement> sdElements() {
+        return sdElements;
+    }
+
+    @Override
+    public String msgId() {
+        return msgId;
+    }
+
+    @Override
+    public String msg() {
+        return msg;
+    }
+}
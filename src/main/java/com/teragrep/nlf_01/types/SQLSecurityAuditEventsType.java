@@ -57,18 +57,42 @@ import java.util.Set;
 
 public final class SQLSecurityAuditEventsType implements EventType {
 
+    private static final StringKeyPath RESOURCE_ID = new StringKeyPath("resourceId");
+    private static final StringKeyPath OPERATION_NAME = new StringKeyPath("operationName");
+    private static final StringKeyPath ORIGINAL_EVENT_TIMESTAMP = new StringKeyPath("originalEventTimestamp");
+
     private final ParsedEvent parsedEvent;
     private final String realHostname;
     private final String componentNameForPartitions;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
 
     public SQLSecurityAuditEventsType(
             final ParsedEvent parsedEvent,
             final String realHostname,
             final String componentNameForPartitions
+    ) {
+        this(
+                parsedEvent,
+                realHostname,
+                componentNameForPartitions,
+                DefaultSDElements.CONSTANT_SD_ELEMENTS,
+                DefaultSDElements.ENQUEUED_TIME_STRINGS
+        );
+    }
+
+    public SQLSecurityAuditEventsType(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
     ) {
         this.parsedEvent = parsedEvent;
         this.realHostname = realHostname;
         this.componentNameForPartitions = componentNameForPartitions;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
     }
 
     @Override
@@ -85,25 +109,26 @@ public final class SQLSecurityAuditEventsType implements EventType {
     public String hostname() throws PluginException {
         final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> validKey = new ValidStringKey(record, "resourceId");
+        final String resourceId = RESOURCE_ID.value(record);
 
-        return new ValidRFC5424Hostname(
-                "md5-".concat(new MD5Hash(validKey.value()).md5().concat("-").concat(new ASCIIString(new ResourceIdWithSubtype(validKey.value()).resourceName()).withNonAsciiCharsRemoved()))
-        ).hostnameWithInvalidCharsRemoved();
+        return new MD5ResourceHostname(
+                new MD5Hash(resourceId).md5(),
+                new ResourceIdWithSubtype(resourceId).resourceName()
+        ).hostname();
     }
 
     @Override
     public String appName() throws PluginException {
         final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
 
-        return new ValidRFC5424AppName(new ValidStringKey(record, "operationName").value()).appName();
+        return new ValidRFC5424AppName(OPERATION_NAME.value(record)).appName();
     }
 
     @Override
     public long timestamp() throws PluginException {
         final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();
 
-        return new ValidRFC5424Timestamp(new ValidStringKey(record, "originalEventTimestamp").value()).validTimestamp();
+        return new ValidRFC5424Timestamp(ORIGINAL_EVENT_TIMESTAMP.value(record)).validTimestamp();
     }
 
     @Override
@@ -112,7 +137,9 @@ public final class SQLSecurityAuditEventsType implements EventType {
                 parsedEvent,
                 realHostname,
                 this.getClass(),
-                componentNameForPartitions
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
         );
 
         return defaultSDElements.sdElements();
@@ -142,11 +169,14 @@ public final class SQLSecurityAuditEventsType implements EventType {
         }
         final SQLSecurityAuditEventsType that = (SQLSecurityAuditEventsType) o;
         return Objects.equals(parsedEvent, that.parsedEvent) && Objects.equals(realHostname, that.realHostname)
-                && Objects.equals(componentNameForPartitions, that.componentNameForPartitions);
+                && Objects.equals(componentNameForPartitions, that.componentNameForPartitions)
+                && Objects.equals(constantSDElements, that.constantSDElements)
+                && Objects.equals(enqueuedTimeStrings, that.enqueuedTimeStrings);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(parsedEvent, realHostname, componentNameForPartitions);
+        return Objects
+                .hash(parsedEvent, realHostname, componentNameForPartitions, constantSDElements, enqueuedTimeStrings);
     }
 }
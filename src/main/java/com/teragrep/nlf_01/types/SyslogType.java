@@ -59,11 +59,22 @@ import java.util.regex.Pattern;
 
 public final class SyslogType implements EventType {
 
+    private static final StringKeyPath PROCESS_NAME = new StringKeyPath("ProcessName");
+    private static final StringKeyPath INTERNAL_WORKSPACE_RESOURCE_ID = new StringKeyPath(
+            "_Internal_WorkspaceResourceId"
+    );
+    private static final StringKeyPath SYSLOG_MESSAGE = new StringKeyPath("SyslogMessage");
+    private static final StringKeyPath TIME_GENERATED = new StringKeyPath("TimeGenerated");
+    private static final Pattern APP_NAME_PATTERN = Pattern
+            .compile("^.*?(?<uuid>[a-z0-9]{8}-[a-z0-9]{4}-[a-z0-9]{4}-[a-z0-9]{4}-[a-z0-9]{12})");
+
     private final ParsedEvent parsedEvent;
     private final String expectedProcessName;
     private final String realHostname;
     private final Pattern appNamePattern;
     private final String componentNameForPartitions;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
 
     public SyslogType(
             final ParsedEvent parsedEvent,
@@ -75,8 +86,28 @@ public final class SyslogType implements EventType {
                 parsedEvent,
                 expectedProcessName,
                 realHostname,
-                Pattern.compile("^.*?(?<uuid>[a-z0-9]{8}-[a-z0-9]{4}-[a-z0-9]{4}-[a-z0-9]{4}-[a-z0-9]{12})"),
-                componentNameForPartitions
+                componentNameForPartitions,
+                DefaultSDElements.CONSTANT_SD_ELEMENTS,
+                DefaultSDElements.ENQUEUED_TIME_STRINGS
+        );
+    }
+
+    public SyslogType(
+            final ParsedEvent parsedEvent,
+            final String expectedProcessName,
+            final String realHostname,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this(
+                parsedEvent,
+                expectedProcessName,
+                realHostname,
+                APP_NAME_PATTERN,
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
         );
     }
 
@@ -86,19 +117,40 @@ public final class SyslogType implements EventType {
             final String realHostname,
             final Pattern appNamePattern,
             final String componentNameForPartitions
+    ) {
+        this(
+                parsedEvent,
+                expectedProcessName,
+                realHostname,
+                appNamePattern,
+                componentNameForPartitions,
+                DefaultSDElements.CONSTANT_SD_ELEMENTS,
+                DefaultSDElements.ENQUEUED_TIME_STRINGS
+        );
+    }
+
+    public SyslogType(
+            final ParsedEvent parsedEvent,
+            final String expectedProcessName,
+            final String realHostname,
+            final Pattern appNamePattern,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
     ) {
         this.parsedEvent = parsedEvent;
         this.expectedProcessName = expectedProcessName;
         this.realHostname = realHostname;
         this.appNamePattern = appNamePattern;
         this.componentNameForPartitions = componentNameForPartitions;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
     }
 
     private void validateProcessName() throws PluginException {
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
-        final ValidKey<String> validKey = new ValidStringKey(mainObject, "ProcessName");
 
-        final String processName = validKey.value();
+        final String processName = PROCESS_NAME.value(mainObject);
         if (!processName.equals(expectedProcessName)) {
             throw new PluginException("Expected <[" + expectedProcessName + "]> but found <[" + processName + "]>");
         }
@@ -121,14 +173,13 @@ public final class SyslogType implements EventType {
         validateProcessName();
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> validKey = new ValidStringKey(mainObject, "_Internal_WorkspaceResourceId");
-
-        final String internalWorkspaceResourceId = validKey.value();
+        final String internalWorkspaceResourceId = INTERNAL_WORKSPACE_RESOURCE_ID.value(mainObject);
 
         // hostname = internal workspace resource id MD5 + resourceName from resourceId, with non-ascii chars removed
-        return new ValidRFC5424Hostname(
-                "md5-".concat(new MD5Hash(internalWorkspaceResourceId).md5().concat("-").concat(new ASCIIString(new ResourceId(internalWorkspaceResourceId).resourceName()).withNonAsciiCharsRemoved()))
-        ).hostnameWithInvalidCharsRemoved();
+        return new MD5ResourceHostname(
+                new MD5Hash(internalWorkspaceResourceId).md5(),
+                new ResourceId(internalWorkspaceResourceId).resourceName()
+        ).hostname();
     }
 
     @Override
@@ -136,9 +187,7 @@ public final class SyslogType implements EventType {
         validateProcessName();
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
 
-        final ValidKey<String> validKey = new ValidStringKey(mainObject, "SyslogMessage");
-
-        final String syslogMessage = validKey.value();
+        final String syslogMessage = SYSLOG_MESSAGE.value(mainObject);
 
         final Matcher matcher = appNamePattern.matcher(syslogMessage);
         if (matcher.find()) {
@@ -157,9 +206,8 @@ public final class SyslogType implements EventType {
     public long timestamp() throws PluginException {
         validateProcessName();
         final JsonObject mainObject = parsedEvent.asJsonStructure().asJsonObject();
-        final ValidKey<String> validKey = new ValidStringKey(mainObject, "TimeGenerated");
 
-        return new ValidRFC5424Timestamp(validKey.value()).validTimestamp();
+        return new ValidRFC5424Timestamp(TIME_GENERATED.value(mainObject)).validTimestamp();
     }
 
     @Override
@@ -169,7 +217,9 @@ public final class SyslogType implements EventType {
                 parsedEvent,
                 realHostname,
                 this.getClass(),
-                componentNameForPartitions
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
         );
 
         return defaultSDElements.sdElements();
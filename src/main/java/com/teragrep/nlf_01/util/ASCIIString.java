@@ -47,21 +47,35 @@ package com.teragrep.nlf_01.util;
 
 public final class ASCIIString {
 
+    private static final CharTable PRINTABLE = new CharTable((char) 33, (char) 126);
+
     private final String nonAsciiString;
 
     public ASCIIString(final String nonAsciiString) {
         this.nonAsciiString = nonAsciiString;
     }
 
+    /**
+     * @return string with characters outside 33-126 removed, the same instance if there are none
+     */
     public String withNonAsciiCharsRemoved() {
-        final StringBuilder result = new StringBuilder();
-
-        for (final char c : nonAsciiString.toCharArray()) {
-            if (c >= 33 && c <= 126) {
-                result.append(c);
+        final String rv;
+        final int firstRemoved = PRINTABLE.firstNotContained(nonAsciiString);
+        if (firstRemoved < 0) {
+            rv = nonAsciiString;
+        }
+        else {
+            final StringBuilder result = new StringBuilder(nonAsciiString.length() - 1);
+            result.append(nonAsciiString, 0, firstRemoved);
+            for (int i = firstRemoved + 1; i < nonAsciiString.length(); i++) {
+                final char c = nonAsciiString.charAt(i);
+                if (PRINTABLE.contains(c)) {
+                    result.append(c);
+                }
             }
+            rv = result.toString();
         }
 
-        return result.toString();
+        return rv;
     }
 }
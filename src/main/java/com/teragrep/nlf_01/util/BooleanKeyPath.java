@@ -47,48 +47,44 @@ package com.teragrep.nlf_01.util;
 
 import com.teragrep.akv_01.plugin.PluginException;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonValue.ValueType;
+import jakarta.json.JsonValue;
 
-public final class ValidJsonObjectKey implements ValidKey<JsonObject> {
+import java.util.Arrays;
 
-    private final JsonObject jsonObject;
-    private final String keyName;
-    private final ValueType keyValueType;
+public final class BooleanKeyPath implements KeyPath<Boolean> {
 
-    private ValidJsonObjectKey(final JsonObject jsonObject, final String keyName, final ValueType keyValueType) {
-        this.jsonObject = jsonObject;
-        this.keyName = keyName;
-        this.keyValueType = keyValueType;
-    }
+    private final JsonObjectKeyPath parent;
+    private final String key;
 
-    public ValidJsonObjectKey(final JsonObject jsonObject, final String keyName) {
-        this(jsonObject, keyName, ValueType.OBJECT);
+    /**
+     * @param keys keys of the nested objects followed by the key of the value. A key is used as is, so it may contain
+     *             dots.
+     */
+    public BooleanKeyPath(final String... keys) {
+        this(keys, keys.length - 1);
     }
 
-    @Override
-    public JsonObject value() throws PluginException {
-        if (!this.valid()) {
-            throw new PluginException("Key <[" + keyName + "]> was not valid");
-        }
-        else {
-            return jsonObject.getJsonObject(keyName);
+    private BooleanKeyPath(final String[] keys, final int last) {
+        if (last < 0) {
+            throw new IllegalArgumentException("Key path must contain at least one key");
         }
+        this.parent = new JsonObjectKeyPath(Arrays.copyOf(keys, last));
+        this.key = keys[last];
     }
 
-    private boolean valid() {
-        final boolean valid;
-        if (!jsonObject.containsKey(keyName)) {
-            valid = false;
-        }
-        else if (!this.keyValueType.equals(ValueType.OBJECT)) {
-            valid = false;
-        }
-        else if (!jsonObject.get(keyName).getValueType().equals(keyValueType)) {
-            valid = false;
+    @Override
+    public Boolean value(final JsonObject jsonObject) throws PluginException {
+        final JsonValue value = parent.value(jsonObject).get(key);
+        final JsonValue.ValueType valueType;
+        if (value == null) {
+            valueType = JsonValue.ValueType.NULL;
         }
         else {
-            valid = true;
+            valueType = value.getValueType();
+        }
+        if (valueType != JsonValue.ValueType.TRUE && valueType != JsonValue.ValueType.FALSE) {
+            throw new PluginException("Key <[" + key + "]> was not valid");
         }
-        return valid;
+        return valueType == JsonValue.ValueType.TRUE;
     }
 }
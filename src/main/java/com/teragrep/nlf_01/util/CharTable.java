@@ -0,0 +1,119 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+/**
+ * Precomputed membership table for ASCII characters. Characters outside the ASCII range are never contained.
+ */
+public final class CharTable {
+
+    private final boolean[] table;
+
+    /**
+     * @param first first character of the contained range, inclusive
+     * @param last  last character of the contained range, inclusive
+     */
+    public CharTable(final char first, final char last) {
+        this(range(first, last));
+    }
+
+    public CharTable(final String chars) {
+        this(table(chars));
+    }
+
+    private CharTable(final boolean[] table) {
+        this.table = table;
+    }
+
+    public boolean contains(final char c) {
+        return c < 128 && table[c];
+    }
+
+    /**
+     * @return index of the first character of the value that is not contained in the table, or -1 if all are
+     */
+    public int firstNotContained(final String value) {
+        int index = -1;
+        for (int i = 0; i < value.length(); i++) {
+            if (!contains(value.charAt(i))) {
+                index = i;
+                break;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return table containing the characters of both tables
+     */
+    public CharTable union(final CharTable other) {
+        final boolean[] union = new boolean[128];
+        for (int i = 0; i < union.length; i++) {
+            union[i] = table[i] || other.table[i];
+        }
+        return new CharTable(union);
+    }
+
+    private static boolean[] range(final char first, final char last) {
+        final boolean[] range = new boolean[128];
+        for (char c = first; c <= last && c < 128; c++) {
+            range[c] = true;
+        }
+        return range;
+    }
+
+    private static boolean[] table(final String chars) {
+        final boolean[] table = new boolean[128];
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c >= 128) {
+                throw new IllegalArgumentException("Character table can only contain ASCII characters, got: " + c);
+            }
+            table[c] = true;
+        }
+        return table;
+    }
+}
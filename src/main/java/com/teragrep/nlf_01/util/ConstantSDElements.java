@@ -0,0 +1,114 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the SDElements that have the same content for every event of an event type or a component, instead of
+ * creating them again for each event. The returned elements are read-only.
+ */
+public final class ConstantSDElements {
+
+    private final Map<String, SDElement> eventTypes;
+    private final Map<String, SDElement> enqueuedTimestampSources;
+    private final Map<String, SDElement> generatedTimestampSources;
+
+    public ConstantSDElements() {
+        this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    public ConstantSDElements(
+            final Map<String, SDElement> eventTypes,
+            final Map<String, SDElement> enqueuedTimestampSources,
+            final Map<String, SDElement> generatedTimestampSources
+    ) {
+        this.eventTypes = eventTypes;
+        this.enqueuedTimestampSources = enqueuedTimestampSources;
+        this.generatedTimestampSources = generatedTimestampSources;
+    }
+
+    /**
+     * @return {@code nlf_01@48577} element with the eventType parameter
+     */
+    public SDElement eventType(final String className) {
+        return eventTypes.computeIfAbsent(className, this::newEventType);
+    }
+
+    /**
+     * @return {@code <component>@48577} element with the timestamp_source parameter
+     */
+    public SDElement timestampSource(final String componentNameForPartitions, final boolean enqueued) {
+        final SDElement sdElement;
+        if (enqueued) {
+            sdElement = enqueuedTimestampSources
+                    .computeIfAbsent(
+                            componentNameForPartitions, component -> newTimestampSource(component, "timeEnqueued")
+                    );
+        }
+        else {
+            sdElement = generatedTimestampSources
+                    .computeIfAbsent(
+                            componentNameForPartitions, component -> newTimestampSource(component, "generated")
+                    );
+        }
+        return sdElement;
+    }
+
+    private SDElement newEventType(final String className) {
+        return new ReadOnlySDElement("nlf_01@48577", new SDParam("eventType", className));
+    }
+
+    private SDElement newTimestampSource(final String componentNameForPartitions, final String source) {
+        return new ReadOnlySDElement(
+                componentNameForPartitions + "@48577",
+                new SDParam("timestamp_source", source)
+        );
+    }
+}
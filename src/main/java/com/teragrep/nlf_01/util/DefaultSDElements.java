@@ -54,12 +54,27 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
+/**
+ * SD elements that every event type has. The constant elements and the formatted enqueued times are shared with the
+ * other events of the {@link ConstantSDElements} and {@link ZonedDateTimeStrings} given to the constructor.
+ */
 public final class DefaultSDElements implements SDElements {
 
+    /**
+     * Shared by the event types created without their own caches, so that those do not create new caches per event
+     */
+    public static final ConstantSDElements CONSTANT_SD_ELEMENTS = new ConstantSDElements();
+    /**
+     * Formats the enqueued times for the constructors without a {@link ZonedDateTimeStrings}
+     */
+    public static final ZonedDateTimeStrings ENQUEUED_TIME_STRINGS = new ZonedDateTimeStrings();
+
     private final ParsedEvent parsedEvent;
     private final String realHostname;
     private final String className;
     private final String componentNameForPartitions;
+    private final ConstantSDElements constantSDElements;
+    private final ZonedDateTimeStrings enqueuedTimeStrings;
 
     public DefaultSDElements(
             final ParsedEvent parsedEvent,
@@ -75,11 +90,53 @@ public final class DefaultSDElements implements SDElements {
             final String realHostname,
             final String className,
             final String componentNameForPartitions
+    ) {
+        this(
+                parsedEvent,
+                realHostname,
+                className,
+                componentNameForPartitions,
+                CONSTANT_SD_ELEMENTS,
+                ENQUEUED_TIME_STRINGS
+        );
+    }
+
+    public DefaultSDElements(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final Class<?> inputClass,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
+    ) {
+        this(
+                parsedEvent,
+                realHostname,
+                inputClass.getSimpleName(),
+                componentNameForPartitions,
+                constantSDElements,
+                enqueuedTimeStrings
+        );
+    }
+
+    /**
+     * @param constantSDElements  shares the elements that are the same for every event of the type
+     * @param enqueuedTimeStrings formats the enqueued time, shared so that the string is reused for equal times
+     */
+    public DefaultSDElements(
+            final ParsedEvent parsedEvent,
+            final String realHostname,
+            final String className,
+            final String componentNameForPartitions,
+            final ConstantSDElements constantSDElements,
+            final ZonedDateTimeStrings enqueuedTimeStrings
     ) {
         this.parsedEvent = parsedEvent;
         this.realHostname = realHostname;
         this.className = className;
         this.componentNameForPartitions = componentNameForPartitions;
+        this.constantSDElements = constantSDElements;
+        this.enqueuedTimeStrings = enqueuedTimeStrings;
     }
 
     @Override
@@ -87,7 +144,7 @@ public final class DefaultSDElements implements SDElements {
         final Set<SDElement> elems = new HashSet<>();
         final String time;
         if (!parsedEvent.enqueuedTimeUtc().isStub()) {
-            time = parsedEvent.enqueuedTimeUtc().zonedDateTime().toString();
+            time = enqueuedTimeStrings.string(parsedEvent.enqueuedTimeUtc().zonedDateTime());
         }
         else {
             time = "";
@@ -136,10 +193,9 @@ public final class DefaultSDElements implements SDElements {
         elems
                 .add(new SDElement(componentNameForPartitions + "_event@48577").addSDParam("offset", offset).addSDParam("enqueued_time", time).addSDParam("partition_key", partitionKey).addSDParam("properties", new PropertiesJson(parsedEvent.properties()).toJsonObject().toString()));
 
-        elems
-                .add(new SDElement(componentNameForPartitions + "@48577").addSDParam("timestamp_source", time.isEmpty() ? "generated" : "timeEnqueued"));
+        elems.add(constantSDElements.timestampSource(componentNameForPartitions, !time.isEmpty()));
 
-        elems.add(new SDElement("nlf_01@48577").addSDParam("eventType", className));
+        elems.add(constantSDElements.eventType(className));
 
         return elems;
     }
@@ -152,11 +208,21 @@ public final class DefaultSDElements implements SDElements {
         final DefaultSDElements that = (DefaultSDElements) o;
         return Objects.equals(parsedEvent, that.parsedEvent) && Objects
                 .equals(realHostname, that.realHostname) && Objects.equals(className, that.className)
-                && Objects.equals(componentNameForPartitions, that.componentNameForPartitions);
+                && Objects.equals(componentNameForPartitions, that.componentNameForPartitions)
+                && Objects.equals(constantSDElements, that.constantSDElements)
+                && Objects.equals(enqueuedTimeStrings, that.enqueuedTimeStrings);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(parsedEvent, realHostname, className, componentNameForPartitions);
+        return Objects
+                .hash(
+                        parsedEvent,
+                        realHostname,
+                        className,
+                        componentNameForPartitions,
+                        constantSDElements,
+                        enqueuedTimeStrings
+                );
     }
 }
@@ -46,45 +46,39 @@
 package com.teragrep.nlf_01.util;
 
 import com.teragrep.akv_01.plugin.PluginException;
+import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonValue.ValueType;
+import jakarta.json.JsonValue;
 
-public final class ValidIntegerKey implements ValidKey<Integer> {
+import java.util.Arrays;
 
-    private final JsonObject jsonObject;
-    private final String keyName;
-    private final ValueType keyValueType;
+public final class IntegerKeyPath implements KeyPath<Integer> {
 
-    private ValidIntegerKey(final JsonObject jsonObject, final String keyName, final ValueType keyValueType) {
-        this.jsonObject = jsonObject;
-        this.keyName = keyName;
-        this.keyValueType = keyValueType;
-    }
+    private final JsonObjectKeyPath parent;
+    private final String key;
 
-    public ValidIntegerKey(final JsonObject jsonObject, final String keyName) {
-        this(jsonObject, keyName, ValueType.NUMBER);
+    /**
+     * @param keys keys of the nested objects followed by the key of the value. A key is used as is, so it may contain
+     *             dots.
+     */
+    public IntegerKeyPath(final String... keys) {
+        this(keys, keys.length - 1);
     }
 
-    public Integer value() throws PluginException {
-        if (!this.valid()) {
-            throw new PluginException("Key <[" + keyName + "]> was not valid");
-        }
-        else {
-            return jsonObject.getInt(keyName);
+    private IntegerKeyPath(final String[] keys, final int last) {
+        if (last < 0) {
+            throw new IllegalArgumentException("Key path must contain at least one key");
         }
+        this.parent = new JsonObjectKeyPath(Arrays.copyOf(keys, last));
+        this.key = keys[last];
     }
 
-    private boolean valid() {
-        final boolean valid;
-        if (!jsonObject.containsKey(keyName)) {
-            valid = false;
-        }
-        else if (!jsonObject.get(keyName).getValueType().equals(keyValueType)) {
-            valid = false;
-        }
-        else {
-            valid = true;
+    @Override
+    public Integer value(final JsonObject jsonObject) throws PluginException {
+        final JsonValue value = parent.value(jsonObject).get(key);
+        if (value == null || value.getValueType() != JsonValue.ValueType.NUMBER) {
+            throw new PluginException("Key <[" + key + "]> was not valid");
         }
-        return valid;
+        return ((JsonNumber) value).intValue();
     }
 }
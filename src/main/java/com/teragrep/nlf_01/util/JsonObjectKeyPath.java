@@ -47,45 +47,32 @@ package com.teragrep.nlf_01.util;
 
 import com.teragrep.akv_01.plugin.PluginException;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonValue.ValueType;
-import java.util.List;
+import jakarta.json.JsonValue;
 
-public final class ValidBooleanKey implements ValidKey<Boolean> {
+import java.util.Arrays;
 
-    private final JsonObject jsonObject;
-    private final String keyName;
-    private final List<ValueType> valueTypes;
+public final class JsonObjectKeyPath implements KeyPath<JsonObject> {
 
-    private ValidBooleanKey(final JsonObject jsonObject, final String keyName, final List<ValueType> valueTypes) {
-        this.jsonObject = jsonObject;
-        this.keyName = keyName;
-        this.valueTypes = valueTypes;
-    }
+    private final String[] keys;
 
-    public ValidBooleanKey(final JsonObject jsonObject, final String keyName) {
-        this(jsonObject, keyName, List.of(ValueType.TRUE, ValueType.FALSE));
+    /**
+     * @param keys keys of the nested objects, none resolves to the given object itself. A key is used as is, so it may
+     *             contain dots.
+     */
+    public JsonObjectKeyPath(final String... keys) {
+        this.keys = Arrays.copyOf(keys, keys.length);
     }
 
-    public Boolean value() throws PluginException {
-        if (!this.valid()) {
-            throw new PluginException("Key <[" + keyName + "]> was not valid");
-        }
-        else {
-            return jsonObject.getBoolean(keyName);
-        }
-    }
-
-    private boolean valid() {
-        final boolean valid;
-        if (!jsonObject.containsKey(keyName)) {
-            valid = false;
-        }
-        else if (!valueTypes.contains(jsonObject.get(keyName).getValueType())) {
-            valid = false;
-        }
-        else {
-            valid = true;
+    @Override
+    public JsonObject value(final JsonObject jsonObject) throws PluginException {
+        JsonObject current = jsonObject;
+        for (final String key : keys) {
+            final JsonValue value = current.get(key);
+            if (value == null || value.getValueType() != JsonValue.ValueType.OBJECT) {
+                throw new PluginException("Key <[" + key + "]> was not valid");
+            }
+            current = value.asJsonObject();
         }
-        return valid;
+        return current;
     }
 }
@@ -53,6 +53,8 @@ import java.security.NoSuchAlgorithmException;
 
 public final class MD5Hash {
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private final String input;
 
     public MD5Hash(final String input) {
@@ -60,7 +62,6 @@ public final class MD5Hash {
     }
 
     public String md5() throws PluginException {
-        final StringBuilder result = new StringBuilder();
         final MessageDigest digest;
         try {
             digest = MessageDigest.getInstance("MD5");
@@ -70,14 +71,11 @@ public final class MD5Hash {
         }
         digest.update(input.getBytes(StandardCharsets.UTF_8));
         final byte[] hash = digest.digest();
-        for (final byte b : hash) {
-            if ((0xff & b) < 0x10) {
-                result.append('0').append(Integer.toHexString((0xFF & b)));
-            }
-            else {
-                result.append(Integer.toHexString(0xFF & b));
-            }
+        final char[] result = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            result[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
         }
-        return result.toString();
+        return new String(result);
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+/**
+ * Builds the {@code md5-<hash>-<resource name>} hostname in a single pass. The result is the same as
+ * {@code new ValidRFC5424Hostname("md5-" + md5 + "-" + new ASCIIString(resourceName).withNonAsciiCharsRemoved()).hostnameWithInvalidCharsRemoved()}
+ * without creating the intermediate strings.
+ */
+public final class MD5ResourceHostname {
+
+    private static final String PREFIX = "md5-";
+    private static final int MAX_LENGTH = 255;
+    private static final CharTable PRINTABLE = new CharTable((char) 33, (char) 126);
+    private static final CharTable DIGITS = new CharTable('0', '9');
+    private static final CharTable SEPARATORS = new CharTable(".-");
+    private static final CharTable HOSTNAME = new CharTable('A', 'Z')
+            .union(new CharTable('a', 'z'))
+            .union(DIGITS)
+            .union(SEPARATORS);
+
+    private final String md5;
+    private final String resourceName;
+
+    public MD5ResourceHostname(final String md5, final String resourceName) {
+        this.md5 = md5;
+        this.resourceName = resourceName;
+    }
+
+    public String hostname() {
+        final char[] hostname = new char[MAX_LENGTH];
+        int length = 0;
+        // Invalid final characters are written after the hostname while they fit, but only kept if a valid character follows
+        int pendingSeparators = 0;
+        int skippedChars = 0;
+        final int resourceNameStart = PREFIX.length() + md5.length() + 1;
+        final int end = resourceNameStart + resourceName.length();
+
+        for (int i = 0; i < end; i++) {
+            final char c = charAt(i, resourceNameStart);
+            if (i >= resourceNameStart && !PRINTABLE.contains(c)) {
+                // removed from the resource name before sanitizing, not counted as a skipped character
+                continue;
+            }
+            // The length limit only matters when the input is longer than 255 characters, so it is not needed upfront
+            final int currentMaxLength = MAX_LENGTH - skippedChars;
+
+            if (length == currentMaxLength) {
+                break;
+            }
+            else if (length == 0 && (SEPARATORS.contains(c) || isDigit(c))) {
+                skippedChars++;
+            }
+            else if (SEPARATORS.contains(c)) {
+                if (length + pendingSeparators < MAX_LENGTH) {
+                    hostname[length + pendingSeparators] = c;
+                }
+                pendingSeparators++;
+            }
+            else if (isDigit(c) || HOSTNAME.contains(c)) {
+                if (length + pendingSeparators >= currentMaxLength) {
+                    length = currentMaxLength - 1;
+                }
+                else {
+                    length = length + pendingSeparators;
+                }
+                pendingSeparators = 0;
+                hostname[length] = c;
+                length++;
+            }
+            else {
+                skippedChars++;
+            }
+        }
+
+        return new String(hostname, 0, length);
+    }
+
+    private char charAt(final int index, final int resourceNameStart) {
+        final char c;
+        if (index < PREFIX.length()) {
+            c = PREFIX.charAt(index);
+        }
+        else if (index < resourceNameStart - 1) {
+            c = md5.charAt(index - PREFIX.length());
+        }
+        else if (index == resourceNameStart - 1) {
+            c = '-';
+        }
+        else {
+            c = resourceName.charAt(index - resourceNameStart);
+        }
+        return c;
+    }
+
+    private boolean isDigit(final char c) {
+        // Character.isDigit() also accepts non-ASCII digits
+        return DIGITS.contains(c) || c >= 128 && Character.isDigit(c);
+    }
+}
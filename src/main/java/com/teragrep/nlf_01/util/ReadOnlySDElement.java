@@ -0,0 +1,107 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SDElement whose parameters can not be changed after construction, so that the same instance can be shared between
+ * events and threads. The parameters are copied into {@link ReadOnlySDParam ReadOnlySDParams} and every mutator of
+ * SDElement fails with {@link UnsupportedOperationException}.
+ */
+public final class ReadOnlySDElement extends SDElement {
+
+    private final List<SDParam> sdParams;
+
+    public ReadOnlySDElement(final String sdID, final SDParam... sdParams) {
+        this(sdID, readOnlyCopies(sdParams));
+    }
+
+    private ReadOnlySDElement(final String sdID, final List<SDParam> sdParams) {
+        super(sdID, sdParams.toArray(new SDParam[0]));
+        this.sdParams = sdParams;
+    }
+
+    @Override
+    public List<SDParam> getSdParams() {
+        final List<SDParam> params;
+        // null only while the SDElement constructor is running
+        if (sdParams == null) {
+            params = super.getSdParams();
+        }
+        else {
+            params = sdParams;
+        }
+        return params;
+    }
+
+    @Override
+    public void setSdParams(final List<SDParam> sdParams) {
+        throw new UnsupportedOperationException("SDElement <" + getSdID() + "> is read-only");
+    }
+
+    @Override
+    public SDElement addSDParam(final String paramName, final String paramValue) {
+        throw new UnsupportedOperationException("SDElement <" + getSdID() + "> is read-only");
+    }
+
+    @Override
+    public SDElement addSDParam(final SDParam sdParam) {
+        throw new UnsupportedOperationException("SDElement <" + getSdID() + "> is read-only");
+    }
+
+    private static List<SDParam> readOnlyCopies(final SDParam[] sdParams) {
+        final List<SDParam> copies = new ArrayList<>(sdParams.length);
+        for (final SDParam sdParam : sdParams) {
+            copies.add(new ReadOnlySDParam(sdParam.getParamName(), sdParam.getParamValue()));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+}
@@ -49,7 +49,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Objects;
 
-public final class RealHostname {
+public final class RealHostname implements Hostname {
 
     private final String defaultHostname;
 
@@ -57,6 +57,7 @@ public final class RealHostname {
         this.defaultHostname = defaultHostname;
     }
 
+    @Override
     public String hostname() {
         String rv;
         try {
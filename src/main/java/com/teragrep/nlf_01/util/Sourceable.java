@@ -47,6 +47,10 @@ package com.teragrep.nlf_01.util;
 
 import com.teragrep.akv_01.plugin.PluginException;
 
+/**
+ * Configuration of the plugin. Implementations must be thread-safe, as a plugin shares its source between the threads
+ * it is used from.
+ */
 public interface Sourceable {
 
     public abstract String source(String name, String defaultValue);
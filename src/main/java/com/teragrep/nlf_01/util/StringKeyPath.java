@@ -46,46 +46,39 @@
 package com.teragrep.nlf_01.util;
 
 import com.teragrep.akv_01.plugin.PluginException;
+import jakarta.json.JsonString;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonValue;
-import jakarta.json.JsonValue.ValueType;
 
-public final class ValidStringKey implements ValidKey<String> {
+import java.util.Arrays;
 
-    private final JsonObject jsonObject;
-    private final String keyName;
-    private final JsonValue.ValueType keyValueType;
+public final class StringKeyPath implements KeyPath<String> {
 
-    private ValidStringKey(final JsonObject jsonObject, final String keyName, final JsonValue.ValueType keyValueType) {
-        this.jsonObject = jsonObject;
-        this.keyName = keyName;
-        this.keyValueType = keyValueType;
-    }
+    private final JsonObjectKeyPath parent;
+    private final String key;
 
-    public ValidStringKey(final JsonObject jsonObject, final String keyName) {
-        this(jsonObject, keyName, ValueType.STRING);
+    /**
+     * @param keys keys of the nested objects followed by the key of the value. A key is used as is, so it may contain
+     *             dots.
+     */
+    public StringKeyPath(final String... keys) {
+        this(keys, keys.length - 1);
     }
 
-    public String value() throws PluginException {
-        if (!this.valid()) {
-            throw new PluginException("Key <[" + keyName + "]> was not valid");
-        }
-        else {
-            return jsonObject.getString(keyName);
+    private StringKeyPath(final String[] keys, final int last) {
+        if (last < 0) {
+            throw new IllegalArgumentException("Key path must contain at least one key");
         }
+        this.parent = new JsonObjectKeyPath(Arrays.copyOf(keys, last));
+        this.key = keys[last];
     }
 
-    private boolean valid() {
-        final boolean valid;
-        if (!jsonObject.containsKey(keyName)) {
-            valid = false;
-        }
-        else if (!jsonObject.get(keyName).getValueType().equals(keyValueType)) {
-            valid = false;
-        }
-        else {
-            valid = true;
+    @Override
+    public String value(final JsonObject jsonObject) throws PluginException {
+        final JsonValue value = parent.value(jsonObject).get(key);
+        if (value == null || value.getValueType() != JsonValue.ValueType.STRING) {
+            throw new PluginException("Key <[" + key + "]> was not valid");
         }
-        return valid;
+        return ((JsonString) value).getString();
     }
 }
@@ -49,6 +49,8 @@ import com.teragrep.akv_01.plugin.PluginException;
 
 public final class ValidRFC5424AppName implements RFC5424AppName {
 
+    private static final CharTable PRINTABLE = new CharTable((char) 33, (char) 126);
+
     private final String uncheckedAppName;
 
     public ValidRFC5424AppName(final String uncheckedAppName) {
@@ -66,12 +68,13 @@ public final class ValidRFC5424AppName implements RFC5424AppName {
             );
         }
 
-        for (final char c : rv.toCharArray()) {
-            if (c < 33 || c > 126) {
-                throw new PluginException(
-                        new IllegalArgumentException(String.format("Appname cannot contain character '%s'", c))
-                );
-            }
+        final int invalidIndex = PRINTABLE.firstNotContained(rv);
+        if (invalidIndex >= 0) {
+            throw new PluginException(
+                    new IllegalArgumentException(
+                            String.format("Appname cannot contain character '%s'", rv.charAt(invalidIndex))
+                    )
+            );
         }
 
         if (rv.isEmpty()) {
@@ -49,6 +49,13 @@ import com.teragrep.akv_01.plugin.PluginException;
 
 public final class ValidRFC5424Hostname {
 
+    private static final int MAX_LENGTH = 255;
+    private static final CharTable DIGITS = new CharTable('0', '9');
+    private static final CharTable SEPARATORS = new CharTable(".-");
+    private static final CharTable LETTERS = new CharTable('A', 'Z').union(new CharTable('a', 'z'));
+    private static final CharTable ALPHANUMERIC = LETTERS.union(DIGITS);
+    private static final CharTable HOSTNAME = ALPHANUMERIC.union(SEPARATORS);
+
     private final String uncheckedHostname;
 
     public ValidRFC5424Hostname(final String uncheckedHostname) {
@@ -57,7 +64,7 @@ public final class ValidRFC5424Hostname {
 
     public String validHostname() throws PluginException {
         String rv = uncheckedHostname;
-        if (rv.length() > 255) {
+        if (rv.length() > MAX_LENGTH) {
             throw new PluginException(
                     new IllegalArgumentException(
                             "Hostname is too long: " + rv.length() + "; exceeds maximum of 255 characters"
@@ -67,37 +74,26 @@ public final class ValidRFC5424Hostname {
 
         for (int i = 0; i < rv.length(); i++) {
             final char c = rv.charAt(i);
+            final boolean isDigit = isDigit(c);
 
-            if (i == 0 && (Character.isDigit(c) || c == '.' || c == '-')) {
+            if (i == 0 && (isDigit || SEPARATORS.contains(c))) {
                 throw new PluginException(
                         new IllegalArgumentException(String.format("Hostname cannot start with character '%s'", c))
                 );
             }
 
-            if (i == rv.length() - 1 && (c == '.' || c == '-')) {
+            if (i == rv.length() - 1 && SEPARATORS.contains(c)) {
                 throw new PluginException(
                         new IllegalArgumentException(String.format("Hostname cannot end with character '%s'", c))
                 );
             }
 
-            // 0-9
-            if (Character.isDigit(c)) {
-                continue;
-            }
-
-            // . or -
-            if (c == '.' || c == '-') {
-                continue;
-            }
-
-            // A-Z or a-z
-            if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z') {
-                continue;
+            // 0-9, '.', '-', A-Z or a-z
+            if (!isDigit && !HOSTNAME.contains(c)) {
+                throw new PluginException(
+                        new IllegalArgumentException(String.format("Hostname cannot contain character '%s'", c))
+                );
             }
-
-            throw new PluginException(
-                    new IllegalArgumentException(String.format("Hostname cannot contain character '%s'", c))
-            );
         }
 
         if (rv.isEmpty()) {
@@ -107,35 +103,66 @@ public final class ValidRFC5424Hostname {
         return rv;
     }
 
+    /**
+     * @return hostname with invalid characters removed, the same instance if it already is a valid hostname
+     */
     public String hostnameWithInvalidCharsRemoved() {
-        String rv;
+        final String rv;
+        if (uncheckedHostname.isEmpty()) {
+            rv = "-";
+        }
+        else if (isClean()) {
+            rv = uncheckedHostname;
+        }
+        else {
+            rv = sanitized();
+        }
+        return rv;
+    }
+
+    /**
+     * @return true if the hostname starts with a letter, ends with a letter or a digit, is at most 255 characters and
+     *         only contains ASCII letters, digits, '.' and '-'
+     */
+    private boolean isClean() {
+        final int last = uncheckedHostname.length() - 1;
+        return uncheckedHostname.length() <= MAX_LENGTH && HOSTNAME.firstNotContained(uncheckedHostname) < 0
+                && LETTERS.contains(uncheckedHostname.charAt(0)) && ALPHANUMERIC.contains(uncheckedHostname.charAt(last));
+    }
+
+    private boolean isDigit(final char c) {
+        // Character.isDigit() also accepts non-ASCII digits
+        return DIGITS.contains(c) || c >= 128 && Character.isDigit(c);
+    }
+
+    private String sanitized() {
         final StringBuilder hostname = new StringBuilder();
         int skippedChars = 0; // How many characters are skipped from unvalidated hostname
-        int maxLength = Math.min(uncheckedHostname.length(), 255); // max length is either hostname length or 255
+        final int maxLength = Math.min(uncheckedHostname.length(), MAX_LENGTH); // max length is either hostname length or 255
         final StringBuilder invalidChars = new StringBuilder(); // Holds invalid final characters
 
         for (int i = 0; i < uncheckedHostname.length(); i++) {
             final char c = uncheckedHostname.charAt(i);
             // Update max length based on skipped characters
-            int currentMaxLength = maxLength - skippedChars;
+            final int currentMaxLength = maxLength - skippedChars;
 
             if (hostname.length() == currentMaxLength) {
                 // produced hostname is at max length, stop processing
                 break;
             }
-            else if (hostname.length() == 0 && (c == '.' || c == '-' || Character.isDigit(c))) {
+            else if (hostname.length() == 0 && (SEPARATORS.contains(c) || isDigit(c))) {
                 // skip 0-9, '.' and '-' in the beginning
                 skippedChars++;
             }
-            else if (c == '.' || c == '-') {
+            else if (SEPARATORS.contains(c)) {
                 // mid-hostname, encountered illegal hostname last char
                 invalidChars.append(c);
             }
-            else if (Character.isDigit(c) || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+            else if (isDigit(c) || HOSTNAME.contains(c)) {
                 // append '.', '-', 0-9, A-Z and a-z
                 // also means illegal last chars are not last chars, append them before
-                if (hostname.length() + invalidChars.length() > currentMaxLength) {
-                    // in case hostname + invalidChars is more than max length, add invalid chars up to max length - 1
+                if (hostname.length() + invalidChars.length() >= currentMaxLength) {
+                    // in case hostname + invalidChars + c is more than max length, add invalid chars up to max length - 1
                     final int overlap = (hostname.length() + invalidChars.length()) - currentMaxLength;
                     hostname.append(invalidChars, 0, invalidChars.length() - overlap - 1);
                 }
@@ -150,13 +177,6 @@ public final class ValidRFC5424Hostname {
             }
         }
 
-        if (uncheckedHostname.isEmpty()) {
-            rv = "-";
-        }
-        else {
-            rv = hostname.toString();
-        }
-
-        return rv;
+        return hostname.toString();
     }
 }
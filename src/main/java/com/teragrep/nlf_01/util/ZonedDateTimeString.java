@@ -0,0 +1,137 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+
+/**
+ * Formats a ZonedDateTime to the same string as {@link ZonedDateTime#toString()} into a single character array. Years
+ * outside 1000-9999 are formatted with {@link ZonedDateTime#toString()}.
+ */
+public final class ZonedDateTimeString {
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int DATE_TIME_LENGTH = 29;
+
+    private final ZonedDateTime zonedDateTime;
+
+    public ZonedDateTimeString(final ZonedDateTime zonedDateTime) {
+        this.zonedDateTime = zonedDateTime;
+    }
+
+    public String value() {
+        final LocalDateTime dateTime = zonedDateTime.toLocalDateTime();
+        final int year = dateTime.getYear();
+        final String value;
+        if (year < 1000 || year > 9999) {
+            value = zonedDateTime.toString();
+        }
+        else {
+            final String offset = zonedDateTime.getOffset().getId();
+            // ZonedDateTime.toString() appends the zone when it is not the offset instance itself
+            final boolean withZone = zonedDateTime.getOffset() != zonedDateTime.getZone();
+            final String zone;
+            if (withZone) {
+                zone = zonedDateTime.getZone().toString();
+            }
+            else {
+                zone = "";
+            }
+            final char[] chars = new char[DATE_TIME_LENGTH + offset.length() + zone.length() + 2];
+
+            int length = writeDigits(chars, 0, year, 4);
+            chars[length++] = '-';
+            length = writeDigits(chars, length, dateTime.getMonthValue(), 2);
+            chars[length++] = '-';
+            length = writeDigits(chars, length, dateTime.getDayOfMonth(), 2);
+            chars[length++] = 'T';
+            length = writeDigits(chars, length, dateTime.getHour(), 2);
+            chars[length++] = ':';
+            length = writeDigits(chars, length, dateTime.getMinute(), 2);
+
+            // LocalTime.toString() leaves out zero seconds and nanos, and shortens nanos to millis or micros
+            final int second = dateTime.getSecond();
+            final int nano = dateTime.getNano();
+            if (second > 0 || nano > 0) {
+                chars[length++] = ':';
+                length = writeDigits(chars, length, second, 2);
+                if (nano > 0) {
+                    chars[length++] = '.';
+                    if (nano % 1_000_000 == 0) {
+                        length = writeDigits(chars, length, nano / 1_000_000, 3);
+                    }
+                    else if (nano % 1_000 == 0) {
+                        length = writeDigits(chars, length, nano / 1_000, 6);
+                    }
+                    else {
+                        length = writeDigits(chars, length, nano, 9);
+                    }
+                }
+            }
+
+            offset.getChars(0, offset.length(), chars, length);
+            length = length + offset.length();
+            if (withZone) {
+                chars[length++] = '[';
+                zone.getChars(0, zone.length(), chars, length);
+                length = length + zone.length();
+                chars[length++] = ']';
+            }
+            value = new String(chars, 0, length);
+        }
+        return value;
+    }
+
+    private int writeDigits(final char[] chars, final int offset, final int value, final int digits) {
+        int remaining = value;
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining = remaining / 10;
+        }
+        return offset + digits;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Remembers the last formatted ZonedDateTime of each thread. Events of the same EventHub batch often share the enqueued
+ * time, in which case the previous string is returned without formatting it again.
+ */
+public final class ZonedDateTimeStrings {
+
+    private final ThreadLocal<Formatted> lastFormatted;
+
+    public ZonedDateTimeStrings() {
+        this(ThreadLocal.withInitial(() -> new Formatted(null, "")));
+    }
+
+    public ZonedDateTimeStrings(final ThreadLocal<Formatted> lastFormatted) {
+        this.lastFormatted = lastFormatted;
+    }
+
+    /**
+     * @return the same string as {@link ZonedDateTime#toString()}
+     */
+    public String string(final ZonedDateTime zonedDateTime) {
+        final Formatted last = lastFormatted.get();
+        final String string;
+        // equal ZonedDateTimes have the same date-time, offset and zone, and so the same string unless only one of
+        // them is created with an equal offset and zone instance, see ZonedDateTime.ofStrict()
+        if (
+            zonedDateTime.equals(last.zonedDateTime)
+                    && isOffsetZone(zonedDateTime) == isOffsetZone(last.zonedDateTime)
+        ) {
+            string = last.string;
+        }
+        else {
+            string = new ZonedDateTimeString(zonedDateTime).value();
+            lastFormatted.set(new Formatted(zonedDateTime, string));
+        }
+        return string;
+    }
+
+    private boolean isOffsetZone(final ZonedDateTime zonedDateTime) {
+        return zonedDateTime.getOffset() == zonedDateTime.getZone();
+    }
+
+    public static final class Formatted {
+
+        private final ZonedDateTime zonedDateTime;
+        private final String string;
+
+        public Formatted(final ZonedDateTime zonedDateTime, final String string) {
+            this.zonedDateTime = zonedDateTime;
+            this.string = string;
+        }
+    }
+}
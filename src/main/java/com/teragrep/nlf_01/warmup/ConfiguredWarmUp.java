@@ -0,0 +1,116 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.warmup;
+
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.definitions.EventTypeDefinition;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.util.Sourceable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WarmUp} configured with {@code warmup.iterations} and {@code warmup.seconds}, converting the
+ * {@link WarmUpCorpus} until either is reached. Both default to {@code 0}, which disables the warm-up when neither is
+ * set.
+ * <p>
+ * The events are converted by a plugin of their own with the event types and definitions of the created plugins, but
+ * without deduplication, throttling, aggregation, dead letters or schema sampling, so that the warm-up does not show in
+ * their counters.
+ */
+public final class ConfiguredWarmUp {
+
+    private static final int EVENTS_PER_TYPE = 16;
+
+    private final Sourceable source;
+    private final EventTypeRegistry registry;
+    private final List<EventTypeDefinition> definitions;
+
+    public ConfiguredWarmUp(
+            final Sourceable source,
+            final EventTypeRegistry registry,
+            final List<EventTypeDefinition> definitions
+    ) {
+        this.source = source;
+        this.registry = registry;
+        this.definitions = definitions;
+    }
+
+    public WarmUp warmUp() {
+        final long iterations = nonNegativeLong("warmup.iterations");
+        final long seconds = nonNegativeLong("warmup.seconds");
+        final WarmUp warmUp;
+        if (iterations == 0 && seconds == 0) {
+            warmUp = new NoWarmUp();
+        }
+        else {
+            warmUp = new CorpusWarmUp(
+                    new NLFPlugin(source, new RethrowingRecordFailures(), registry, definitions),
+                    new WarmUpCorpus(source, EVENTS_PER_TYPE).events(),
+                    iterations,
+                    TimeUnit.SECONDS.toNanos(seconds)
+            );
+        }
+        return warmUp;
+    }
+
+    private long nonNegativeLong(final String name) {
+        final String value = source.source(name, "0");
+        final long parsed;
+        try {
+            parsed = Long.parseLong(value);
+        }
+        catch (final NumberFormatException numberFormatException) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>", numberFormatException);
+        }
+        if (parsed < 0) {
+            throw new IllegalArgumentException("Invalid " + name + " <[" + value + "]>");
+        }
+        return parsed;
+    }
+}
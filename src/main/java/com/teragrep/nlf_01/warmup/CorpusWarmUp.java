@@ -0,0 +1,126 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.warmup;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.Plugin;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.rlo_14.SyslogMessage;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Converts and serializes a corpus of events repeatedly, once. Events that fail to convert are ignored, the warm-up
+ * never fails the plugin.
+ */
+public final class CorpusWarmUp implements WarmUp {
+
+    private final Plugin plugin;
+    private final List<ParsedEvent> corpus;
+    private final long iterations;
+    private final long maxNanos;
+    private final LongSupplier clock;
+    private final AtomicBoolean done;
+
+    /**
+     * @param plugin     plugin used only for the warm-up
+     * @param corpus     events converted on each iteration
+     * @param iterations amount of iterations over the corpus, zero for no limit
+     * @param maxNanos   time the warm-up may take, zero for no limit
+     */
+    public CorpusWarmUp(
+            final Plugin plugin,
+            final List<ParsedEvent> corpus,
+            final long iterations,
+            final long maxNanos
+    ) {
+        this(plugin, corpus, iterations, maxNanos, System::nanoTime, new AtomicBoolean());
+    }
+
+    public CorpusWarmUp(
+            final Plugin plugin,
+            final List<ParsedEvent> corpus,
+            final long iterations,
+            final long maxNanos,
+            final LongSupplier clock,
+            final AtomicBoolean done
+    ) {
+        this.plugin = plugin;
+        this.corpus = corpus;
+        this.iterations = iterations;
+        this.maxNanos = maxNanos;
+        this.clock = clock;
+        this.done = done;
+    }
+
+    @Override
+    public long warmUp() {
+        long converted = 0;
+        if (done.compareAndSet(false, true)) {
+            final long start = clock.getAsLong();
+            for (long iteration = 0; !isOver(iteration, start); iteration++) {
+                for (final ParsedEvent parsedEvent : corpus) {
+                    try {
+                        for (final SyslogMessage syslogMessage : plugin.syslogMessage(parsedEvent)) {
+                            syslogMessage.toRfc5424SyslogMessage();
+                        }
+                        converted++;
+                    }
+                    catch (final PluginException ignored) {
+                        // warm-up only, the same failure is reported when a real event fails
+                    }
+                }
+            }
+        }
+        return converted;
+    }
+
+    private boolean isOver(final long iteration, final long start) {
+        return iterations > 0 && iteration >= iterations || maxNanos > 0 && clock.getAsLong() - start >= maxNanos;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.warmup;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContextImpl;
+import com.teragrep.akv_01.event.metadata.properties.EventPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.nlf_01.util.Sourceable;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sample events of every built-in type, read from the {@code warmup/corpus.json} resource. The pod annotation keys of
+ * the ContainerLogV2 events and the ProcessName of the Syslog events are written as {@code {{<configuration name>}}}
+ * and replaced with the configured values, so that the samples are converted like real events.
+ */
+public final class WarmUpCorpus {
+
+    private static final String RESOURCE = "warmup/corpus.json";
+    private static final List<String> CONFIGURATION = Arrays
+            .asList("containerlog.hostname.annotation", "containerlog.appname.annotation", "syslogtype.processname");
+    private static final long BASE_EPOCH_SECOND = 1577836800L; // 2020-01-01T00:00:00Z
+
+    private final Sourceable source;
+    private final int copies;
+
+    /**
+     * @param source configuration the samples are completed with
+     * @param copies amount of events for each sample, with consecutive sequence numbers and enqueued times
+     */
+    public WarmUpCorpus(final Sourceable source, final int copies) {
+        this.source = source;
+        this.copies = copies;
+    }
+
+    public List<ParsedEvent> events() {
+        final JsonArray samples;
+        try (final JsonReader reader = Json.createReader(new StringReader(resource()))) {
+            samples = reader.readArray();
+        }
+        final List<ParsedEvent> events = new ArrayList<>(copies * samples.size());
+        for (int copy = 0; copy < copies; copy++) {
+            for (int sample = 0; sample < samples.size(); sample++) {
+                events.add(parsedEvent(samples.get(sample).toString(), copy * samples.size() + sample));
+            }
+        }
+        return events;
+    }
+
+    private String resource() {
+        String corpus;
+        try (final InputStream inputStream = WarmUpCorpus.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException("Classpath resource <[" + RESOURCE + "]> was not found");
+            }
+            corpus = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        for (final String name : CONFIGURATION) {
+            final String quoted = Json.createValue(source.source(name, "")).toString();
+            // without the quotes, the placeholders are inside JSON strings
+            corpus = corpus.replace("{{" + name + "}}", quoted.substring(1, quoted.length() - 1));
+        }
+        return corpus;
+    }
+
+    private ParsedEvent parsedEvent(final String json, final long index) {
+        final Map<String, Object> partitionContext = new HashMap<>();
+        partitionContext.put("FullyQualifiedNamespace", "warmup.servicebus.example.test");
+        partitionContext.put("EventHubName", "warmup");
+        partitionContext.put("PartitionId", String.valueOf(index % 4));
+        partitionContext.put("ConsumerGroup", "$Default");
+
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("warmup", "true");
+
+        final Map<String, Object> systemProperties = new HashMap<>();
+        systemProperties.put("SequenceNumber", String.valueOf(index));
+
+        final String enqueuedTime = LocalDateTime
+                .ofEpochSecond(BASE_EPOCH_SECOND + index, 0, ZoneOffset.UTC)
+                .toString();
+
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextImpl(partitionContext),
+                        new EventPropertiesImpl(properties),
+                        new EventSystemPropertiesImpl(systemProperties),
+                        new EnqueuedTimeImpl(enqueuedTime),
+                        new EventOffsetImpl(String.valueOf(index))
+                )
+        ).parsedEvent();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.util.Elements;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Values of an annotation as seen by the processor, including the defaults, read without loading the annotation class.
+ */
+public final class AnnotationValues {
+
+    private final Elements elements;
+    private final AnnotationMirror mirror;
+
+    public AnnotationValues(final Elements elements, final AnnotationMirror mirror) {
+        this.elements = elements;
+        this.mirror = mirror;
+    }
+
+    public String string(final String name) {
+        return (String) value(name);
+    }
+
+    public boolean flag(final String name) {
+        return (Boolean) value(name);
+    }
+
+    public List<String> strings(final String name) {
+        final List<String> strings = new ArrayList<>();
+        for (final AnnotationValue annotationValue : list(name)) {
+            strings.add((String) annotationValue.getValue());
+        }
+        return strings;
+    }
+
+    public AnnotationValues annotation(final String name) {
+        return new AnnotationValues(elements, (AnnotationMirror) value(name));
+    }
+
+    public List<AnnotationValues> annotations(final String name) {
+        final List<AnnotationValues> annotations = new ArrayList<>();
+        for (final AnnotationValue annotationValue : list(name)) {
+            annotations.add(new AnnotationValues(elements, (AnnotationMirror) annotationValue.getValue()));
+        }
+        return annotations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<? extends AnnotationValue> list(final String name) {
+        return (List<? extends AnnotationValue>) value(name);
+    }
+
+    private Object value(final String name) {
+        Object value = null;
+        final Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements
+                .getElementValuesWithDefaults(mirror);
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                value = entry.getValue().getValue();
+            }
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Annotation " + mirror + " has no value " + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Generates the EventType of every interface annotated with
+ * {@code com.teragrep.nlf_01.declaration.EventTypeDeclaration} at compile time, so the declared event types cost the
+ * same per event as hand-written ones. Invalid declarations are reported as compilation errors on the interface.
+ */
+public final class EventTypeProcessor extends AbstractProcessor {
+
+    private static final String DECLARATION = "com.teragrep.nlf_01.declaration.EventTypeDeclaration";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(DECLARATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.INTERFACE) {
+                    generate((TypeElement) element, declaration(element));
+                }
+                else {
+                    processingEnv
+                            .getMessager()
+                            .printMessage(Diagnostic.Kind.ERROR, "EventTypeDeclaration requires an interface", element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private AnnotationMirror declaration(final Element element) {
+        AnnotationMirror declaration = null;
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(DECLARATION)) {
+                declaration = mirror;
+            }
+        }
+        return declaration;
+    }
+
+    private void generate(final TypeElement element, final AnnotationMirror mirror) {
+        final GeneratedEventType eventType = new GeneratedEventType(
+                processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString(),
+                element.getSimpleName().toString(),
+                new AnnotationValues(processingEnv.getElementUtils(), mirror)
+        );
+        try {
+            final String source = eventType.source();
+            final JavaFileObject file = processingEnv
+                    .getFiler()
+                    .createSourceFile(eventType.qualifiedClassName(), element);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        }
+        catch (final IllegalArgumentException illegalArgumentException) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, illegalArgumentException.getMessage(), element, mirror);
+        }
+        catch (final IOException ioException) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "Could not write " + eventType.qualifiedClassName() + ": " + ioException.getMessage(),
+                            element
+                    );
+        }
+    }
+}
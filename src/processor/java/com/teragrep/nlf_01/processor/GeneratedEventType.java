@@ -0,0 +1,315 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Source of the final EventType class generated for an interface annotated with EventTypeDeclaration. The generated
+ * class is named after the interface with a "Type" suffix, implements the interface and has the same constructor as
+ * the hand-written types.
+ */
+public final class GeneratedEventType {
+
+    private final String packageName;
+    private final String interfaceName;
+    private final AnnotationValues declaration;
+
+    public GeneratedEventType(
+            final String packageName,
+            final String interfaceName,
+            final AnnotationValues declaration
+    ) {
+        this.packageName = packageName;
+        this.interfaceName = interfaceName;
+        this.declaration = declaration;
+    }
+
+    public String className() {
+        return interfaceName + "Type";
+    }
+
+    public String qualifiedClassName() {
+        final String qualifiedClassName;
+        if (packageName.isEmpty()) {
+            qualifiedClassName = className();
+        }
+        else {
+            qualifiedClassName = packageName + "." + className();
+        }
+        return qualifiedClassName;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the declaration is not valid
+     */
+    public String source() {
+        final GeneratedValue hostname = new GeneratedValue("hostname", declaration.annotation("hostname"));
+        final GeneratedValue appName = new GeneratedValue("appName", declaration.annotation("appName"));
+        final GeneratedValue timestamp = new GeneratedValue("timestamp", declaration.annotation("timestamp"));
+        final List<AnnotationValues> sdElements = declaration.annotations("sdElements");
+
+        final List<GeneratedValue> values = new ArrayList<>();
+        values.add(hostname);
+        values.add(appName);
+        values.add(timestamp);
+        final List<List<GeneratedValue>> sdParamValues = new ArrayList<>();
+        for (int e = 0; e < sdElements.size(); e++) {
+            final List<GeneratedValue> paramValues = new ArrayList<>();
+            final List<AnnotationValues> params = sdElements.get(e).annotations("params");
+            for (int p = 0; p < params.size(); p++) {
+                paramValues.add(new GeneratedValue("sdElement" + e + "Param" + p, params.get(p).annotation("value")));
+            }
+            values.addAll(paramValues);
+            sdParamValues.add(paramValues);
+        }
+        for (final GeneratedValue value : values) {
+            value.validate();
+            if (value != hostname && value.isMd5Resource()) {
+                throw new IllegalArgumentException("md5Resource is only supported for the hostname");
+            }
+        }
+
+        final Set<String> imports = new TreeSet<>();
+        imports.add("com.teragrep.akv_01.event.ParsedEvent");
+        imports.add("com.teragrep.akv_01.plugin.PluginException");
+        imports.add("com.teragrep.nlf_01.util.ConstantSDElements");
+        imports.add("com.teragrep.nlf_01.util.DefaultSDElements");
+        imports.add("com.teragrep.nlf_01.util.ValidRFC5424AppName");
+        imports.add("com.teragrep.nlf_01.util.ValidRFC5424Timestamp");
+        imports.add("com.teragrep.nlf_01.util.ZonedDateTimeStrings");
+        imports.add("com.teragrep.rlo_14.Facility");
+        imports.add("com.teragrep.rlo_14.SDElement");
+        imports.add("com.teragrep.rlo_14.Severity");
+        imports.add("jakarta.json.JsonObject");
+        imports.add("java.util.Set");
+        imports.add("javax.annotation.processing.Generated");
+        if (hostname.isMd5Resource()) {
+            imports.add("com.teragrep.nlf_01.util.MD5Hash");
+            imports.add("com.teragrep.nlf_01.util.MD5ResourceHostname");
+            imports.add("com.teragrep.nlf_01.util.ResourceId");
+        }
+        else {
+            imports.add("com.teragrep.nlf_01.util.ValidRFC5424Hostname");
+        }
+        for (final GeneratedValue value : values) {
+            value.imports(imports);
+        }
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        for (final String imported : imports) {
+            source.append("import ").append(imported).append(";\n");
+        }
+        source
+                .append("\n")
+                .append("/**\n")
+                .append(" * Generated from the EventTypeDeclaration of {@link ")
+                .append(interfaceName)
+                .append("}.\n")
+                .append(" */\n")
+                .append("@Generated(\"")
+                .append(EventTypeProcessor.class.getName())
+                .append("\")\n")
+                .append("public final class ")
+                .append(className())
+                .append(" implements ")
+                .append(interfaceName)
+                .append(" {\n\n");
+        for (final GeneratedValue value : values) {
+            value.constants(source);
+        }
+        source
+                .append("\n")
+                .append("    private final ParsedEvent parsedEvent;\n")
+                .append("    private final String realHostname;\n")
+                .append("    private final String componentNameForPartitions;\n")
+                .append("    private final ConstantSDElements constantSDElements;\n")
+                .append("    private final ZonedDateTimeStrings enqueuedTimeStrings;\n\n")
+                .append("    public ")
+                .append(className())
+                .append("(\n")
+                .append("            final ParsedEvent parsedEvent,\n")
+                .append("            final String realHostname,\n")
+                .append("            final String componentNameForPartitions\n")
+                .append("    ) {\n")
+                .append("        this(\n")
+                .append("                parsedEvent,\n")
+                .append("                realHostname,\n")
+                .append("                componentNameForPartitions,\n")
+                .append("                DefaultSDElements.CONSTANT_SD_ELEMENTS,\n")
+                .append("                DefaultSDElements.ENQUEUED_TIME_STRINGS\n")
+                .append("        );\n")
+                .append("    }\n\n")
+                .append("    public ")
+                .append(className())
+                .append("(\n")
+                .append("            final ParsedEvent parsedEvent,\n")
+                .append("            final String realHostname,\n")
+                .append("            final String componentNameForPartitions,\n")
+                .append("            final ConstantSDElements constantSDElements,\n")
+                .append("            final ZonedDateTimeStrings enqueuedTimeStrings\n")
+                .append("    ) {\n")
+                .append("        this.parsedEvent = parsedEvent;\n")
+                .append("        this.realHostname = realHostname;\n")
+                .append("        this.componentNameForPartitions = componentNameForPartitions;\n")
+                .append("        this.constantSDElements = constantSDElements;\n")
+                .append("        this.enqueuedTimeStrings = enqueuedTimeStrings;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Severity severity() {\n")
+                .append("        return Severity.")
+                .append(declaration.string("severity"))
+                .append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Facility facility() {\n")
+                .append("        return Facility.")
+                .append(declaration.string("facility"))
+                .append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String hostname() throws PluginException {\n")
+                .append("        final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();\n");
+        if (hostname.isMd5Resource()) {
+            source
+                    .append("        final String resourceId = ")
+                    .append(hostname.methodName())
+                    .append("(record);\n")
+                    .append("        return new MD5ResourceHostname(\n")
+                    .append("                new MD5Hash(resourceId).md5(),\n")
+                    .append("                new ResourceId(resourceId).resourceName()\n")
+                    .append("        ).hostname();\n");
+        }
+        else {
+            source
+                    .append("        return new ValidRFC5424Hostname(")
+                    .append(hostname.methodName())
+                    .append("(record)).validHostname();\n");
+        }
+        source
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String appName() throws PluginException {\n")
+                .append("        final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();\n")
+                .append("        return new ValidRFC5424AppName(")
+                .append(appName.methodName())
+                .append("(record)).appName();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public long timestamp() throws PluginException {\n")
+                .append("        final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();\n")
+                .append("        return new ValidRFC5424Timestamp(")
+                .append(timestamp.methodName())
+                .append("(record)).validTimestamp();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Set<SDElement> sdElements()");
+        if (!sdElements.isEmpty()) {
+            source.append(" throws PluginException");
+        }
+        source
+                .append(" {\n")
+                .append("        final Set<SDElement> elements = new DefaultSDElements(\n")
+                .append("                parsedEvent,\n")
+                .append("                realHostname,\n")
+                .append("                this.getClass(),\n")
+                .append("                componentNameForPartitions,\n")
+                .append("                constantSDElements,\n")
+                .append("                enqueuedTimeStrings\n")
+                .append("        ).sdElements();\n");
+        if (!sdElements.isEmpty()) {
+            source.append("        final JsonObject record = parsedEvent.asJsonStructure().asJsonObject();\n");
+        }
+        for (int e = 0; e < sdElements.size(); e++) {
+            source
+                    .append("        elements.add(new SDElement(")
+                    .append(new JavaLiteral(sdElements.get(e).string("id")))
+                    .append(")");
+            final List<AnnotationValues> params = sdElements.get(e).annotations("params");
+            for (int p = 0; p < params.size(); p++) {
+                source
+                        .append(".addSDParam(")
+                        .append(new JavaLiteral(params.get(p).string("name")))
+                        .append(", ")
+                        .append(sdParamValues.get(e).get(p).methodName())
+                        .append("(record))");
+            }
+            source.append(");\n");
+        }
+        source
+                .append("        return elements;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String msgId() {\n")
+                .append("        final String sequenceNumber;\n")
+                .append("        if (parsedEvent.systemProperties().isStub()) {\n")
+                .append("            sequenceNumber = \"\";\n")
+                .append("        }\n")
+                .append("        else {\n")
+                .append("            sequenceNumber = String\n")
+                .append("                    .valueOf(parsedEvent.systemProperties().asMap()")
+                .append(".getOrDefault(\"SequenceNumber\", \"\"));\n")
+                .append("        }\n")
+                .append("        return sequenceNumber;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String msg() {\n")
+                .append("        return parsedEvent.asString();\n")
+                .append("    }\n");
+        for (final GeneratedValue value : values) {
+            source.append("\n");
+            value.method(source);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.processor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Code of the private method that extracts a declared value from the main object of an event, with the key path and
+ * the pattern of the value as constants.
+ */
+public final class GeneratedValue {
+
+    private static final List<String> RESOURCE_PARTS = Arrays
+            .asList("subscriptionId", "resourceGroupName", "resourceProviderNamespace", "resourceType", "resourceName");
+
+    private final String name;
+    private final AnnotationValues value;
+
+    /**
+     * @param name  name of the value in camel case, unique within the event type
+     * @param value the ValueDeclaration
+     */
+    public GeneratedValue(final String name, final AnnotationValues value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public String methodName() {
+        return name + "Value";
+    }
+
+    public boolean isMd5Resource() {
+        return value.flag("md5Resource");
+    }
+
+    /**
+     * @throws IllegalArgumentException if the declaration is not valid
+     */
+    public void validate() {
+        if (value.strings("key").isEmpty()) {
+            throw new IllegalArgumentException("Value " + name + " has no key");
+        }
+        final String resource = value.string("resource");
+        if (!resource.isEmpty() && !RESOURCE_PARTS.contains(resource)) {
+            throw new IllegalArgumentException("Unknown resource id part of " + name + ": " + resource);
+        }
+        final String pattern = value.string("pattern");
+        if (!pattern.isEmpty()) {
+            try {
+                Pattern.compile(pattern);
+            }
+            catch (final PatternSyntaxException patternSyntaxException) {
+                throw new IllegalArgumentException(
+                        "Invalid pattern of " + name + ": " + patternSyntaxException.getMessage(),
+                        patternSyntaxException
+                );
+            }
+            if (!pattern.contains("(?<" + value.string("group") + ">")) {
+                throw new IllegalArgumentException(
+                        "Pattern of " + name + " has no capture group " + value.string("group")
+                );
+            }
+        }
+    }
+
+    public void imports(final Set<String> imports) {
+        imports.add("com.teragrep.nlf_01.util.StringKeyPath");
+        if (!value.string("resource").isEmpty()) {
+            imports.add("com.teragrep.nlf_01.util.ResourceId");
+        }
+        if (!value.string("pattern").isEmpty()) {
+            imports.add("java.util.regex.Matcher");
+            imports.add("java.util.regex.Pattern");
+        }
+        if (value.flag("ascii")) {
+            imports.add("com.teragrep.nlf_01.util.ASCIIString");
+        }
+        if (value.flag("hashable")) {
+            imports.add("com.teragrep.nlf_01.util.HashableRFC5424AppName");
+        }
+    }
+
+    public void constants(final StringBuilder source) {
+        final StringBuilder keys = new StringBuilder();
+        for (final String key : value.strings("key")) {
+            if (keys.length() > 0) {
+                keys.append(", ");
+            }
+            keys.append(new JavaLiteral(key));
+        }
+        source
+                .append("    private static final StringKeyPath ")
+                .append(constantName())
+                .append("_KEY = new StringKeyPath(")
+                .append(keys)
+                .append(");\n");
+        if (!value.string("pattern").isEmpty()) {
+            source
+                    .append("    private static final Pattern ")
+                    .append(constantName())
+                    .append("_PATTERN = Pattern.compile(")
+                    .append(new JavaLiteral(value.string("pattern")))
+                    .append(");\n");
+        }
+    }
+
+    public void method(final StringBuilder source) {
+        source
+                .append("    private String ")
+                .append(methodName())
+                .append("(final JsonObject record) throws PluginException {\n")
+                .append("        final String value = ")
+                .append(constantName())
+                .append("_KEY.value(record);\n");
+        String current = "value";
+
+        final String resource = value.string("resource");
+        if (!resource.isEmpty()) {
+            source
+                    .append("        final String resourcePart = new ResourceId(value).")
+                    .append(resource)
+                    .append("();\n");
+            current = "resourcePart";
+        }
+
+        final String pattern = value.string("pattern");
+        if (!pattern.isEmpty()) {
+            final String group = value.string("group");
+            String error = value.string("error");
+            if (error.isEmpty()) {
+                error = "Could not parse " + group + " from " + String.join(".", value.strings("key"));
+            }
+            source
+                    .append("        final Matcher matcher = ")
+                    .append(constantName())
+                    .append("_PATTERN.matcher(")
+                    .append(current)
+                    .append(");\n")
+                    .append("        if (!matcher.find()) {\n")
+                    .append("            throw new PluginException(")
+                    .append(new JavaLiteral(error))
+                    .append(");\n")
+                    .append("        }\n")
+                    .append("        final String group = matcher.group(")
+                    .append(new JavaLiteral(group))
+                    .append(");\n")
+                    .append("        if (group == null || group.isEmpty()) {\n")
+                    .append("            throw new PluginException(")
+                    .append(new JavaLiteral("Capture group '" + group + "' was not found"))
+                    .append(");\n")
+                    .append("        }\n");
+            current = "group";
+        }
+
+        String expression = current;
+        if (!value.string("prefix").isEmpty()) {
+            expression = new JavaLiteral(value.string("prefix")) + ".concat(" + expression + ")";
+        }
+        if (value.flag("ascii")) {
+            expression = "new ASCIIString(" + expression + ").withNonAsciiCharsRemoved()";
+        }
+        if (value.flag("hashable")) {
+            expression = "new HashableRFC5424AppName(" + expression + ").appName()";
+        }
+        source.append("        return ").append(expression).append(";\n").append("    }\n");
+    }
+
+    private String constantName() {
+        final StringBuilder constantName = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                constantName.append('_');
+            }
+            constantName.append(Character.toUpperCase(c));
+        }
+        return constantName.toString();
+    }
+}
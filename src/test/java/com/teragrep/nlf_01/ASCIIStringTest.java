@@ -78,4 +78,16 @@ public class ASCIIStringTest {
         ASCIIString hostname = new ASCIIString(chars);
         Assertions.assertEquals(chars.substring(3, chars.length() - 3), hostname.withNonAsciiCharsRemoved());
     }
+
+    @Test
+    void testCleanStringIsReturnedAsIs() {
+        final String clean = "resource-name";
+        Assertions.assertSame(clean, new ASCIIString(clean).withNonAsciiCharsRemoved());
+    }
+
+    @Test
+    void testCharsRemovedInTheMiddle() {
+        Assertions.assertEquals("ab-c", new ASCIIString("a b\u0000-\u00e4c\u007f").withNonAsciiCharsRemoved());
+        Assertions.assertEquals("", new ASCIIString("\u00e4 ").withNonAsciiCharsRemoved());
+    }
 }
@@ -0,0 +1,547 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.aggregation.CollectingRepeatedMessages;
+import com.teragrep.nlf_01.aggregation.ConfiguredAggregation;
+import com.teragrep.nlf_01.deadletter.NoDeadLetters;
+import com.teragrep.nlf_01.dedup.ConfiguredDeduplication;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.UncheckedPluginException;
+import com.teragrep.nlf_01.registry.ConfiguredEventTypeFactories;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.registry.ServiceLoadedEventTypeFactories;
+import com.teragrep.nlf_01.rfc5424.ArrayByteSink;
+import com.teragrep.nlf_01.schema.NoSchemaSampler;
+import com.teragrep.nlf_01.stringpool.ConfiguredStringPool;
+import com.teragrep.nlf_01.throttle.NoThrottle;
+import com.teragrep.nlf_01.util.MemoizedHostname;
+import com.teragrep.nlf_01.util.RealHostname;
+import com.teragrep.nlf_01.util.Sourceable;
+import com.teragrep.nlf_01.warmup.NoWarmUp;
+import com.teragrep.rlo_14.SyslogMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts the fixture corpus with one shared plugin from many threads, the results must equal the ones of a
+ * single-threaded run. The stateful stages are converted through with unique sequence numbers, each converted event is
+ * redelivered once and must be suppressed.
+ */
+public final class NLFPluginConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 50;
+    // random uuid and the time of conversion
+    private static final Pattern EVENT_ID = Pattern.compile("\\[event_id@48577 [^\\]]*\\]");
+    // MSGID is the sequence number of the event
+    private static final Pattern MSG_ID = Pattern.compile("(<\\d+>1 \\S+ \\S+ \\S+ \\S+ )\\S+ ");
+    private static final Pattern REPEATED = Pattern.compile("\\[repeated@48577 count=\"(\\d+)\"[^\\]]*\\]");
+    // priority, timestamp, hostname and appName
+    private static final Pattern HEADER = Pattern.compile("^<\\d+>1 \\S+ \\S+ \\S+ ");
+    private static final Pattern EVENT_TYPE = Pattern.compile("\\[nlf_01@48577 eventType=\"([^\"]*)\"");
+    // runs of events of a thread share the enqueued time, so the formatted time of each thread is both reused and not
+    private static final String[] ENQUEUED_TIMES = {
+            "2010-01-01T00:00:00", "2010-01-01T00:00:01", "2020-06-30T23:59:59"
+    };
+
+    @Test
+    void testSharedPluginConvertsAsSingleThreaded() throws Exception {
+        final List<String> fixtures = fixtures();
+        final List<String> expected = new ArrayList<>();
+        final NLFPlugin reference = new NLFPlugin(new FakeSourceable());
+        for (final String fixture : fixtures) {
+            expected.add(syslogMessages(reference, parsedEvent(fixture)));
+        }
+        Assertions.assertTrue(expected.stream().anyMatch(result -> result.startsWith("<")));
+        Assertions.assertTrue(expected.stream().anyMatch(result -> result.startsWith("failed")));
+
+        final NLFPlugin plugin = (NLFPlugin) new NLFPluginFactory(new FakeSourceable()).plugin("");
+        final ConcurrentLinkedQueue<String> mismatches = new ConcurrentLinkedQueue<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int offset = thread;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = 0; i < fixtures.size(); i++) {
+                            // each thread converts the fixtures in a different order and through a different path
+                            final int index = (i + offset * 7 + round) % fixtures.size();
+                            final String actual;
+                            if ((offset + round) % 3 == 0) {
+                                actual = syslogMessages(plugin, parsedEvent(fixtures.get(index)));
+                            }
+                            else if ((offset + round) % 3 == 1) {
+                                actual = streamedSyslogMessages(plugin, parsedEvent(fixtures.get(index)));
+                            }
+                            else {
+                                actual = rfc5424(plugin, parsedEvent(fixtures.get(index)));
+                            }
+                            if (!expected.get(index).equals(actual)) {
+                                mismatches.add(index + ": expected <" + expected.get(index) + "> got <" + actual + ">");
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+
+        Assertions.assertEquals(new ArrayList<>(), new ArrayList<>(mismatches));
+    }
+
+    @Test
+    void testStatefulStagesConvertAsSingleThreaded() throws Exception {
+        final List<String> fixtures = fixtures();
+        final Map<String, String> config = config();
+        config.put("deduplication.window", String.valueOf(THREADS * ROUNDS * fixtures.size()));
+        config.put("throttle.mode", "sample");
+        config.put("throttle.sample", "2");
+        config.put("stringpool.capacity", "64");
+        config.put("eventtype.reuse", "true");
+
+        // the sampling depends on the sequence number, so the reference converts the same events one at a time
+        final NLFPluginFactory referenceFactory = new NLFPluginFactory(new ConfigurableSourceable(config));
+        final NLFPlugin reference = (NLFPlugin) referenceFactory.plugin("");
+
+        final NLFPluginFactory factory = new NLFPluginFactory(new ConfigurableSourceable(config));
+        final NLFPlugin plugin = (NLFPlugin) factory.plugin("");
+        final ConcurrentLinkedQueue<String> mismatches = new ConcurrentLinkedQueue<>();
+        final AtomicLong redelivered = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int offset = thread;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = 0; i < fixtures.size(); i++) {
+                            final int index = (i + offset * 7 + round) % fixtures.size();
+                            final int time = (i / 4 + offset + round) % ENQUEUED_TIMES.length;
+                            final long sequenceNumber = ((long) offset * ROUNDS + round) * fixtures.size() + i;
+                            final String fixture = fixtures.get(index);
+                            final String enqueuedTime = ENQUEUED_TIMES[time];
+                            final String actual;
+                            if ((offset + round) % 3 == 0) {
+                                actual = syslogMessages(plugin, parsedEvent(fixture, enqueuedTime, sequenceNumber));
+                            }
+                            else if ((offset + round) % 3 == 1) {
+                                actual = streamedSyslogMessages(
+                                        plugin,
+                                        parsedEvent(fixture, enqueuedTime, sequenceNumber)
+                                );
+                            }
+                            else {
+                                actual = rfc5424(plugin, parsedEvent(fixture, enqueuedTime, sequenceNumber));
+                            }
+                            final String timeExpected;
+                            synchronized (reference) {
+                                timeExpected = syslogMessages(
+                                        reference,
+                                        parsedEvent(fixture, enqueuedTime, sequenceNumber)
+                                );
+                            }
+                            if (!timeExpected.equals(actual)) {
+                                mismatches.add(index + ": expected <" + timeExpected + "> got <" + actual + ">");
+                            }
+                            if (!actual.startsWith("failed")) {
+                                final String redeliveredActual = syslogMessages(
+                                        plugin,
+                                        parsedEvent(fixture, enqueuedTime, sequenceNumber)
+                                );
+                                redelivered.incrementAndGet();
+                                if (!redeliveredActual.isEmpty()) {
+                                    mismatches.add(index + ": redelivery was converted <" + redeliveredActual + ">");
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+
+        Assertions.assertEquals(new ArrayList<>(), new ArrayList<>(mismatches));
+        Assertions.assertEquals(redelivered.get(), factory.deduplication().suppressed());
+        Assertions.assertEquals(0, factory.deduplication().expired());
+        // the reference converted the same events, the sampling depends only on the event
+        Assertions.assertTrue(referenceFactory.throttle().admitted() > 0);
+        Assertions.assertTrue(referenceFactory.throttle().dropped() > 0);
+        Assertions.assertEquals(referenceFactory.throttle().admitted(), factory.throttle().admitted());
+        Assertions.assertEquals(referenceFactory.throttle().dropped(), factory.throttle().dropped());
+    }
+
+    @Test
+    void testAggregatedRepeatsAreCountedOnce() throws Exception {
+        final List<String> fixtures = fixtures();
+        final Map<String, String> config = config();
+        config.put("deduplication.window", String.valueOf(THREADS * ROUNDS * fixtures.size()));
+        config.put("aggregation.window.seconds", "60");
+        config.put("stringpool.capacity", "64");
+        final Sourceable source = new ConfigurableSourceable(config);
+        final AtomicLong clock = new AtomicLong();
+        final NLFPluginFactory factory = new NLFPluginFactory(
+                source,
+                new EventTypeRegistry(
+                        new ConfiguredEventTypeFactories(source, new ServiceLoadedEventTypeFactories().factories())
+                                .factories()
+                ),
+                Collections.emptyList(),
+                new ConfiguredDeduplication(source).deduplication(),
+                new NoThrottle(),
+                new ConfiguredAggregation(source, clock::get).aggregation(),
+                new NoDeadLetters(),
+                new NoSchemaSampler(),
+                new NoWarmUp(),
+                new MemoizedHostname(new RealHostname("localhost")),
+                new ConfiguredStringPool(source).stringPool()
+        );
+
+        // every conversion of the threads yields the messages of the reference, either converted or as repeats
+        final NLFPlugin reference = new NLFPlugin(new FakeSourceable());
+        final List<List<String>> expected = new ArrayList<>();
+        final Map<String, Long> expectedCounts = new TreeMap<>();
+        for (final String fixture : fixtures) {
+            final List<String> messages = messages(reference, parsedEvent(fixture), false);
+            expected.add(messages);
+            if (!isFailure(messages)) {
+                for (final String message : messages) {
+                    expectedCounts.merge(line(message), (long) THREADS * ROUNDS, Long::sum);
+                }
+            }
+        }
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final CollectingRepeatedMessages repeatedMessages = new CollectingRepeatedMessages();
+        factory.scheduleRepeatFlush(scheduler, repeatedMessages);
+        final NLFPlugin plugin = (NLFPlugin) factory.plugin("");
+        final ConcurrentLinkedQueue<String> converted = new ConcurrentLinkedQueue<>();
+        final ConcurrentLinkedQueue<String> mismatches = new ConcurrentLinkedQueue<>();
+        final AtomicLong redelivered = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int offset = thread;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = 0; i < fixtures.size(); i++) {
+                            final int index = (i + offset * 7 + round) % fixtures.size();
+                            final long sequenceNumber = ((long) offset * ROUNDS + round) * fixtures.size() + i;
+                            final String fixture = fixtures.get(index);
+                            final List<String> messages = messages(
+                                    plugin,
+                                    parsedEvent(fixture, ENQUEUED_TIMES[0], sequenceNumber),
+                                    (offset + round) % 2 == 0
+                            );
+                            if (isFailure(expected.get(index)) || isFailure(messages)) {
+                                if (!expected.get(index).equals(messages)) {
+                                    mismatches
+                                            .add(
+                                                    index + ": expected <" + expected.get(index) + "> got <" + messages
+                                                            + ">"
+                                            );
+                                }
+                            }
+                            else {
+                                converted.addAll(messages);
+                                final List<String> redeliveredMessages = messages(
+                                        plugin,
+                                        parsedEvent(fixture, ENQUEUED_TIMES[0], sequenceNumber),
+                                        false
+                                );
+                                redelivered.incrementAndGet();
+                                if (!redeliveredMessages.isEmpty()) {
+                                    mismatches.add(index + ": redelivery was converted <" + redeliveredMessages + ">");
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(new ArrayList<>(), new ArrayList<>(mismatches));
+        Assertions.assertEquals(redelivered.get(), factory.deduplication().suppressed());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        final Map<String, Long> actualCounts = new TreeMap<>();
+        for (final String message : converted) {
+            actualCounts.merge(line(message), 1L, Long::sum);
+        }
+        // the ended windows are flushed either here or by the scheduled flush
+        final List<String> repeats = new ArrayList<>(normalizedList(plugin.expiredMessages().stream()));
+        scheduler.shutdown();
+        Assertions.assertTrue(scheduler.awaitTermination(10, TimeUnit.SECONDS));
+        repeats.addAll(normalizedList(repeatedMessages.drain().stream()));
+        Assertions.assertEquals(Collections.emptyList(), repeatedMessages.failures());
+        Assertions.assertFalse(repeats.isEmpty());
+        for (final String repeat : repeats) {
+            final Matcher matcher = REPEATED.matcher(repeat);
+            Assertions.assertTrue(matcher.find(), repeat);
+            final long count = Long.parseLong(matcher.group(1));
+            actualCounts.merge(line(repeat), count, Long::sum);
+        }
+        Assertions.assertEquals(expectedCounts, actualCounts);
+    }
+
+    private List<String> fixtures() throws IOException {
+        final List<String> fixtures = new ArrayList<>();
+        final List<String> converting = new ArrayList<>();
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        try (final Stream<Path> paths = Files.list(Paths.get("src/test/resources"))) {
+            final List<Path> jsonPaths = paths
+                    .filter(path -> path.toString().endsWith(".json"))
+                    .filter(path -> !path.endsWith("definitions.json"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            for (final Path path : jsonPaths) {
+                final String fixture = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+                fixtures.add(fixture);
+                if (syslogMessages(plugin, parsedEvent(fixture)).startsWith("<")) {
+                    converting.add(fixture);
+                }
+            }
+        }
+        // multi-record events of the converting fixtures
+        fixtures.add("[" + String.join(",", converting) + "]");
+        fixtures.add("{\"records\":[" + String.join(",", converting) + "]}");
+        return fixtures;
+    }
+
+    private String syslogMessages(final NLFPlugin plugin, final ParsedEvent parsedEvent) {
+        String result;
+        try {
+            result = normalized(plugin.syslogMessage(parsedEvent).stream());
+        }
+        catch (final PluginException pluginException) {
+            result = "failed: " + pluginException.getMessage();
+        }
+        return result;
+    }
+
+    private String streamedSyslogMessages(final NLFPlugin plugin, final ParsedEvent parsedEvent) {
+        String result;
+        try (final Stream<SyslogMessage> stream = plugin.syslogMessageStream(parsedEvent)) {
+            result = normalized(stream);
+        }
+        catch (final PluginException pluginException) {
+            result = "failed: " + pluginException.getMessage();
+        }
+        catch (final UncheckedPluginException uncheckedPluginException) {
+            result = "failed: " + uncheckedPluginException.getCause().getMessage();
+        }
+        return result;
+    }
+
+    private String rfc5424(final NLFPlugin plugin, final ParsedEvent parsedEvent) {
+        final ArrayByteSink sink = new ArrayByteSink();
+        String result;
+        try {
+            plugin.rfc5424(parsedEvent, sink);
+            result = MSG_ID
+                    .matcher(EVENT_ID.matcher(new String(sink.toByteArray(), StandardCharsets.UTF_8)).replaceAll(""))
+                    .replaceAll("$1- ");
+        }
+        catch (final PluginException pluginException) {
+            result = "failed: " + pluginException.getMessage();
+        }
+        return result;
+    }
+
+    private String normalized(final Stream<SyslogMessage> syslogMessages) {
+        return syslogMessages
+                .map(SyslogMessage::toRfc5424SyslogMessage)
+                .map(syslogMessage -> EVENT_ID.matcher(syslogMessage).replaceAll(""))
+                .map(syslogMessage -> MSG_ID.matcher(syslogMessage).replaceAll("$1- "))
+                .collect(Collectors.joining());
+    }
+
+    private List<String> messages(final NLFPlugin plugin, final ParsedEvent parsedEvent, final boolean streamed) {
+        List<String> messages;
+        try {
+            if (streamed) {
+                try (final Stream<SyslogMessage> stream = plugin.syslogMessageStream(parsedEvent)) {
+                    messages = normalizedList(stream);
+                }
+            }
+            else {
+                messages = normalizedList(plugin.syslogMessage(parsedEvent).stream());
+            }
+        }
+        catch (final PluginException pluginException) {
+            messages = Collections.singletonList("failed: " + pluginException.getMessage());
+        }
+        catch (final UncheckedPluginException uncheckedPluginException) {
+            messages = Collections.singletonList("failed: " + uncheckedPluginException.getCause().getMessage());
+        }
+        return messages;
+    }
+
+    private boolean isFailure(final List<String> messages) {
+        return messages.size() == 1 && messages.get(0).startsWith("failed");
+    }
+
+    private List<String> normalizedList(final Stream<SyslogMessage> syslogMessages) {
+        return syslogMessages
+                .map(SyslogMessage::toRfc5424SyslogMessage)
+                .map(syslogMessage -> EVENT_ID.matcher(syslogMessage).replaceAll(""))
+                .map(syslogMessage -> MSG_ID.matcher(syslogMessage).replaceAll("$1- "))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A repeat carries only the header and the event type of the repeated line, so the messages are counted by those.
+     */
+    private String line(final String message) {
+        final Matcher header = HEADER.matcher(message);
+        final Matcher eventType = EVENT_TYPE.matcher(message);
+        Assertions.assertTrue(header.find(), message);
+        Assertions.assertTrue(eventType.find(), message);
+        return header.group() + eventType.group(1);
+    }
+
+    private Map<String, String> config() {
+        final Map<String, String> config = new HashMap<>();
+        config.put("containerlog.hostname.annotation", "hostname-annotation");
+        config.put("containerlog.appname.annotation", "appname-annotation");
+        config.put("syslogtype.processname", "Soft-Ware");
+        config.put("component.name", "aer");
+        return config;
+    }
+
+    private ParsedEvent parsedEvent(final String fixture, final String enqueuedTime, final long sequenceNumber) {
+        final Map<String, Object> systemProperties = new HashMap<>();
+        systemProperties.put("PartitionKey", "456");
+        systemProperties.put("SequenceNumber", String.valueOf(sequenceNumber));
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        fixture,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesImpl(systemProperties),
+                        new EnqueuedTimeImpl(enqueuedTime),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+
+    private ParsedEvent parsedEvent(final String fixture) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        fixture,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+}
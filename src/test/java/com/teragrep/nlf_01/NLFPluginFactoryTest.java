@@ -45,9 +45,30 @@
  */
 package com.teragrep.nlf_01;
 
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.Plugin;
+import com.teragrep.nlf_01.aggregation.CollectingRepeatedMessages;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
 public final class NLFPluginFactoryTest {
 
     @Test
@@ -55,4 +76,67 @@ public final class NLFPluginFactoryTest {
         final NLFPluginFactory factory = new NLFPluginFactory();
         Assertions.assertEquals(NLFPlugin.class, factory.plugin("").getClass());
     }
+
+    @Test
+    void testSharedStagesAreExposed() throws IOException {
+        final Map<String, String> config = new HashMap<>();
+        config.put("containerlog.hostname.annotation", "hostname-annotation");
+        config.put("containerlog.appname.annotation", "appname-annotation");
+        config.put("syslogtype.processname", "Soft-Ware");
+        config.put("component.name", "aer");
+        config.put("throttle.mode", "tokenbucket");
+        config.put("throttle.rate", "0.001");
+        config.put("throttle.burst", "1");
+        final NLFPluginFactory factory = new NLFPluginFactory(
+                new ConfigurableSourceable(config),
+                new EventTypeRegistry()
+        );
+        final String json = new String(
+                Files.readAllBytes(Paths.get("src/test/resources/appevents.json")),
+                StandardCharsets.UTF_8
+        );
+        final Plugin plugin = factory.plugin("");
+
+        Assertions.assertEquals(1, Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(json))).size());
+        Assertions.assertEquals(0, Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(json))).size());
+
+        Assertions.assertTrue(factory.throttle().isEnabled());
+        Assertions.assertEquals(1, factory.throttle().admitted());
+        Assertions.assertEquals(1, factory.throttle().dropped());
+        Assertions.assertEquals(1, factory.throttle().droppedByKey().size());
+        Assertions.assertEquals(0, factory.deduplication().suppressed());
+    }
+
+    @Test
+    void testAggregationRequiresScheduledFlush() {
+        final Map<String, String> config = new HashMap<>();
+        config.put("aggregation.window.seconds", "10");
+        final NLFPluginFactory factory = new NLFPluginFactory(
+                new ConfigurableSourceable(config),
+                new EventTypeRegistry()
+        );
+        Assertions.assertThrows(IllegalStateException.class, () -> factory.plugin(""));
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            factory.scheduleRepeatFlush(scheduler, new CollectingRepeatedMessages());
+            Assertions.assertEquals(NLFPlugin.class, factory.plugin("").getClass());
+        }
+        finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private ParsedEvent parsedEvent(final String json) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
 }
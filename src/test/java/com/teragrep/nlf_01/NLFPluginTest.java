@@ -61,7 +61,15 @@ import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeStub;
 import com.teragrep.akv_01.plugin.PluginException;
 import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
 import com.teragrep.nlf_01.fakes.EmptySourceable;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
 import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.CollectingRecordFailures;
+import com.teragrep.nlf_01.records.RecordFailure;
+import com.teragrep.nlf_01.records.UncheckedPluginException;
+import com.teragrep.nlf_01.rfc5424.ArrayByteSink;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.nlf_01.synthetic.SyntheticType;
 import com.teragrep.nlf_01.types.ADFActivityRunType;
 import com.teragrep.nlf_01.types.ADFPipelineRunType;
 import com.teragrep.nlf_01.types.AppEventsType;
@@ -86,10 +94,13 @@ import com.teragrep.rlo_14.SDParam;
 import com.teragrep.rlo_14.SyslogMessage;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -194,6 +205,23 @@ public class NLFPluginTest {
                 );
     }
 
+    @Test
+    void containerTypeWithNullPodNamespace() {
+        final String json = Assertions
+                .assertDoesNotThrow(() -> Files.readString(Paths.get("src/test/resources/container.json")))
+                .replace("\"pod-namespace\"", "null");
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+
+        // the unchecked exception of reading the value fails the event as any other invalid event
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final PluginException pluginException = Assertions
+                .assertThrows(PluginException.class, () -> plugin.syslogMessage(parsedEvent));
+        Assertions.assertEquals(ClassCastException.class, pluginException.getCause().getClass());
+        Assertions.assertThrows(PluginException.class, () -> plugin.rfc5424(parsedEvent, new ArrayByteSink()));
+    }
+
     @Test
     void containerTypeWithStubEnqueuedTime() {
         final String json = Assertions
@@ -1156,7 +1184,196 @@ public class NLFPluginTest {
         final PluginException pluginException = Assertions
                 .assertThrows(PluginException.class, () -> plugin.syslogMessage(parsedEvent));
         Assertions
-                .assertEquals("jakarta.json.JsonException: Event was not a JSON object", pluginException.getMessage());
+                .assertEquals(
+                        "java.lang.IllegalArgumentException: Event did not contain any records",
+                        pluginException.getMessage()
+                );
+    }
+
+    @Test
+    void recordsEnvelopePayload() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(1L));
+        final String json = "{\"records\":[" + syntheticEvents.json(SyntheticType.APP_TRACES, 0) + ","
+                + syntheticEvents.json(SyntheticType.SQL_SECURITY_AUDIT_EVENTS, 1) + ","
+                + syntheticEvents.json(SyntheticType.CONTAINER_LOG_V2, 2) + "]}";
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextFake(), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("12"))
+        ).parsedEvent();
+
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final List<SyslogMessage> syslogMessages = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent));
+        Assertions.assertEquals(3, syslogMessages.size());
+        Assertions.assertEquals(syntheticEvents.json(SyntheticType.APP_TRACES, 0), syslogMessages.get(0).getMsg());
+        Assertions
+                .assertEquals(syntheticEvents.json(SyntheticType.SQL_SECURITY_AUDIT_EVENTS, 1), syslogMessages.get(1).getMsg());
+        Assertions
+                .assertEquals(syntheticEvents.json(SyntheticType.CONTAINER_LOG_V2, 2), syslogMessages.get(2).getMsg());
+
+        final Map<String, Map<String, String>> sdElementMap = syslogMessages
+                .get(1)
+                .getSDElements()
+                .stream()
+                .collect(Collectors.toMap((SDElement::getSdID), (sdElem) -> sdElem.getSdParams().stream().collect(Collectors.toMap(SDParam::getParamName, SDParam::getParamValue))));
+        Assertions.assertEquals("SQLSecurityAuditEventsType", sdElementMap.get("nlf_01@48577").get("eventType"));
+        Assertions.assertEquals("12", sdElementMap.get("aer_event@48577").get("offset"));
+        Assertions.assertEquals("123", sdElementMap.get("aer_partition@48577").get("partition_id"));
+    }
+
+    @Test
+    void jsonArrayPayload() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(2L));
+        final String json = "[" + syntheticEvents.json(SyntheticType.SYSLOG, 0) + ","
+                + syntheticEvents.json(SyntheticType.POSTGRESQL, 1) + "]";
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final List<SyslogMessage> syslogMessages = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent));
+        Assertions.assertEquals(2, syslogMessages.size());
+        Assertions.assertEquals(syntheticEvents.json(SyntheticType.SYSLOG, 0), syslogMessages.get(0).getMsg());
+        Assertions.assertEquals(syntheticEvents.json(SyntheticType.POSTGRESQL, 1), syslogMessages.get(1).getMsg());
+    }
+
+    @Test
+    void envelopeRecordFailuresAreCollected() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(3L));
+        final String json = "{\"records\":[" + syntheticEvents.json(SyntheticType.APP_EVENTS, 0)
+                + ",{\"Type\":\"Unknown\"},\"text\",[]," + syntheticEvents.json(SyntheticType.APP_EVENTS, 1) + "]}";
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+
+        final CollectingRecordFailures recordFailures = new CollectingRecordFailures();
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable(), recordFailures);
+        final List<SyslogMessage> syslogMessages = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent));
+        Assertions.assertEquals(2, syslogMessages.size());
+        Assertions.assertEquals(syntheticEvents.json(SyntheticType.APP_EVENTS, 1), syslogMessages.get(1).getMsg());
+
+        final List<RecordFailure> failures = recordFailures.failures();
+        Assertions.assertEquals(3, failures.size());
+        Assertions.assertEquals(1, failures.get(0).index());
+        Assertions.assertEquals("{\"Type\":\"Unknown\"}", failures.get(0).record());
+        Assertions
+                .assertEquals(
+                        "java.lang.IllegalArgumentException: Event was not of expected log format or type was not found",
+                        failures.get(0).exception().getMessage()
+                );
+        Assertions.assertEquals(2, failures.get(1).index());
+        Assertions.assertEquals(3, failures.get(2).index());
+        Assertions
+                .assertEquals("jakarta.json.JsonException: Event was not a JSON object", failures.get(2).exception().getMessage());
+    }
+
+    @Test
+    void envelopeRecordFailureFailsEventByDefault() {
+        final String json = "{\"records\":[{\"Type\":\"Unknown\"}]}";
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final PluginException pluginException = Assertions
+                .assertThrows(PluginException.class, () -> plugin.syslogMessage(parsedEvent));
+        Assertions
+                .assertEquals(
+                        "java.lang.IllegalArgumentException: Event was not of expected log format or type was not found",
+                        pluginException.getMessage()
+                );
+    }
+
+    @Test
+    void envelopeRecordFailureWritesNothingOfEvent() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(3L));
+        final String json = "{\"records\":[" + syntheticEvents.json(SyntheticType.APP_EVENTS, 0) + ","
+                + syntheticEvents.json(SyntheticType.APP_EVENTS, 1) + ",{\"Type\":\"Unknown\"}]}";
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final ArrayByteSink sink = new ArrayByteSink();
+        Assertions.assertThrows(PluginException.class, () -> plugin.rfc5424(parsedEvent, sink));
+        Assertions.assertEquals(0, sink.size());
+        Assertions.assertThrows(PluginException.class, () -> plugin.octetCountedRfc5424(parsedEvent, new ArrayByteSink(), sink));
+        Assertions.assertEquals(0, sink.size());
+    }
+
+    @Test
+    void envelopeStream() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(4L, 64, 8, 10, 2, 1));
+        final List<String> records = new ArrayList<>();
+        for (int index = 0; index < 2000; index++) {
+            records.add(syntheticEvents.json(SyntheticType.values()[index % SyntheticType.values().length], index));
+        }
+        final String json = "{\"records\":[" + String.join(",", records) + "]}";
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+
+        final Iterator<SyslogMessage> iterator = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessageStream(parsedEvent)).iterator();
+        Assertions.assertEquals(records.get(0), iterator.next().getMsg());
+        Assertions.assertEquals(records.get(1), iterator.next().getMsg());
+
+        final List<String> sequential = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessageStream(parsedEvent))
+                .map(SyslogMessage::getMsg)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(records, sequential);
+
+        final List<String> parallel = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessageStream(parsedEvent))
+                .parallel()
+                .map(SyslogMessage::getMsg)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(records, parallel);
+    }
+
+    @Test
+    void envelopeStreamRecordFailures() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(5L));
+        final String json = "[" + syntheticEvents.json(SyntheticType.APP_EVENTS, 0) + ",{\"Type\":\"Unknown\"},"
+                + syntheticEvents.json(SyntheticType.APP_EVENTS, 1) + "]";
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+
+        final CollectingRecordFailures recordFailures = new CollectingRecordFailures();
+        final NLFPlugin collectingPlugin = new NLFPlugin(new FakeSourceable(), recordFailures);
+        final long count = Assertions.assertDoesNotThrow(() -> collectingPlugin.syslogMessageStream(parsedEvent)).count();
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(1, recordFailures.failures().size());
+        Assertions.assertEquals(1, recordFailures.failures().get(0).index());
+
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final Stream<SyslogMessage> stream = Assertions.assertDoesNotThrow(() -> plugin.syslogMessageStream(parsedEvent));
+        final UncheckedPluginException exception = Assertions
+                .assertThrows(UncheckedPluginException.class, stream::count);
+        Assertions
+                .assertEquals(
+                        "java.lang.IllegalArgumentException: Event was not of expected log format or type was not found",
+                        exception.getCause().getMessage()
+                );
+    }
+
+    @Test
+    void singleEventStream() {
+        final String json = Assertions
+                .assertDoesNotThrow(() -> Files.readString(Paths.get("src/test/resources/appinsight.json")));
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final List<SyslogMessage> syslogMessages = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessageStream(parsedEvent))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(1, syslogMessages.size());
+        Assertions.assertEquals(json, syslogMessages.get(0).getMsg());
     }
 
     @Test
@@ -75,4 +75,21 @@ public final class ValidRFC5424AppNameTest {
         final ValidRFC5424AppName appname = new ValidRFC5424AppName("");
         Assertions.assertEquals("-", Assertions.assertDoesNotThrow(appname::appName));
     }
+
+    @Test
+    void testValidAppNameIsReturnedAsIs() {
+        final String valid = "app-name_1.0";
+        Assertions.assertSame(valid, Assertions.assertDoesNotThrow(new ValidRFC5424AppName(valid)::appName));
+    }
+
+    @Test
+    void testFirstInvalidCharacterIsReported() {
+        final PluginException pluginException = Assertions
+                .assertThrows(PluginException.class, new ValidRFC5424AppName("app name\t")::appName);
+        Assertions
+                .assertEquals(
+                        "java.lang.IllegalArgumentException: Appname cannot contain character ' '",
+                        pluginException.getMessage()
+                );
+    }
 }
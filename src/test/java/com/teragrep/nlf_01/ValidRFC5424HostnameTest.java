@@ -193,4 +193,41 @@ public class ValidRFC5424HostnameTest {
         Assertions.assertEquals("-", Assertions.assertDoesNotThrow(hostname::validHostname));
         Assertions.assertEquals("-", hostname.hostnameWithInvalidCharsRemoved());
     }
+
+    @Test
+    void testCleanHostnameIsReturnedAsIs() {
+        final String clean = "md5-0123456789abcdef-resource.name-1";
+        final ValidRFC5424Hostname hostname = new ValidRFC5424Hostname(clean);
+        Assertions.assertSame(clean, Assertions.assertDoesNotThrow(hostname::validHostname));
+        Assertions.assertSame(clean, hostname.hostnameWithInvalidCharsRemoved());
+    }
+
+    @Test
+    void testNonAsciiDigits() {
+        // Character.isDigit() semantics are kept for digits outside ASCII
+        final ValidRFC5424Hostname hostname = new ValidRFC5424Hostname("\u0663a\u0663b");
+        final PluginException pluginException = Assertions.assertThrows(PluginException.class, hostname::validHostname);
+        Assertions
+                .assertEquals(
+                        "java.lang.IllegalArgumentException: Hostname cannot start with character '\u0663'",
+                        pluginException.getMessage()
+                );
+        Assertions.assertEquals("a\u0663b", hostname.hostnameWithInvalidCharsRemoved());
+        Assertions.assertEquals("a\u0663b", Assertions.assertDoesNotThrow(new ValidRFC5424Hostname("a\u0663b")::validHostname));
+    }
+
+    @Test
+    void testSeparatorAtMaxLength() {
+        final String letters = new String(new char[253]).replace('\0', 'b');
+        // the character following the separator used to be appended past the maximum length
+        Assertions
+                .assertEquals(
+                        "a" + letters + "c", new ValidRFC5424Hostname("a" + letters + "-c").hostnameWithInvalidCharsRemoved()
+                );
+        // and the next valid character after a skipped one failed with IndexOutOfBoundsException
+        Assertions
+                .assertEquals(
+                        "a" + letters + "c", new ValidRFC5424Hostname("a" + letters + "-c_d").hostnameWithInvalidCharsRemoved()
+                );
+    }
 }
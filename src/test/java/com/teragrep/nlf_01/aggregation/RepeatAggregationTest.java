@@ -0,0 +1,303 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.aggregation;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.dedup.NoDeduplication;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.throttle.NoThrottle;
+import com.teragrep.nlf_01.types.AppServiceConsoleLogsType;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import com.teragrep.rlo_14.SyslogMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public final class RepeatAggregationTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testRepeatsAreCollapsed() throws IOException {
+        final NLFPlugin plugin = plugin(100);
+
+        final List<SyslogMessage> first = convert(plugin, consoleLog("line", "2020-01-01T00:00:00Z"));
+        Assertions.assertEquals(1, first.size());
+        for (int i = 1; i <= 4; i++) {
+            Assertions.assertEquals(0, convert(plugin, consoleLog("line", "2020-01-01T00:00:0" + i + "Z")).size());
+        }
+        // other lines are not repeats
+        Assertions.assertEquals(1, convert(plugin, consoleLog("other line", "2020-01-01T00:00:05Z")).size());
+        Assertions.assertEquals(Collections.emptyList(), Assertions.assertDoesNotThrow(plugin::expiredMessages));
+
+        clock.addAndGet(WINDOW);
+        final List<SyslogMessage> expired = Assertions.assertDoesNotThrow(plugin::expiredMessages);
+        Assertions.assertEquals(1, expired.size());
+        final Map<String, String> repeated = sdParams(expired.get(0), "repeated@48577");
+        Assertions.assertEquals("4", repeated.get("count"));
+        Assertions.assertEquals("2020-01-01T00:00:01Z", repeated.get("first"));
+        Assertions.assertEquals("2020-01-01T00:00:04Z", repeated.get("last"));
+        Assertions.assertEquals("AppServiceConsoleLogsType", sdParams(expired.get(0), "nlf_01@48577").get("eventType"));
+        // the repeats carry the line only by its hash
+        Assertions.assertEquals(first.get(0).getHostname(), expired.get(0).getHostname());
+        Assertions.assertEquals(first.get(0).getAppName(), expired.get(0).getAppName());
+        Assertions.assertEquals(first.get(0).getSeverity(), expired.get(0).getSeverity());
+        Assertions.assertEquals("", expired.get(0).getMsg());
+        Assertions.assertNotNull(repeated.get("line"));
+
+        // a new window starts after the previous one has ended
+        Assertions.assertEquals(1, convert(plugin, consoleLog("line", "2020-01-01T00:00:20Z")).size());
+        Assertions.assertEquals(Collections.emptyList(), Assertions.assertDoesNotThrow(plugin::expiredMessages));
+    }
+
+    @Test
+    void testExpiredRepeatsAreNotConvertedWithNextEvent() throws IOException {
+        final NLFPlugin plugin = plugin(100);
+
+        convert(plugin, consoleLog("line", "2020-01-01T00:00:00Z"));
+        convert(plugin, consoleLog("line", "2020-01-01T00:00:01Z"));
+        clock.addAndGet(WINDOW);
+
+        final List<SyslogMessage> syslogMessages = convert(plugin, consoleLog("other line", "2020-01-01T00:00:30Z"));
+        Assertions.assertEquals(1, syslogMessages.size());
+        Assertions.assertFalse(syslogMessages.get(0).toRfc5424SyslogMessage().contains("repeated@48577"));
+        Assertions.assertEquals(1, Assertions.assertDoesNotThrow(plugin::expiredMessages).size());
+    }
+
+    @Test
+    void testFlushDeliversEndedWindows() throws IOException {
+        final RepeatAggregation aggregation = new RepeatAggregation(
+                Collections.singletonMap(AppServiceConsoleLogsType.class, "ResultDescription"),
+                WINDOW,
+                100,
+                clock::get
+        );
+        final NLFPlugin plugin = plugin(aggregation);
+        final CollectingRepeatedMessages repeatedMessages = new CollectingRepeatedMessages();
+        final RepeatFlush flush = new RepeatFlush(aggregation, repeatedMessages);
+
+        convert(plugin, consoleLog("line", "2020-01-01T00:00:00Z"));
+        convert(plugin, consoleLog("line", "2020-01-01T00:00:01Z"));
+        convert(plugin, consoleLog("line", "2020-01-01T00:00:02Z"));
+        flush.run();
+        Assertions.assertEquals(Collections.emptyList(), repeatedMessages.drain());
+
+        clock.addAndGet(WINDOW);
+        flush.run();
+        final List<SyslogMessage> flushed = repeatedMessages.drain();
+        Assertions.assertEquals(1, flushed.size());
+        Assertions.assertEquals("2", sdParams(flushed.get(0), "repeated@48577").get("count"));
+        Assertions.assertEquals(Collections.emptyList(), repeatedMessages.failures());
+
+        flush.run();
+        Assertions.assertEquals(Collections.emptyList(), repeatedMessages.drain());
+    }
+
+    @Test
+    void testScheduledFlush() throws IOException, InterruptedException {
+        final RepeatAggregation aggregation = new RepeatAggregation(
+                Collections.singletonMap(AppServiceConsoleLogsType.class, "ResultDescription"),
+                WINDOW,
+                100,
+                clock::get
+        );
+        final NLFPlugin plugin = plugin(aggregation);
+        final CountDownLatch flushed = new CountDownLatch(1);
+        final RepeatedMessages repeatedMessages = new RepeatedMessages() {
+
+            @Override
+            public void repeated(final SyslogMessage syslogMessage) {
+                flushed.countDown();
+            }
+
+            @Override
+            public void failed(final PluginException exception) {
+                Assertions.fail("Repeats were not converted", exception);
+            }
+        };
+
+        convert(plugin, consoleLog("line", "2020-01-01T00:00:00Z"));
+        convert(plugin, consoleLog("line", "2020-01-01T00:00:01Z"));
+        clock.addAndGet(WINDOW);
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            scheduler.scheduleAtFixedRate(new RepeatFlush(aggregation, repeatedMessages), 0, 1, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(flushed.await(10, TimeUnit.SECONDS));
+        }
+        finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBoundedLines() throws IOException {
+        final NLFPlugin plugin = plugin(2);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(i == 0 ? 1 : 0, convert(plugin, consoleLog("a", "2020-01-01T00:00:00Z")).size());
+            Assertions.assertEquals(i == 0 ? 1 : 0, convert(plugin, consoleLog("b", "2020-01-01T00:00:00Z")).size());
+            // does not fit, converted as is
+            Assertions.assertEquals(1, convert(plugin, consoleLog("c", "2020-01-01T00:00:00Z")).size());
+        }
+    }
+
+    @Test
+    void testUnflushedRepeatsCountTowardsBound() throws IOException {
+        final NLFPlugin plugin = plugin(2);
+
+        convert(plugin, consoleLog("a", "2020-01-01T00:00:00Z"));
+        Assertions.assertEquals(0, convert(plugin, consoleLog("a", "2020-01-01T00:00:01Z")).size());
+        clock.addAndGet(WINDOW);
+
+        // the ended window of a is closed without a flush and its repeats take the place of a line
+        Assertions.assertEquals(1, convert(plugin, consoleLog("b", "2020-01-01T00:00:20Z")).size());
+        Assertions.assertEquals(0, convert(plugin, consoleLog("b", "2020-01-01T00:00:21Z")).size());
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(1, convert(plugin, consoleLog("c", "2020-01-01T00:00:22Z")).size());
+        }
+
+        final List<SyslogMessage> expired = Assertions.assertDoesNotThrow(plugin::expiredMessages);
+        Assertions.assertEquals(1, expired.size());
+        Assertions.assertEquals("1", sdParams(expired.get(0), "repeated@48577").get("count"));
+
+        // the flushed repeats free their place
+        Assertions.assertEquals(1, convert(plugin, consoleLog("c", "2020-01-01T00:00:23Z")).size());
+        Assertions.assertEquals(0, convert(plugin, consoleLog("c", "2020-01-01T00:00:24Z")).size());
+    }
+
+    @Test
+    void testOtherTypesAreNotAggregated() throws IOException {
+        final NLFPlugin plugin = plugin(100);
+        final String json = new String(
+                Files.readAllBytes(Paths.get("src/test/resources/appevents.json")),
+                StandardCharsets.UTF_8
+        );
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(1, convert(plugin, json).size());
+        }
+    }
+
+    private NLFPlugin plugin(final int maxKeys) {
+        final Map<Class<? extends EventType>, String> lineKeys = Collections
+                .singletonMap(AppServiceConsoleLogsType.class, "ResultDescription");
+        return plugin(new RepeatAggregation(lineKeys, WINDOW, maxKeys, clock::get));
+    }
+
+    private NLFPlugin plugin(final Aggregation aggregation) {
+        return new NLFPlugin(
+                new FakeSourceable(),
+                new RethrowingRecordFailures(),
+                new EventTypeRegistry(),
+                Collections.emptyList(),
+                new NoDeduplication(),
+                new NoThrottle(),
+                aggregation
+        );
+    }
+
+    private String consoleLog(final String line, final String timeGenerated) throws IOException {
+        return new String(
+                Files.readAllBytes(Paths.get("src/test/resources/appserviceconsolelogs.json")),
+                StandardCharsets.UTF_8
+        )
+                .replace("\"description\"", "\"" + line + "\"")
+                .replace("2020-01-01T01:02:34.5678999Z", timeGenerated);
+    }
+
+    private List<SyslogMessage> convert(final NLFPlugin plugin, final String json) {
+        final ParsedEvent parsedEvent = new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+        return Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent));
+    }
+
+    private Map<String, String> sdParams(final SyslogMessage syslogMessage, final String sdId) {
+        return syslogMessage
+                .getSDElements()
+                .stream()
+                .filter(sdElement -> sdId.equals(sdElement.getSdID()))
+                .map(SDElement::getSdParams)
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(SDParam::getParamName, SDParam::getParamValue));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.arena;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.flow.CollectingConversionFailures;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.rlo_14.SyslogMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public final class ArenaBatchWriterTest {
+
+    // random uuid and the time of conversion
+    private static final Pattern EVENT_ID = Pattern.compile("\\[event_id@48577 [^\\]]*\\]");
+
+    private final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+    private final List<ParsedEvent> batch = new SyntheticEvents(new GeneratorSettings(48L)).corpus(5);
+    private final CollectingConversionFailures failures = new CollectingConversionFailures();
+
+    @Test
+    void testOctetCountedRecords() throws PluginException {
+        final DirectBufferArena arena = new DirectBufferArena();
+        final List<String> expected = new ArrayList<>();
+        for (final ParsedEvent parsedEvent : batch) {
+            for (final SyslogMessage syslogMessage : plugin.syslogMessage(parsedEvent)) {
+                expected.add(EVENT_ID.matcher(syslogMessage.toRfc5424SyslogMessage()).replaceAll(""));
+            }
+        }
+
+        final List<String> actual;
+        try (final ArenaByteSink sink = new ArenaBatchWriter(plugin, arena, 1024, failures).write(batch)) {
+            Assertions.assertTrue(sink.written().isDirect());
+            actual = records(sink.written());
+        }
+
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(0, arena.outstanding());
+        Assertions.assertTrue(failures.failures().isEmpty());
+    }
+
+    @Test
+    void testSteadyStateAllocatesNoBuffers() throws PluginException {
+        final DirectBufferArena arena = new DirectBufferArena();
+        final ArenaBatchWriter writer = new ArenaBatchWriter(plugin, arena, 1024, failures);
+        for (int i = 0; i < 3; i++) {
+            writer.write(batch).close();
+        }
+        final long allocated = arena.allocated();
+
+        for (int i = 0; i < 100; i++) {
+            writer.write(batch).close();
+        }
+
+        Assertions.assertEquals(allocated, arena.allocated());
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testFailedEventIsReportedAndBatchIsWritten() throws PluginException {
+        final DirectBufferArena arena = new DirectBufferArena();
+        final ParsedEvent notJson = new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        "not json",
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+        final List<ParsedEvent> failing = new ArrayList<>(batch);
+        failing.add(2, notJson);
+        final List<String> expected = new ArrayList<>();
+        for (final ParsedEvent parsedEvent : batch) {
+            for (final SyslogMessage syslogMessage : plugin.syslogMessage(parsedEvent)) {
+                expected.add(EVENT_ID.matcher(syslogMessage.toRfc5424SyslogMessage()).replaceAll(""));
+            }
+        }
+
+        final List<String> actual;
+        try (final ArenaByteSink sink = new ArenaBatchWriter(plugin, arena, failures).write(failing)) {
+            actual = records(sink.written());
+        }
+
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(1, failures.failures().size());
+        Assertions.assertSame(notJson, failures.failures().get(0).parsedEvent());
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    private List<String> records(final ByteBuffer written) {
+        final ByteBuffer buffer = written.duplicate();
+        final List<String> records = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            int length = 0;
+            byte b = buffer.get();
+            while (b != ' ') {
+                length = length * 10 + (b - '0');
+                b = buffer.get();
+            }
+            final byte[] record = new byte[length];
+            buffer.get(record);
+            records.add(EVENT_ID.matcher(new String(record, StandardCharsets.UTF_8)).replaceAll(""));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.arena;
+
+import com.teragrep.nlf_01.rfc5424.ArrayByteSink;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class ArenaByteSinkTest {
+
+    private final DirectBufferArena arena = new DirectBufferArena(16, 64, 2);
+
+    @Test
+    void testGrowsToNextSizeClass() {
+        final byte[] bytes = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+        try (final ArenaByteSink sink = new ArenaByteSink(arena)) {
+            sink.write(bytes, 0, 10);
+            sink.write((byte) '-');
+            sink.write(ByteBuffer.wrap(bytes, 10, 26));
+
+            Assertions.assertEquals(37, sink.size());
+            Assertions.assertEquals(1, arena.outstanding());
+            Assertions.assertEquals(64, sink.written().capacity());
+            Assertions.assertEquals("0123456789-abcdefghijklmnopqrstuvwxyz", string(sink.written()));
+        }
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testGrowsBeyondPooledSizes() {
+        final byte[] bytes = new byte[100];
+        bytes[99] = 1;
+        try (final ArenaByteSink sink = new ArenaByteSink(arena)) {
+            sink.write(bytes, 0, bytes.length);
+
+            Assertions.assertEquals(100, sink.size());
+            Assertions.assertEquals(1, sink.written().get(99));
+        }
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testResetAndWriteTo() {
+        try (final ArenaByteSink sink = new ArenaByteSink(arena)) {
+            sink.write(ByteBuffer.wrap("first".getBytes(StandardCharsets.US_ASCII)));
+            sink.reset();
+            sink.write(ByteBuffer.wrap("second".getBytes(StandardCharsets.US_ASCII)));
+
+            final ArrayByteSink copy = new ArrayByteSink();
+            sink.writeTo(copy);
+            Assertions.assertEquals("second", new String(copy.toByteArray(), StandardCharsets.US_ASCII));
+            // the view does not move the position of the sink
+            Assertions.assertEquals(6, sink.size());
+        }
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testTruncate() {
+        try (final ArenaByteSink sink = new ArenaByteSink(arena)) {
+            sink.write(ByteBuffer.wrap("kept-dropped".getBytes(StandardCharsets.US_ASCII)));
+            sink.truncate(4);
+            sink.write((byte) '!');
+
+            Assertions.assertEquals("kept!", string(sink.written()));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> sink.truncate(6));
+        }
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testWrittenIsReadOnly() {
+        try (final ArenaByteSink sink = new ArenaByteSink(arena)) {
+            sink.write((byte) 1);
+
+            Assertions.assertTrue(sink.written().isReadOnly());
+        }
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testClosedSinkCanNotBeUsed() {
+        final ArenaByteSink sink = new ArenaByteSink(arena);
+        sink.close();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> sink.write((byte) 1));
+        Assertions.assertThrows(IllegalStateException.class, sink::close);
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    private String string(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
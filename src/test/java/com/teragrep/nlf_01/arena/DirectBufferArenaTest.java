@@ -0,0 +1,143 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.arena;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+public final class DirectBufferArenaTest {
+
+    private final DirectBufferArena arena = new DirectBufferArena(16, 64, 2);
+
+    @Test
+    void testSizeClasses() {
+        final BufferLease small = arena.acquire(0);
+        final BufferLease medium = arena.acquire(17);
+        final BufferLease large = arena.acquire(64);
+        final BufferLease oversized = arena.acquire(65);
+
+        Assertions.assertEquals(16, small.buffer().capacity());
+        Assertions.assertEquals(32, medium.buffer().capacity());
+        Assertions.assertEquals(64, large.buffer().capacity());
+        Assertions.assertEquals(65, oversized.buffer().capacity());
+        Assertions.assertTrue(small.buffer().isDirect());
+        Assertions.assertEquals(4, arena.outstanding());
+
+        small.release();
+        medium.release();
+        large.release();
+        oversized.release();
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testReleasedBufferIsReused() {
+        final BufferLease first = arena.acquire(20);
+        final ByteBuffer buffer = first.buffer();
+        buffer.put((byte) 1);
+        first.release();
+
+        final BufferLease second = arena.acquire(30);
+        Assertions.assertSame(buffer, second.buffer());
+        // cleared for the next use
+        Assertions.assertEquals(0, second.buffer().position());
+        Assertions.assertEquals(32, second.buffer().limit());
+        Assertions.assertEquals(1, arena.allocated());
+        second.release();
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testOversizedBufferIsNotReused() {
+        arena.acquire(100).release();
+        arena.acquire(100).release();
+
+        Assertions.assertEquals(2, arena.allocated());
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testBuffersPerClass() {
+        final BufferLease first = arena.acquire(16);
+        final BufferLease second = arena.acquire(16);
+        final BufferLease third = arena.acquire(16);
+        first.release();
+        second.release();
+        third.release();
+        Assertions.assertEquals(3, arena.allocated());
+
+        // two of the three were kept
+        final BufferLease fourth = arena.acquire(16);
+        final BufferLease fifth = arena.acquire(16);
+        final BufferLease sixth = arena.acquire(16);
+        Assertions.assertEquals(4, arena.allocated());
+        fourth.release();
+        fifth.release();
+        sixth.release();
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testReleasedLeaseCanNotBeUsed() {
+        final BufferLease lease = arena.acquire(16);
+        lease.release();
+
+        Assertions.assertThrows(IllegalStateException.class, lease::release);
+        Assertions.assertThrows(IllegalStateException.class, lease::buffer);
+        Assertions.assertEquals(0, arena.outstanding());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DirectBufferArena(0, 64, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DirectBufferArena(24, 64, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DirectBufferArena(64, 16, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DirectBufferArena(16, 64, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> arena.acquire(-1));
+    }
+}
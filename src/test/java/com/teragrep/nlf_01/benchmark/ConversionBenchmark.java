@@ -0,0 +1,207 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.benchmark;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.aggregation.NoAggregation;
+import com.teragrep.nlf_01.deadletter.NoDeadLetters;
+import com.teragrep.nlf_01.dedup.NoDeduplication;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.schema.NoSchemaSampler;
+import com.teragrep.nlf_01.stringpool.BoundedStringPool;
+import com.teragrep.nlf_01.stringpool.StringPoolStats;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.nlf_01.synthetic.SyntheticType;
+import com.teragrep.nlf_01.throttle.NoThrottle;
+import com.teragrep.nlf_01.util.MemoizedHostname;
+import com.teragrep.nlf_01.util.RealHostname;
+import com.teragrep.rlo_14.SyslogMessage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Conversion cost of {@link NLFPlugin} as a function of payload size, resource cardinality and metadata depth. Run
+ * {@link #main(String[])} with the test classpath, which adds the GC profiler for the allocation per conversion
+ * ({@code gc.alloc.rate.norm}). Besides the time, the {@link Counters} report the payload characters scanned and the
+ * lookups and hits of the string pool, as totals of each iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({
+            "ADF_ACTIVITY_RUN",
+            "APP_EVENTS",
+            "CONTAINER_LOG_V2",
+            "FLUENT_AUDIT_LOG_EVENTS_CL",
+            "POSTGRESQL",
+            "SQL_SECURITY_AUDIT_EVENTS",
+            "SYSLOG"
+    })
+    public SyntheticType type;
+
+    @Param({
+            "256", "65536", "1048576"
+    })
+    public int messageLength;
+
+    @Param({
+            "1", "1000"
+    })
+    public int resourceCardinality;
+
+    @Param({
+            "1", "16"
+    })
+    public int metadataDepth;
+
+    private BoundedStringPool stringPool;
+    private NLFPlugin plugin;
+    private List<ParsedEvent> events;
+    private int next;
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(ConversionBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build()
+        ).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        stringPool = new BoundedStringPool(8192, 256);
+        plugin = new NLFPlugin(
+                new FakeSourceable(),
+                new RethrowingRecordFailures(),
+                new EventTypeRegistry(),
+                Collections.emptyList(),
+                new NoDeduplication(),
+                new NoThrottle(),
+                new NoAggregation(),
+                new NoDeadLetters(),
+                new NoSchemaSampler(),
+                new MemoizedHostname(new RealHostname("localhost")),
+                stringPool
+        );
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(
+                new GeneratorSettings(1L, messageLength, resourceCardinality, 5, 16, metadataDepth)
+        );
+        events = new ArrayList<>();
+        for (long index = 0; index < 64; index++) {
+            events.add(syntheticEvents.parsedEvent(type, index));
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public void convert(final Counters counters, final Blackhole blackhole) throws PluginException {
+        final ParsedEvent parsedEvent = events.get(next);
+        final List<SyslogMessage> syslogMessages = plugin.syslogMessage(parsedEvent);
+        blackhole.consume(syslogMessages);
+        next = (next + 1) % events.size();
+
+        counters.payloadChars = counters.payloadChars + parsedEvent.asString().length();
+        final StringPoolStats stats = stringPool.stats();
+        counters.poolLookups = stats.lookups() - counters.lookupsBefore;
+        counters.poolHits = stats.hits() - counters.hitsBefore;
+    }
+
+    /**
+     * Totals of an iteration. {@code payloadChars} divided by the operations is the size of the payload each conversion
+     * scans, {@code poolHits} divided by {@code poolLookups} is the hit rate of the string pool.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long payloadChars;
+        public long poolLookups;
+        public long poolHits;
+        private long lookupsBefore;
+        private long hitsBefore;
+
+        @Setup(Level.Iteration)
+        public void reset(final ConversionBenchmark benchmark) {
+            final StringPoolStats stats = benchmark.stringPool.stats();
+            payloadChars = 0;
+            poolLookups = 0;
+            poolHits = 0;
+            lookupsBefore = stats.lookups();
+            hitsBefore = stats.hits();
+        }
+    }
+}
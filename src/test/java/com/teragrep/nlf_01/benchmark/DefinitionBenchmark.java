@@ -0,0 +1,140 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.benchmark;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.definitions.EventTypeDefinition;
+import com.teragrep.nlf_01.definitions.EventTypeDefinitions;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.registry.ServiceLoadedEventTypeFactories;
+import com.teragrep.nlf_01.rfc5424.ArrayByteSink;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converts the synthetic events of the built-in types that are written as definitions in
+ * {@code src/test/resources/definitions.json}, either with the hand-written types or with the compiled definitions
+ * only. Run with {@code java -cp <test classpath> org.openjdk.jmh.Main DefinitionBenchmark -prof gc} and compare the
+ * average time and {@code gc.alloc.rate.norm} of the two.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefinitionBenchmark {
+
+    @Param({
+            "handwritten", "definitions"
+    })
+    public String types;
+
+    private NLFPlugin plugin;
+    private List<ParsedEvent> events;
+    private ArrayByteSink sink;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws PluginException {
+        final List<EventTypeDefinition> definitions = new EventTypeDefinitions("classpath:definitions.json")
+                .definitions();
+        if ("definitions".equals(types)) {
+            plugin = new NLFPlugin(
+                    new FakeSourceable(),
+                    new RethrowingRecordFailures(),
+                    new EventTypeRegistry(Collections.emptyList()),
+                    definitions
+            );
+        }
+        else {
+            plugin = new NLFPlugin(
+                    new FakeSourceable(),
+                    new RethrowingRecordFailures(),
+                    new EventTypeRegistry(new ServiceLoadedEventTypeFactories().factories()),
+                    Collections.emptyList()
+            );
+        }
+        events = new ArrayList<>();
+        for (final ParsedEvent event : new SyntheticEvents(new GeneratorSettings(1L)).corpus(16)) {
+            for (final EventTypeDefinition definition : definitions) {
+                if (definition.matches(event.asJsonStructure().asJsonObject())) {
+                    events.add(event);
+                }
+            }
+        }
+        sink = new ArrayByteSink(64 * 1024);
+        next = 0;
+    }
+
+    @Benchmark
+    public int convert() throws PluginException {
+        sink.reset();
+        plugin.rfc5424(events.get(next), sink);
+        next = (next + 1) % events.size();
+        return sink.size();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.benchmark;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.Plugin;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPluginFactory;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Time to steady-state conversion throughput in a fresh JVM, with and without the warm-up of
+ * {@link NLFPluginFactory}. Each iteration of {@code convert} is a batch of events converted in order, so the
+ * per-iteration scores show how long the conversion stays slower than in the last iterations. {@code createPlugin}
+ * measures the cost of the warm-up itself. Run with
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main StartupBenchmark -rff startup.csv} and compare the iterations.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Fork(5)
+public class StartupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Configuration {
+
+        @Param({
+                "0", "20"
+        })
+        public String warmupIterations;
+
+        private Map<String, String> config;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            config = new HashMap<>();
+            config.put("containerlog.hostname.annotation", "hostname-annotation");
+            config.put("containerlog.appname.annotation", "appname-annotation");
+            config.put("syslogtype.processname", "Soft-Ware");
+            config.put("component.name", "aer");
+            config.put("warmup.iterations", warmupIterations);
+        }
+
+        public Plugin plugin() {
+            return new NLFPluginFactory(new ConfigurableSourceable(config)).plugin("");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Conversion {
+
+        private Plugin plugin;
+        private List<ParsedEvent> events;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup(final Configuration configuration) {
+            // not the seed of the warm-up corpus
+            events = new SyntheticEvents(new GeneratorSettings(2L)).corpus(64);
+            plugin = configuration.plugin();
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    @Measurement(iterations = 30, batchSize = 1000)
+    public void convert(final Conversion conversion, final Blackhole blackhole) throws PluginException {
+        blackhole.consume(conversion.plugin.syslogMessage(conversion.events.get(conversion.next)));
+        conversion.next = (conversion.next + 1) % conversion.events.size();
+    }
+
+    @Benchmark
+    @Measurement(iterations = 1, batchSize = 1)
+    public Plugin createPlugin(final Configuration configuration) {
+        return configuration.plugin();
+    }
+}
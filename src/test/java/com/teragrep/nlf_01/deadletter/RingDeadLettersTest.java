@@ -0,0 +1,281 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.deadletter;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.aggregation.NoAggregation;
+import com.teragrep.nlf_01.dedup.NoDeduplication;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.CollectingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.throttle.NoThrottle;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public final class RingDeadLettersTest {
+
+    @Test
+    void testOldestAreOverwritten() {
+        final RingDeadLetters deadLetters = new RingDeadLetters(3, 1024, 10);
+        for (int i = 0; i < 5; i++) {
+            deadLetters.failed(parsedEvent("{\"Type\":\"A\",\"n\":" + i + "}"), new PluginException("failed " + i));
+        }
+        deadLetters.failed(parsedEvent("{\"category\":\"B\"}"), new PluginException("failed"));
+
+        final Map<String, List<DeadLetter>> snapshot = deadLetters.snapshot();
+        Assertions.assertEquals(Arrays.asList("Type=A", "category=B"), new ArrayList<>(snapshot.keySet()));
+        Assertions
+                .assertEquals(
+                        Arrays
+                                .asList(
+                                        new DeadLetter("Type=A", "", "{\"Type\":\"A\",\"n\":2}", "failed 2"),
+                                        new DeadLetter("Type=A", "", "{\"Type\":\"A\",\"n\":3}", "failed 3"),
+                                        new DeadLetter("Type=A", "", "{\"Type\":\"A\",\"n\":4}", "failed 4")
+                                ),
+                        snapshot.get("Type=A")
+                );
+        Assertions
+                .assertEquals(
+                        Collections.singletonList(new DeadLetter("category=B", "", "{\"category\":\"B\"}", "failed")),
+                        snapshot.get("category=B")
+                );
+    }
+
+    @Test
+    void testPayloadIsTruncated() {
+        final RingDeadLetters deadLetters = new RingDeadLetters(1, 4, 10);
+        deadLetters.failed(parsedEvent("not json"), new PluginException("failed"));
+        deadLetters.failed(parsedEvent("abc😀"), new PluginException("failed"));
+
+        Assertions
+                .assertEquals(
+                        Collections.singletonList(new DeadLetter(RingDeadLetters.UNKNOWN_KEY, "", "abc", "failed")),
+                        deadLetters.snapshot().get(RingDeadLetters.UNKNOWN_KEY)
+                );
+    }
+
+    @Test
+    void testTypesAreBounded() {
+        final RingDeadLetters deadLetters = new RingDeadLetters(10, 1024, 2);
+        deadLetters.failed(parsedEvent("{\"Type\":\"A\"}"), new PluginException("failed"));
+        deadLetters.failed(parsedEvent("{\"Type\":\"B\"}"), new PluginException("failed"));
+        deadLetters.failed(parsedEvent("{\"Type\":\"C\"}"), new PluginException("failed"));
+        deadLetters.failed(parsedEvent("{\"Type\":\"A\"}"), new PluginException("failed"));
+
+        final Map<String, List<DeadLetter>> snapshot = deadLetters.snapshot();
+        Assertions.assertEquals(Arrays.asList("*", "Type=A", "Type=B"), new ArrayList<>(snapshot.keySet()));
+        Assertions.assertEquals(2, snapshot.get("Type=A").size());
+        Assertions
+                .assertEquals(
+                        Collections.singletonList(new DeadLetter("Type=C", "", "{\"Type\":\"C\"}", "failed")),
+                        snapshot.get(RingDeadLetters.OVERFLOW_KEY)
+                );
+    }
+
+    @Test
+    void testConcurrentWritersAndSnapshots() throws Exception {
+        final int threads = 4;
+        final int perThread = 10000;
+        final DeadLetterRing ring = new DeadLetterRing(64);
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads + 1);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final String key = String.valueOf(thread);
+                writers.add(executorService.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ring.add(new DeadLetter(key, "", String.valueOf(i), "failed"));
+                    }
+                    return null;
+                }));
+            }
+            final Future<?> reader = executorService.submit(() -> {
+                start.await();
+                while (ring.added() < (long) threads * perThread) {
+                    final List<DeadLetter> snapshot = ring.snapshot();
+                    Assertions.assertTrue(snapshot.size() <= 64);
+                    assertOrderedPerWriter(snapshot);
+                }
+                return null;
+            });
+            start.countDown();
+            for (final Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            reader.get(30, TimeUnit.SECONDS);
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+
+        Assertions.assertEquals((long) threads * perThread, ring.added());
+        Assertions.assertEquals(64, ring.snapshot().size());
+    }
+
+    @Test
+    void testPluginFailures() throws IOException {
+        final RingDeadLetters deadLetters = new RingDeadLetters(10, 1024, 10);
+        final CollectingRecordFailures recordFailures = new CollectingRecordFailures();
+        final NLFPlugin plugin = new NLFPlugin(
+                new FakeSourceable(),
+                recordFailures,
+                new EventTypeRegistry(),
+                Collections.emptyList(),
+                new NoDeduplication(),
+                new NoThrottle(),
+                new NoAggregation(),
+                deadLetters
+        );
+        final String valid = new String(
+                Files.readAllBytes(Paths.get("src/test/resources/appserviceconsolelogs.json")),
+                StandardCharsets.UTF_8
+        );
+        final String invalid = valid.replace("\"_ResourceId\"", "\"_MissingResourceId\"");
+
+        Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(valid)));
+        Assertions.assertTrue(deadLetters.snapshot().isEmpty());
+
+        final PluginException pluginException = Assertions
+                .assertThrows(PluginException.class, () -> plugin.syslogMessage(parsedEvent(invalid)));
+        Assertions
+                .assertEquals(
+                        Collections
+                                .singletonList(
+                                        new DeadLetter(
+                                                "Type=AppServiceConsoleLogs",
+                                                "_ResourceId",
+                                                invalid,
+                                                pluginException.getMessage()
+                                        )
+                                ),
+                        deadLetters.snapshot().get("Type=AppServiceConsoleLogs")
+                );
+
+        Assertions
+                .assertEquals(
+                        1,
+                        Assertions
+                                .assertDoesNotThrow(
+                                        () -> plugin.syslogMessage(parsedEvent("[" + valid + "," + invalid + "]"))
+                                )
+                                .size()
+                );
+        Assertions.assertEquals(1, recordFailures.failures().size());
+        Assertions.assertEquals(2, deadLetters.snapshot().get("Type=AppServiceConsoleLogs").size());
+    }
+
+    @Test
+    void testFailedKeyIsRecorded() {
+        final RingDeadLetters deadLetters = new RingDeadLetters(10, 1024, 10);
+        deadLetters
+                .failed(
+                        parsedEvent("{\"Type\":\"A\"}"),
+                        new PluginException(new PluginException("Key <[_ResourceId]> was not valid"))
+                );
+        deadLetters.failed(parsedEvent("{\"Type\":\"A\"}"), new PluginException("failed"));
+
+        final List<DeadLetter> snapshot = deadLetters.snapshot().get("Type=A");
+        Assertions.assertEquals("_ResourceId", snapshot.get(0).key());
+        Assertions.assertEquals("", snapshot.get(1).key());
+    }
+
+    @Test
+    void testEqualsContract() {
+        EqualsVerifier.forClass(DeadLetter.class).verify();
+    }
+
+    private void assertOrderedPerWriter(final List<DeadLetter> snapshot) {
+        final int[] last = {
+                -1, -1, -1, -1
+        };
+        for (final DeadLetter deadLetter : snapshot) {
+            final int writer = Integer.parseInt(deadLetter.type());
+            final int value = Integer.parseInt(deadLetter.payload());
+            Assertions.assertTrue(value > last[writer]);
+            last[writer] = value;
+        }
+    }
+
+    private ParsedEvent parsedEvent(final String payload) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        payload,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+}
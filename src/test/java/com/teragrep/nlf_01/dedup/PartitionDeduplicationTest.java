@@ -0,0 +1,217 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.dedup;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContextImpl;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContextStub;
+import com.teragrep.akv_01.event.metadata.properties.EventPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.rlo_14.SyslogMessage;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class PartitionDeduplicationTest {
+
+    @Test
+    void testPartitionsAreSeparate() {
+        final PartitionDeduplication deduplication = new PartitionDeduplication(1024);
+
+        Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "0", "1")));
+        Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "1", "1")));
+        Assertions.assertTrue(delivered(deduplication, parsedEvent("{}", "0", "1")));
+        Assertions.assertTrue(delivered(deduplication, parsedEvent("{}", "1", "1")));
+        Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "0", "2")));
+        Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "0", "2000")));
+        Assertions.assertTrue(delivered(deduplication, parsedEvent("{}", "0", "2000")));
+
+        Assertions.assertEquals(3, deduplication.suppressed());
+        Assertions.assertEquals(0, deduplication.expired());
+        Assertions.assertEquals(2, deduplication.partitions());
+    }
+
+    @Test
+    void testExpiredEventsAreConvertedAndCounted() {
+        final PartitionDeduplication deduplication = new PartitionDeduplication(1024);
+
+        Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "0", "2000")));
+        Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "0", "3")));
+        Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "0", "3")));
+        Assertions.assertTrue(delivered(deduplication, parsedEvent("{}", "0", "2000")));
+
+        Assertions.assertEquals(1, deduplication.suppressed());
+        Assertions.assertEquals(2, deduplication.expired());
+    }
+
+    @Test
+    void testPartitionKeyEquals() {
+        EqualsVerifier.forClass(PartitionKey.class).verify();
+    }
+
+    @Test
+    void testEventsWithoutSequenceNumberAreNotSuppressed() {
+        final PartitionDeduplication deduplication = new PartitionDeduplication(1024);
+        final ParsedEvent stubPartition = new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        "{}",
+                        new EventPartitionContextStub(),
+                        new EventPropertiesImpl(new HashMap<>()),
+                        new EventSystemPropertiesImpl(Collections.singletonMap("SequenceNumber", "1")),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertFalse(delivered(deduplication, stubPartition));
+            Assertions.assertFalse(delivered(deduplication, parsedEvent("{}", "0", "not-a-number")));
+        }
+        Assertions.assertEquals(0, deduplication.suppressed());
+    }
+
+    @Test
+    void testPluginSkipsDuplicates() throws IOException {
+        final String json = new String(Files.readAllBytes(Paths.get("src/test/resources/appevents.json")));
+        final PartitionDeduplication deduplication = new PartitionDeduplication(1024);
+        final NLFPlugin plugin = new NLFPlugin(
+                new FakeSourceable(),
+                new RethrowingRecordFailures(),
+                new EventTypeRegistry(),
+                Collections.emptyList(),
+                deduplication
+        );
+
+        final List<SyslogMessage> first = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(json, "0", "10")));
+        final List<SyslogMessage> redelivered = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(json, "0", "10")));
+        final long redeliveredStream = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessageStream(parsedEvent(json, "0", "10")).count());
+
+        Assertions.assertEquals(1, first.size());
+        Assertions.assertEquals(0, redelivered.size());
+        Assertions.assertEquals(0, redeliveredStream);
+        Assertions.assertEquals(2, deduplication.suppressed());
+    }
+
+    @Test
+    void testOnlyConvertedEventsAreRecorded() {
+        final PartitionDeduplication deduplication = new PartitionDeduplication(1024);
+
+        Assertions.assertFalse(deduplication.isDuplicate(parsedEvent("{}", "0", "1")));
+        Assertions.assertFalse(deduplication.isDuplicate(parsedEvent("{}", "0", "1")));
+        deduplication.converted(parsedEvent("{}", "0", "1"));
+        Assertions.assertTrue(deduplication.isDuplicate(parsedEvent("{}", "0", "1")));
+
+        Assertions.assertEquals(1, deduplication.suppressed());
+    }
+
+    @Test
+    void testPluginConvertsRedeliveryOfFailedEvent() throws IOException {
+        final String json = new String(Files.readAllBytes(Paths.get("src/test/resources/appevents.json")));
+        final PartitionDeduplication deduplication = new PartitionDeduplication(1024);
+        final NLFPlugin plugin = new NLFPlugin(
+                new FakeSourceable(),
+                new RethrowingRecordFailures(),
+                new EventTypeRegistry(),
+                Collections.emptyList(),
+                deduplication
+        );
+
+        Assertions.assertThrows(PluginException.class, () -> plugin.syslogMessage(parsedEvent("[]", "0", "10")));
+        final List<SyslogMessage> redelivered = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(json, "0", "10")));
+
+        Assertions.assertEquals(1, redelivered.size());
+        Assertions.assertEquals(0, deduplication.suppressed());
+    }
+
+    private boolean delivered(final Deduplication deduplication, final ParsedEvent parsedEvent) {
+        final boolean isDuplicate = deduplication.isDuplicate(parsedEvent);
+        if (!isDuplicate) {
+            deduplication.converted(parsedEvent);
+        }
+        return isDuplicate;
+    }
+
+    private ParsedEvent parsedEvent(final String json, final String partitionId, final String sequenceNumber) {
+        final Map<String, Object> partitionContext = new HashMap<>();
+        partitionContext.put("FullyQualifiedNamespace", "namespace");
+        partitionContext.put("EventHubName", "eventhub");
+        partitionContext.put("ConsumerGroup", "group");
+        partitionContext.put("PartitionId", partitionId);
+        final Map<String, Object> systemProperties = new HashMap<>();
+        systemProperties.put("SequenceNumber", sequenceNumber);
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextImpl(partitionContext),
+                        new EventPropertiesImpl(new HashMap<>()),
+                        new EventSystemPropertiesImpl(systemProperties),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+}
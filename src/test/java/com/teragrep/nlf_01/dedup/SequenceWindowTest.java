@@ -0,0 +1,140 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.dedup;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public final class SequenceWindowTest {
+
+    @Test
+    void testInOrder() {
+        final SequenceWindow window = new SequenceWindow(64);
+        for (long i = 0; i < 1000; i++) {
+            Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(i));
+            Assertions.assertEquals(SequenceWindow.Seen.DUPLICATE, window.seen(i));
+        }
+    }
+
+    @Test
+    void testCheckDoesNotMark() {
+        final SequenceWindow window = new SequenceWindow(64);
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.check(100));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.check(100));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(100));
+        Assertions.assertEquals(SequenceWindow.Seen.DUPLICATE, window.check(100));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.check(99));
+        Assertions.assertEquals(SequenceWindow.Seen.EXPIRED, window.check(36));
+    }
+
+    @Test
+    void testOutOfOrderWithinWindow() {
+        final SequenceWindow window = new SequenceWindow(64);
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(100));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(90));
+        Assertions.assertEquals(SequenceWindow.Seen.DUPLICATE, window.seen(90));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(37));
+        Assertions.assertEquals(SequenceWindow.Seen.EXPIRED, window.seen(36));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(101));
+        Assertions.assertEquals(SequenceWindow.Seen.EXPIRED, window.seen(37));
+        Assertions.assertEquals(SequenceWindow.Seen.DUPLICATE, window.seen(90));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(91));
+    }
+
+    @Test
+    void testJumpClearsWindow() {
+        final SequenceWindow window = new SequenceWindow(64);
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(0));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(64));
+        // 64 and 0 share the same bit
+        Assertions.assertEquals(SequenceWindow.Seen.EXPIRED, window.seen(0));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(1000));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(999));
+        Assertions.assertEquals(SequenceWindow.Seen.NEW, window.seen(1064 - 1));
+        Assertions.assertEquals(SequenceWindow.Seen.EXPIRED, window.seen(999));
+        Assertions.assertEquals(SequenceWindow.Seen.DUPLICATE, window.seen(1000));
+    }
+
+    @Test
+    void testShuffledRedeliveries() {
+        final int windowSize = 256;
+        final SequenceWindow window = new SequenceWindow(windowSize);
+        final Random random = new Random(42);
+        final Set<Long> seen = new HashSet<>();
+        long highest = -1;
+        for (long start = 0; start < 10000; start += 100) {
+            final List<Long> batch = new ArrayList<>();
+            // every batch redelivers the previous one
+            for (long i = Math.max(0, start - 100); i < start + 100; i++) {
+                batch.add(i);
+            }
+            Collections.shuffle(batch, random);
+            for (final long sequenceNumber : batch) {
+                final SequenceWindow.Seen expected;
+                if (highest - sequenceNumber >= windowSize) {
+                    expected = SequenceWindow.Seen.EXPIRED;
+                }
+                else if (seen.contains(sequenceNumber)) {
+                    expected = SequenceWindow.Seen.DUPLICATE;
+                }
+                else {
+                    expected = SequenceWindow.Seen.NEW;
+                }
+                Assertions.assertEquals(expected, window.seen(sequenceNumber), "sequence number " + sequenceNumber);
+                seen.add(sequenceNumber);
+                highest = Math.max(highest, sequenceNumber);
+            }
+        }
+        Assertions.assertEquals(10000, seen.size());
+    }
+}
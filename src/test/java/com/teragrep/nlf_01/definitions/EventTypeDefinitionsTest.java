@@ -0,0 +1,297 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.definitions;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.NLFPluginFactory;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.nlf_01.types.*;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import com.teragrep.rlo_14.SyslogMessage;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class EventTypeDefinitionsTest {
+
+    // the built-in types that can be written as definitions, the README lists why the others can not
+    private final Map<String, Function<ParsedEvent, EventType>> handWritten = Map
+            .ofEntries(
+                    Map.entry("ADFActivityRunType", e -> new ADFActivityRunType(e, "localhost", "aer")),
+                    Map.entry("ADFPipelineRunType", e -> new ADFPipelineRunType(e, "localhost", "aer")),
+                    Map.entry("AppEventsType", e -> new AppEventsType(e, "localhost", "aer")),
+                    Map.entry("AppServiceConsoleLogsType", e -> new AppServiceConsoleLogsType(e, "localhost", "aer")),
+                    Map.entry("AppInsightType", e -> new AppInsightType(e, "localhost", "aer")),
+                    Map.entry("DataverseActivityType", e -> new DataverseActivityType(e, "localhost", "aer")),
+                    Map.entry("WindowsEventType", e -> new WindowsEventType(e, "localhost", "aer")),
+                    Map.entry("FunctionAppLogsType", e -> new FunctionAppLogsType(e, "localhost", "aer")),
+                    Map
+                            .entry(
+                                    "LogicAppWorkflowRuntimeType",
+                                    e -> new LogicAppWorkflowRuntimeType(e, "localhost", "aer")
+                            ),
+                    Map.entry("PowerAutomateActivityType", e -> new PowerAutomateActivityType(e, "localhost", "aer")),
+                    Map
+                            .entry(
+                                    "PowerPlatformAdminActivityType",
+                                    e -> new PowerPlatformAdminActivityType(e, "localhost", "aer")
+                            ),
+                    Map.entry("CCType", e -> new CCType(e, "localhost", "aer")),
+                    Map.entry("PostgreSQLType", e -> new PostgreSQLType(e, "localhost", "aer")),
+                    Map.entry("PGSQLServerLogsType", e -> new PGSQLServerLogsType(e, "localhost", "aer"))
+            );
+
+    @Test
+    void testDefinitionsMatchHandWrittenTypes() throws IOException {
+        final List<EventTypeDefinition> definitions = Assertions
+                .assertDoesNotThrow(new EventTypeDefinitions("classpath:definitions.json")::definitions);
+        Assertions.assertEquals(handWritten.size(), definitions.size());
+
+        final List<ParsedEvent> events = new ArrayList<>(
+                new SyntheticEvents(new GeneratorSettings(1L, 128, 8, 10, 2, 1)).corpus(20)
+        );
+        try (final Stream<Path> files = Files.list(Paths.get("src/test/resources"))) {
+            for (final Path file : files.filter(f -> f.toString().endsWith(".json")).collect(Collectors.toList())) {
+                events.add(parsedEvent(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+            }
+        }
+
+        int compared = 0;
+        for (final ParsedEvent event : events) {
+            if (!event.isJsonStructure() || !(event.asJsonStructure() instanceof JsonObject)) {
+                continue;
+            }
+            for (final EventTypeDefinition definition : definitions) {
+                if (definition.matches(event.asJsonStructure().asJsonObject())) {
+                    assertSameOutput(
+                            handWritten.get(definition.name()).apply(event),
+                            definition.eventType(event, "localhost", "aer")
+                    );
+                    compared++;
+                }
+            }
+        }
+        Assertions.assertTrue(compared > 200, "compared " + compared);
+    }
+
+    @Test
+    void testPluginUsesDefinitionsForUnknownTypes(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("definitions.json");
+        Files
+                .write(
+                        file,
+                        ("{\"definitions\":[{\"name\":\"CustomType\","
+                                + "\"match\":{\"key\":\"Type\",\"equals\":\"Custom\"},"
+                                + "\"severity\":\"WARNING\",\"facility\":\"USER\","
+                                + "\"hostname\":{\"key\":[\"meta\",\"host\"]},"
+                                + "\"appName\":{\"key\":\"_ResourceId\",\"resource\":\"resourceGroupName\"},"
+                                + "\"timestamp\":{\"key\":\"TimeGenerated\"},"
+                                + "\"sdElements\":[{\"id\":\"origin@48577\",\"params\":[{\"name\":\"subscription\","
+                                + "\"key\":\"_ResourceId\",\"resource\":\"subscriptionId\"}]}]}]}"
+                        ).getBytes(StandardCharsets.UTF_8)
+                );
+        final Map<String, String> config = new HashMap<>();
+        config.put("definitions.location", file.toString());
+        config.put("containerlog.hostname.annotation", "hostname-annotation");
+        config.put("containerlog.appname.annotation", "appname-annotation");
+        config.put("syslogtype.processname", "Soft-Ware");
+        config.put("component.name", "aer");
+        final NLFPlugin plugin = (NLFPlugin) new NLFPluginFactory(new ConfigurableSourceable(config)).plugin("");
+
+        final List<SyslogMessage> messages = Assertions
+                .assertDoesNotThrow(
+                        () -> plugin
+                                .syslogMessage(
+                                        parsedEvent(
+                                                "{\"Type\":\"Custom\",\"meta\":{\"host\":\"custom-host\"},"
+                                                        + "\"_ResourceId\":\"/subscriptions/sub/resourceGroups/group"
+                                                        + "/providers/ns/type/name\","
+                                                        + "\"TimeGenerated\":\"2025-10-06T00:00:00.000Z\"}"
+                                        )
+                                )
+                );
+
+        Assertions.assertEquals(1, messages.size());
+        final String rfc5424 = messages.get(0).toRfc5424SyslogMessage();
+        Assertions.assertTrue(rfc5424.startsWith("<12>1 2025-10-06T00:00:00Z custom-host group - "), rfc5424);
+        Assertions.assertTrue(rfc5424.contains("[origin@48577 subscription=\"sub\"]"), rfc5424);
+        Assertions.assertTrue(rfc5424.contains("eventType=\"CustomType\""), rfc5424);
+    }
+
+    @Test
+    void testInvalidDefinition(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("definitions.json");
+        Files
+                .write(
+                        file,
+                        ("{\"definitions\":[{\"name\":\"T\",\"match\":{\"key\":\"Type\"},\"hostname\":{\"key\":\"h\"},"
+                                + "\"appName\":{\"key\":\"a\"},\"timestamp\":{\"key\":\"t\"}}]}"
+                        ).getBytes(StandardCharsets.UTF_8)
+                );
+
+        final PluginException exception = Assertions
+                .assertThrows(PluginException.class, new EventTypeDefinitions(file.toString())::definitions);
+        Assertions.assertEquals("Invalid event type definition at index 0 in " + file, exception.getMessage());
+        Assertions
+                .assertEquals(
+                        "java.lang.IllegalArgumentException: Match must have either equals or endsWith",
+                        exception.getCause().getMessage()
+                );
+    }
+
+    @Test
+    void testMissingDefinitions() {
+        final PluginException exception = Assertions
+                .assertThrows(
+                        PluginException.class, new EventTypeDefinitions("classpath:does-not-exist.json")::definitions
+                );
+        Assertions
+                .assertEquals(
+                        "Could not read event type definitions from classpath:does-not-exist.json",
+                        exception.getMessage()
+                );
+
+        final Map<String, String> config = new HashMap<>();
+        config.put("definitions.location", "classpath:does-not-exist.json");
+        final IllegalArgumentException factoryException = Assertions
+                .assertThrows(
+                        IllegalArgumentException.class, () -> new NLFPluginFactory(new ConfigurableSourceable(config))
+                );
+        Assertions
+                .assertEquals(
+                        "Invalid definitions.location <[classpath:does-not-exist.json]>",
+                        factoryException.getMessage()
+                );
+    }
+
+    private ParsedEvent parsedEvent(final String json) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+
+    private void assertSameOutput(final EventType expected, final EventType actual) {
+        Assertions.assertEquals(outcome(expected::severity), outcome(actual::severity));
+        Assertions.assertEquals(outcome(expected::facility), outcome(actual::facility));
+        Assertions.assertEquals(outcome(expected::hostname), outcome(actual::hostname));
+        Assertions.assertEquals(outcome(expected::appName), outcome(actual::appName));
+        Assertions.assertEquals(outcome(expected::timestamp), outcome(actual::timestamp));
+        Assertions.assertEquals(outcome(expected::msgId), outcome(actual::msgId));
+        Assertions.assertEquals(outcome(expected::msg), outcome(actual::msg));
+        Assertions.assertEquals(outcome(() -> sdParams(expected)), outcome(() -> sdParams(actual)));
+    }
+
+    private Map<String, Map<String, String>> sdParams(final EventType eventType) throws PluginException {
+        final Set<SDElement> sdElements = eventType.sdElements();
+        return sdElements
+                .stream()
+                // event_id@48577 contains a random uuid and the current time
+                .filter(sdElement -> !"event_id@48577".equals(sdElement.getSdID()))
+                .collect(
+                        Collectors
+                                .toMap(
+                                        SDElement::getSdID,
+                                        sdElement -> sdElement
+                                                .getSdParams()
+                                                .stream()
+                                                .collect(
+                                                        Collectors.toMap(SDParam::getParamName, SDParam::getParamValue)
+                                                )
+                                )
+                );
+    }
+
+    private Object outcome(final Value<?> value) {
+        Object outcome;
+        try {
+            outcome = value.value();
+        }
+        catch (final PluginException pluginException) {
+            outcome = pluginException.toString();
+        }
+        return outcome;
+    }
+
+    @FunctionalInterface
+    private static interface Value<T> {
+
+        public abstract T value() throws PluginException;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.fakes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records the signals it receives and requests only when told to.
+ */
+public final class SubscriberFake<T> implements Flow.Subscriber<T> {
+
+    private final AtomicReference<Flow.Subscription> subscription;
+    private final ConcurrentLinkedQueue<T> items;
+    private final AtomicReference<Throwable> error;
+    private final AtomicBoolean completed;
+    private final CountDownLatch terminated;
+
+    public SubscriberFake() {
+        this(
+                new AtomicReference<>(),
+                new ConcurrentLinkedQueue<>(),
+                new AtomicReference<>(),
+                new AtomicBoolean(),
+                new CountDownLatch(1)
+        );
+    }
+
+    public SubscriberFake(
+            final AtomicReference<Flow.Subscription> subscription,
+            final ConcurrentLinkedQueue<T> items,
+            final AtomicReference<Throwable> error,
+            final AtomicBoolean completed,
+            final CountDownLatch terminated
+    ) {
+        this.subscription = subscription;
+        this.items = items;
+        this.error = error;
+        this.completed = completed;
+        this.terminated = terminated;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        this.subscription.set(subscription);
+    }
+
+    @Override
+    public void onNext(final T item) {
+        items.add(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        error.set(throwable);
+        terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        completed.set(true);
+        terminated.countDown();
+    }
+
+    public void request(final long n) {
+        subscription.get().request(n);
+    }
+
+    public void cancel() {
+        subscription.get().cancel();
+    }
+
+    public List<T> items() {
+        return new ArrayList<>(items);
+    }
+
+    public Throwable error() {
+        return error.get();
+    }
+
+    public boolean isCompleted() {
+        return completed.get();
+    }
+
+    public boolean awaitTermination(final long seconds) throws InterruptedException {
+        return terminated.await(seconds, TimeUnit.SECONDS);
+    }
+}
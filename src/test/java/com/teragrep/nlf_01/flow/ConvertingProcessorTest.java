@@ -0,0 +1,431 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.flow;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.ExecutorFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.fakes.SubscriberFake;
+import com.teragrep.nlf_01.fakes.SubscriptionFake;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.rlo_14.SyslogMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.regex.Pattern;
+
+public final class ConvertingProcessorTest {
+
+    // random uuid and the time of conversion
+    private static final Pattern EVENT_ID = Pattern.compile("\\[event_id@48577 [^\\]]*\\]");
+
+    @Test
+    void testConvertsConcurrentlyInOrder() throws Exception {
+        final List<ParsedEvent> events = new ArrayList<>(new SyntheticEvents(new GeneratorSettings(50L)).corpus(10));
+        final ParsedEvent invalid = invalidEvent();
+        events.add(events.size() / 2, invalid);
+        final List<String> expected = strings(new NLFPlugin(new FakeSourceable()), events);
+
+        final CollectingConversionFailures failures = new CollectingConversionFailures();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try (final SubmissionPublisher<ParsedEvent> publisher = new SubmissionPublisher<>()) {
+            final ConvertingProcessor processor = new ConvertingProcessor(
+                    new NLFPlugin(new FakeSourceable()),
+                    executorService,
+                    16,
+                    failures
+            );
+            publisher.subscribe(processor);
+            processor.subscribe(subscriber);
+            subscriber.request(Long.MAX_VALUE);
+            for (final ParsedEvent parsedEvent : events) {
+                publisher.submit(parsedEvent);
+            }
+        }
+        finally {
+            Assertions.assertTrue(subscriber.awaitTermination(60));
+            executorService.shutdown();
+        }
+
+        Assertions.assertTrue(subscriber.isCompleted());
+        Assertions.assertEquals(expected, strings(subscriber.items()));
+        Assertions.assertEquals(1, failures.failures().size());
+        Assertions.assertSame(invalid, failures.failures().get(0).parsedEvent());
+    }
+
+    @Test
+    void testHonoursDemand() throws PluginException {
+        final NLFPlugin reference = new NLFPlugin(new FakeSourceable());
+        final List<ParsedEvent> events = new ArrayList<>();
+        for (final ParsedEvent parsedEvent : new SyntheticEvents(new GeneratorSettings(50L)).corpus(1)) {
+            if (events.size() < 4 && reference.syslogMessage(parsedEvent).size() == 1) {
+                events.add(parsedEvent);
+            }
+        }
+        final SubscriptionFake upstream = new SubscriptionFake();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                Runnable::run,
+                4,
+                new CollectingConversionFailures()
+        );
+        processor.onSubscribe(upstream);
+        processor.subscribe(subscriber);
+        Assertions.assertEquals(4, upstream.requested());
+
+        for (final ParsedEvent parsedEvent : events) {
+            processor.onNext(parsedEvent);
+        }
+        Assertions.assertEquals(0, subscriber.items().size());
+        Assertions.assertEquals(4, upstream.requested());
+
+        subscriber.request(1);
+        Assertions.assertEquals(1, subscriber.items().size());
+        Assertions.assertEquals(5, upstream.requested());
+
+        subscriber.request(2);
+        Assertions.assertEquals(strings(reference, events.subList(0, 3)), strings(subscriber.items()));
+        Assertions.assertEquals(7, upstream.requested());
+    }
+
+    @Test
+    void testBoundsConversionsInFlight() throws PluginException {
+        final List<ParsedEvent> events = new SyntheticEvents(new GeneratorSettings(50L)).corpus(1);
+        final ExecutorFake executor = new ExecutorFake();
+        final SubscriptionFake upstream = new SubscriptionFake();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                executor,
+                3,
+                new CollectingConversionFailures()
+        );
+        processor.onSubscribe(upstream);
+        processor.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        Assertions.assertEquals(3, upstream.requested());
+
+        for (final ParsedEvent parsedEvent : events.subList(0, 3)) {
+            processor.onNext(parsedEvent);
+        }
+        Assertions.assertEquals(3, executor.pending());
+        Assertions.assertEquals(3, upstream.requested());
+
+        // the later conversions finish first
+        executor.runLatestFirst();
+
+        Assertions
+                .assertEquals(
+                        strings(new NLFPlugin(new FakeSourceable()), events.subList(0, 3)),
+                        strings(subscriber.items())
+                );
+        Assertions.assertEquals(6, upstream.requested());
+    }
+
+    @Test
+    void testFailureIsRoutedToSideChannel() throws PluginException {
+        final List<ParsedEvent> events = new SyntheticEvents(new GeneratorSettings(50L)).corpus(1).subList(0, 2);
+        final ParsedEvent invalid = invalidEvent();
+        final CollectingConversionFailures failures = new CollectingConversionFailures();
+        final SubscriptionFake upstream = new SubscriptionFake();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                Runnable::run,
+                4,
+                failures
+        );
+        processor.onSubscribe(upstream);
+        processor.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+
+        processor.onNext(events.get(0));
+        processor.onNext(invalid);
+        processor.onNext(events.get(1));
+        processor.onComplete();
+
+        Assertions.assertEquals(strings(new NLFPlugin(new FakeSourceable()), events), strings(subscriber.items()));
+        Assertions.assertTrue(subscriber.isCompleted());
+        Assertions.assertFalse(upstream.isCancelled());
+        final List<ConversionFailure> drained = failures.drain();
+        Assertions.assertEquals(1, drained.size());
+        Assertions.assertSame(invalid, drained.get(0).parsedEvent());
+        Assertions.assertEquals(0, failures.failures().size());
+    }
+
+    @Test
+    void testEventWithMissingValueIsReported() throws IOException {
+        final String json = new String(
+                Files.readAllBytes(Paths.get("src/test/resources/container.json")),
+                StandardCharsets.UTF_8
+        ).replace("\"pod-namespace\"", "null");
+        final ParsedEvent missing = new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+        final CollectingConversionFailures failures = new CollectingConversionFailures();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                Runnable::run,
+                4,
+                failures
+        );
+        processor.onSubscribe(new SubscriptionFake());
+        processor.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+
+        processor.onNext(missing);
+        processor.onComplete();
+
+        Assertions.assertEquals(0, subscriber.items().size());
+        Assertions.assertTrue(subscriber.isCompleted());
+        final List<ConversionFailure> drained = failures.drain();
+        Assertions.assertEquals(1, drained.size());
+        Assertions.assertSame(missing, drained.get(0).parsedEvent());
+    }
+
+    @Test
+    void testUpstreamErrorAfterConvertedMessages() throws PluginException {
+        final List<ParsedEvent> events = new SyntheticEvents(new GeneratorSettings(50L)).corpus(1).subList(0, 1);
+        final IOException exception = new IOException("upstream failed");
+        final ExecutorFake executor = new ExecutorFake();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                executor,
+                4,
+                new CollectingConversionFailures()
+        );
+        processor.onSubscribe(new SubscriptionFake());
+        processor.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+
+        processor.onNext(events.get(0));
+        processor.onError(exception);
+        Assertions.assertNull(subscriber.error());
+
+        executor.runLatestFirst();
+
+        Assertions.assertEquals(strings(new NLFPlugin(new FakeSourceable()), events), strings(subscriber.items()));
+        Assertions.assertSame(exception, subscriber.error());
+    }
+
+    @Test
+    void testCancel() {
+        final List<ParsedEvent> events = new SyntheticEvents(new GeneratorSettings(50L)).corpus(1);
+        final ExecutorFake executor = new ExecutorFake();
+        final SubscriptionFake upstream = new SubscriptionFake();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                executor,
+                4,
+                new CollectingConversionFailures()
+        );
+        processor.onSubscribe(upstream);
+        processor.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        processor.onNext(events.get(0));
+
+        subscriber.cancel();
+        executor.runLatestFirst();
+
+        Assertions.assertTrue(upstream.isCancelled());
+        Assertions.assertEquals(0, subscriber.items().size());
+        Assertions.assertNull(subscriber.error());
+        Assertions.assertFalse(subscriber.isCompleted());
+    }
+
+    @Test
+    void testEventsAfterCancelOrCompleteAreDropped() {
+        final List<ParsedEvent> events = new SyntheticEvents(new GeneratorSettings(50L)).corpus(1);
+        final ExecutorFake executor = new ExecutorFake();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                executor,
+                4,
+                new CollectingConversionFailures()
+        );
+        processor.onSubscribe(new SubscriptionFake());
+        processor.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        processor.onComplete();
+        Assertions.assertTrue(subscriber.isCompleted());
+
+        processor.onNext(events.get(0));
+        Assertions.assertEquals(0, executor.pending());
+
+        final SubscriberFake<SyslogMessage> cancelling = new SubscriberFake<>();
+        final ConvertingProcessor cancelled = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                executor,
+                4,
+                new CollectingConversionFailures()
+        );
+        cancelled.onSubscribe(new SubscriptionFake());
+        cancelled.subscribe(cancelling);
+        cancelling.request(Long.MAX_VALUE);
+        cancelling.cancel();
+
+        cancelled.onNext(events.get(0));
+        Assertions.assertEquals(0, executor.pending());
+        Assertions.assertEquals(0, cancelling.items().size());
+    }
+
+    @Test
+    void testInvalidRequest() {
+        final SubscriptionFake upstream = new SubscriptionFake();
+        final SubscriberFake<SyslogMessage> subscriber = new SubscriberFake<>();
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                Runnable::run,
+                4,
+                new CollectingConversionFailures()
+        );
+        processor.onSubscribe(upstream);
+        processor.subscribe(subscriber);
+
+        subscriber.request(0);
+
+        Assertions.assertTrue(upstream.isCancelled());
+        Assertions.assertEquals(IllegalArgumentException.class, subscriber.error().getClass());
+    }
+
+    @Test
+    void testSingleSubscriber() {
+        final ConvertingProcessor processor = new ConvertingProcessor(
+                new NLFPlugin(new FakeSourceable()),
+                new CollectingConversionFailures()
+        );
+        final SubscriberFake<SyslogMessage> first = new SubscriberFake<>();
+        final SubscriberFake<SyslogMessage> second = new SubscriberFake<>();
+
+        processor.subscribe(first);
+        processor.subscribe(second);
+
+        Assertions.assertNull(first.error());
+        Assertions.assertEquals(IllegalStateException.class, second.error().getClass());
+    }
+
+    @Test
+    void testInvalidMaxInFlight() {
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final CollectingConversionFailures failures = new CollectingConversionFailures();
+
+        final IllegalArgumentException exception = Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new ConvertingProcessor(plugin, Runnable::run, 0, failures)
+                );
+        Assertions.assertEquals("Invalid maxInFlight <[0]>", exception.getMessage());
+    }
+
+    private ParsedEvent invalidEvent() {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        "not json",
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+
+    /**
+     * @return messages of the events converted one at a time, failing events skipped
+     */
+    private List<String> strings(final NLFPlugin plugin, final List<ParsedEvent> events) {
+        final List<SyslogMessage> syslogMessages = new ArrayList<>();
+        for (final ParsedEvent parsedEvent : events) {
+            try {
+                syslogMessages.addAll(plugin.syslogMessage(parsedEvent));
+            }
+            catch (final PluginException pluginException) {
+                // routed to the failures by the processor
+            }
+        }
+        return strings(syslogMessages);
+    }
+
+    private List<String> strings(final List<SyslogMessage> syslogMessages) {
+        final List<String> strings = new ArrayList<>();
+        for (final SyslogMessage syslogMessage : syslogMessages) {
+            strings.add(EVENT_ID.matcher(syslogMessage.toRfc5424SyslogMessage()).replaceAll(""));
+        }
+        return strings;
+    }
+}
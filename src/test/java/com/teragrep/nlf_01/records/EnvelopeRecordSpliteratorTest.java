@@ -0,0 +1,113 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.records;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContextImpl;
+import com.teragrep.akv_01.event.metadata.properties.EventPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import jakarta.json.JsonArray;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Spliterator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EnvelopeRecordSpliteratorTest {
+
+    @Test
+    void recordsShareEnvelopeJson() {
+        final ParsedEvent envelope = parsedEvent("{\"records\":[{\"a\":1},\"text\",[2]]}");
+        final JsonArray records = new EnvelopeRecords(envelope.asJsonStructure()).records();
+        final List<ParsedEvent> parsedEvents = new ArrayList<>();
+        new EnvelopeRecordSpliterator(envelope, records)
+                .forEachRemaining(envelopeRecord -> parsedEvents.add(envelopeRecord.parsedEvent()));
+
+        Assertions.assertEquals(3, parsedEvents.size());
+        Assertions.assertSame(records.get(0), parsedEvents.get(0).asJsonStructure());
+        Assertions.assertEquals("{\"a\":1}", parsedEvents.get(0).asString());
+        Assertions.assertFalse(parsedEvents.get(1).isJsonStructure());
+        Assertions.assertEquals("\"text\"", parsedEvents.get(1).asString());
+        Assertions.assertSame(records.get(2), parsedEvents.get(2).asJsonStructure());
+        Assertions.assertSame(envelope.offset(), parsedEvents.get(2).offset());
+    }
+
+    @Test
+    void splitsInOrder() {
+        final StringBuilder json = new StringBuilder("[");
+        for (int index = 0; index < 100; index++) {
+            json.append(index == 0 ? "" : ",").append("{\"i\":").append(index).append('}');
+        }
+        final ParsedEvent envelope = parsedEvent(json.append(']').toString());
+        final JsonArray records = new EnvelopeRecords(envelope.asJsonStructure()).records();
+
+        final Spliterator<EnvelopeRecord> suffix = new EnvelopeRecordSpliterator(envelope, records);
+        final Spliterator<EnvelopeRecord> prefix = suffix.trySplit();
+        Assertions.assertEquals(50, prefix.estimateSize());
+        Assertions.assertEquals(50, suffix.estimateSize());
+
+        final List<Integer> indexes = new ArrayList<>();
+        prefix
+                .forEachRemaining(envelopeRecord -> indexes.add(envelopeRecord.parsedEvent().asJsonStructure().asJsonObject().getInt("i")));
+        suffix
+                .forEachRemaining(envelopeRecord -> indexes.add(envelopeRecord.parsedEvent().asJsonStructure().asJsonObject().getInt("i")));
+        for (int index = 0; index < 100; index++) {
+            Assertions.assertEquals(index, indexes.get(index));
+        }
+        Assertions.assertNull(suffix.trySplit());
+    }
+
+    private ParsedEvent parsedEvent(final String json) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+    }
+}
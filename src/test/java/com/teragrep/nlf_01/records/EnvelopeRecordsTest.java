@@ -0,0 +1,87 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.records;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonStructure;
+import java.io.StringReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EnvelopeRecordsTest {
+
+    @Test
+    void recordsObject() {
+        final EnvelopeRecords envelopeRecords = new EnvelopeRecords(json("{\"records\":[{\"a\":1},{\"b\":2}]}"));
+        Assertions.assertTrue(envelopeRecords.isEnvelope());
+        final JsonArray records = envelopeRecords.records();
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals(1, records.getJsonObject(0).getInt("a"));
+    }
+
+    @Test
+    void topLevelArray() {
+        final EnvelopeRecords envelopeRecords = new EnvelopeRecords(json("[{\"a\":1}]"));
+        Assertions.assertTrue(envelopeRecords.isEnvelope());
+        Assertions.assertEquals(1, envelopeRecords.records().size());
+    }
+
+    @Test
+    void singleEvents() {
+        Assertions.assertFalse(new EnvelopeRecords(json("{\"Type\":\"AppEvents\"}")).isEnvelope());
+        Assertions.assertFalse(new EnvelopeRecords(json("{\"records\":[],\"Type\":\"AppEvents\"}")).isEnvelope());
+        Assertions.assertFalse(new EnvelopeRecords(json("{\"records\":\"text\"}")).isEnvelope());
+
+        final IllegalStateException exception = Assertions
+                .assertThrows(IllegalStateException.class, () -> new EnvelopeRecords(json("{\"records\":1}")).records());
+        Assertions.assertEquals("Event was not a multi-record envelope", exception.getMessage());
+    }
+
+    private JsonStructure json(final String json) {
+        return Json.createReader(new StringReader(json)).read();
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.registry;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.fakes.ReleaseCountingFactoryFake;
+import com.teragrep.nlf_01.types.BuiltInEventTypeProvider;
+import com.teragrep.nlf_01.types.CCType;
+import com.teragrep.nlf_01.types.CLType;
+import com.teragrep.nlf_01.types.ContainerType;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.types.IstioIngressContainerType;
+import com.teragrep.nlf_01.types.PostgreSQLType;
+import jakarta.json.JsonObject;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class EventTypeRegistryTest {
+
+    @Test
+    void testLongestSuffixFirst() {
+        final ParsedEvent parsedEvent = parsedEvent("{\"Type\":\"x_audit_CL\"}");
+        final EventType shortSuffix = new CLType(parsedEvent, "short", "aer");
+        final EventType longSuffix = new CLType(parsedEvent, "long", "aer");
+        final EventTypeRegistry registry = new EventTypeRegistry(
+                Arrays
+                        .asList(
+                                factory(new MatchKey(MatchKind.TYPE_SUFFIX, "_CL"), shortSuffix),
+                                factory(new MatchKey(MatchKind.TYPE_SUFFIX, "_audit_CL"), longSuffix),
+                                factory(new MatchKey(MatchKind.TYPE_SUFFIX, "longer_than_the_type"), shortSuffix)
+                        )
+        );
+
+        Assertions.assertEquals(Collections.singletonList(longSuffix), eventTypes(registry, parsedEvent));
+        Assertions
+                .assertEquals(
+                        Collections.singletonList(shortSuffix),
+                        eventTypes(registry, parsedEvent("{\"Type\":\"other_CL\"}"))
+                );
+    }
+
+    @Test
+    void testTypeBeforeSuffix() {
+        final ParsedEvent parsedEvent = parsedEvent("{\"Type\":\"x_CL\"}");
+        final EventType suffix = new CLType(parsedEvent, "suffix", "aer");
+        final EventType type = new CLType(parsedEvent, "type", "aer");
+        final EventTypeRegistry registry = new EventTypeRegistry(
+                Arrays
+                        .asList(
+                                factory(new MatchKey(MatchKind.TYPE_SUFFIX, "_CL"), suffix),
+                                factory(new MatchKey(MatchKind.TYPE, "x_CL"), type)
+                        )
+        );
+
+        Assertions.assertEquals(Collections.singletonList(type), eventTypes(registry, parsedEvent));
+    }
+
+    @Test
+    void testPriorityAndPredicate() {
+        final ParsedEvent parsedEvent = parsedEvent("{\"Type\":\"T\",\"n\":1}");
+        final EventType low = new CLType(parsedEvent, "low", "aer");
+        final EventType firstRegistered = new CLType(parsedEvent, "first", "aer");
+        final EventType secondRegistered = new CLType(parsedEvent, "second", "aer");
+        final EventType notMatching = new CLType(parsedEvent, "not-matching", "aer");
+        final MatchKey key = new MatchKey(MatchKind.TYPE, "T");
+        final EventTypeRegistry registry = new EventTypeRegistry(
+                Arrays
+                        .asList(
+                                new KeyedEventTypeFactory(key, -1, jsonObject -> true, (e, s, h, c) -> low),
+                                new KeyedEventTypeFactory(key, 0, jsonObject -> true, (e, s, h, c) -> firstRegistered),
+                                new KeyedEventTypeFactory(key, 0, jsonObject -> true, (e, s, h, c) -> secondRegistered),
+                                new KeyedEventTypeFactory(
+                                        key,
+                                        1,
+                                        jsonObject -> jsonObject.getInt("n") == 2,
+                                        (e, s, h, c) -> notMatching
+                                )
+                        )
+        );
+
+        Assertions.assertEquals(Collections.singletonList(firstRegistered), eventTypes(registry, parsedEvent));
+    }
+
+    @Test
+    void testFirstPresentKeyDecides() {
+        final ParsedEvent appType = parsedEvent("{\"Type\":1,\"AppType\":\"A\",\"category\":\"C\"}");
+        final ParsedEvent category = parsedEvent("{\"AppType\":1,\"category\":\"C\"}");
+        final EventType appTypeType = new CLType(appType, "app-type", "aer");
+        final EventType categoryType = new CLType(category, "category", "aer");
+        final EventTypeRegistry registry = new EventTypeRegistry(
+                Arrays
+                        .asList(
+                                factory(new MatchKey(MatchKind.CATEGORY, "C"), categoryType),
+                                factory(new MatchKey(MatchKind.APP_TYPE, "A"), appTypeType)
+                        )
+        );
+
+        Assertions.assertEquals(Collections.singletonList(appTypeType), eventTypes(registry, appType));
+        Assertions.assertEquals(Collections.singletonList(categoryType), eventTypes(registry, category));
+        Assertions
+                .assertEquals(
+                        Collections.emptyList(),
+                        eventTypes(registry, parsedEvent("{\"Type\":\"unknown\",\"AppType\":\"A\",\"category\":\"C\"}"))
+                );
+        Assertions
+                .assertEquals(
+                        Collections.emptyList(),
+                        eventTypes(registry, parsedEvent("{\"AppType\":\"unknown\",\"category\":\"C\"}"))
+                );
+    }
+
+    @Test
+    void testLookupDoesNotTryOtherKeys() {
+        final AtomicInteger tried = new AtomicInteger();
+        final List<EventTypeFactory> factories = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            factories
+                    .add(
+                            new KeyedEventTypeFactory(
+                                    new MatchKey(MatchKind.TYPE, "Type" + i),
+                                    0,
+                                    jsonObject -> tried.incrementAndGet() > 0,
+                                    (e, s, h, c) -> new CLType(e, h, c)
+                            )
+                    );
+            factories
+                    .add(
+                            new KeyedEventTypeFactory(
+                                    new MatchKey(MatchKind.TYPE_SUFFIX, "_" + i + "_CL"),
+                                    0,
+                                    jsonObject -> tried.incrementAndGet() > 0,
+                                    (e, s, h, c) -> new CLType(e, h, c)
+                            )
+                    );
+        }
+        final EventTypeRegistry registry = new EventTypeRegistry(factories);
+
+        Assertions.assertEquals(1, eventTypes(registry, parsedEvent("{\"Type\":\"Type9999\"}")).size());
+        Assertions.assertEquals(1, eventTypes(registry, parsedEvent("{\"Type\":\"x_5000_CL\"}")).size());
+        Assertions.assertEquals(0, eventTypes(registry, parsedEvent("{\"Type\":\"x_CL\"}")).size());
+        Assertions.assertEquals(2, tried.get());
+    }
+
+    @Test
+    void testOnlyProducingFactoryIsReleased() {
+        final AtomicInteger released = new AtomicInteger();
+        final List<EventTypeFactory> factories = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            factories
+                    .add(
+                            new ReleaseCountingFactoryFake(
+                                    new KeyedEventTypeFactory(
+                                            new MatchKey(MatchKind.TYPE, "Type" + i),
+                                            (e, s, h, c) -> new CLType(e, h, c)
+                                    ),
+                                    released
+                            )
+                    );
+        }
+        final EventTypeRegistry registry = new EventTypeRegistry(factories);
+
+        Assertions.assertEquals(1, eventTypes(registry, parsedEvent("{\"Type\":\"Type9999\"}")).size());
+        registry.released();
+        Assertions.assertEquals(1, released.get());
+        // nothing was produced since the last release
+        registry.released();
+        Assertions.assertEquals(0, eventTypes(registry, parsedEvent("{\"Type\":\"unknown\"}")).size());
+        registry.released();
+        Assertions.assertEquals(1, released.get());
+    }
+
+    @Test
+    void testBuiltInTypes() {
+        final EventTypeRegistry registry = new EventTypeRegistry(new BuiltInEventTypeProvider().factories());
+
+        Assertions
+                .assertEquals(
+                        CCType.class,
+                        eventTypes(registry, parsedEvent("{\"Type\":\"x_fluent_audit_log_events_CL\"}"))
+                                .get(0)
+                                .getClass()
+                );
+        Assertions
+                .assertEquals(CLType.class, eventTypes(registry, parsedEvent("{\"Type\":\"x_CL\"}")).get(0).getClass());
+        Assertions
+                .assertEquals(
+                        IstioIngressContainerType.class,
+                        eventTypes(
+                                registry,
+                                parsedEvent("{\"Type\":\"ContainerLogV2\",\"PodNamespace\":\"aks-istio-ingress\"}")
+                        )
+                                .get(0)
+                                .getClass()
+                );
+        Assertions
+                .assertEquals(
+                        ContainerType.class,
+                        eventTypes(registry, parsedEvent("{\"Type\":\"ContainerLogV2\",\"PodNamespace\":\"other\"}"))
+                                .get(0)
+                                .getClass()
+                );
+        Assertions
+                .assertEquals(
+                        PostgreSQLType.class,
+                        eventTypes(registry, parsedEvent("{\"AppType\":\"PostgreSQL\"}")).get(0).getClass()
+                );
+    }
+
+    @Test
+    void testServiceLoadedProviders() {
+        final List<EventTypeFactory> factories = new ServiceLoadedEventTypeFactories().factories();
+
+        // CustomEventTypeProvider is registered in the test resources and sorts before BuiltInEventTypeProvider
+        Assertions.assertEquals(new MatchKey(MatchKind.TYPE, "CustomEvents"), factories.get(0).matchKey());
+        Assertions.assertEquals(new BuiltInEventTypeProvider().factories().size() + 1, factories.size());
+        Assertions
+                .assertEquals(
+                        CLType.class,
+                        eventTypes(new EventTypeRegistry(factories), parsedEvent("{\"Type\":\"CustomEvents\"}"))
+                                .get(0)
+                                .getClass()
+                );
+    }
+
+    @Test
+    void testMatchKeyEquals() {
+        EqualsVerifier.forClass(MatchKey.class).verify();
+    }
+
+    private EventTypeFactory factory(final MatchKey matchKey, final EventType eventType) {
+        return new KeyedEventTypeFactory(matchKey, (event, source, host, component) -> eventType);
+    }
+
+    private List<EventType> eventTypes(final EventTypeRegistry registry, final ParsedEvent parsedEvent) {
+        final JsonObject jsonObject = parsedEvent.asJsonStructure().asJsonObject();
+        return Assertions
+                .assertDoesNotThrow(
+                        () -> registry.eventTypes(parsedEvent, jsonObject, new FakeSourceable(), "localhost", "aer")
+                );
+    }
+
+    private ParsedEvent parsedEvent(final String json) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.registry;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.nlf_01.synthetic.SyntheticType;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.Sourceable;
+import com.teragrep.rlo_14.SyslogMessage;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class ReusedEventTypeFactoryTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("\\[event_id@48577 [^\\]]*\\]");
+
+    private final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(1L));
+    private final Sourceable source = new FakeSourceable();
+
+    @Test
+    void testTypeIsReboundPerThread() throws Exception {
+        final EventTypeRegistry registry = new EventTypeRegistry(
+                new ReusedEventTypeFactories(new ServiceLoadedEventTypeFactories().factories()).factories()
+        );
+        final ParsedEvent first = syntheticEvents.parsedEvent(SyntheticType.APP_EVENTS, 0);
+        final ParsedEvent second = syntheticEvents.parsedEvent(SyntheticType.APP_EVENTS, 1);
+
+        final EventType firstType = eventType(registry, first, "aer");
+        final String firstHostname = firstType.hostname();
+        final EventType secondType = eventType(registry, second, "aer");
+
+        Assertions.assertSame(firstType, secondType);
+        Assertions.assertEquals(eventType(new EventTypeRegistry(), first, "aer").hostname(), firstHostname);
+        Assertions.assertEquals(eventType(new EventTypeRegistry(), second, "aer").hostname(), secondType.hostname());
+        Assertions.assertEquals(second.asString(), secondType.msg());
+
+        // created again for another component name
+        Assertions.assertNotSame(secondType, eventType(registry, second, "other"));
+        // and in another thread
+        final EventType otherThread = CompletableFuture.supplyAsync(() -> {
+            try {
+                return eventType(registry, first, "other");
+            }
+            catch (final PluginException pluginException) {
+                throw new IllegalStateException(pluginException);
+            }
+        }).get();
+        Assertions.assertNotSame(eventType(registry, first, "other"), otherThread);
+    }
+
+    @Test
+    void testConversionIsUnchanged() {
+        final NLFPlugin reused = new NLFPlugin(
+                source,
+                new RethrowingRecordFailures(),
+                new EventTypeRegistry(
+                        new ReusedEventTypeFactories(new ServiceLoadedEventTypeFactories().factories()).factories()
+                ),
+                Collections.emptyList()
+        );
+        final NLFPlugin created = new NLFPlugin(source);
+
+        for (final ParsedEvent parsedEvent : syntheticEvents.corpus(4)) {
+            Assertions
+                    .assertEquals(
+                            rfc5424(Assertions.assertDoesNotThrow(() -> created.syslogMessage(parsedEvent))),
+                            rfc5424(Assertions.assertDoesNotThrow(() -> reused.syslogMessage(parsedEvent)))
+                    );
+        }
+    }
+
+    @Test
+    void testEventIsReleasedAfterConversion() {
+        final List<ReboundParsedEvent> reboundEvents = new ArrayList<>();
+        final List<EventTypeFactory> factories = new ArrayList<>();
+        for (final EventTypeFactory factory : new ServiceLoadedEventTypeFactories().factories()) {
+            final ReboundParsedEvent reboundEvent = new ReboundParsedEvent(null);
+            final ReusedEventTypeFactory.ThreadEventType threadEventType = new ReusedEventTypeFactory.ThreadEventType(
+                    reboundEvent
+            );
+            reboundEvents.add(reboundEvent);
+            factories.add(new ReusedEventTypeFactory(factory, ThreadLocal.withInitial(() -> threadEventType)));
+        }
+        final NLFPlugin plugin = new NLFPlugin(
+                source,
+                new RethrowingRecordFailures(),
+                new EventTypeRegistry(factories),
+                Collections.emptyList()
+        );
+
+        for (final ParsedEvent parsedEvent : syntheticEvents.corpus(1)) {
+            Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent));
+            for (final ReboundParsedEvent reboundEvent : reboundEvents) {
+                Assertions.assertThrows(IllegalStateException.class, reboundEvent::asString);
+            }
+        }
+    }
+
+    @Test
+    void testConfiguredReuse() {
+        final List<EventTypeFactory> factories = new ServiceLoadedEventTypeFactories().factories();
+        final Map<String, String> config = new HashMap<>();
+        final ConfiguredEventTypeFactories unset = new ConfiguredEventTypeFactories(
+                new ConfigurableSourceable(config),
+                factories
+        );
+        Assertions.assertSame(factories, unset.factories());
+
+        config.put("eventtype.reuse", "true");
+        final List<EventTypeFactory> reused = new ConfiguredEventTypeFactories(
+                new ConfigurableSourceable(config),
+                factories
+        ).factories();
+        Assertions.assertEquals(factories.size(), reused.size());
+        Assertions.assertEquals(ReusedEventTypeFactory.class, reused.get(0).getClass());
+
+        config.put("aggregation.window.seconds", "10");
+        final ConfiguredEventTypeFactories aggregated = new ConfiguredEventTypeFactories(
+                new ConfigurableSourceable(config),
+                factories
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, aggregated::factories);
+
+        final Map<String, String> invalidConfig = new HashMap<>();
+        invalidConfig.put("eventtype.reuse", "yes");
+        final ConfiguredEventTypeFactories invalid = new ConfiguredEventTypeFactories(
+                new ConfigurableSourceable(invalidConfig),
+                factories
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, invalid::factories);
+    }
+
+    private EventType eventType(final EventTypeRegistry registry, final ParsedEvent parsedEvent, final String component)
+            throws PluginException {
+        final JsonObject jsonObject = parsedEvent.asJsonStructure().asJsonObject();
+        return registry.eventTypes(parsedEvent, jsonObject, source, "localhost", component).get(0);
+    }
+
+    private String rfc5424(final List<SyslogMessage> syslogMessages) {
+        return syslogMessages
+                .stream()
+                .map(SyslogMessage::toRfc5424SyslogMessage)
+                .map(syslogMessage -> EVENT_ID.matcher(syslogMessage).replaceAll(""))
+                .collect(Collectors.joining());
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.rfc5424;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.fakes.MemoizedEventType;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.nlf_01.synthetic.SyntheticType;
+import com.teragrep.nlf_01.types.AppInsightType;
+import com.teragrep.nlf_01.types.ContainerType;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.types.SQLSecurityAuditEventsType;
+import com.teragrep.nlf_01.types.SyslogType;
+import com.teragrep.rlo_14.Facility;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.Severity;
+import com.teragrep.rlo_14.SyslogMessage;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RFC5424BytesTest {
+
+    @Test
+    void identicalToSyslogMessage() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(11L, 2048, 4, 30, 8, 3));
+        for (long index = 0; index < 20; index++) {
+            final List<EventType> eventTypes = new ArrayList<>();
+            eventTypes
+                    .add(new ContainerType(syntheticEvents.parsedEvent(SyntheticType.CONTAINER_LOG_V2, index), "hostname-annotation", "appname-annotation", "localhost", "aer"));
+            eventTypes
+                    .add(new AppInsightType(syntheticEvents.parsedEvent(SyntheticType.APP_TRACES, index), "localhost", "aer"));
+            eventTypes
+                    .add(new SQLSecurityAuditEventsType(syntheticEvents.parsedEvent(SyntheticType.SQL_SECURITY_AUDIT_EVENTS, index), "localhost", "aer"));
+            eventTypes
+                    .add(new SyslogType(syntheticEvents.parsedEvent(SyntheticType.SYSLOG, index), "Soft-Ware", "localhost", "aer"));
+            for (final EventType eventType : eventTypes) {
+                final EventType memoized = Assertions.assertDoesNotThrow(() -> new MemoizedEventType(eventType));
+                final ArrayByteSink sink = new ArrayByteSink(16);
+                Assertions.assertDoesNotThrow(() -> new RFC5424Bytes(memoized).writeTo(sink));
+                Assertions
+                        .assertArrayEquals(Assertions.assertDoesNotThrow(() -> expected(memoized)), sink.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    void escapesAndEncodes() {
+        final Set<SDElement> sdElements = new LinkedHashSet<>();
+        sdElements.add(new SDElement("first@48577").addSDParam("quoted", "a\"b\\c]d[e").addSDParam("empty", ""));
+        sdElements.add(new SDElement("second@48577").addSDParam("unicode", "äö€😀\uD800x"));
+        final EventType eventType = new MemoizedEventType(new FixedEventType("msg äö€ 😀 \uDC00 \"]"), sdElements);
+
+        final ArrayByteSink sink = new ArrayByteSink();
+        Assertions.assertDoesNotThrow(() -> new RFC5424Bytes(eventType).writeTo(sink));
+
+        Assertions.assertArrayEquals(Assertions.assertDoesNotThrow(() -> expected(eventType)), sink.toByteArray());
+        Assertions
+                .assertEquals(
+                        "<110>1 2020-01-01T00:00:00Z host-name app-name - 123 [first@48577 quoted=\"a\\\"b\\\\c\\]d[e\" empty=\"\"][second@48577 unicode=\"äö€😀?x\"] msg äö€ 😀 ? \"]",
+                        new String(sink.toByteArray(), StandardCharsets.UTF_8)
+                );
+    }
+
+    @Test
+    void nilValues() {
+        final EventType eventType = new MemoizedEventType(new FixedEventType(null), new LinkedHashSet<>());
+        final ArrayByteSink sink = new ArrayByteSink();
+        Assertions.assertDoesNotThrow(() -> new RFC5424Bytes(eventType).writeTo(sink));
+        Assertions.assertArrayEquals(Assertions.assertDoesNotThrow(() -> expected(eventType)), sink.toByteArray());
+        Assertions
+                .assertEquals(
+                        "<110>1 2020-01-01T00:00:00Z host-name app-name - 123 -",
+                        new String(sink.toByteArray(), StandardCharsets.UTF_8)
+                );
+    }
+
+    @Test
+    void byteBufferSink() {
+        final EventType eventType = new MemoizedEventType(new FixedEventType("message"), new LinkedHashSet<>());
+        final ByteBuffer buffer = ByteBuffer.allocate(128);
+        buffer.position(3);
+        final ByteBufferSink sink = new ByteBufferSink(buffer);
+        Assertions.assertDoesNotThrow(() -> new RFC5424Bytes(eventType).writeTo(sink));
+
+        final byte[] expected = Assertions.assertDoesNotThrow(() -> expected(eventType));
+        Assertions.assertEquals(expected.length, sink.size());
+        Assertions.assertEquals(3 + expected.length, buffer.position());
+
+        final ByteBuffer tooSmall = ByteBuffer.allocate(expected.length - 1);
+        Assertions
+                .assertThrows(BufferOverflowException.class, () -> new RFC5424Bytes(eventType).writeTo(new ByteBufferSink(tooSmall)));
+    }
+
+    @Test
+    void octetCounted() {
+        final EventType eventType = new MemoizedEventType(new FixedEventType("äö"), new LinkedHashSet<>());
+        final ArrayByteSink scratch = new ArrayByteSink();
+        final ArrayByteSink sink = new ArrayByteSink();
+        final OctetCountedRFC5424Bytes octetCounted = new OctetCountedRFC5424Bytes(new RFC5424Bytes(eventType), scratch);
+        Assertions.assertDoesNotThrow(() -> octetCounted.writeTo(sink));
+        Assertions.assertDoesNotThrow(() -> octetCounted.writeTo(sink));
+
+        final String record = "<110>1 2020-01-01T00:00:00Z host-name app-name - 123 - äö";
+        final int length = record.getBytes(StandardCharsets.UTF_8).length;
+        Assertions.assertEquals(59, length);
+        Assertions
+                .assertEquals(
+                        length + " " + record + length + " " + record,
+                        new String(sink.toByteArray(), StandardCharsets.UTF_8)
+                );
+    }
+
+    @Test
+    void msgBytesPassthrough() {
+        final String msg = "{\"message\":\"äö€ 😀\"}";
+        final ByteBuffer payload = ByteBuffer.allocateDirect(64);
+        payload.put(msg.getBytes(StandardCharsets.UTF_8)).flip();
+        final int limit = payload.limit();
+
+        final Set<SDElement> sdElements = new LinkedHashSet<>();
+        sdElements.add(new SDElement("first@48577").addSDParam("key", "value"));
+        final EventType eventType = new MemoizedEventType(new FixedEventType(msg), sdElements);
+        final ArrayByteSink encoded = new ArrayByteSink();
+        Assertions.assertDoesNotThrow(() -> new RFC5424Bytes(eventType).writeTo(encoded));
+
+        final EventType withoutMsg = new MemoizedEventType(new FixedEventType(null), sdElements);
+        final ArrayByteSink passthrough = new ArrayByteSink();
+        Assertions.assertDoesNotThrow(() -> new RFC5424Bytes(withoutMsg, payload.asReadOnlyBuffer()).writeTo(passthrough));
+
+        Assertions.assertArrayEquals(encoded.toByteArray(), passthrough.toByteArray());
+        Assertions.assertEquals(0, payload.position());
+        Assertions.assertEquals(limit, payload.limit());
+    }
+
+    @Test
+    void pluginPassesPayloadThrough() {
+        final ParsedEvent parsedEvent = new SyntheticEvents(new GeneratorSettings(2L, 4096, 4, 40, 4, 2))
+                .parsedEvent(SyntheticType.CONTAINER_LOG_V2, 0);
+        final ByteBuffer payload = ByteBuffer.wrap(parsedEvent.asString().getBytes(StandardCharsets.UTF_8));
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final ByteBuffer buffer = ByteBuffer.allocate(payload.remaining() + 4096);
+        final int records = Assertions
+                .assertDoesNotThrow(() -> plugin.rfc5424(parsedEvent, payload, new ByteBufferSink(buffer)));
+        Assertions.assertEquals(1, records);
+        Assertions.assertEquals(0, payload.position());
+
+        final String record = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        Assertions.assertTrue(record.endsWith("] " + parsedEvent.asString()));
+    }
+
+    @Test
+    void pluginWritesRecords() {
+        final ParsedEvent parsedEvent = new SyntheticEvents(new GeneratorSettings(1L))
+                .parsedEvent(SyntheticType.APP_EVENTS, 0);
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final ArrayByteSink sink = new ArrayByteSink();
+        final int records = Assertions.assertDoesNotThrow(() -> plugin.rfc5424(parsedEvent, sink));
+        Assertions.assertEquals(1, records);
+
+        final String record = new String(sink.toByteArray(), StandardCharsets.UTF_8);
+        final SyslogMessage syslogMessage = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent).get(0));
+        Assertions
+                .assertTrue(record.startsWith("<" + (syslogMessage.getFacility().numericalCode() + syslogMessage.getSeverity().numericalCode()) + ">1 " + syslogMessage.getTimestamp() + " " + syslogMessage.getHostname() + " " + syslogMessage.getAppName() + " - " + syslogMessage.getMsgId() + " ["));
+        Assertions.assertTrue(record.endsWith("] " + parsedEvent.asString()));
+    }
+
+    private byte[] expected(final EventType eventType) throws PluginException {
+        final SyslogMessage syslogMessage = new SyslogMessage()
+                .withFacility(eventType.facility())
+                .withSeverity(eventType.severity())
+                .withTimestamp(eventType.timestamp())
+                .withAppName(eventType.appName())
+                .withHostname(eventType.hostname())
+                .withMsgId(eventType.msgId())
+                .withMsg(eventType.msg());
+        syslogMessage.setSDElements(eventType.sdElements());
+        return syslogMessage.toRfc5424SyslogMessage().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class FixedEventType implements EventType {
+
+        private final String msg;
+
+        private FixedEventType(final String msg) {
+            this.msg = msg;
+        }
+
+        @Override
+        public Severity severity() {
+            return Severity.INFORMATIONAL;
+        }
+
+        @Override
+        public Facility facility() {
+            return Facility.AUDIT;
+        }
+
+        @Override
+        public String hostname() {
+            return "host-name";
+        }
+
+        @Override
+        public String appName() {
+            return "app-name";
+        }
+
+        @Override
+        public long timestamp() {
+            return 1577836800000L;
+        }
+
+        @Override
+        public Set<SDElement> sdElements() {
+            return new LinkedHashSet<>();
+        }
+
+        @Override
+        public String msgId() {
+            return "123";
+        }
+
+        @Override
+        public String msg() {
+            return msg;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.schema;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.aggregation.NoAggregation;
+import com.teragrep.nlf_01.deadletter.NoDeadLetters;
+import com.teragrep.nlf_01.dedup.NoDeduplication;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.fakes.MemoizedEventType;
+import com.teragrep.nlf_01.fakes.NamedEventTypeFake;
+import com.teragrep.nlf_01.records.RethrowingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.throttle.NoThrottle;
+import jakarta.json.JsonValue;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+
+public final class SampledSchemasTest {
+
+    @Test
+    void testAppearedAndDisappearedKeys() {
+        final SampledSchemas schemas = new SampledSchemas(1, 16, 2, 10);
+        schemas.sample(NamedEventTypeFake.class, parsedEvent("{\"a\":\"x\",\"b\":1}"));
+        schemas.sample(NamedEventTypeFake.class, parsedEvent("{\"a\":\"y\",\"b\":null}"));
+
+        final SchemaSnapshot baseline = schemas.snapshot().get("NamedEventTypeFake");
+        Assertions.assertEquals(2, baseline.samples());
+        Assertions.assertEquals(Collections.emptySet(), baseline.appeared());
+        Assertions.assertEquals(Collections.emptySet(), baseline.disappeared());
+
+        schemas.sample(NamedEventTypeFake.class, parsedEvent("{\"a\":\"z\",\"c\":[]}"));
+        final SchemaSnapshot appeared = schemas.snapshot().get("NamedEventTypeFake");
+        Assertions.assertEquals(Collections.singleton("c"), appeared.appeared());
+        Assertions.assertEquals(Collections.emptySet(), appeared.disappeared());
+
+        schemas.sample(NamedEventTypeFake.class, parsedEvent("{\"a\":1,\"c\":[]}"));
+        final SchemaSnapshot disappeared = schemas.snapshot().get("NamedEventTypeFake");
+        Assertions.assertEquals(4, disappeared.samples());
+        Assertions.assertEquals(Collections.singleton("c"), disappeared.appeared());
+        Assertions.assertEquals(Collections.singleton("b"), disappeared.disappeared());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), disappeared.valueTypes().keySet());
+
+        final Map<JsonValue.ValueType, Long> a = new EnumMap<>(JsonValue.ValueType.class);
+        a.put(JsonValue.ValueType.STRING, 3L);
+        a.put(JsonValue.ValueType.NUMBER, 1L);
+        Assertions.assertEquals(a, disappeared.valueTypes().get("a"));
+        final Map<JsonValue.ValueType, Long> b = new EnumMap<>(JsonValue.ValueType.class);
+        b.put(JsonValue.ValueType.NUMBER, 1L);
+        b.put(JsonValue.ValueType.NULL, 1L);
+        Assertions.assertEquals(b, disappeared.valueTypes().get("b"));
+    }
+
+    @Test
+    void testTablesAreBounded() {
+        final SampledSchemas schemas = new SampledSchemas(1, 2, 1, 1);
+        schemas.sample(NamedEventTypeFake.class, parsedEvent("{\"a\":1,\"b\":2,\"c\":3}"));
+        schemas.sample(MemoizedEventType.class, parsedEvent("{\"a\":1}"));
+
+        final Map<String, SchemaSnapshot> snapshot = schemas.snapshot();
+        Assertions.assertEquals(Collections.singleton("NamedEventTypeFake"), snapshot.keySet());
+        Assertions.assertEquals(2, snapshot.get("NamedEventTypeFake").valueTypes().size());
+        Assertions.assertEquals(1, snapshot.get("NamedEventTypeFake").untracked());
+    }
+
+    @Test
+    void testPluginSamplesDetectedTypes() throws IOException {
+        final SampledSchemas schemas = new SampledSchemas(1, 64, 10, 10);
+        final NLFPlugin plugin = new NLFPlugin(
+                new FakeSourceable(),
+                new RethrowingRecordFailures(),
+                new EventTypeRegistry(),
+                Collections.emptyList(),
+                new NoDeduplication(),
+                new NoThrottle(),
+                new NoAggregation(),
+                new NoDeadLetters(),
+                schemas
+        );
+        final String json = new String(
+                Files.readAllBytes(Paths.get("src/test/resources/appserviceconsolelogs.json")),
+                StandardCharsets.UTF_8
+        );
+
+        Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(json)));
+        Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent("[" + json + "," + json + "]")));
+
+        final SchemaSnapshot snapshot = schemas.snapshot().get("AppServiceConsoleLogsType");
+        Assertions.assertEquals(3, snapshot.samples());
+        Assertions.assertEquals(13, snapshot.valueTypes().size());
+        Assertions
+                .assertEquals(
+                        Collections.singletonMap(JsonValue.ValueType.STRING, 3L),
+                        snapshot.valueTypes().get("TimeGenerated")
+                );
+    }
+
+    @Test
+    void testNoSamplingWhenDisabled() {
+        final SchemaSampler schemaSampler = new ConfiguredSchemaSampler(new FakeSourceable()).schemaSampler();
+        schemaSampler.sample(NamedEventTypeFake.class, parsedEvent("{\"a\":1}"));
+
+        Assertions.assertEquals(Collections.emptyMap(), schemaSampler.snapshot());
+    }
+
+    @Test
+    void testEqualsContract() {
+        EqualsVerifier.forClass(SchemaSnapshot.class).verify();
+    }
+
+    private ParsedEvent parsedEvent(final String payload) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        payload,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+}
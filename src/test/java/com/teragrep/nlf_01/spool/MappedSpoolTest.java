@@ -0,0 +1,310 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.spool;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.rfc5424.ArrayByteSink;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.rlo_14.SyslogMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class MappedSpoolTest {
+
+    // random uuid and the time of conversion
+    private static final Pattern EVENT_ID = Pattern.compile("\\[event_id@48577 [^\\]]*\\]");
+
+    @Test
+    void testReplaysPluginOutputInOrder(@TempDir final Path directory) throws IOException, PluginException {
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final List<ParsedEvent> events = new SyntheticEvents(new GeneratorSettings(49L)).corpus(3);
+        final List<String> expected = new ArrayList<>();
+        final MappedSpool spool = new SpoolDirectory(directory, 16 * 1024).open();
+        final ArrayByteSink scratch = new ArrayByteSink();
+        for (final ParsedEvent parsedEvent : events) {
+            for (final SyslogMessage syslogMessage : plugin.syslogMessage(parsedEvent)) {
+                expected.add(EVENT_ID.matcher(syslogMessage.toRfc5424SyslogMessage()).replaceAll(""));
+            }
+            plugin.octetCountedRfc5424(parsedEvent, scratch, spool);
+        }
+
+        final List<String> replayed = new ArrayList<>();
+        for (final String record : poll(spool)) {
+            replayed.add(EVENT_ID.matcher(record).replaceAll(""));
+        }
+
+        Assertions.assertEquals(expected, replayed);
+        Assertions.assertTrue(spool.segments() > 1);
+    }
+
+    @Test
+    void testRecordsAreSplitAcrossWrites(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 1024).open();
+        final byte[] bytes = "5 first6 second".getBytes(StandardCharsets.US_ASCII);
+
+        spool.write(bytes, 0, 3);
+        Assertions.assertNull(spool.poll());
+        spool.write(bytes[3]);
+        spool.write(ByteBuffer.wrap(bytes, 4, 3));
+        Assertions.assertEquals("first", string(spool.poll()));
+        spool.write(bytes, 7, bytes.length - 7);
+
+        Assertions.assertEquals("second", string(spool.poll()));
+        Assertions.assertNull(spool.poll());
+        Assertions.assertEquals(bytes.length, spool.size());
+    }
+
+    @Test
+    void testReopenContinuesFromCheckpoint(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 128).open();
+        write(spool, 0, 10);
+        Assertions.assertEquals(records(0, 4), poll(spool, 4));
+        spool.checkpoint();
+        // polled but not checkpointed, replayed again
+        Assertions.assertEquals(records(4, 6), poll(spool, 2));
+
+        final MappedSpool reopened = new SpoolDirectory(directory, 128).open();
+
+        Assertions.assertEquals(records(4, 10), poll(reopened));
+        write(reopened, 10, 12);
+        Assertions.assertEquals(records(10, 12), poll(reopened));
+    }
+
+    @Test
+    void testConsumedSegmentsAreRecycled(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 128, 2).open();
+        for (int round = 0; round < 20; round++) {
+            write(spool, round * 10, round * 10 + 10);
+            Assertions.assertEquals(records(round * 10, round * 10 + 10), poll(spool));
+            spool.checkpoint();
+
+            Assertions.assertEquals(1, spool.segments());
+            // the current segment and the ones kept for reuse
+            Assertions.assertTrue(segmentFiles(directory).size() <= 3, segmentFiles(directory).toString());
+        }
+
+        final MappedSpool reopened = new SpoolDirectory(directory, 128, 2).open();
+        // the stale records of the recycled segments are not replayed
+        Assertions.assertNull(reopened.poll());
+        write(reopened, 0, 3);
+        Assertions.assertEquals(records(0, 3), poll(reopened));
+    }
+
+    @Test
+    void testTruncatedSegment(@TempDir final Path temporary) throws IOException {
+        final List<String> written = records(0, 8);
+        final int end = Segment.HEADER + written.stream().mapToInt(this::framedLength).sum();
+
+        for (int length = Segment.HEADER; length <= end; length++) {
+            final Path directory = Files.createDirectory(temporary.resolve("spool-" + length));
+            write(new SpoolDirectory(directory, 4096).open(), 0, 8);
+            final Path segment = segmentFiles(directory).get(0);
+            try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(length);
+            }
+
+            final MappedSpool reopened = new SpoolDirectory(directory, 4096).open();
+
+            // only the records that were completely in the file remain
+            Assertions.assertEquals(written.subList(0, complete(written, length - Segment.HEADER)), poll(reopened));
+            write(reopened, 100, 101);
+            Assertions.assertEquals(records(100, 101), poll(reopened));
+        }
+    }
+
+    @Test
+    void testUnfinishedRecordIsNotReplayed(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 1024).open();
+        write(spool, 0, 2);
+        final byte[] unfinished = "10 abc".getBytes(StandardCharsets.US_ASCII);
+        spool.write(unfinished, 0, unfinished.length);
+
+        // crashed while writing, the records written so far are in the mapped files
+        final MappedSpool reopened = new SpoolDirectory(directory, 1024).open();
+
+        Assertions.assertEquals(records(0, 2), poll(reopened));
+        write(reopened, 2, 3);
+        Assertions.assertEquals(records(2, 3), poll(reopened));
+    }
+
+    @Test
+    void testSegmentWithoutHeaderIsRecycled(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 1024).open();
+        write(spool, 0, 2);
+        // crashed while creating the next segment
+        Files.write(directory.resolve(String.format("%019d.segment", 1)), new byte[5]);
+
+        final MappedSpool reopened = new SpoolDirectory(directory, 1024).open();
+
+        Assertions.assertEquals(records(0, 2), poll(reopened));
+        Assertions.assertEquals(1, reopened.segments());
+    }
+
+    @Test
+    void testInvalidCheckpointReplaysFromFirstSegment(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 128).open();
+        write(spool, 0, 10);
+        Assertions.assertEquals(records(0, 4), poll(spool, 4));
+        spool.checkpoint();
+        Files.write(directory.resolve("checkpoint"), new byte[3]);
+
+        final MappedSpool reopened = new SpoolDirectory(directory, 128).open();
+
+        // the consumed segment was not reused yet, its records are replayed again instead of losing any
+        Assertions.assertEquals(records(0, 10), poll(reopened));
+        write(reopened, 10, 12);
+        Assertions.assertEquals(records(10, 12), poll(reopened));
+    }
+
+    @Test
+    void testClosedSpoolCanNotBeUsed(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 128).open();
+        write(spool, 0, 2);
+        spool.close();
+
+        Assertions.assertThrows(IllegalStateException.class, spool::poll);
+        Assertions.assertThrows(IllegalStateException.class, () -> write(spool, 2, 3));
+        Assertions.assertThrows(IllegalStateException.class, spool::close);
+        // the records are kept in the files
+        try (final MappedSpool reopened = new SpoolDirectory(directory, 128).open()) {
+            Assertions.assertEquals(records(0, 2), poll(reopened));
+        }
+    }
+
+    @Test
+    void testInvalidRecords(@TempDir final Path directory) throws IOException {
+        final MappedSpool spool = new SpoolDirectory(directory, 64).open();
+        final byte[] notCounted = "record".getBytes(StandardCharsets.US_ASCII);
+        final byte[] tooLarge = "100 ".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> spool.write(notCounted, 0, notCounted.length));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> spool.write(tooLarge, 0, tooLarge.length));
+        // the spool accepts records again
+        write(spool, 0, 1);
+        Assertions.assertEquals(records(0, 1), poll(spool));
+    }
+
+    private void write(final MappedSpool spool, final int from, final int to) {
+        for (final String record : records(from, to)) {
+            final byte[] bytes = (record.length() + " " + record).getBytes(StandardCharsets.US_ASCII);
+            spool.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private List<String> records(final int from, final int to) {
+        final List<String> records = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            records.add("<14>1 - - - - - - record-" + i);
+        }
+        return records;
+    }
+
+    private int framedLength(final String record) {
+        return String.valueOf(record.length()).length() + 1 + record.length();
+    }
+
+    /**
+     * @return amount of records that fit completely in the bytes
+     */
+    private int complete(final List<String> records, final int bytes) {
+        int complete = 0;
+        int used = 0;
+        while (complete < records.size() && used + framedLength(records.get(complete)) <= bytes) {
+            used = used + framedLength(records.get(complete));
+            complete++;
+        }
+        return complete;
+    }
+
+    private List<String> poll(final MappedSpool spool) {
+        return poll(spool, Integer.MAX_VALUE);
+    }
+
+    private List<String> poll(final MappedSpool spool, final int max) {
+        final List<String> records = new ArrayList<>();
+        ByteBuffer record = spool.poll();
+        while (record != null) {
+            records.add(string(record));
+            if (records.size() == max) {
+                record = null;
+            }
+            else {
+                record = spool.poll();
+            }
+        }
+        return records;
+    }
+
+    private String string(final ByteBuffer record) {
+        final byte[] bytes = new byte[record.remaining()];
+        record.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> segmentFiles(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".segment")).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.stringpool;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.fakes.MemoizedEventType;
+import com.teragrep.nlf_01.fakes.NamedEventTypeFake;
+import com.teragrep.nlf_01.types.EventType;
+import com.teragrep.nlf_01.util.ConstantSDElements;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class BoundedStringPoolTest {
+
+    @Test
+    void testEqualStringsShareInstance() {
+        final StringPool stringPool = new BoundedStringPool(10, 100);
+        final String first = new String("eventhub");
+        final String second = new String("eventhub");
+
+        Assertions.assertSame(first, stringPool.canonical(first));
+        Assertions.assertSame(first, stringPool.canonical(second));
+        Assertions.assertEquals(new StringPoolStats(2, 1, 1), stringPool.stats());
+        Assertions.assertEquals(0.5, stringPool.stats().dedupRatio());
+    }
+
+    @Test
+    void testCapacity() {
+        final StringPool stringPool = new BoundedStringPool(2, 100);
+        stringPool.canonical("a");
+        stringPool.canonical("b");
+        final String third = new String("c");
+
+        // not pooled once full
+        Assertions.assertSame(third, stringPool.canonical(third));
+        Assertions.assertNotSame(third, stringPool.canonical(new String("c")));
+        Assertions.assertEquals(2, stringPool.stats().pooled());
+        Assertions.assertEquals(0, stringPool.stats().hits());
+    }
+
+    @Test
+    void testMaxLength() {
+        final StringPool stringPool = new BoundedStringPool(10, 3);
+        final String longValue = new String("abcd");
+
+        Assertions.assertSame(longValue, stringPool.canonical(longValue));
+        Assertions.assertNotSame(longValue, stringPool.canonical(new String("abcd")));
+        Assertions.assertNull(stringPool.canonical(null));
+        Assertions.assertEquals(new StringPoolStats(0, 0, 0), stringPool.stats());
+    }
+
+    @Test
+    void testPooledEventType() throws PluginException {
+        final StringPool stringPool = new BoundedStringPool(
+                10,
+                100,
+                new HashSet<>(Collections.singletonList("eventhub_name"))
+        );
+        final SDElement constant = new ConstantSDElements().eventType("NamedEventTypeFake");
+        final String hostname = stringPool.canonical(new String("host"));
+        final String eventHubName = stringPool.canonical(new String("eventhub"));
+        final Set<SDElement> eventSDElements = new HashSet<>();
+        final SDElement partition = new SDElement("aer_partition@48577")
+                .addSDParam("eventhub_name", new String("eventhub"))
+                .addSDParam("partition_id", new String("0"));
+        final SDElement event = new SDElement("aer_event@48577").addSDParam("offset", new String("0"));
+        eventSDElements.add(partition);
+        eventSDElements.add(event);
+        eventSDElements.add(constant);
+        final EventType eventType = new MemoizedEventType(
+                new NamedEventTypeFake(new String("host"), "app", "msg"),
+                eventSDElements
+        );
+
+        final EventType pooled = stringPool.pooled(eventType);
+        final Map<String, SDElement> sdElements = pooled
+                .sdElements()
+                .stream()
+                .collect(Collectors.toMap(SDElement::getSdID, Function.identity()));
+        final Map<String, String> pooledPartition = sdElements
+                .get("aer_partition@48577")
+                .getSdParams()
+                .stream()
+                .collect(Collectors.toMap(SDParam::getParamName, SDParam::getParamValue));
+
+        Assertions.assertSame(hostname, pooled.hostname());
+        Assertions.assertSame(eventHubName, pooledPartition.get("eventhub_name"));
+        Assertions.assertEquals("0", pooledPartition.get("partition_id"));
+        // not one of the pooled params
+        Assertions.assertNotSame(stringPool.canonical(new String("0")), pooledPartition.get("partition_id"));
+        Assertions.assertSame(constant, sdElements.get("nlf_01@48577"));
+        // no pooled params, not copied
+        Assertions.assertSame(event, sdElements.get("aer_event@48577"));
+    }
+
+    @Test
+    void testNoStringPool() throws PluginException {
+        final StringPool stringPool = new NoStringPool();
+        final String value = new String("value");
+        final EventType eventType = new NamedEventTypeFake("host", "app", "msg");
+
+        Assertions.assertSame(value, stringPool.canonical(value));
+        Assertions.assertSame(eventType, stringPool.pooled(eventType));
+        Assertions.assertEquals(new StringPoolStats(0, 0, 0), stringPool.stats());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.stringpool;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPluginFactory;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import com.teragrep.rlo_14.SyslogMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Retains the messages of a synthetic corpus as a backed up downstream queue would, and compares a histogram of the
+ * distinct String instances of the low-cardinality fields with and without the pool.
+ */
+public final class StringPoolRetentionTest {
+
+    private static final Set<String> LOW_CARDINALITY_PARAMS = new HashSet<>(
+            Arrays
+                    .asList(
+                            "fully_qualified_namespace", "eventhub_name", "partition_id", "consumer_group", "id_source",
+                            "hostname", "subscription", "clusterName", "namespace"
+                    )
+    );
+
+    private final List<ParsedEvent> corpus = new SyntheticEvents(new GeneratorSettings(47L)).corpus(200);
+
+    @Test
+    void testPooledMessagesShareStrings() throws PluginException {
+        final Histogram unpooled = histogram(retained(new NLFPluginFactory(source("0"))));
+        final NLFPluginFactory pooledFactory = new NLFPluginFactory(source("8192"));
+        final Histogram pooled = histogram(retained(pooledFactory));
+
+        // the same values are retained
+        Assertions.assertEquals(unpooled.values, pooled.values);
+        // one instance per value
+        Assertions.assertEquals(pooled.values.size(), pooled.instances.size());
+        // the synthetic appNames are mostly unique, the other fields repeat for every event of a type or resource
+        Assertions.assertTrue(unpooled.instances.size() > 5 * unpooled.values.size(), unpooled.toString());
+        Assertions.assertTrue(pooled.bytes() * 4 < unpooled.bytes(), pooled + " " + unpooled);
+
+        final StringPoolStats stats = pooledFactory.stringPool().stats();
+        Assertions.assertTrue(stats.dedupRatio() > 0.8, stats.toString());
+        Assertions.assertTrue(stats.pooled() <= 8192, stats.toString());
+    }
+
+    private List<SyslogMessage> retained(final NLFPluginFactory factory) throws PluginException {
+        final List<SyslogMessage> retained = new ArrayList<>();
+        for (final ParsedEvent parsedEvent : corpus) {
+            retained.addAll(factory.plugin("").syslogMessage(parsedEvent));
+        }
+        Assertions.assertEquals(corpus.size(), retained.size());
+        return retained;
+    }
+
+    private Histogram histogram(final List<SyslogMessage> syslogMessages) {
+        final Histogram histogram = new Histogram();
+        for (final SyslogMessage syslogMessage : syslogMessages) {
+            histogram.add(syslogMessage.getHostname());
+            histogram.add(syslogMessage.getAppName());
+            for (final SDElement sdElement : syslogMessage.getSDElements()) {
+                boolean pooledParams = false;
+                for (final SDParam sdParam : sdElement.getSdParams()) {
+                    if (LOW_CARDINALITY_PARAMS.contains(sdParam.getParamName())) {
+                        histogram.add(sdParam.getParamValue());
+                        pooledParams = true;
+                    }
+                }
+                // the elements without pooled params are not copied, nor their IDs pooled
+                if (pooledParams) {
+                    histogram.add(sdElement.getSdID());
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private ConfigurableSourceable source(final String capacity) {
+        final Map<String, String> config = new HashMap<>();
+        config.put("containerlog.hostname.annotation", "hostname-annotation");
+        config.put("containerlog.appname.annotation", "appname-annotation");
+        config.put("syslogtype.processname", "Soft-Ware");
+        config.put("component.name", "aer");
+        config.put("stringpool.capacity", capacity);
+        return new ConfigurableSourceable(config);
+    }
+
+    private static final class Histogram {
+
+        private final Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<String> values = new HashSet<>();
+
+        private void add(final String value) {
+            instances.add(value);
+            values.add(value);
+        }
+
+        /**
+         * @return shallow size of the distinct instances with compressed oops and compact strings: a 24 byte String
+         *         and a 16 byte array header followed by the characters, each aligned to 8 bytes
+         */
+        private long bytes() {
+            long bytes = 0;
+            for (final String instance : instances) {
+                bytes = bytes + 24 + (16 + instance.length() + 7) / 8 * 8;
+            }
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Histogram{instances=" + instances.size() + ", values=" + values.size() + ", bytes=" + bytes() + "}";
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.synthetic;
+
+import java.util.Objects;
+
+/**
+ * Settings for {@link SyntheticEvents}. All generated content is derived from the {@link #seed()}, so two generators
+ * with equal settings produce identical events.
+ */
+public final class GeneratorSettings {
+
+    private final long seed;
+    private final int messageLength;
+    private final int resourceCardinality;
+    private final int unicodePercent;
+    private final int propertyCount;
+    private final int metadataDepth;
+    private final String containerHostnameAnnotation;
+    private final String containerAppNameAnnotation;
+    private final String syslogProcessName;
+
+    public GeneratorSettings(final long seed) {
+        this(seed, 256, 16, 0, 4, 1);
+    }
+
+    public GeneratorSettings(
+            final long seed,
+            final int messageLength,
+            final int resourceCardinality,
+            final int unicodePercent,
+            final int propertyCount,
+            final int metadataDepth
+    ) {
+        this(
+                seed,
+                messageLength,
+                resourceCardinality,
+                unicodePercent,
+                propertyCount,
+                metadataDepth,
+                "hostname-annotation",
+                "appname-annotation",
+                "Soft-Ware"
+        );
+    }
+
+    /**
+     * @param seed                        seed for all generated content
+     * @param messageLength               length in characters of the free-text payload field of each event
+     * @param resourceCardinality         amount of distinct resource ids generated
+     * @param unicodePercent              percentage (0-100) of free-text characters that are non-ASCII
+     * @param propertyCount               amount of entries in the event properties and in JSON property maps
+     * @param metadataDepth               nesting depth of generated metadata objects
+     * @param containerHostnameAnnotation pod annotation key used for ContainerLogV2 hostnames
+     * @param containerAppNameAnnotation  pod annotation key used for ContainerLogV2 appNames
+     * @param syslogProcessName           ProcessName used for Syslog events
+     */
+    public GeneratorSettings(
+            final long seed,
+            final int messageLength,
+            final int resourceCardinality,
+            final int unicodePercent,
+            final int propertyCount,
+            final int metadataDepth,
+            final String containerHostnameAnnotation,
+            final String containerAppNameAnnotation,
+            final String syslogProcessName
+    ) {
+        this.seed = seed;
+        this.messageLength = messageLength;
+        this.resourceCardinality = resourceCardinality;
+        this.unicodePercent = unicodePercent;
+        this.propertyCount = propertyCount;
+        this.metadataDepth = metadataDepth;
+        this.containerHostnameAnnotation = containerHostnameAnnotation;
+        this.containerAppNameAnnotation = containerAppNameAnnotation;
+        this.syslogProcessName = syslogProcessName;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public int messageLength() {
+        return messageLength;
+    }
+
+    public int resourceCardinality() {
+        if (resourceCardinality < 1) {
+            throw new IllegalArgumentException("Resource cardinality must be at least 1, was: " + resourceCardinality);
+        }
+        return resourceCardinality;
+    }
+
+    public int unicodePercent() {
+        if (unicodePercent < 0 || unicodePercent > 100) {
+            throw new IllegalArgumentException("Unicode percent must be within 0-100, was: " + unicodePercent);
+        }
+        return unicodePercent;
+    }
+
+    public int propertyCount() {
+        return propertyCount;
+    }
+
+    public int metadataDepth() {
+        return metadataDepth;
+    }
+
+    public String containerHostnameAnnotation() {
+        return containerHostnameAnnotation;
+    }
+
+    public String containerAppNameAnnotation() {
+        return containerAppNameAnnotation;
+    }
+
+    public String syslogProcessName() {
+        return syslogProcessName;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final GeneratorSettings that = (GeneratorSettings) o;
+        return seed == that.seed && messageLength == that.messageLength
+                && resourceCardinality == that.resourceCardinality && unicodePercent == that.unicodePercent
+                && propertyCount == that.propertyCount && metadataDepth == that.metadataDepth
+                && Objects.equals(containerHostnameAnnotation, that.containerHostnameAnnotation)
+                && Objects.equals(containerAppNameAnnotation, that.containerAppNameAnnotation)
+                && Objects.equals(syslogProcessName, that.syslogProcessName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects
+                .hash(
+                        seed, messageLength, resourceCardinality, unicodePercent, propertyCount, metadataDepth,
+                        containerHostnameAnnotation, containerAppNameAnnotation, syslogProcessName
+                );
+    }
+}
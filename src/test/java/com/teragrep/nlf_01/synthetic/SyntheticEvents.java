@@ -0,0 +1,149 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.synthetic;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContextImpl;
+import com.teragrep.akv_01.event.metadata.properties.EventPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of events for every type supported by {@link com.teragrep.nlf_01.NLFPlugin}. Each event is
+ * derived only from the settings, the type and the index of the event, so events can be generated in any order and
+ * from multiple threads.
+ */
+public final class SyntheticEvents {
+
+    private static final long BASE_EPOCH_SECOND = 1577836800L; // 2020-01-01T00:00:00Z
+
+    private final GeneratorSettings settings;
+
+    public SyntheticEvents(final GeneratorSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * @param type  type of the event
+     * @param index index of the event, consecutive indexes get consecutive timestamps and sequence numbers
+     * @return JSON payload of the event
+     */
+    public String json(final SyntheticType type, final long index) {
+        return type.json(values(type, index), settings, index).toString();
+    }
+
+    /**
+     * @param type  type of the event
+     * @param index index of the event, consecutive indexes get consecutive timestamps and sequence numbers
+     * @return event with the JSON payload and non-stub metadata
+     */
+    public ParsedEvent parsedEvent(final SyntheticType type, final long index) {
+        final SyntheticValues values = values(type, index);
+        final String json = type.json(values, settings, index).toString();
+
+        final Map<String, Object> partitionContext = new HashMap<>();
+        partitionContext.put("FullyQualifiedNamespace", "synthetic.servicebus.example.test");
+        partitionContext.put("EventHubName", "synthetic-" + type.name().toLowerCase());
+        partitionContext.put("PartitionId", String.valueOf(index % 4));
+        partitionContext.put("ConsumerGroup", "$Default");
+
+        final Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < settings.propertyCount(); i++) {
+            properties.put("property-" + i, values.text(16));
+        }
+
+        final Map<String, Object> systemProperties = new HashMap<>();
+        systemProperties.put("SequenceNumber", String.valueOf(index));
+        systemProperties.put("PartitionKey", values.uuid());
+
+        final String enqueuedTime = LocalDateTime
+                .ofEpochSecond(BASE_EPOCH_SECOND + index, 0, ZoneOffset.UTC)
+                .toString();
+
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextImpl(partitionContext),
+                        new EventPropertiesImpl(properties),
+                        new EventSystemPropertiesImpl(systemProperties),
+                        new EnqueuedTimeImpl(enqueuedTime),
+                        new EventOffsetImpl(String.valueOf(index))
+                )
+        ).parsedEvent();
+    }
+
+    /**
+     * @param perType amount of events generated for each type
+     * @return events of all types, interleaved so that consecutive events are of different types
+     */
+    public List<ParsedEvent> corpus(final int perType) {
+        final SyntheticType[] types = SyntheticType.values();
+        final List<ParsedEvent> corpus = new ArrayList<>(perType * types.length);
+        for (int index = 0; index < perType; index++) {
+            for (final SyntheticType type : types) {
+                corpus.add(parsedEvent(type, index));
+            }
+        }
+        return corpus;
+    }
+
+    private SyntheticValues values(final SyntheticType type, final long index) {
+        // golden ratio increment spreads the per-event seeds, as in SplittableRandom itself
+        final long seed = settings.seed() ^ (type.ordinal() * 0x9E3779B97F4A7C15L) ^ (index * 0xBF58476D1CE4E5B9L);
+        return new SyntheticValues(new SplittableRandom(seed), settings);
+    }
+}
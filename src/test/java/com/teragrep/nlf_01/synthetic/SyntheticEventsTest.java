@@ -0,0 +1,150 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.synthetic;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import com.teragrep.rlo_14.SyslogMessage;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SyntheticEventsTest {
+
+    @Test
+    void everyTypeConverts() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(1L, 512, 8, 20, 8, 4));
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        for (final SyntheticType type : SyntheticType.values()) {
+            for (long index = 0; index < 50; index++) {
+                final ParsedEvent parsedEvent = syntheticEvents.parsedEvent(type, index);
+                final List<SyslogMessage> syslogMessages = Assertions
+                        .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent), type + " index " + index);
+                Assertions.assertEquals(1, syslogMessages.size());
+                Assertions.assertEquals(type.eventTypeName(), eventTypeName(syslogMessages.get(0)), type.name());
+            }
+        }
+    }
+
+    @Test
+    void sameSeedProducesSameEvents() {
+        final SyntheticEvents first = new SyntheticEvents(new GeneratorSettings(42L));
+        final SyntheticEvents second = new SyntheticEvents(new GeneratorSettings(42L));
+        final SyntheticEvents other = new SyntheticEvents(new GeneratorSettings(43L));
+        for (final SyntheticType type : SyntheticType.values()) {
+            Assertions.assertEquals(first.json(type, 7), second.json(type, 7));
+            Assertions.assertNotEquals(first.json(type, 7), other.json(type, 7));
+            Assertions.assertNotEquals(first.json(type, 7), first.json(type, 8));
+        }
+    }
+
+    @Test
+    void largePayloadConverts() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(
+                new GeneratorSettings(3L, 1024 * 1024, 1, 50, 256, 32)
+        );
+        final ParsedEvent parsedEvent = syntheticEvents.parsedEvent(SyntheticType.CONTAINER_LOG_V2, 0);
+        Assertions.assertTrue(parsedEvent.asString().length() > 1024 * 1024);
+
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final List<SyslogMessage> syslogMessages = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent));
+        Assertions.assertEquals(1, syslogMessages.size());
+        Assertions.assertEquals(parsedEvent.asString(), syslogMessages.get(0).getMsg());
+    }
+
+    @Test
+    void resourceCardinalityIsBounded() {
+        final SyntheticEvents syntheticEvents = new SyntheticEvents(new GeneratorSettings(5L, 16, 3, 0, 0, 0));
+        final Set<String> resourceIds = new HashSet<>();
+        for (long index = 0; index < 200; index++) {
+            final JsonObject json = Json
+                    .createReader(new StringReader(syntheticEvents.json(SyntheticType.APP_EVENTS, index)))
+                    .readObject();
+            resourceIds.add(json.getString("_ResourceId"));
+        }
+        Assertions.assertEquals(3, resourceIds.size());
+    }
+
+    @Test
+    void corpusInterleavesTypes() {
+        final List<ParsedEvent> corpus = new SyntheticEvents(new GeneratorSettings(9L)).corpus(2);
+        Assertions.assertEquals(2 * SyntheticType.values().length, corpus.size());
+    }
+
+    @Test
+    void invalidSettingsThrow() {
+        final GeneratorSettings settings = new GeneratorSettings(1L, 16, 0, 101, 0, 0);
+        final IllegalArgumentException cardinalityException = Assertions
+                .assertThrows(IllegalArgumentException.class, settings::resourceCardinality);
+        Assertions.assertEquals("Resource cardinality must be at least 1, was: 0", cardinalityException.getMessage());
+        final IllegalArgumentException unicodeException = Assertions
+                .assertThrows(IllegalArgumentException.class, settings::unicodePercent);
+        Assertions.assertEquals("Unicode percent must be within 0-100, was: 101", unicodeException.getMessage());
+    }
+
+    private String eventTypeName(final SyslogMessage syslogMessage) {
+        String eventTypeName = "";
+        for (final SDElement sdElement : syslogMessage.getSDElements()) {
+            if ("nlf_01@48577".equals(sdElement.getSdID())) {
+                for (final SDParam sdParam : sdElement.getSdParams()) {
+                    if ("eventType".equals(sdParam.getParamName())) {
+                        eventTypeName = sdParam.getParamValue();
+                    }
+                }
+            }
+        }
+        return eventTypeName;
+    }
+}
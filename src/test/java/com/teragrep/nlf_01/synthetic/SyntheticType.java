@@ -0,0 +1,417 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.synthetic;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+/**
+ * Every event type recognised by {@link com.teragrep.nlf_01.NLFPlugin}, each producing a JSON payload that the plugin
+ * converts without errors.
+ */
+public enum SyntheticType {
+
+    ADF_ACTIVITY_RUN("ADFActivityRunType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("ActivityName", values.name(24))
+                    .add("ActivityRunId", values.uuid())
+                    .add("Input", values.message())
+                    .add("PipelineName", values.name(48))
+                    .add("Status", "Failed")
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "ADFActivityRun")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    ADF_PIPELINE_RUN("ADFPipelineRunType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("Parameters", values.message())
+                    .add("PipelineName", values.name(48))
+                    .add("RunId", values.uuid())
+                    .add("Status", "Failed")
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "ADFPipelineRun")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    APP_EVENTS("AppEventsType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("AppRoleName", values.name(32))
+                    .add("Name", values.message())
+                    .add("Properties", values.properties())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "AppEvents")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    APP_SERVICE_CONSOLE_LOGS("AppServiceConsoleLogsType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("ContainerId", values.uuid())
+                    .add("ResultDescription", values.message())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "AppServiceConsoleLogs")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    APP_TRACES("AppInsightType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("AppRoleName", values.name(48))
+                    .add("Message", values.message())
+                    .add("Properties", values.properties())
+                    .add("SeverityLevel", 0)
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "AppTraces")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    CONTAINER_APP_CONSOLE_LOGS("ContainerAppConsoleLogsType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("ContainerAppName", values.name(64))
+                    .add("EnvironmentName", values.name(32))
+                    .add("Log", values.message())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "ContainerAppConsoleLogs")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    DATAVERSE_ACTIVITY("DataverseActivityType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("ItemUrl", "https://" + values.name(32) + ".crm.example.test/" + values.uuid())
+                    .add("Message", values.message())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "DataverseActivity")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    EVENT("WindowsEventType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("EventID", 12345)
+                    .add("RenderedDescription", values.message())
+                    .add("Source", values.name(32))
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "Event")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    FUNCTION_APP_LOGS("FunctionAppLogsType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("AppName", values.name(48))
+                    .add("FunctionName", values.name(24))
+                    .add("Message", values.message())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "FunctionAppLogs")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    LOGIC_APP_WORKFLOW_RUNTIME("LogicAppWorkflowRuntimeType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("Error", values.message())
+                    .add("RunId", values.uuid())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "LogicAppWorkflowRuntime")
+                    .add("WorkflowName", values.name(48))
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    PGSQL_SERVER_LOGS("PGSQLServerLogsType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add(
+                            "Message",
+                            "user=" + values.name(16) + ",db=" + values.name(48)
+                                    + ",app=[unknown],client=127.0.0.1LOG:  " + values.message()
+                    )
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "PGSQLServerLogs")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    POWER_AUTOMATE_ACTIVITY("PowerAutomateActivityType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("AdditionalInfo", values.message())
+                    .add(
+                            "FlowDetailsUrl",
+                            "https://example.test/manage/environments/" + values.name(40) + "/flows/" + values.uuid()
+                    )
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "PowerAutomateActivity")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    POWER_PLATFORM_ADMIN_ACTIVITY("PowerPlatformAdminActivityType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("EnvironmentId", values.name(39))
+                    .add("PropertyCollection", values.message())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "PowerPlatformAdminActivity")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    FLUENT_AUDIT_LOG_EVENTS_CL("CCType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            final String resourceName = "url://example.test/a=" + values.uuid() + "/b=" + values.name(48) + "/c="
+                    + values.name(16);
+            return Json
+                    .createObjectBuilder()
+                    .add(
+                            "data",
+                            Json
+                                    .createObjectBuilder()
+                                    .add("message", values.message())
+                                    .add("metadata", values.metadata())
+                                    .add("resourceName", resourceName)
+                    )
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "syntheticfluent_audit_log_events_CL")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    CUSTOM_LOG_CL("CLType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("FilePath", "/var/log/" + values.name(64) + ".log")
+                    .add("RawData", values.message())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "synthetic_CL")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    CONTAINER_LOG_V2("ContainerType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("ContainerId", values.uuid())
+                    .add(
+                            "KubernetesMetadata",
+                            Json
+                                    .createObjectBuilder()
+                                    .add(
+                                            "podAnnotations",
+                                            Json
+                                                    .createObjectBuilder()
+                                                    .add(settings.containerHostnameAnnotation(), values.name(64))
+                                                    .add(settings.containerAppNameAnnotation(), values.name(46))
+                                    )
+                                    .add("podLabels", values.properties())
+                                    .add("metadata", values.metadata())
+                    )
+                    .add("LogMessage", values.message())
+                    .add("LogSource", index % 2 == 0 ? "stdout" : "stderr")
+                    .add("PodName", values.name(32))
+                    .add("PodNamespace", values.name(32))
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "ContainerLogV2")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    ISTIO_INGRESS_CONTAINER_LOG_V2("IstioIngressContainerType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("ContainerId", values.uuid())
+                    .add(
+                            "KubernetesMetadata",
+                            Json
+                                    .createObjectBuilder()
+                                    .add("podLabels", values.properties())
+                                    .add("metadata", values.metadata())
+                    )
+                    .add("LogMessage", values.message())
+                    .add("LogSource", "stdout")
+                    .add("PodName", values.name(32))
+                    .add("PodNamespace", "aks-istio-ingress")
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "ContainerLogV2")
+                    .add("_ResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    SYSLOG("SyslogType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("ProcessName", settings.syslogProcessName())
+                    .add("SyslogMessage", values.uuid() + " [INFO] " + values.message())
+                    .add("TimeGenerated", values.timestamp(index))
+                    .add("Type", "Syslog")
+                    .add("_Internal_WorkspaceResourceId", values.resourceId())
+                    .build();
+        }
+    },
+    POSTGRESQL("PostgreSQLType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("AppType", "PostgreSQL")
+                    .add("category", "PostgreSQLLogs")
+                    .add(
+                            "properties",
+                            Json
+                                    .createObjectBuilder()
+                                    .add(
+                                            "message",
+                                            "user=" + values.name(16) + ",db=" + values.name(48)
+                                                    + ",app=[unknown]LOG:  " + values.message()
+                                    )
+                    )
+                    .add("resourceId", values.resourceId())
+                    .add("time", values.timestamp(index))
+                    .build();
+        }
+    },
+    SQL_SECURITY_AUDIT_EVENTS("SQLSecurityAuditEventsType") {
+
+        @Override
+        JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index) {
+            return Json
+                    .createObjectBuilder()
+                    .add("category", "SQLSecurityAuditEvents")
+                    .add("operationName", values.name(48))
+                    .add("originalEventTimestamp", values.timestamp(index))
+                    .add("resourceId", values.resourceIdWithSubtype())
+                    .add("statement", values.message())
+                    .build();
+        }
+    };
+
+    private final String eventTypeName;
+
+    SyntheticType(final String eventTypeName) {
+        this.eventTypeName = eventTypeName;
+    }
+
+    /**
+     * @return simple class name of the {@link com.teragrep.nlf_01.types.EventType} the payload is converted with
+     */
+    public String eventTypeName() {
+        return eventTypeName;
+    }
+
+    abstract JsonObject json(final SyntheticValues values, final GeneratorSettings settings, final long index);
+}
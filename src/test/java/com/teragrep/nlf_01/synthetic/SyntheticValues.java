@@ -0,0 +1,187 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.synthetic;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+/**
+ * Field values for a single synthetic event. Not thread-safe, a new instance is created for each generated event.
+ */
+final class SyntheticValues {
+
+    private static final long BASE_EPOCH_SECOND = 1577836800L; // 2020-01-01T00:00:00Z
+    private static final String ASCII = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"
+            + " .,:;-_/=\"\\[]{}";
+    private static final String NAME = "abcdefghijklmnopqrstuvwxyz0123456789-";
+    private static final String UNICODE = "äöåÄÖÅéèüß€ΩЖж日本語中文한국어";
+
+    private final SplittableRandom random;
+    private final GeneratorSettings settings;
+
+    SyntheticValues(final SplittableRandom random, final GeneratorSettings settings) {
+        this.random = random;
+        this.settings = settings;
+    }
+
+    /**
+     * @param length amount of characters
+     * @return free text where {@link GeneratorSettings#unicodePercent()} of the characters are non-ASCII
+     */
+    String text(final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        final int unicodePercent = settings.unicodePercent();
+        for (int i = 0; i < length; i++) {
+            if (unicodePercent > 0 && random.nextInt(100) < unicodePercent) {
+                builder.append(UNICODE.charAt(random.nextInt(UNICODE.length())));
+            }
+            else {
+                builder.append(ASCII.charAt(random.nextInt(ASCII.length())));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return free text of {@link GeneratorSettings#messageLength()} characters
+     */
+    String message() {
+        return text(settings.messageLength());
+    }
+
+    /**
+     * @param maxLength maximum length of the name, at least 2
+     * @return name that starts with a letter, ends with a letter or a digit and only contains [a-z0-9-]
+     */
+    String name(final int maxLength) {
+        final int length = 2 + random.nextInt(maxLength - 1);
+        final StringBuilder builder = new StringBuilder(length);
+        builder.append((char) ('a' + random.nextInt(26)));
+        for (int i = 1; i < length - 1; i++) {
+            builder.append(NAME.charAt(random.nextInt(NAME.length())));
+        }
+        builder.append((char) ('a' + random.nextInt(26)));
+        return builder.toString();
+    }
+
+    String uuid() {
+        return String
+                .format(
+                        "%08x-%04x-%04x-%04x-%012x", random.nextInt() & 0xFFFFFFFFL, random.nextInt(0x10000),
+                        random.nextInt(0x10000), random.nextInt(0x10000), random.nextLong() & 0xFFFFFFFFFFFFL
+                );
+    }
+
+    /**
+     * @return resourceId with 9 elements, one of {@link GeneratorSettings#resourceCardinality()} distinct values
+     */
+    String resourceId() {
+        final int resource = random.nextInt(settings.resourceCardinality());
+        return "/subscriptions/" + new SyntheticValues(new SplittableRandom(settings.seed() + resource), settings)
+                .uuid() + "/resourceGroups/rg-" + resource + "/providers/Microsoft.Synthetic/resources/"
+                + resourceName(resource);
+    }
+
+    /**
+     * @return resourceId with 11 elements, one of {@link GeneratorSettings#resourceCardinality()} distinct values
+     */
+    String resourceIdWithSubtype() {
+        final int resource = random.nextInt(settings.resourceCardinality());
+        return "/subscriptions/" + new SyntheticValues(new SplittableRandom(settings.seed() + resource), settings)
+                .uuid() + "/resourceGroups/rg-" + resource + "/providers/Microsoft.Sql/servers/"
+                + resourceName(resource) + "/databases/db-" + resource;
+    }
+
+    private String resourceName(final int resource) {
+        final String resourceName;
+        if (settings.unicodePercent() > 0) {
+            resourceName = "resource-" + resource + "-" + UNICODE.charAt(resource % UNICODE.length());
+        }
+        else {
+            resourceName = "resource-" + resource;
+        }
+        return resourceName;
+    }
+
+    /**
+     * @param index index of the event
+     * @return timestamp parseable by {@link Instant#parse(CharSequence)}, one second apart for consecutive indexes
+     */
+    String timestamp(final long index) {
+        return Instant.ofEpochSecond(BASE_EPOCH_SECOND + index, random.nextInt(1000) * 1_000_000L).toString();
+    }
+
+    /**
+     * @return object with {@link GeneratorSettings#propertyCount()} string members
+     */
+    JsonObject properties() {
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        for (int i = 0; i < settings.propertyCount(); i++) {
+            builder.add("prop__" + i, text(16));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return object nested {@link GeneratorSettings#metadataDepth()} levels deep
+     */
+    JsonObject metadata() {
+        JsonObject metadata = Json.createObjectBuilder().add("leaf", name(16)).build();
+        for (int depth = 0; depth < settings.metadataDepth(); depth++) {
+            metadata = Json
+                    .createObjectBuilder()
+                    .add("level", depth)
+                    .add("name", name(16))
+                    .add("child", metadata)
+                    .build();
+        }
+        return metadata;
+    }
+}
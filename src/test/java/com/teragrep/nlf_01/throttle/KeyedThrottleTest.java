@@ -0,0 +1,237 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.throttle;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.dedup.NoDeduplication;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.fakes.NamedEventTypeFake;
+import com.teragrep.nlf_01.records.CollectingRecordFailures;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.rlo_14.SyslogMessage;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class KeyedThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTokenBucket() {
+        final AtomicLong clock = new AtomicLong(Long.MAX_VALUE - SECOND);
+        final KeyedThrottle throttle = new KeyedThrottle(new TokenBucketAdmission(2, 3), 10, SECOND, clock::get);
+        final NamedEventTypeFake noisy = new NamedEventTypeFake("host", "noisy", "msg");
+        final NamedEventTypeFake quiet = new NamedEventTypeFake("host", "quiet", "msg");
+
+        Assertions.assertEquals(List.of(true, true, true, false, false), admits(throttle, noisy, 5));
+        Assertions.assertEquals(List.of(true), admits(throttle, quiet, 1));
+        // half a second refills one token, the clock overflowing does not matter
+        clock.addAndGet(SECOND / 2);
+        Assertions.assertEquals(List.of(true, false), admits(throttle, noisy, 2));
+        clock.addAndGet(10 * SECOND);
+        Assertions.assertEquals(List.of(true, true, true, false), admits(throttle, noisy, 4));
+
+        Assertions.assertEquals(8, throttle.admitted());
+        Assertions.assertEquals(4, throttle.dropped());
+        Assertions.assertEquals(Collections.singletonMap("noisy host", 4L), throttle.droppedByKey());
+    }
+
+    @Test
+    void testConcurrentTokensAreNotOverdrawn() throws Exception {
+        final KeyedThrottle throttle = new KeyedThrottle(new TokenBucketAdmission(1, 1000), 10, SECOND, () -> 0L);
+        final NamedEventTypeFake eventType = new NamedEventTypeFake("host", "app", "msg");
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                int admitted = 0;
+                for (int i = 0; i < 1000; i++) {
+                    if (throttle.admits(eventType)) {
+                        admitted++;
+                    }
+                }
+                return admitted;
+            }));
+        }
+        start.countDown();
+        int admitted = 0;
+        for (final Future<Integer> future : futures) {
+            admitted += future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        Assertions.assertEquals(1000, admitted);
+        Assertions.assertEquals(7000, throttle.dropped());
+    }
+
+    @Test
+    void testHashSampling() {
+        final KeyedThrottle throttle = new KeyedThrottle(new HashSampleAdmission(10), 10, SECOND);
+        int admitted = 0;
+        for (int i = 0; i < 10000; i++) {
+            final NamedEventTypeFake eventType = new NamedEventTypeFake("host", "app", String.valueOf(i), "message");
+            final boolean admits = Assertions.assertDoesNotThrow(() -> throttle.admits(eventType));
+            // redelivery is sampled the same way
+            Assertions.assertEquals(admits, Assertions.assertDoesNotThrow(() -> throttle.admits(eventType)));
+            // the payload is not part of the decision
+            final NamedEventTypeFake otherPayload = new NamedEventTypeFake("host", "app", String.valueOf(i), "other");
+            Assertions.assertEquals(admits, Assertions.assertDoesNotThrow(() -> throttle.admits(otherPayload)));
+            if (admits) {
+                admitted++;
+            }
+        }
+        Assertions.assertTrue(admitted > 900 && admitted < 1100, "admitted " + admitted);
+    }
+
+    @Test
+    void testThrottleKeyEquals() {
+        EqualsVerifier.forClass(ThrottleKey.class).verify();
+    }
+
+    @Test
+    void testBoundedKeysAndIdleEviction() {
+        final AtomicLong clock = new AtomicLong();
+        final KeyedThrottle throttle = new KeyedThrottle(new TokenBucketAdmission(1, 1), 100, SECOND, clock::get);
+        for (int i = 0; i < 100; i++) {
+            admits(throttle, new NamedEventTypeFake("host", "app" + i, "msg"), 1);
+        }
+        Assertions.assertEquals(100, throttle.keys());
+
+        // keys that do not fit share the overflow state
+        Assertions
+                .assertEquals(
+                        List.of(true, false),
+                        admits(throttle, new NamedEventTypeFake("host", "new", "msg"), 2)
+                );
+        Assertions.assertEquals(List.of(false), admits(throttle, new NamedEventTypeFake("host", "other", "msg"), 1));
+        Assertions.assertEquals(100, throttle.keys());
+        Assertions.assertEquals(Collections.singletonMap(KeyedThrottle.OVERFLOW_KEY, 2L), throttle.droppedByKey());
+
+        clock.addAndGet(2 * SECOND);
+        admits(throttle, new NamedEventTypeFake("host", "app0", "msg"), 1);
+        admits(throttle, new NamedEventTypeFake("host", "new", "msg"), 1);
+        Assertions.assertEquals(2, throttle.keys());
+        Assertions.assertEquals(2, throttle.dropped());
+    }
+
+    @Test
+    void testPluginDropsBeforeConversion() throws IOException {
+        final String json = new String(
+                Files.readAllBytes(Paths.get("src/test/resources/appevents.json")),
+                StandardCharsets.UTF_8
+        );
+        final KeyedThrottle throttle = new KeyedThrottle(new TokenBucketAdmission(1, 2), 10, SECOND, () -> 0L);
+        final NLFPlugin plugin = new NLFPlugin(
+                new FakeSourceable(),
+                new CollectingRecordFailures(),
+                new EventTypeRegistry(),
+                Collections.emptyList(),
+                new NoDeduplication(),
+                throttle
+        );
+
+        final List<SyslogMessage> first = Assertions.assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent(json)));
+        final List<SyslogMessage> records = Assertions
+                .assertDoesNotThrow(() -> plugin.syslogMessage(parsedEvent("[" + json + "," + json + "]")));
+
+        Assertions.assertEquals(1, first.size());
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals(1, throttle.dropped());
+        final Map<String, Long> droppedByKey = throttle.droppedByKey();
+        Assertions
+                .assertEquals(
+                        first.get(0).getAppName() + " " + first.get(0).getHostname(),
+                        droppedByKey.keySet().iterator().next()
+                );
+    }
+
+    private List<Boolean> admits(final KeyedThrottle throttle, final NamedEventTypeFake eventType, final int times) {
+        final List<Boolean> admits = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            admits.add(Assertions.assertDoesNotThrow(() -> throttle.admits(eventType)));
+        }
+        return admits;
+    }
+
+    private ParsedEvent parsedEvent(final String json) {
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        json,
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.types;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.partitionContext.EventPartitionContextImpl;
+import com.teragrep.akv_01.event.metadata.properties.EventPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemPropertiesImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.util.Sourceable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class ContainerTypeCreationTest {
+
+    @Test
+    void readsAnnotationPathsOncePerSource() {
+        final ParsedEvent parsedEvent = Assertions.assertDoesNotThrow(this::containerEvent);
+        final Map<String, String> config = new HashMap<>();
+        config.put("containerlog.hostname.annotation", "hostname-annotation");
+        config.put("containerlog.appname.annotation", "appname-annotation");
+        final AtomicInteger reads = new AtomicInteger();
+        final Sourceable source = new Sourceable() {
+
+            @Override
+            public String source(final String name, final String defaultValue) {
+                reads.incrementAndGet();
+                return config.getOrDefault(name, defaultValue);
+            }
+
+            @Override
+            public String source(final String name) throws PluginException {
+                reads.incrementAndGet();
+                return new ConfigurableSourceable(config).source(name);
+            }
+        };
+
+        final ContainerTypeCreation creation = new ContainerTypeCreation();
+        final ContainerType expected = new ContainerType(
+                parsedEvent,
+                "hostname-annotation",
+                "appname-annotation",
+                "localhost",
+                "aer"
+        );
+        for (int i = 0; i < 3; i++) {
+            final EventType eventType = Assertions
+                    .assertDoesNotThrow(() -> creation.eventType(parsedEvent, source, "localhost", "aer"));
+            Assertions
+                    .assertEquals(
+                            Assertions.assertDoesNotThrow(expected::hostname),
+                            Assertions.assertDoesNotThrow(eventType::hostname)
+                    );
+            Assertions
+                    .assertEquals(
+                            Assertions.assertDoesNotThrow(expected::appName),
+                            Assertions.assertDoesNotThrow(eventType::appName)
+                    );
+        }
+        Assertions.assertEquals(2, reads.get());
+
+        final Map<String, String> otherConfig = new HashMap<>();
+        otherConfig.put("containerlog.hostname.annotation", "missing-annotation");
+        otherConfig.put("containerlog.appname.annotation", "appname-annotation");
+        final EventType other = Assertions
+                .assertDoesNotThrow(() -> creation.eventType(parsedEvent, new ConfigurableSourceable(otherConfig), "localhost", "aer"));
+        final PluginException exception = Assertions.assertThrows(PluginException.class, other::hostname);
+        Assertions.assertEquals("Key <[missing-annotation]> was not valid", exception.getMessage());
+    }
+
+    private ParsedEvent containerEvent() throws IOException {
+        final String json = new String(
+                Files.readAllBytes(Paths.get("src/test/resources/container.json")),
+                StandardCharsets.UTF_8
+        );
+        return new ParsedEventFactory(
+                new UnparsedEventImpl(json, new EventPartitionContextImpl(new HashMap<>()), new EventPropertiesImpl(new HashMap<>()), new EventSystemPropertiesImpl(new HashMap<>()), new EnqueuedTimeImpl("2020-01-01T00:00:00"), new EventOffsetImpl("0"))
+        ).parsedEvent();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConstantSDElementsTest {
+
+    @Test
+    @DisplayName("eventType() returns the same element for the same event type")
+    void eventTypeReturnsTheSameElementForTheSameEventType() {
+        final ConstantSDElements constantSDElements = new ConstantSDElements();
+
+        final SDElement first = constantSDElements.eventType("AppInsightType");
+        final SDElement second = constantSDElements.eventType("AppInsightType");
+        final SDElement other = constantSDElements.eventType("PostgreSQLType");
+
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, other);
+        Assertions.assertEquals("nlf_01@48577", first.getSdID());
+        Assertions.assertEquals(1, first.getSdParams().size());
+        Assertions.assertEquals("eventType", first.getSdParams().get(0).getParamName());
+        Assertions.assertEquals("AppInsightType", first.getSdParams().get(0).getParamValue());
+        Assertions.assertEquals("PostgreSQLType", other.getSdParams().get(0).getParamValue());
+    }
+
+    @Test
+    @DisplayName("timestampSource() returns one element per component and source")
+    void timestampSourceReturnsOneElementPerComponentAndSource() {
+        final ConstantSDElements constantSDElements = new ConstantSDElements();
+
+        final SDElement enqueued = constantSDElements.timestampSource("aer", true);
+        final SDElement generated = constantSDElements.timestampSource("aer", false);
+
+        Assertions.assertSame(enqueued, constantSDElements.timestampSource("aer", true));
+        Assertions.assertSame(generated, constantSDElements.timestampSource("aer", false));
+        Assertions.assertNotSame(enqueued, constantSDElements.timestampSource("other", true));
+        Assertions.assertEquals("aer@48577", enqueued.getSdID());
+        Assertions.assertEquals("timeEnqueued", enqueued.getSdParams().get(0).getParamValue());
+        Assertions.assertEquals("aer@48577", generated.getSdID());
+        Assertions.assertEquals("generated", generated.getSdParams().get(0).getParamValue());
+    }
+
+    @Test
+    @DisplayName("shared elements can not be modified")
+    void sharedElementsCanNotBeModified() {
+        final SDElement sdElement = new ConstantSDElements().eventType("AppInsightType");
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> sdElement.addSDParam("key", "value"));
+        final SDParam sdParam = new SDParam("key", "value");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> sdElement.getSdParams().add(sdParam));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> sdElement.getSdParams().clear());
+        Assertions.assertEquals(1, sdElement.getSdParams().size());
+    }
+}
@@ -57,11 +57,15 @@ import com.teragrep.akv_01.event.metadata.properties.EventPropertiesStub;
 import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemProperties;
 import com.teragrep.akv_01.event.metadata.systemProperties.EventSystemPropertiesStub;
 import com.teragrep.akv_01.event.metadata.time.EnqueuedTime;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
 import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeStub;
 import com.teragrep.rlo_14.SDElement;
 import com.teragrep.rlo_14.SDParam;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Assertions;
@@ -124,4 +128,91 @@ class DefaultSDElementsTest {
         Assertions
                 .assertEquals(DefaultSDElementsTest.class.getSimpleName(), sdElementMap.get("nlf_01@48577").get("eventType"));
     }
+
+    @Test
+    @DisplayName("test sdElements() shares the constant elements between events of the same ConstantSDElements")
+    void testSdElementsSharesTheConstantElementsBetweenEvents() {
+        final ConstantSDElements constantSDElements = new ConstantSDElements();
+        final ZonedDateTimeStrings enqueuedTimeStrings = new ZonedDateTimeStrings();
+        final Map<String, SDElement> first = new DefaultSDElements(
+                testEvent(
+                        new EventPartitionContextStub(), new EventPropertiesStub(), new EventSystemPropertiesStub(),
+                        new EnqueuedTimeStub(), new EventOffsetStub()
+                ),
+                "hostname",
+                DefaultSDElementsTest.class,
+                "aer",
+                constantSDElements,
+                enqueuedTimeStrings
+        ).sdElements().stream().collect(Collectors.toMap(SDElement::getSdID, Function.identity()));
+        final Map<String, SDElement> second = new DefaultSDElements(
+                testEvent(
+                        new EventPartitionContextStub(), new EventPropertiesStub(), new EventSystemPropertiesStub(),
+                        new EnqueuedTimeStub(), new EventOffsetStub()
+                ),
+                "hostname",
+                DefaultSDElementsTest.class,
+                "aer",
+                constantSDElements,
+                enqueuedTimeStrings
+        ).sdElements().stream().collect(Collectors.toMap(SDElement::getSdID, Function.identity()));
+
+        Assertions.assertSame(first.get("nlf_01@48577"), second.get("nlf_01@48577"));
+        Assertions.assertSame(first.get("aer@48577"), second.get("aer@48577"));
+        Assertions.assertNotSame(first.get("event_id@48577"), second.get("event_id@48577"));
+    }
+
+    @Test
+    @DisplayName("test sdElements() shares the constant elements without given caches")
+    void testSdElementsSharesTheConstantElementsWithoutGivenCaches() {
+        final ParsedEvent parsedEvent = testEvent(
+                new EventPartitionContextStub(), new EventPropertiesStub(), new EventSystemPropertiesStub(),
+                new EnqueuedTimeStub(), new EventOffsetStub()
+        );
+        final SDElements first = new DefaultSDElements(parsedEvent, "hostname", DefaultSDElementsTest.class, "aer");
+        final SDElements second = new DefaultSDElements(parsedEvent, "hostname", DefaultSDElementsTest.class, "aer");
+
+        Assertions.assertEquals(first, second);
+        Assertions
+                .assertSame(
+                        sdElement(first.sdElements(), "nlf_01@48577"),
+                        sdElement(second.sdElements(), "nlf_01@48577")
+                );
+    }
+
+    @Test
+    @DisplayName("test sdElements() formats enqueued_time like ZonedDateTime.toString()")
+    void testSdElementsFormatsEnqueuedTimeLikeZonedDateTimeToString() {
+        final List<String> enqueuedTimes = Arrays
+                .asList(
+                        "2010-01-01T00:00:00", "2010-01-01T00:00:00", "2025-06-30T12:34:56.789",
+                        "2025-06-30T12:34:56.789012", "2025-06-30T12:34:56.000000001"
+                );
+
+        for (final String enqueuedTime : enqueuedTimes) {
+            final EnqueuedTime time = new EnqueuedTimeImpl(enqueuedTime);
+            final ParsedEvent parsedEvent = testEvent(
+                    new EventPartitionContextStub(), new EventPropertiesStub(), new EventSystemPropertiesStub(), time,
+                    new EventOffsetStub()
+            );
+
+            final Map<String, Map<String, String>> sdElementMap = new DefaultSDElements(
+                    parsedEvent,
+                    "hostname",
+                    DefaultSDElementsTest.class,
+                    "aer"
+            )
+                    .sdElements()
+                    .stream()
+                    .collect(Collectors.toMap((SDElement::getSdID), (sdElem) -> sdElem.getSdParams().stream().collect(Collectors.toMap(SDParam::getParamName, SDParam::getParamValue))));
+
+            final String expected = time.zonedDateTime().toString();
+            Assertions.assertEquals(expected, sdElementMap.get("aer_event@48577").get("enqueued_time"));
+            Assertions.assertEquals("timeEnqueued", sdElementMap.get("aer@48577").get("timestamp_source"));
+        }
+    }
+
+    private SDElement sdElement(final Set<SDElement> sdElements, final String sdId) {
+        return sdElements.stream().filter(sdElement -> sdId.equals(sdElement.getSdID())).findFirst().orElseThrow();
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class MD5ResourceHostnameTest {
+
+    private static final String ALPHABET = "abcXYZ0123456789.-_/ ~\"\\\t\nåäöÄ日本٣߁😀";
+
+    @Test
+    void testHostname() {
+        Assertions
+                .assertEquals(
+                        "md5-0123456789abcdef0123456789abcdef-resourceNme",
+                        new MD5ResourceHostname("0123456789abcdef0123456789abcdef", "resource_Näme").hostname()
+                );
+    }
+
+    @Test
+    void testTrailingSeparatorsAreRemoved() {
+        Assertions.assertEquals("md5-abc-name", new MD5ResourceHostname("abc", "name.-_").hostname());
+        Assertions.assertEquals("md5-abc", new MD5ResourceHostname("abc", "").hostname());
+        Assertions.assertEquals("md5-abc", new MD5ResourceHostname("abc", "ä-.").hostname());
+    }
+
+    @Test
+    void testMaxLength() {
+        final String hostname = new MD5ResourceHostname("abc", new String(new char[300]).replace('\0', 'a'))
+                .hostname();
+        Assertions.assertEquals(255, hostname.length());
+    }
+
+    @Test
+    void testEqualsSeparatePasses() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            final String md5 = randomString(random, random.nextInt(4) == 0 ? 40 : 0, "0123456789abcdef");
+            final String resourceName = randomString(random, random.nextInt(5) == 0 ? 600 : 40, ALPHABET);
+            final String expected = new ValidRFC5424Hostname(
+                    "md5-".concat(md5).concat("-").concat(new ASCIIString(resourceName).withNonAsciiCharsRemoved())
+            ).hostnameWithInvalidCharsRemoved();
+
+            Assertions
+                    .assertEquals(
+                            expected, new MD5ResourceHostname(md5, resourceName).hostname(),
+                            "md5 <" + md5 + "> resource name <" + resourceName + ">"
+                    );
+        }
+    }
+
+    @Test
+    void testArbitraryHashEqualsSeparatePasses() {
+        final Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            final String md5 = randomString(random, 300, ALPHABET);
+            final String resourceName = randomString(random, 300, ALPHABET);
+            final String expected = new ValidRFC5424Hostname(
+                    "md5-".concat(md5).concat("-").concat(new ASCIIString(resourceName).withNonAsciiCharsRemoved())
+            ).hostnameWithInvalidCharsRemoved();
+
+            Assertions
+                    .assertEquals(
+                            expected, new MD5ResourceHostname(md5, resourceName).hostname(),
+                            "md5 <" + md5 + "> resource name <" + resourceName + ">"
+                    );
+        }
+    }
+
+    private String randomString(final Random random, final int maxLength, final String alphabet) {
+        final int length = maxLength == 0 ? 32 : random.nextInt(maxLength + 1);
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
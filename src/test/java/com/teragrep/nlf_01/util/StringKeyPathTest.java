@@ -0,0 +1,123 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import com.teragrep.akv_01.plugin.PluginException;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StringKeyPathTest {
+
+    private final JsonObject jsonObject = Json
+            .createObjectBuilder()
+            .add("key1", "value1")
+            .add(
+                    "KubernetesMetadata", Json
+                            .createObjectBuilder()
+                            .add("podAnnotations", Json.createObjectBuilder().add("example.com/hostname", "host"))
+                            .add("number", 1)
+            )
+            .build();
+
+    @Test
+    @DisplayName("value() returns the value of a single key")
+    void valueReturnsTheValueOfASingleKey() {
+        final KeyPath<String> keyPath = new StringKeyPath("key1");
+
+        Assertions.assertEquals("value1", Assertions.assertDoesNotThrow(() -> keyPath.value(jsonObject)));
+    }
+
+    @Test
+    @DisplayName("value() returns the value of a nested key containing dots")
+    void valueReturnsTheValueOfANestedKeyContainingDots() {
+        final KeyPath<String> keyPath = new StringKeyPath(
+                "KubernetesMetadata",
+                "podAnnotations",
+                "example.com/hostname"
+        );
+
+        Assertions.assertEquals("host", Assertions.assertDoesNotThrow(() -> keyPath.value(jsonObject)));
+    }
+
+    @Test
+    @DisplayName("value() throws PluginException naming the first missing key")
+    void valueThrowsPluginExceptionNamingTheFirstMissingKey() {
+        final KeyPath<String> missingObject = new StringKeyPath("KubernetesMetadata", "labels", "app");
+        final PluginException objectException = Assertions
+                .assertThrowsExactly(PluginException.class, () -> missingObject.value(jsonObject));
+        Assertions.assertEquals("Key <[labels]> was not valid", objectException.getMessage());
+
+        final KeyPath<String> missingValue = new StringKeyPath("KubernetesMetadata", "podAnnotations", "app");
+        final PluginException valueException = Assertions
+                .assertThrowsExactly(PluginException.class, () -> missingValue.value(jsonObject));
+        Assertions.assertEquals("Key <[app]> was not valid", valueException.getMessage());
+    }
+
+    @Test
+    @DisplayName("value() throws PluginException if a key on the path is not of the expected type")
+    void valueThrowsPluginExceptionIfAKeyOnThePathIsNotOfTheExpectedType() {
+        final KeyPath<String> notAnObject = new StringKeyPath("key1", "key2");
+        final PluginException objectException = Assertions
+                .assertThrowsExactly(PluginException.class, () -> notAnObject.value(jsonObject));
+        Assertions.assertEquals("Key <[key1]> was not valid", objectException.getMessage());
+
+        final KeyPath<String> notAString = new StringKeyPath("KubernetesMetadata", "number");
+        final PluginException valueException = Assertions
+                .assertThrowsExactly(PluginException.class, () -> notAString.value(jsonObject));
+        Assertions.assertEquals("Key <[number]> was not valid", valueException.getMessage());
+    }
+
+    @Test
+    @DisplayName("constructor throws IllegalArgumentException without keys")
+    void constructorThrowsIllegalArgumentExceptionWithoutKeys() {
+        final IllegalArgumentException exception = Assertions
+                .assertThrowsExactly(IllegalArgumentException.class, StringKeyPath::new);
+        Assertions.assertEquals("Key path must contain at least one key", exception.getMessage());
+    }
+}
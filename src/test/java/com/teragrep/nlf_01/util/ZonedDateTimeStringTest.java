@@ -0,0 +1,140 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ZonedDateTimeStringTest {
+
+    @Test
+    @DisplayName("value() is the same as ZonedDateTime.toString() for seconds, millis, micros and nanos")
+    void valueIsTheSameAsToStringForSecondsMillisMicrosAndNanos() {
+        final List<LocalDateTime> dateTimes = Arrays
+                .asList(
+                        LocalDateTime.of(2025, 1, 2, 3, 4),
+                        LocalDateTime.of(2025, 1, 2, 3, 4, 5),
+                        LocalDateTime.of(2025, 1, 2, 3, 4, 0, 1),
+                        LocalDateTime.of(2025, 12, 31, 23, 59, 59, 120_000_000),
+                        LocalDateTime.of(2025, 12, 31, 23, 59, 59, 123_456_000),
+                        LocalDateTime.of(2025, 12, 31, 23, 59, 59, 123_456_789),
+                        LocalDateTime.of(1000, 1, 1, 0, 0),
+                        LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999)
+                );
+
+        for (final LocalDateTime dateTime : dateTimes) {
+            final ZonedDateTime zonedDateTime = dateTime.atZone(ZoneId.of("Z"));
+            Assertions.assertEquals(zonedDateTime.toString(), new ZonedDateTimeString(zonedDateTime).value());
+        }
+    }
+
+    @Test
+    @DisplayName("value() is the same as ZonedDateTime.toString() for offsets and zones")
+    void valueIsTheSameAsToStringForOffsetsAndZones() {
+        final LocalDateTime dateTime = LocalDateTime.of(2025, 3, 30, 3, 30, 15, 500_000_000);
+        final List<ZoneId> zones = Arrays
+                .asList(
+                        ZoneOffset.UTC,
+                        ZoneId.of("UTC"),
+                        ZoneOffset.ofHoursMinutes(5, 30),
+                        ZoneOffset.ofHoursMinutesSeconds(-3, -15, -7),
+                        ZoneId.of("Europe/Helsinki"),
+                        ZoneId.of("America/New_York")
+                );
+
+        for (final ZoneId zone : zones) {
+            final ZonedDateTime zonedDateTime = dateTime.atZone(zone);
+            Assertions.assertEquals(zonedDateTime.toString(), new ZonedDateTimeString(zonedDateTime).value());
+        }
+    }
+
+    @Test
+    @DisplayName("value() is the same as ZonedDateTime.toString() for years outside 1000-9999")
+    void valueIsTheSameAsToStringForYearsOutside1000To9999() {
+        final List<Integer> years = Arrays.asList(-10_000, -999, -1, 0, 999, 10_000, 999_999_999);
+
+        for (final int year : years) {
+            final ZonedDateTime zonedDateTime = LocalDateTime.of(year, 6, 15, 12, 0, 1).atZone(ZoneOffset.UTC);
+            Assertions.assertEquals(zonedDateTime.toString(), new ZonedDateTimeString(zonedDateTime).value());
+        }
+    }
+
+    @Test
+    @DisplayName("value() is the same as ZonedDateTime.toString() for random instants")
+    void valueIsTheSameAsToStringForRandomInstants() {
+        final Random random = new Random(46);
+        for (int i = 0; i < 10_000; i++) {
+            final long epochSecond = 1_500_000_000L + random.nextInt(500_000_000);
+            final int nano;
+            // every precision that LocalTime.toString() shortens to
+            switch (i % 4) {
+                case 0:
+                    nano = 0;
+                    break;
+                case 1:
+                    nano = random.nextInt(1_000) * 1_000_000;
+                    break;
+                case 2:
+                    nano = random.nextInt(1_000_000) * 1_000;
+                    break;
+                default:
+                    nano = random.nextInt(1_000_000_000);
+            }
+            final ZonedDateTime zonedDateTime = LocalDateTime
+                    .ofEpochSecond(epochSecond, nano, ZoneOffset.UTC)
+                    .atZone(ZoneId.of("Z"));
+            Assertions.assertEquals(zonedDateTime.toString(), new ZonedDateTimeString(zonedDateTime).value());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ZonedDateTimeStringsTest {
+
+    @Test
+    @DisplayName("string() returns the previous string for an equal time")
+    void stringReturnsThePreviousStringForAnEqualTime() {
+        final ZonedDateTimeStrings zonedDateTimeStrings = new ZonedDateTimeStrings();
+        final LocalDateTime dateTime = LocalDateTime.of(2025, 5, 6, 7, 8, 9, 10_000_000);
+
+        final String first = zonedDateTimeStrings.string(dateTime.atZone(ZoneOffset.UTC));
+        final String second = zonedDateTimeStrings.string(dateTime.atZone(ZoneOffset.UTC));
+
+        Assertions.assertEquals("2025-05-06T07:08:09.010Z", first);
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("string() formats again when the time or the zone changes")
+    void stringFormatsAgainWhenTheTimeOrTheZoneChanges() {
+        final ZonedDateTimeStrings zonedDateTimeStrings = new ZonedDateTimeStrings();
+        final LocalDateTime dateTime = LocalDateTime.of(2025, 5, 6, 7, 8, 9);
+
+        final ZonedDateTime[] zonedDateTimes = {
+                dateTime.atZone(ZoneOffset.UTC),
+                dateTime.plusNanos(1).atZone(ZoneOffset.UTC),
+                dateTime.plusNanos(1).atZone(ZoneId.of("UTC")),
+                dateTime.plusNanos(1).atZone(ZoneOffset.ofHours(2)),
+                dateTime.atZone(ZoneOffset.UTC)
+        };
+        for (final ZonedDateTime zonedDateTime : zonedDateTimes) {
+            Assertions.assertEquals(zonedDateTime.toString(), zonedDateTimeStrings.string(zonedDateTime));
+        }
+    }
+
+    @Test
+    @DisplayName("string() tells apart an equal zone and offset from the offset itself")
+    void stringTellsApartAnEqualZoneAndOffsetFromTheOffsetItself() {
+        final ZonedDateTimeStrings zonedDateTimeStrings = new ZonedDateTimeStrings();
+        final LocalDateTime dateTime = LocalDateTime.of(2025, 5, 6, 7, 8, 9);
+        // offsets that are not multiples of 15 minutes are not cached, so these are equal but separate instances
+        final ZonedDateTime offsetZone = ZonedDateTime
+                .ofStrict(dateTime, ZoneOffset.ofTotalSeconds(3601), ZoneOffset.ofTotalSeconds(3601));
+        final ZonedDateTime sameOffsetZone = dateTime.atZone(ZoneOffset.ofTotalSeconds(3601));
+
+        Assertions.assertEquals(offsetZone.toString(), zonedDateTimeStrings.string(offsetZone));
+        Assertions.assertEquals(sameOffsetZone.toString(), zonedDateTimeStrings.string(sameOffsetZone));
+    }
+}
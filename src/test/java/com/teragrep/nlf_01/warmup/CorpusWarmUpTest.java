@@ -0,0 +1,146 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.warmup;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.event.ParsedEventFactory;
+import com.teragrep.akv_01.event.UnparsedEventImpl;
+import com.teragrep.akv_01.event.metadata.offset.EventOffsetImpl;
+import com.teragrep.akv_01.event.metadata.time.EnqueuedTimeImpl;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.NLFPluginFactory;
+import com.teragrep.nlf_01.fakes.ConfigurableSourceable;
+import com.teragrep.nlf_01.fakes.EventPartitionContextFake;
+import com.teragrep.nlf_01.fakes.EventPropertiesFake;
+import com.teragrep.nlf_01.fakes.EventSystemPropertiesFake;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.registry.EventTypeRegistry;
+import com.teragrep.nlf_01.synthetic.GeneratorSettings;
+import com.teragrep.nlf_01.synthetic.SyntheticEvents;
+import com.teragrep.nlf_01.synthetic.SyntheticType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class CorpusWarmUpTest {
+
+    private final List<ParsedEvent> corpus = new SyntheticEvents(new GeneratorSettings(1L)).corpus(1);
+
+    @Test
+    void testIterations() {
+        final WarmUp warmUp = new CorpusWarmUp(new NLFPlugin(new FakeSourceable()), corpus, 3, 0);
+
+        Assertions.assertEquals(3L * SyntheticType.values().length, warmUp.warmUp());
+        // only once
+        Assertions.assertEquals(0, warmUp.warmUp());
+    }
+
+    @Test
+    void testTime() {
+        final AtomicLong clock = new AtomicLong();
+        final WarmUp warmUp = new CorpusWarmUp(
+                new NLFPlugin(new FakeSourceable()),
+                corpus,
+                0,
+                3,
+                clock::incrementAndGet,
+                new AtomicBoolean()
+        );
+
+        // the clock advances by one on each read, the time is over on the third iteration
+        Assertions.assertEquals(2L * SyntheticType.values().length, warmUp.warmUp());
+    }
+
+    @Test
+    void testFailuresAreIgnored() {
+        final ParsedEvent invalid = new ParsedEventFactory(
+                new UnparsedEventImpl(
+                        "not json",
+                        new EventPartitionContextFake(),
+                        new EventPropertiesFake(),
+                        new EventSystemPropertiesFake(),
+                        new EnqueuedTimeImpl("2010-01-01T00:00:00"),
+                        new EventOffsetImpl("0")
+                )
+        ).parsedEvent();
+        final List<ParsedEvent> events = new ArrayList<>(corpus);
+        events.add(0, invalid);
+        final WarmUp warmUp = new CorpusWarmUp(new NLFPlugin(new FakeSourceable()), events, 1, 0);
+
+        Assertions.assertEquals(SyntheticType.values().length, warmUp.warmUp());
+    }
+
+    @Test
+    void testWarmUpIsNotCounted() {
+        final Map<String, String> config = new HashMap<>();
+        config.put("containerlog.hostname.annotation", "hostname-annotation");
+        config.put("containerlog.appname.annotation", "appname-annotation");
+        config.put("syslogtype.processname", "Soft-Ware");
+        config.put("component.name", "aer");
+        config.put("warmup.iterations", "2");
+        config.put("deadletter.capacity", "10");
+        config.put("schema.sample", "1");
+        final ConfigurableSourceable source = new ConfigurableSourceable(config);
+
+        Assertions
+                .assertEquals(
+                        2L * 16 * SyntheticType.values().length,
+                        new ConfiguredWarmUp(source, new EventTypeRegistry(), Collections.emptyList()).warmUp().warmUp()
+                );
+
+        final NLFPluginFactory factory = new NLFPluginFactory(source);
+        Assertions.assertEquals(NLFPlugin.class, factory.plugin("").getClass());
+        Assertions.assertTrue(factory.deadLetters().snapshot().isEmpty());
+        Assertions.assertTrue(factory.schemaSampler().snapshot().isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Teragrep Neon log format plugin for AKV_01
+ * Copyright (C) 2025 Suomen Kanuuna Oy
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ * Additional permission under GNU Affero General Public License version 3
+ * section 7
+ *
+ * If you modify this Program, or any covered work, by linking or combining it
+ * with other code, such other code is not for that reason alone subject to any
+ * of the requirements of the GNU Affero GPL version 3 as long as this Program
+ * is the same Program as licensed from Suomen Kanuuna Oy without any additional
+ * modifications.
+ *
+ * Supplemented terms under GNU Affero General Public License version 3
+ * section 7
+ *
+ * Origin of the software must be attributed to Suomen Kanuuna Oy. Any modified
+ * versions must be marked as "Modified version of" The Program.
+ *
+ * Names of the licensors and authors may not be used for publicity purposes.
+ *
+ * No rights are granted for use of trade names, trademarks, or service marks
+ * which are in The Program if any.
+ *
+ * Licensee must indemnify licensors and authors for any liability that these
+ * contractual assumptions impose on licensors and authors.
+ *
+ * To the extent this program is licensed as part of the Commercial versions of
+ * Teragrep, the applicable Commercial License may apply to this file if you as
+ * a licensee so wish it.
+ */
+package com.teragrep.nlf_01.warmup;
+
+import com.teragrep.akv_01.event.ParsedEvent;
+import com.teragrep.akv_01.plugin.PluginException;
+import com.teragrep.nlf_01.NLFPlugin;
+import com.teragrep.nlf_01.fakes.FakeSourceable;
+import com.teragrep.nlf_01.synthetic.SyntheticType;
+import com.teragrep.rlo_14.SDElement;
+import com.teragrep.rlo_14.SDParam;
+import com.teragrep.rlo_14.SyslogMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public final class WarmUpCorpusTest {
+
+    @Test
+    void testEveryTypeIsConverted() throws PluginException {
+        final NLFPlugin plugin = new NLFPlugin(new FakeSourceable());
+        final SyntheticType[] types = SyntheticType.values();
+        final List<ParsedEvent> events = new WarmUpCorpus(new FakeSourceable(), 2).events();
+
+        Assertions.assertEquals(2 * types.length, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            final List<SyslogMessage> syslogMessages = plugin.syslogMessage(events.get(i));
+            Assertions.assertEquals(1, syslogMessages.size());
+            // the samples are in the order of the synthetic types they were generated from
+            Assertions.assertEquals(types[i % types.length].eventTypeName(), eventTypeName(syslogMessages.get(0)));
+        }
+    }
+
+    private String eventTypeName(final SyslogMessage syslogMessage) {
+        String eventTypeName = "";
+        for (final SDElement sdElement : syslogMessage.getSDElements()) {
+            if ("nlf_01@48577".equals(sdElement.getSdID())) {
+                for (final SDParam sdParam : sdElement.getSdParams()) {
+                    if ("eventType".equals(sdParam.getParamName())) {
+                        eventTypeName = sdParam.getParamValue();
+                    }
+                }
+            }
+        }
+        return eventTypeName;
+    }
+}